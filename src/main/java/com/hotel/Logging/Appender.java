@@ -0,0 +1,40 @@
+package com.hotel.Logging;
+
+import java.util.List;
+
+/**
+ * Writes log events somewhere, e.g. the console.
+ */
+public interface Appender {
+
+    /**
+     * Writes one event.
+     *
+     * @param event the event
+     */
+    void append(LogEvent event);
+
+    /**
+     * Writes several events in order. Appenders that can write a batch at once override this.
+     *
+     * @param events the events, oldest first
+     */
+    default void append(List<LogEvent> events) {
+        for (LogEvent event : events) {
+            append(event);
+        }
+    }
+
+    /**
+     * Waits until every event appended so far has been written.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Writes any pending events and releases the appender's resources.
+     */
+    default void close() {
+        flush();
+    }
+}
@@ -0,0 +1,161 @@
+package com.hotel.Logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands events to a background thread that writes them to another appender in batches, so
+ * threads that log only queue an event and never wait on the console. Events are written in
+ * the order they were queued. When the queue is full, loggers wait for room rather than
+ * lose messages.
+ * <p>
+ * The writer thread is a daemon; call {@link #flush()} or {@link #close()} before exit to be
+ * sure every queued event has been written.
+ */
+public class AsyncAppender implements Appender {
+
+    /** Events that may wait to be written before loggers have to wait. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Most events handed to the target appender at once. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final Appender target;
+    private final BlockingQueue<LogEvent> queue;
+    private final int batchSize;
+    private final Thread writer;
+    private final AtomicLong queued = new AtomicLong();
+    private final Object progress = new Object();
+    private long written;              // guarded by progress
+    private volatile boolean closed;
+
+    /**
+     * Creates an appender with the default capacity and batch size.
+     *
+     * @param target the appender events are written to
+     */
+    public AsyncAppender(Appender target) {
+        this(target, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates an appender and starts its writer thread.
+     *
+     * @param target the appender events are written to
+     * @param capacity events that may wait to be written
+     * @param batchSize most events written at once
+     * @throws IllegalArgumentException if target is null or capacity or batchSize is not positive
+     */
+    public AsyncAppender(Appender target, int capacity, int batchSize) {
+        if (target == null) {
+            throw new IllegalArgumentException("Target appender cannot be null");
+        }
+        if (capacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Capacity and batch size must be positive");
+        }
+        this.target = target;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.writer = new Thread(this::writeLoop, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues an event. Once closed, events are written straight to the target.
+     */
+    @Override
+    public void append(LogEvent event) {
+        if (closed) {
+            target.append(event);
+            return;
+        }
+        try {
+            queue.put(event);
+            queued.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            target.append(event);
+        }
+    }
+
+    /**
+     * Waits until every event queued before the call has been written, then flushes the target.
+     */
+    @Override
+    public void flush() {
+        long upTo = queued.get();
+        synchronized (progress) {
+            while (written < upTo && writer.isAlive()) {
+                try {
+                    progress.wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        target.flush();
+    }
+
+    /**
+     * Writes every queued event and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        flush();
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        target.close();
+    }
+
+    /**
+     * Gets the number of events waiting to be written.
+     *
+     * @return queued event count
+     */
+    public int getPending() {
+        return queue.size();
+    }
+
+    private void writeLoop() {
+        List<LogEvent> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                if (closed) {
+                    queue.drainTo(batch);  // anything queued while closing
+                    if (!batch.isEmpty()) {
+                        write(batch);
+                    }
+                    return;
+                }
+                continue;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+        }
+    }
+
+    private void write(List<LogEvent> batch) {
+        try {
+            target.append(batch);
+        } catch (RuntimeException e) {
+            // a failing target must not stop logging; the events are dropped
+        }
+        synchronized (progress) {
+            written += batch.size();
+            progress.notifyAll();
+        }
+        batch.clear();
+    }
+}
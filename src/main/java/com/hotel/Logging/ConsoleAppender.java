@@ -0,0 +1,47 @@
+package com.hotel.Logging;
+
+import java.util.List;
+
+/**
+ * Prints each message on its own line as it always has been printed: errors to standard error,
+ * everything else to standard output. The streams are looked up on each write, so output
+ * redirected with {@link System#setOut} is followed.
+ */
+public class ConsoleAppender implements Appender {
+
+    @Override
+    public void append(LogEvent event) {
+        (event.getLevel() == Level.ERROR ? System.err : System.out).println(event.getMessage());
+    }
+
+    /**
+     * Prints a batch with one write per stream run rather than one per message.
+     */
+    @Override
+    public void append(List<LogEvent> events) {
+        StringBuilder lines = new StringBuilder();
+        boolean toErr = false;
+        for (LogEvent event : events) {
+            boolean error = event.getLevel() == Level.ERROR;
+            if (error != toErr && lines.length() > 0) {
+                print(lines, toErr);
+            }
+            toErr = error;
+            lines.append(event.getMessage()).append(System.lineSeparator());
+        }
+        if (lines.length() > 0) {
+            print(lines, toErr);
+        }
+    }
+
+    @Override
+    public void flush() {
+        System.out.flush();
+        System.err.flush();
+    }
+
+    private static void print(StringBuilder lines, boolean toErr) {
+        (toErr ? System.err : System.out).print(lines);
+        lines.setLength(0);
+    }
+}
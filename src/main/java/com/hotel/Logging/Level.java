@@ -0,0 +1,11 @@
+package com.hotel.Logging;
+
+/**
+ * Severity of a log message, from the most detailed to the most serious.
+ */
+public enum Level {
+    DEBUG,   // Step by step detail, e.g. each room an availability search looks at
+    INFO,    // Outcomes staff should see, e.g. a payment processed
+    WARN,    // Something was refused or not found
+    ERROR    // An operation failed
+}
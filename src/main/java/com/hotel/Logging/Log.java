@@ -0,0 +1,100 @@
+package com.hotel.Logging;
+
+/**
+ * Level threshold and appender shared by every {@link Logger}.
+ * <p>
+ * Set at startup from system properties:
+ * <ul>
+ *   <li>{@code hotel.log.level} - DEBUG, INFO, WARN or ERROR; default DEBUG, which prints
+ *       everything the services have always printed. INFO drops the step by step detail.</li>
+ *   <li>{@code hotel.log.async} - true to write through an {@link AsyncAppender}, for bulk
+ *       loads and concurrent use; default false, as the console UI interleaves log lines
+ *       with its own prompts.</li>
+ * </ul>
+ */
+public final class Log {
+
+    private static volatile Level level = parseLevel(System.getProperty("hotel.log.level"));
+    private static volatile Appender appender = Boolean.getBoolean("hotel.log.async")
+            ? new AsyncAppender(new ConsoleAppender()) : new ConsoleAppender();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+    }
+
+    private Log() {
+    }
+
+    private static Level parseLevel(String name) {
+        try {
+            return name == null ? Level.DEBUG : Level.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.DEBUG;
+        }
+    }
+
+    /**
+     * Gets a logger for a class.
+     *
+     * @param type the class that logs
+     * @return the logger
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    /**
+     * Gets the lowest level written.
+     *
+     * @return the threshold
+     */
+    public static Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Sets the lowest level written, e.g. INFO to switch debug messages off.
+     *
+     * @param threshold the threshold
+     * @throws IllegalArgumentException if threshold is null
+     */
+    public static void setLevel(Level threshold) {
+        if (threshold == null) {
+            throw new IllegalArgumentException("Level cannot be null");
+        }
+        level = threshold;
+    }
+
+    /**
+     * Gets the appender messages are written to.
+     *
+     * @return the appender
+     */
+    public static Appender getAppender() {
+        return appender;
+    }
+
+    /**
+     * Replaces the appender, first writing out anything queued in the old one.
+     *
+     * @param replacement the new appender
+     * @return the old appender, which is not closed
+     * @throws IllegalArgumentException if replacement is null
+     */
+    public static Appender setAppender(Appender replacement) {
+        if (replacement == null) {
+            throw new IllegalArgumentException("Appender cannot be null");
+        }
+        Appender old = appender;
+        appender = replacement;
+        old.flush();
+        return old;
+    }
+
+    /**
+     * Waits until every message logged so far has been written.
+     */
+    public static void flush() {
+        appender.flush();
+    }
+}
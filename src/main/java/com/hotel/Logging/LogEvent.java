@@ -0,0 +1,55 @@
+package com.hotel.Logging;
+
+/**
+ * One log message with the fields an appender may record: when, how serious, where from and on which thread.
+ */
+public final class LogEvent {
+
+    private final long timeMillis;
+    private final Level level;
+    private final String loggerName;
+    private final String threadName;
+    private final String message;
+
+    /**
+     * Creates an event.
+     *
+     * @param timeMillis time the message was logged, in milliseconds since the epoch
+     * @param level the severity
+     * @param loggerName name of the logger, usually the class that logged
+     * @param threadName name of the thread that logged
+     * @param message the message
+     */
+    public LogEvent(long timeMillis, Level level, String loggerName, String threadName, String message) {
+        this.timeMillis = timeMillis;
+        this.level = level;
+        this.loggerName = loggerName;
+        this.threadName = threadName;
+        this.message = message;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return timeMillis + " " + level + " [" + threadName + "] " + loggerName + " - " + message;
+    }
+}
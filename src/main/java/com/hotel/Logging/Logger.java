@@ -0,0 +1,71 @@
+package com.hotel.Logging;
+
+/**
+ * Logs messages for one class through the level and appender set in {@link Log}.
+ * Build costly messages only after checking {@link #isDebugEnabled()}.
+ */
+public final class Logger {
+
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the logger's name.
+     *
+     * @return the name, usually the simple name of the class that logs
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether messages of a level are written.
+     *
+     * @param level the level
+     * @return true if the level is at or above the threshold set in {@link Log}
+     */
+    public boolean isEnabled(Level level) {
+        return level.compareTo(Log.getLevel()) >= 0;
+    }
+
+    /**
+     * Checks whether debug messages are written.
+     *
+     * @return true if debug messages are written
+     */
+    public boolean isDebugEnabled() {
+        return isEnabled(Level.DEBUG);
+    }
+
+    public void debug(String message) {
+        log(Level.DEBUG, message);
+    }
+
+    public void info(String message) {
+        log(Level.INFO, message);
+    }
+
+    public void warn(String message) {
+        log(Level.WARN, message);
+    }
+
+    public void error(String message) {
+        log(Level.ERROR, message);
+    }
+
+    /**
+     * Logs a message if its level is enabled.
+     *
+     * @param level the level
+     * @param message the message
+     */
+    public void log(Level level, String message) {
+        if (isEnabled(level)) {
+            Log.getAppender().append(new LogEvent(System.currentTimeMillis(), level, name,
+                    Thread.currentThread().getName(), message));
+        }
+    }
+}
@@ -1,16 +1,56 @@
 package com.hotel;
 
+import com.hotel.Model.PasswordHash;
 import com.hotel.UI.HotelManagementUI;
 
+import java.io.Console;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Scanner;
+
 /**
  * Main entry point for the Hotel Management System.
+ * Run with the path of a configuration file to open a real property instead of the demo data,
+ * or with {@code --hash-password} to print the stored hash of a password for that file.
  */
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--hash-password")) {
+            hashPassword();
+            return;
+        }
         System.out.println("Initializing Group 6 Hotel Management System...");
 
-        // Launch the unified UI
-        HotelManagementUI ui = new HotelManagementUI();
+        // Launch the unified UI, for the property in the given configuration file if any
+        HotelManagementUI ui;
+        try {
+            ui = args.length > 0 ? new HotelManagementUI(Paths.get(args[0])) : new HotelManagementUI();
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            System.err.println("Cannot start: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
         ui.start();
     }
+
+    /**
+     * Reads a password, without echo where there is a console, and prints its stored hash.
+     */
+    private static void hashPassword() {
+        Console console = System.console();
+        String password;
+        if (console != null) {
+            char[] typed = console.readPassword("Password: ");
+            password = typed == null ? null : new String(typed);
+        } else {
+            Scanner in = new Scanner(System.in);
+            password = in.hasNextLine() ? in.nextLine() : null;
+        }
+        try {
+            System.out.println(PasswordHash.of(password).getEncoded());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Cannot hash: " + e.getMessage());
+            System.exit(1);
+        }
+    }
 }
\ No newline at end of file
@@ -8,10 +8,16 @@ package com.hotel.Model;
  * @version 1.0
  */
 public class Admin extends User {
+	private static final long serialVersionUID = 1L;
+
 	public Admin(String userId, String name, String email, String phone, String password) {
 		super(userId, name, email, phone, password, UserRole.ADMIN);
 	}
 
+	public Admin(String userId, String name, String email, String phone, PasswordHash password) {
+		super(userId, name, email, phone, password, UserRole.ADMIN);
+	}
+
 	@Override
 	public String getPermissions() {
 		return "Admin: Full system access";
@@ -1,5 +1,6 @@
 package com.hotel.Model;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -12,9 +13,16 @@ import java.util.concurrent.atomic.AtomicInteger;
  * each new bookingID is unique.
  */
 
-public class Booking {
+public class Booking implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private static AtomicInteger bookingIDCounter = new AtomicInteger(0);
+
+    /** The placeholder guest's password, hashed once on first use rather than per booking. */
+    private static final class PlaceholderPassword {
+        private static final PasswordHash HASH = PasswordHash.of("WendysPassword");
+    }
     private int bookingID;
     private LocalDate arriveDate;
     private LocalDate departDate;
@@ -35,7 +43,8 @@ public class Booking {
         this.arriveDate = arriveDate;
         this.departDate = departDate;
         this.bookingDate = LocalDate.now();
-        this.bookingGuest = new Guest("ab125", "Wendy Torrance", "wendy.torrance@shriekmail.com", "01 345678", "WendysPassword");
+        this.bookingGuest = new Guest("ab125", "Wendy Torrance", "wendy.torrance@shriekmail.com", "01 345678",
+                PlaceholderPassword.HASH);
         this.bookingRoom = null;
         this.bookingStatus = BookingStatus.UNCONFIRMED;
     }
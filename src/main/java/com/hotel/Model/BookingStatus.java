@@ -4,15 +4,20 @@ package com.hotel.Model;
  * Enum representing the status of the Booking. The Booking moves through different stages.
  * It is Unconfirmed at the checking for availability stage.
  * It changes to Possible when there is an available Room.
+ * It is Held while the Room is reserved for a short time for the Guest to decide, and Expired if that time runs out.
  * When the Guest is happy with the Booking it is set to Confirmed.
+ * It is Checked_in once the Guest has arrived and been given the Room.
  * At the successful conclusion of the Booking the status will be updated to Paid.
  * If there is a problem with the Booking there are Cancelled and Refunded statuses.
  */
 public enum BookingStatus {
     UNCONFIRMED,
     POSSIBLE,
+    HELD,
     CONFIRMED,
+    CHECKED_IN,
     CANCELLED,
+    EXPIRED,
     REFUNDED,
     PAID;
 
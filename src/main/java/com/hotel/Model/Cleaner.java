@@ -11,9 +11,15 @@ import java.util.List;
  * @version 1.0
  */
 public class Cleaner extends User {
+    private static final long serialVersionUID = 1L;
+
     private List<String> assignedRooms;
 
     public Cleaner(String userId, String name, String email, String phone, String password) {
+        this(userId, name, email, phone, PasswordHash.of(password));
+    }
+
+    public Cleaner(String userId, String name, String email, String phone, PasswordHash password) {
         super(userId, name, email, phone, password, UserRole.CLEANER);
         this.assignedRooms = new ArrayList<>();
     }
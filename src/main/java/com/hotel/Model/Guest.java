@@ -1,6 +1,7 @@
 package com.hotel.Model;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -8,12 +9,20 @@ import java.util.Objects;
  * Represents a guest user in the hotel booking system.
  * A Guest can have a booking history, be marked as a returning guest,
  * and have a preferred payment method.
+ * <p>
+ * The booking history is a sorted array of booking IDs, so membership tests are a binary search
+ * and reading the history does not copy it. A guest with more than one booking is a returning guest.
  */
 public class Guest extends User {
-	/** Immutable list backing: booking identifiers associated with this guest. */
-	private List<String> bookingHistory;
+	private static final long serialVersionUID = 1L;
 
-	/** Flag indicating whether the guest is a returning customer. */
+	/** Booking IDs of this guest, sorted ascending; only the first {@code bookingCount} slots are used. */
+	private int[] bookingIds;
+
+	/** Number of booking IDs held in {@code bookingIds}. */
+	private int bookingCount;
+
+	/** Marks a guest as returning regardless of history, e.g. for stays before this system. */
 	private boolean returningGuest;
 
 	/** Optional preferred payment method for the guest. */
@@ -36,47 +45,125 @@ public class Guest extends User {
 	public Guest(String userId, String name, String email, String phone, String password) {
 		// Guests are often created/managed by staff and may not have a usable password for login.
 		// Ensure a non-empty password is passed to the User constructor to satisfy its validation.
-		super(userId, name, email, phone, (password == null || password.trim().isEmpty()) ? ("guest-" + userId) : password, UserRole.GUEST);
-		this.bookingHistory = new ArrayList<>();
+		this(userId, name, email, phone,
+				PasswordHash.of((password == null || password.trim().isEmpty()) ? ("guest-" + userId) : password));
+	}
+
+	/**
+	 * Create a new Guest with an already hashed password.
+	 *
+	 * @param userId   unique identifier for the guest (non-null, non-empty)
+	 * @param name     guest's full name (non-null, non-empty)
+	 * @param email    guest's email (non-null, valid format)
+	 * @param phone    guest's phone (non-null, non-empty)
+	 * @param password the hashed password (non-null)
+	 * @throws IllegalArgumentException if required inputs are invalid (delegated to {@code User})
+	 */
+	public Guest(String userId, String name, String email, String phone, PasswordHash password) {
+		super(userId, name, email, phone, password, UserRole.GUEST);
+		this.bookingIds = new int[4];
+		this.bookingCount = 0;
 		this.returningGuest = false;
 		this.paymentMethod = null;
 	}
 
 	/**
-	 * Add a booking identifier to this guest's booking history.
+	 * Add a booking ID to this guest's booking history.
 	 * <p>
 	 * Duplicate booking IDs are ignored.
 	 *
-	 * @param bookingId non-null, non-empty booking identifier
-	 * @throws IllegalArgumentException if {@code bookingId} is null or empty
+	 * @param bookingId booking identifier
+	 * @return true if the booking was not already in the history
 	 */
-	public void addBooking(String bookingId) {
-		validateInput(bookingId, "Booking ID");
-		if (!bookingHistory.contains(bookingId)) {
-			bookingHistory.add(bookingId);
+	public boolean addBooking(int bookingId) {
+		int pos = Arrays.binarySearch(bookingIds, 0, bookingCount, bookingId);
+		if (pos >= 0) {
+			return false;
 		}
+		int insert = -pos - 1;
+		if (bookingCount == bookingIds.length) {
+			bookingIds = Arrays.copyOf(bookingIds, bookingCount * 2);
+		}
+		System.arraycopy(bookingIds, insert, bookingIds, insert + 1, bookingCount - insert);
+		bookingIds[insert] = bookingId;
+		bookingCount++;
+		return true;
 	}
 
 	/**
-	 * Returns a defensive copy of the booking history.
+	 * Remove a booking ID from this guest's booking history, e.g. when the booking is cancelled.
+	 *
+	 * @param bookingId booking identifier
+	 * @return true if the booking was in the history
+	 */
+	public boolean removeBooking(int bookingId) {
+		int pos = Arrays.binarySearch(bookingIds, 0, bookingCount, bookingId);
+		if (pos < 0) {
+			return false;
+		}
+		System.arraycopy(bookingIds, pos + 1, bookingIds, pos, bookingCount - pos - 1);
+		bookingCount--;
+		return true;
+	}
+
+	/**
+	 * Check whether a booking is in this guest's history.
+	 *
+	 * @param bookingId booking identifier
+	 * @return true if the guest holds the booking
+	 */
+	public boolean hasBooking(int bookingId) {
+		return Arrays.binarySearch(bookingIds, 0, bookingCount, bookingId) >= 0;
+	}
+
+	/**
+	 * Returns the number of bookings in this guest's history.
+	 *
+	 * @return booking count
+	 */
+	public int getBookingCount() {
+		return bookingCount;
+	}
+
+	/**
+	 * Returns a read-only view of the booking history, in ascending booking ID order.
+	 * The view is not a copy and reflects later changes.
 	 *
 	 * @return list of booking IDs (never null)
 	 */
-	public List<String> getBookingHistory() {
-		return new ArrayList<>(bookingHistory);
+	public List<Integer> getBookingHistory() {
+		return new AbstractList<Integer>() {
+			@Override
+			public Integer get(int index) {
+				Objects.checkIndex(index, bookingCount);
+				return bookingIds[index];
+			}
+
+			@Override
+			public int size() {
+				return bookingCount;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				return o instanceof Integer && hasBooking((Integer) o);
+			}
+		};
 	}
 
 	/**
-	 * Check whether this guest is marked as a returning guest.
+	 * Check whether this guest is a returning guest: either marked as one,
+	 * or holding more than one booking.
 	 *
 	 * @return true if returning guest, false otherwise
 	 */
 	public boolean isReturningGuest() {
-		return returningGuest;
+		return returningGuest || bookingCount > 1;
 	}
 
 	/**
-	 * Mark or unmark this guest as a returning guest.
+	 * Mark or unmark this guest as a returning guest. A guest with more than one
+	 * booking is returning whatever this flag says.
 	 *
 	 * @param returningGuest boolean flag
 	 */
@@ -1,17 +1,24 @@
 package com.hotel.Model;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 
 /**
  * Represents an invoice for a hotel booking.
  * Generates formatted invoices with itemized charges, taxes, and totals.
  */
 
-public class Invoice {
+public class Invoice implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String invoiceNumber;
     private Booking booking;
@@ -23,6 +30,12 @@ public class Invoice {
     private double totalAmount;
     private List<InvoiceItem> items;
 
+    // Cached output of generateFormattedInvoice()
+    private transient volatile RenderedInvoice rendered;
+
+    // Notified with the invoice and its previous total when the total changes
+    private transient BiConsumer<Invoice, Double> totalChangeListener;
+
     // Hotel details for invoice header
     private static final String HOTEL_NAME = "The Group 6 Hotel";
     private static final String HOTEL_ADDRESS = "Shore Road, Killybegs, Co. Donegal, F94 DV52, Ireland";
@@ -30,6 +43,63 @@ public class Invoice {
     private static final String HOTEL_EMAIL = "info@groupsixhotel.com";
     private static final double DEFAULT_TAX_RATE = 0.2; // 20% tax
 
+    // Invoice layout, compiled once and shared by every invoice
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter INVOICE_NUMBER_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String DOUBLE_RULE = "═══════════════════════════════════════════════════════════\n";
+    private static final String SINGLE_RULE = "───────────────────────────────────────────────────────────\n";
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> RENDER_BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    private static final InvoiceTemplate<Invoice> INVOICE_HEAD = new InvoiceTemplate<>(
+            "\n"
+                    + DOUBLE_RULE
+                    + "                    INVOICE                                 \n"
+                    + DOUBLE_RULE
+                    + "\n"
+                    + "{hotelName:-30} {invoiceNumberLabel:28}\n"
+                    + "{hotelAddress:-30} {dateLabel:28}\n"
+                    + "{hotelPhoneLabel:-30} {timeLabel:28}\n"
+                    + "{hotelEmailLabel:-30}\n"
+                    + "\n"
+                    + SINGLE_RULE
+                    + "BILL TO:\n"
+                    + "Guest Name:    {guestName}\n"
+                    + "Room Number:   {roomNumber}\n"
+                    + "Check-in:      {checkIn}\n"
+                    + "Check-out:     {checkOut}\n"
+                    + "Booking ID:    {bookingId}\n"
+                    + "\n"
+                    + SINGLE_RULE
+                    + "{descriptionHeader:-35} {quantityHeader:8} {rateHeader:10} {amountHeader:10}\n"
+                    + SINGLE_RULE,
+            headFields());
+
+    private static final InvoiceTemplate<InvoiceItem> INVOICE_ITEM = new InvoiceTemplate<>(
+            "{description:-35} {quantity:8} €{unitPrice:9} €{totalPrice:9}\n",
+            itemFields());
+
+    private static final InvoiceTemplate<Invoice> INVOICE_TAIL = new InvoiceTemplate<>(
+            SINGLE_RULE
+                    + "{subtotalLabel:55} €{subtotal:9}\n"
+                    + "{vatLabel:55} €{taxAmount:9}\n"
+                    + DOUBLE_RULE
+                    + "{totalLabel:55} €{totalAmount:9}\n"
+                    + DOUBLE_RULE
+                    + "\n"
+                    + "PAYMENT DETAILS:\n"
+                    + "Payment Method: {paymentMethod}\n"
+                    + "Payment Status: {paymentStatus}\n"
+                    + "Receipt Number: {receiptNumber}\n"
+                    + "\n"
+                    + SINGLE_RULE
+                    + "           Thank you for staying with us!                  \n"
+                    + "         We hope to see you again soon.                    \n"
+                    + DOUBLE_RULE,
+            tailFields());
+
     /**
      * Constructor for creating an invoice from a booking and payment.
      *
@@ -103,7 +173,7 @@ public class Invoice {
      * Format: INV-YYYY-MMDD-BookingID
      */
     private String generateInvoiceNumber() {
-        String dateStr = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String dateStr = LocalDate.now().format(INVOICE_NUMBER_DATE);
         return String.format("INV-%s-%d", dateStr, booking.getBookingID());
     }
 
@@ -158,93 +228,62 @@ public class Invoice {
             throw new IllegalArgumentException("Amount must be positive");
         }
 
+        double previousTotal = totalAmount;
         items.add(new InvoiceItem(description, 1, amount, amount));
         subtotal += amount;
         taxAmount = subtotal * taxRate;
         totalAmount = subtotal + taxAmount;
+        rendered = null; // totals changed, re-render on next request
+
+        if (totalChangeListener != null) {
+            totalChangeListener.accept(this, previousTotal);
+        }
+    }
+
+    /**
+     * Sets a listener that is called whenever an additional charge changes the total.
+     * Used to keep invoice indexes up to date. The listener is not serialized.
+     *
+     * @param listener Receives the invoice and its previous total, or null to remove
+     */
+    public void setTotalChangeListener(BiConsumer<Invoice, Double> listener) {
+        this.totalChangeListener = listener;
     }
 
     /**
      * Generates a formatted text invoice for display or printing.
+     * The text is rendered once from the precompiled layout and cached; the cache is
+     * dropped when a charge is added, and not used once the payment status or the guest,
+     * room, dates or ID of the booking it printed have changed.
      *
      * @return Formatted invoice as a string
      */
     public String generateFormattedInvoice() {
-        StringBuilder invoice = new StringBuilder();
-        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd MMM yyyy");
-        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm");
-
-        // Header
-        invoice.append("\n");
-        invoice.append("═══════════════════════════════════════════════════════════\n");
-        invoice.append("                    INVOICE                                 \n");
-        invoice.append("═══════════════════════════════════════════════════════════\n");
-        invoice.append("\n");
-
-        // Hotel Details
-        invoice.append(String.format("%-30s %28s\n", HOTEL_NAME, "Invoice #: " + invoiceNumber));
-        invoice.append(String.format("%-30s %28s\n", HOTEL_ADDRESS,
-                "Date: " + invoiceDate.format(dateFormat)));
-        invoice.append(String.format("%-30s %28s\n", "Tel: " + HOTEL_PHONE,
-                "Time: " + invoiceDate.format(timeFormat)));
-        invoice.append(String.format("%-30s\n", "Email: " + HOTEL_EMAIL));
-        invoice.append("\n");
-        invoice.append("───────────────────────────────────────────────────────────\n");
-
-        // Guest Details
-        invoice.append("BILL TO:\n");
-        invoice.append(String.format("Guest Name:    %s\n", booking.getBookingGuest().getName()));
-        invoice.append(String.format("Room Number:   %d\n", booking.getBookingRoom().getRoomNumber()));
-        invoice.append(String.format("Check-in:      %s\n", booking.getArriveDate().format(dateFormat)));
-        invoice.append(String.format("Check-out:     %s\n", booking.getDepartDate().format(dateFormat)));
-        invoice.append(String.format("Booking ID:    %d\n", booking.getBookingID()));
-        invoice.append("\n");
-        invoice.append("───────────────────────────────────────────────────────────\n");
-
-        // Line Items
-        invoice.append(String.format("%-35s %8s %10s %10s\n",
-                "DESCRIPTION", "QTY", "RATE", "AMOUNT"));
-        invoice.append("───────────────────────────────────────────────────────────\n");
+        RenderedInvoice cached = rendered;
+        if (cached != null && cached.isCurrent(this)) {
+            return cached.text;
+        }
 
+        StringBuilder buffer = RENDER_BUFFER.get();
+        buffer.setLength(0);
+        INVOICE_HEAD.render(this, buffer);
         for (InvoiceItem item : items) {
-            invoice.append(String.format("%-35s %8d €%9.2f €%9.2f\n",
-                    truncate(item.description, 35),
-                    item.quantity,
-                    item.unitPrice,
-                    item.totalPrice));
+            INVOICE_ITEM.render(item, buffer);
         }
+        INVOICE_TAIL.render(this, buffer);
 
-        invoice.append("───────────────────────────────────────────────────────────\n");
-
-        // Totals
-        invoice.append(String.format("%55s €%9.2f\n", "Subtotal:", subtotal));
-        invoice.append(String.format("%55s €%9.2f\n",
-                String.format("VAT (%.0f%%):", taxRate * 100), taxAmount));
-        invoice.append("═══════════════════════════════════════════════════════════\n");
-        invoice.append(String.format("%55s €%9.2f\n", "TOTAL:", totalAmount));
-        invoice.append("═══════════════════════════════════════════════════════════\n");
-        invoice.append("\n");
-
-        // Payment Details
-        invoice.append("PAYMENT DETAILS:\n");
-        invoice.append(String.format("Payment Method: %s\n", payment.getPaymentMethod()));
-        invoice.append(String.format("Payment Status: %s\n", payment.getPaymentStatus()));
-        invoice.append(String.format("Receipt Number: %s\n", payment.getReceiptNumber()));
-        invoice.append("\n");
-
-        // Footer
-        invoice.append("───────────────────────────────────────────────────────────\n");
-        invoice.append("           Thank you for staying with us!                  \n");
-        invoice.append("         We hope to see you again soon.                    \n");
-        invoice.append("═══════════════════════════════════════════════════════════\n");
-
-        return invoice.toString();
+        String text = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            RENDER_BUFFER.remove();
+        }
+        rendered = new RenderedInvoice(text, this);
+        return text;
     }
 
     /**
      * Truncates a string to specified length.
      */
-    private String truncate(String str, int maxLength) {
+    private static String truncate(String str, int maxLength) {
         if (str.length() <= maxLength) {
             return str;
         }
@@ -306,10 +345,109 @@ public class Invoice {
                 invoiceNumber, totalAmount, payment.getPaymentStatus());
     }
 
+    /**
+     * Fields available to the invoice header template.
+     */
+    private static Map<String, InvoiceTemplate.Field<Invoice>> headFields() {
+        Map<String, InvoiceTemplate.Field<Invoice>> fields = new HashMap<>();
+        fields.put("hotelName", (inv, out) -> out.append(HOTEL_NAME));
+        fields.put("hotelAddress", (inv, out) -> out.append(HOTEL_ADDRESS));
+        fields.put("hotelPhoneLabel", (inv, out) -> out.append("Tel: ").append(HOTEL_PHONE));
+        fields.put("hotelEmailLabel", (inv, out) -> out.append("Email: ").append(HOTEL_EMAIL));
+        fields.put("invoiceNumberLabel", (inv, out) -> out.append("Invoice #: ").append(inv.invoiceNumber));
+        fields.put("dateLabel", (inv, out) -> {
+            out.append("Date: ");
+            DATE_FORMAT.formatTo(inv.invoiceDate, out);
+        });
+        fields.put("timeLabel", (inv, out) -> {
+            out.append("Time: ");
+            TIME_FORMAT.formatTo(inv.invoiceDate, out);
+        });
+        fields.put("guestName", (inv, out) -> out.append(inv.booking.getBookingGuest().getName()));
+        fields.put("roomNumber", (inv, out) -> out.append(inv.booking.getBookingRoom().getRoomNumber()));
+        fields.put("checkIn", (inv, out) -> DATE_FORMAT.formatTo(inv.booking.getArriveDate(), out));
+        fields.put("checkOut", (inv, out) -> DATE_FORMAT.formatTo(inv.booking.getDepartDate(), out));
+        fields.put("bookingId", (inv, out) -> out.append(inv.booking.getBookingID()));
+        fields.put("descriptionHeader", (inv, out) -> out.append("DESCRIPTION"));
+        fields.put("quantityHeader", (inv, out) -> out.append("QTY"));
+        fields.put("rateHeader", (inv, out) -> out.append("RATE"));
+        fields.put("amountHeader", (inv, out) -> out.append("AMOUNT"));
+        return fields;
+    }
+
+    /**
+     * Fields available to the line item template.
+     */
+    private static Map<String, InvoiceTemplate.Field<InvoiceItem>> itemFields() {
+        Map<String, InvoiceTemplate.Field<InvoiceItem>> fields = new HashMap<>();
+        fields.put("description", (item, out) -> out.append(truncate(item.description, 35)));
+        fields.put("quantity", (item, out) -> out.append(item.quantity));
+        fields.put("unitPrice", (item, out) -> InvoiceTemplate.appendFixed(item.unitPrice, 2, out));
+        fields.put("totalPrice", (item, out) -> InvoiceTemplate.appendFixed(item.totalPrice, 2, out));
+        return fields;
+    }
+
+    /**
+     * Fields available to the totals and payment section template.
+     */
+    private static Map<String, InvoiceTemplate.Field<Invoice>> tailFields() {
+        Map<String, InvoiceTemplate.Field<Invoice>> fields = new HashMap<>();
+        fields.put("subtotalLabel", (inv, out) -> out.append("Subtotal:"));
+        fields.put("totalLabel", (inv, out) -> out.append("TOTAL:"));
+        fields.put("vatLabel", (inv, out) -> {
+            out.append("VAT (");
+            InvoiceTemplate.appendFixed(inv.taxRate * 100, 0, out);
+            out.append("%):");
+        });
+        fields.put("subtotal", (inv, out) -> InvoiceTemplate.appendFixed(inv.subtotal, 2, out));
+        fields.put("taxAmount", (inv, out) -> InvoiceTemplate.appendFixed(inv.taxAmount, 2, out));
+        fields.put("totalAmount", (inv, out) -> InvoiceTemplate.appendFixed(inv.totalAmount, 2, out));
+        fields.put("paymentMethod", (inv, out) -> out.append(inv.payment.getPaymentMethod()));
+        fields.put("paymentStatus", (inv, out) -> out.append(inv.payment.getPaymentStatus()));
+        fields.put("receiptNumber", (inv, out) -> out.append(inv.payment.getReceiptNumber()));
+        return fields;
+    }
+
+    /**
+     * Rendered invoice text together with the booking and payment details it was rendered from
+     * that can change after the invoice is issued.
+     */
+    private static final class RenderedInvoice {
+        private final String text;
+        private final PaymentStatus paymentStatus;
+        private final String guestName;
+        private final int roomNumber;
+        private final LocalDate arriveDate;
+        private final LocalDate departDate;
+        private final int bookingId;
+
+        private RenderedInvoice(String text, Invoice invoice) {
+            this.text = text;
+            this.paymentStatus = invoice.payment.getPaymentStatus();
+            this.guestName = invoice.booking.getBookingGuest().getName();
+            this.roomNumber = invoice.booking.getBookingRoom().getRoomNumber();
+            this.arriveDate = invoice.booking.getArriveDate();
+            this.departDate = invoice.booking.getDepartDate();
+            this.bookingId = invoice.booking.getBookingID();
+        }
+
+        private boolean isCurrent(Invoice invoice) {
+            Booking booking = invoice.booking;
+            return paymentStatus == invoice.payment.getPaymentStatus()
+                    && bookingId == booking.getBookingID()
+                    && roomNumber == booking.getBookingRoom().getRoomNumber()
+                    && Objects.equals(guestName, booking.getBookingGuest().getName())
+                    && Objects.equals(arriveDate, booking.getArriveDate())
+                    && Objects.equals(departDate, booking.getDepartDate());
+        }
+    }
+
     /**
      * Inner class representing a line item on the invoice.
      */
-    public static class InvoiceItem {
+    public static class InvoiceItem implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private String description;
         private int quantity;
         private double unitPrice;
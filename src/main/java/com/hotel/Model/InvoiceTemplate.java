@@ -0,0 +1,150 @@
+package com.hotel.Model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A small text template that is parsed once and then rendered many times.
+ * Used by {@link Invoice} so the invoice layout is not re-parsed by
+ * {@code String.format} on every render.
+ * <p>
+ * Placeholders are written as {@code {name}}, {@code {name:W}} (right-justified to
+ * width W) or {@code {name:-W}} (left-justified to width W). Values are never truncated,
+ * which matches the behaviour of {@code %Ws} / {@code %-Ws} in {@code String.format}.
+ *
+ * @param <T> the type of object the template reads its field values from
+ */
+final class InvoiceTemplate<T> {
+
+    /**
+     * Writes the raw (unpadded) value of a field straight into the output buffer.
+     *
+     * @param <T> the source object type
+     */
+    interface Field<T> {
+        void write(T source, StringBuilder out);
+    }
+
+    private final String[] literals;     // literal text before each field, plus the trailing literal
+    private final Field<T>[] fields;
+    private final int[] widths;          // 0 = no padding, > 0 right-justify, < 0 left-justify
+
+    /**
+     * Compiles a template string against a set of named fields.
+     *
+     * @param pattern the layout with {@code {name[:width]}} placeholders
+     * @param fieldsByName the fields that may be referenced from the pattern
+     * @throws IllegalArgumentException if the pattern references an unknown field or is malformed
+     */
+    InvoiceTemplate(String pattern, Map<String, Field<T>> fieldsByName) {
+        List<String> literalList = new ArrayList<>();
+        List<Field<T>> fieldList = new ArrayList<>();
+        List<Integer> widthList = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c != '{') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            int close = pattern.indexOf('}', i);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at " + i);
+            }
+            String spec = pattern.substring(i + 1, close);
+            String name = spec;
+            int width = 0;
+            int colon = spec.indexOf(':');
+            if (colon >= 0) {
+                name = spec.substring(0, colon);
+                width = Integer.parseInt(spec.substring(colon + 1));
+            }
+            Field<T> field = fieldsByName.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown template field: " + name);
+            }
+            literalList.add(literal.toString());
+            literal.setLength(0);
+            fieldList.add(field);
+            widthList.add(width);
+            i = close + 1;
+        }
+        literalList.add(literal.toString());
+
+        this.literals = literalList.toArray(new String[0]);
+        @SuppressWarnings({"unchecked", "rawtypes"})  // no generic array creation; every element is a Field<T>
+        Field<T>[] compiled = fieldList.toArray(new Field[0]);
+        this.fields = compiled;
+        this.widths = new int[widthList.size()];
+        for (int w = 0; w < widths.length; w++) {
+            widths[w] = widthList.get(w);
+        }
+    }
+
+    /**
+     * Renders the template for one source object, appending to the given buffer.
+     *
+     * @param source the object supplying field values
+     * @param out the buffer to append to
+     */
+    void render(T source, StringBuilder out) {
+        for (int i = 0; i < fields.length; i++) {
+            out.append(literals[i]);
+            int start = out.length();
+            fields[i].write(source, out);
+            int width = widths[i];
+            if (width != 0) {
+                int padding = Math.abs(width) - (out.length() - start);
+                if (width > 0) {
+                    for (int p = 0; p < padding; p++) {
+                        out.insert(start, ' ');
+                    }
+                } else {
+                    for (int p = 0; p < padding; p++) {
+                        out.append(' ');
+                    }
+                }
+            }
+        }
+        out.append(literals[literals.length - 1]);
+    }
+
+    /**
+     * Appends a number with the given number of decimals, rounded HALF_UP.
+     * Produces the same digits as {@code %.Nf} in {@code String.format} for the default locale.
+     *
+     * @param value the value to write
+     * @param decimals number of decimal places
+     * @param out the buffer to append to
+     */
+    static void appendFixed(double value, int decimals, StringBuilder out) {
+        String digits = BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString();
+        char separator = decimalSeparator();
+        if (separator == '.') {
+            out.append(digits);
+        } else {
+            out.append(digits.replace('.', separator));
+        }
+    }
+
+    // Last looked-up locale and its separator; DecimalFormatSymbols.getInstance clones on every call
+    private static volatile Locale separatorLocale;
+    private static volatile char separator = '.';
+
+    private static char decimalSeparator() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (locale != separatorLocale) {
+            separator = DecimalFormatSymbols.getInstance(locale).getDecimalSeparator();
+            separatorLocale = locale;
+        }
+        return separator;
+    }
+}
@@ -1,10 +1,17 @@
 package com.hotel.Model;
 
 public class Manager extends User {
+    private static final long serialVersionUID = 1L;
+
     private String department;
 
     public Manager(String userId, String name, String email, String phone,
                    String password, String department) {
+        this(userId, name, email, phone, PasswordHash.of(password), department);
+    }
+
+    public Manager(String userId, String name, String email, String phone,
+                   PasswordHash password, String department) {
         super(userId, name, email, phone, password, UserRole.MANAGER);
         validateInput(department, "Department");
         this.department = department;
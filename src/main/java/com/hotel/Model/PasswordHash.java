@@ -0,0 +1,65 @@
+package com.hotel.Model;
+
+/**
+ * A password already run through {@link PasswordHasher}, for building users without hashing
+ * in the constructor.
+ * <p>
+ * Hashing is deliberately slow, so it is done once by {@link #of(String)} where a password is
+ * registered or changed. Users loaded from stored data take the stored hash with
+ * {@link #parse(String)}, which costs nothing.
+ */
+public final class PasswordHash {
+
+    private final String encoded;
+
+    private PasswordHash(String encoded) {
+        this.encoded = encoded;
+    }
+
+    /**
+     * Hashes a password with a fresh salt at the current cost.
+     *
+     * @param password the plain text password
+     * @return the hash
+     * @throws IllegalArgumentException if the password is null or empty
+     */
+    public static PasswordHash of(String password) {
+        if (password == null || password.trim().isEmpty()) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        return new PasswordHash(PasswordHasher.hash(password));
+    }
+
+    /**
+     * Reads a hash in the stored form {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}.
+     *
+     * @param encoded the stored hash
+     * @return the hash
+     * @throws IllegalArgumentException if the text is not an encoded hash
+     */
+    public static PasswordHash parse(String encoded) {
+        if (!isEncoded(encoded)) {
+            throw new IllegalArgumentException("Not an encoded password hash");
+        }
+        return new PasswordHash(encoded);
+    }
+
+    /**
+     * Checks whether text is a hash in the stored form, rather than a plain password.
+     *
+     * @param text the text
+     * @return true if {@link #parse(String)} accepts it
+     */
+    public static boolean isEncoded(String text) {
+        return text != null && PasswordHasher.isEncoded(text);
+    }
+
+    /**
+     * Gets the hash in its stored form.
+     *
+     * @return the encoded hash
+     */
+    public String getEncoded() {
+        return encoded;
+    }
+}
@@ -0,0 +1,116 @@
+package com.hotel.Model;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted PBKDF2 password hashing.
+ * Hashes are stored as {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}, so each hash keeps
+ * the cost it was created with and the cost can be raised without invalidating old passwords.
+ * <p>
+ * The cost for new hashes is read from the {@code hotel.password.iterations} system property
+ * on every call; tests set it low to keep user creation cheap.
+ */
+final class PasswordHasher {
+
+    private static final String ITERATIONS_PROPERTY = "hotel.password.iterations";
+    private static final int DEFAULT_ITERATIONS = 210_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher() {
+    }
+
+    /**
+     * Hashes a password with a fresh salt at the current cost.
+     *
+     * @param password the plain text password
+     * @return the encoded hash
+     */
+    static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        int iterations = iterations();
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, iterations));
+    }
+
+    /**
+     * Checks a password against an encoded hash in constant time.
+     *
+     * @param password the plain text password
+     * @param encoded the stored hash
+     * @return true if the password matches
+     */
+    static boolean verify(String password, String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(PREFIX)) {
+            return false;
+        }
+        Base64.Decoder base64 = Base64.getDecoder();
+        byte[] salt = base64.decode(parts[2]);
+        byte[] expected = base64.decode(parts[3]);
+        byte[] actual = derive(password, salt, Integer.parseInt(parts[1]));
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    /**
+     * Checks whether text has the stored form of a hash: known prefix, a positive cost and
+     * Base64 salt and hash.
+     *
+     * @param encoded the text
+     * @return true if it can be passed to {@link #verify(String, String)}
+     */
+    static boolean isEncoded(String encoded) {
+        String[] parts = encoded.split("\\$");
+        if (parts.length != 4 || !parts[0].equals(PREFIX)) {
+            return false;
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            return Integer.parseInt(parts[1]) > 0 && base64.decode(parts[2]).length > 0
+                    && base64.decode(parts[3]).length * 8 == HASH_BITS;
+        } catch (IllegalArgumentException e) {  // NumberFormatException included
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether a hash was made with a lower cost than the current one.
+     *
+     * @param encoded the stored hash
+     * @return true if the password should be hashed again
+     */
+    static boolean needsRehash(String encoded) {
+        String[] parts = encoded.split("\\$");
+        return parts.length != 4 || Integer.parseInt(parts[1]) < iterations();
+    }
+
+    private static int iterations() {
+        int iterations = Integer.getInteger(ITERATIONS_PROPERTY, DEFAULT_ITERATIONS);
+        if (iterations < 1) {
+            throw new IllegalStateException(ITERATIONS_PROPERTY + " must be at least 1");
+        }
+        return iterations;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Password hashing unavailable: " + e.getMessage(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
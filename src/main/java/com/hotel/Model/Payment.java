@@ -1,5 +1,6 @@
 package com.hotel.Model;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -12,7 +13,9 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Handles payment processing, validation, and tracking for bookings.
  * Each payment is associated with a booking and guest.
  */
-public class Payment {
+public class Payment implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     // Static counter for generating unique payment IDs
     private static AtomicInteger paymentCounter = new AtomicInteger(1000);
@@ -25,7 +28,9 @@ public class Payment {
      * such as the room charge and various facility charges (e.g., Spa, Gym, Dining).
      * It holds the final, cumulative charge amount for a single item.</p>
      */
-    public static class LineItem {
+    public static class LineItem implements Serializable {
+        private static final long serialVersionUID = 1L;
+
         private final String description;
         private final double amount;
 
@@ -4,9 +4,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ReceptionStaff extends User {
+    private static final long serialVersionUID = 1L;
+
     private List<String> assignedShifts;
 
     public ReceptionStaff(String userId, String name, String email, String phone, String password) {
+        this(userId, name, email, phone, PasswordHash.of(password));
+    }
+
+    public ReceptionStaff(String userId, String name, String email, String phone, PasswordHash password) {
         super(userId, name, email, phone, password, UserRole.RECEPTION_STAFF);
         this.assignedShifts = new ArrayList<>();
     }
@@ -3,6 +3,12 @@ package com.hotel.Model;
 
 import com.hotel.Service.BookingRegister;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * Represents a single room in the hotel.
  * Each Room object holds basic details such as
@@ -11,16 +17,19 @@ import com.hotel.Service.BookingRegister;
  * @author Vijaylakshmi
  * @version 1.0
  */
-public class Room {
+public class Room implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private int roomNumber;
     private RoomType roomType;      // e.g., "Single", "Double", "Suite"
     private boolean available;    // true if room is available for booking
     private double pricePerNight; // room cost per night
+    private int attributes;       // RoomAttribute bits, e.g. sea view, accessible
+    private transient Consumer<Room> changeListener; // told when type, number or attributes change
 
     //Booking Register additions to Room (Maurice)
-    private int bookingID;
-    private BookingRegister bookingRegister;
+    private transient BookingRegister bookingRegister; // not archived with invoices, see readObject
     private int roomBookingCount;
 
     public Room(int roomNumber, RoomType roomType, boolean available, double pricePerNight) {
@@ -32,7 +41,7 @@ public class Room {
         //extra attributes initialised for booking register functionality (Maurice)
         //the methods to use these attributes have been added into the BookingRegister class
         //The BookingRegister objects contain the booking details for one room each
-        this.bookingID = 1;
+        //and only allocate booking state once the room is first booked
         this.bookingRegister = new BookingRegister();
         this.roomBookingCount = 0;
 
@@ -40,6 +49,28 @@ public class Room {
        // this.bookedDates = new ArrayList<>(); //array used to check availability of range of dates
     }
 
+    /**
+     * Creates a Room with features guests can filter on.
+     * @param roomNumber the room number; the floor is its hundreds
+     * @param roomType the room type
+     * @param available true if the room is available for booking
+     * @param pricePerNight room cost per night
+     * @param attributes the room's features
+     */
+    public Room(int roomNumber, RoomType roomType, boolean available, double pricePerNight, Set<RoomAttribute> attributes) {
+        this(roomNumber, roomType, available, pricePerNight);
+        this.attributes = RoomAttribute.maskOf(attributes);
+    }
+
+    /**
+     * A deserialized Room (e.g. inside an archived invoice) is a detached copy,
+     * so it starts with an empty register rather than the live room's bookings.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.bookingRegister = new BookingRegister();
+    }
+
     // 🔹 Getters and Setters
     public int getRoomNumber() {
         return roomNumber;
@@ -47,6 +78,15 @@ public class Room {
 
     public void setRoomNumber(int roomNumber) {
         this.roomNumber = roomNumber;
+        fireChanged();
+    }
+
+    /**
+     * Gets the floor of the room, the hundreds of its room number (room 305 is on floor 3).
+     * @return the floor
+     */
+    public int getFloor() {
+        return roomNumber / 100;
     }
 
     public BookingRegister getBookingRegister() { return bookingRegister; }
@@ -57,6 +97,56 @@ public class Room {
 
     public void setRoomType(RoomType roomType) {
         this.roomType = roomType;
+        fireChanged();
+    }
+
+    /**
+     * Gets the room's features as a mask of RoomAttribute bits.
+     * @return the attribute mask
+     */
+    public int getAttributeMask() {
+        return attributes;
+    }
+
+    /**
+     * Gets the room's features.
+     * @return a new set of the room's features
+     */
+    public Set<RoomAttribute> getAttributes() {
+        return RoomAttribute.fromMask(attributes);
+    }
+
+    /**
+     * Checks whether the room has a feature.
+     * @param attribute the feature
+     * @return true if the room has it
+     */
+    public boolean hasAttribute(RoomAttribute attribute) {
+        return (attributes & attribute.mask()) != 0;
+    }
+
+    /**
+     * Replaces the room's features.
+     * @param attributes the new features
+     */
+    public void setAttributes(Set<RoomAttribute> attributes) {
+        this.attributes = RoomAttribute.maskOf(attributes);
+        fireChanged();
+    }
+
+    /**
+     * Sets a listener that is called after the room's type, number or features change.
+     * Used to keep room search indexes up to date. The listener is not serialized.
+     * @param listener receives the changed room, or null to remove
+     */
+    public void setChangeListener(Consumer<Room> listener) {
+        this.changeListener = listener;
+    }
+
+    private void fireChanged() {
+        if (changeListener != null) {
+            changeListener.accept(this);
+        }
     }
 
     public boolean isAvailable() {
@@ -89,6 +179,7 @@ public class Room {
                 ", roomType='" + roomType + '\'' +
                 ", available=" + available +
                 ", pricePerNight=" + pricePerNight +
+                (attributes != 0 ? ", attributes=" + getAttributes() : "") +
                 '}';
     }
 
@@ -0,0 +1,63 @@
+package com.hotel.Model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Enum describing the features a Room can have, which guests can filter on.
+ * Each feature is one bit of a Room's attribute mask.
+ */
+public enum RoomAttribute {
+    SEA_VIEW,
+    BALCONY,
+    ACCESSIBLE,
+    SMOKING,
+    KING_BED,
+    TWIN_BEDS;
+
+    /**
+     * Gets the bit of this feature in an attribute mask.
+     * @return the mask bit
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Combines features into an attribute mask.
+     * @param attributes the features
+     * @return the mask with a bit set for each feature
+     */
+    public static int maskOf(Set<RoomAttribute> attributes) {
+        int mask = 0;
+        for (RoomAttribute attribute : attributes) {
+            mask |= attribute.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Expands an attribute mask into its features.
+     * @param mask the attribute mask
+     * @return the features whose bits are set
+     */
+    public static Set<RoomAttribute> fromMask(int mask) {
+        Set<RoomAttribute> attributes = EnumSet.noneOf(RoomAttribute.class);
+        for (RoomAttribute attribute : values()) {
+            if ((mask & attribute.mask()) != 0) {
+                attributes.add(attribute);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Formats the RoomAttribute into a readable format, e.g. "Sea view" instead of "SEA_VIEW".
+     * @return RoomAttribute
+     */
+    @Override
+    public String toString() {
+        String name = name().toLowerCase().replace('_', ' ');
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotel.Model;
 
+import java.io.Serializable;
 import java.util.Objects;
 /**
  * Abstract base class representing a user in the hotel booking system.
@@ -7,27 +8,44 @@ import java.util.Objects;
  * @author dev_amru
  * @version 1.0
  */
-public abstract class User {
+public abstract class User implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private String userId;
     private String name;
     private String email;
     private String phone;
-    private String password;
+    private transient String passwordHash;  // salted PBKDF2, see PasswordHasher; never written out, e.g. with an archived invoice
+    private transient int passwordVersion;  // counts password changes, so sessions from before one can be ended
     private UserRole role;
 
+    /**
+     * Creates a user with a plain text password, hashing it here. Hashing is slow; code that
+     * registers users should hash with {@link PasswordHash#of(String)} first and pass the hash.
+     */
     public User(String userId, String name, String email, String phone,
                 String password, UserRole role) {
+        this(userId, name, email, phone, PasswordHash.of(password), role);
+    }
+
+    /**
+     * Creates a user with an already hashed password. Nothing slow is done here.
+     */
+    public User(String userId, String name, String email, String phone,
+                PasswordHash password, UserRole role) {
         validateInput(userId, "User ID");
         validateInput(name, "Name");
         validateEmail(email);
         validateInput(phone, "Phone");
-        validateInput(password, "Password");
+        if (password == null) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
 
         this.userId = userId;
         this.name = name;
         this.email = email;
         this.phone = phone;
-        this.password = password;
+        this.passwordHash = password.getEncoded();
         this.role = role;
     }
 
@@ -70,11 +88,43 @@ public abstract class User {
 
     /**
      * Validates password for authentication.
+     * Deliberately slow: use a session token for repeated checks.
+     * A user read back from serialized form, e.g. the guest of an archived invoice, has no password.
      */
     public boolean validatePassword(String password) {
-        return this.password.equals(password);
+        if (password == null || passwordHash == null) {
+            return false;
+        }
+        return PasswordHasher.verify(password, passwordHash);
     }
 
+    /**
+     * Checks whether the stored password hash is weaker than the current hashing cost.
+     */
+    public boolean passwordNeedsRehash() {
+        return passwordHash != null && PasswordHasher.needsRehash(passwordHash);
+    }
+
+    /**
+     * Checks the password and, if it matches, hashes it again at the current cost.
+     * The password itself is unchanged, so sessions carry on.
+     *
+     * @return true if the password matched
+     */
+    public boolean upgradePasswordHash(String password) {
+        if (!validatePassword(password)) {
+            return false;
+        }
+        this.passwordHash = PasswordHasher.hash(password);
+        return true;
+    }
+
+    /**
+     * Gets how many times the password has been changed, so a session can tell whether the
+     * password it was started with still stands.
+     */
+    public int getPasswordVersion() { return passwordVersion; }
+
     // Setters
     public void setName(String name) {
         validateInput(name, "Name");
@@ -91,9 +141,22 @@ public abstract class User {
         this.phone = phone;
     }
 
+    /**
+     * Changes the password. Sessions started before the change are no longer valid.
+     */
     public void setPassword(String password) {
-        validateInput(password, "Password");
-        this.password = password;
+        setPassword(PasswordHash.of(password));
+    }
+
+    /**
+     * Changes the password to an already hashed one. Sessions started before the change are no longer valid.
+     */
+    public void setPassword(PasswordHash password) {
+        if (password == null) {
+            throw new IllegalArgumentException("Password cannot be null or empty");
+        }
+        this.passwordHash = password.getEncoded();
+        this.passwordVersion++;
     }
 
     @Override
@@ -0,0 +1,255 @@
+package com.hotel.Service;
+
+import com.hotel.Model.RoomType;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Free rooms per {@link RoomType} for each night of a fixed window, typically the coming year.
+ * Kept current by {@link RoomInventoryImpl} as rooms are added and removed and nights are
+ * booked and released, rather than recounted from the room registers on each request.
+ * <p>
+ * Each room type has a segment tree with lazy range updates, so booking a stay, free
+ * room-nights over a range and the fewest free rooms over a range all cost O(log n).
+ * Nights outside the window are ignored.
+ */
+public class AvailabilityHeatmap {
+
+    private final LocalDate start;
+    private final int days;
+    private final Map<RoomType, SegmentTree> trees;
+
+    /**
+     * Creates a heatmap with no rooms.
+     *
+     * @param start first night covered
+     * @param days number of nights covered
+     * @throws IllegalArgumentException if start is null or days is not positive
+     */
+    public AvailabilityHeatmap(LocalDate start, int days) {
+        if (start == null || days <= 0) {
+            throw new IllegalArgumentException("Start date and a positive number of days are required");
+        }
+        this.start = start;
+        this.days = days;
+        this.trees = new EnumMap<>(RoomType.class);
+        for (RoomType type : RoomType.values()) {
+            trees.put(type, new SegmentTree(days));
+        }
+    }
+
+    /**
+     * Gets the first night covered.
+     *
+     * @return start date
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the number of nights covered.
+     *
+     * @return night count
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Adds a room's capacity on every night, less the nights it already has booked.
+     *
+     * @param type the room's type
+     * @param booked booked nights of the room, bit i standing for {@code getStart().plusDays(i)}
+     */
+    public void addRoom(RoomType type, BitSet booked) {
+        changeRoom(type, booked, 1);
+    }
+
+    /**
+     * Removes a room added with {@link #addRoom(RoomType, BitSet)}.
+     *
+     * @param type the room's type
+     * @param booked booked nights of the room, bit i standing for {@code getStart().plusDays(i)}
+     */
+    public void removeRoom(RoomType type, BitSet booked) {
+        changeRoom(type, booked, -1);
+    }
+
+    /**
+     * Records nights newly booked in a room of a type.
+     *
+     * @param type the room type
+     * @param arrive first night
+     * @param depart day after the last night
+     */
+    public void book(RoomType type, LocalDate arrive, LocalDate depart) {
+        adjust(type, arrive, depart, -1);
+    }
+
+    /**
+     * Records nights released in a room of a type.
+     *
+     * @param type the room type
+     * @param arrive first night
+     * @param depart day after the last night
+     */
+    public void release(RoomType type, LocalDate arrive, LocalDate depart) {
+        adjust(type, arrive, depart, 1);
+    }
+
+    /**
+     * Gets the free rooms of a type on one night.
+     *
+     * @param type the room type
+     * @param night the night
+     * @return free rooms, or 0 outside the window
+     */
+    public int getFreeRooms(RoomType type, LocalDate night) {
+        return getMinFreeRooms(type, night, night.plusDays(1));
+    }
+
+    /**
+     * Sums the free room-nights of a type over the nights {@code [from, to)}.
+     *
+     * @param type the room type
+     * @param from first night
+     * @param to day after the last night
+     * @return free room-nights within the window
+     */
+    public long getFreeRoomNights(RoomType type, LocalDate from, LocalDate to) {
+        int[] range = clip(from, to);
+        return range == null ? 0 : trees.get(type).sum(range[0], range[1] - 1);
+    }
+
+    /**
+     * Gets the fewest free rooms of a type on any night of {@code [from, to)}.
+     * A stay over those nights can be sold if this is above zero.
+     *
+     * @param type the room type
+     * @param from first night
+     * @param to day after the last night
+     * @return fewest free rooms, or 0 if the range is outside the window
+     */
+    public int getMinFreeRooms(RoomType type, LocalDate from, LocalDate to) {
+        int[] range = clip(from, to);
+        return range == null ? 0 : (int) trees.get(type).min(range[0], range[1] - 1);
+    }
+
+    private void changeRoom(RoomType type, BitSet booked, int delta) {
+        SegmentTree tree = trees.get(type);
+        tree.add(0, days - 1, delta);
+        for (int i = booked.nextSetBit(0); i >= 0 && i < days; i = booked.nextSetBit(i + 1)) {
+            int end = Math.min(booked.nextClearBit(i), days);
+            tree.add(i, end - 1, -delta);
+            i = end;
+        }
+    }
+
+    private void adjust(RoomType type, LocalDate arrive, LocalDate depart, int delta) {
+        int[] range = clip(arrive, depart);
+        if (range != null) {
+            trees.get(type).add(range[0], range[1] - 1, delta);
+        }
+    }
+
+    /**
+     * Maps nights {@code [from, to)} onto window indexes, or null if none fall in the window.
+     */
+    private int[] clip(LocalDate from, LocalDate to) {
+        long first = Math.max(from.toEpochDay() - start.toEpochDay(), 0);
+        long last = Math.min(to.toEpochDay() - start.toEpochDay(), days);
+        return first >= last ? null : new int[]{(int) first, (int) last};
+    }
+
+    /**
+     * Segment tree over nights holding sum and minimum, with lazy range add.
+     */
+    private static final class SegmentTree {
+        private final int size;
+        private final long[] sum;
+        private final long[] min;
+        private final long[] pending;  // add not yet pushed to children
+
+        private SegmentTree(int size) {
+            this.size = size;
+            this.sum = new long[4 * size];
+            this.min = new long[4 * size];
+            this.pending = new long[4 * size];
+        }
+
+        void add(int from, int to, long delta) {
+            add(1, 0, size - 1, from, to, delta);
+        }
+
+        long sum(int from, int to) {
+            return sum(1, 0, size - 1, from, to, 0);
+        }
+
+        long min(int from, int to) {
+            return min(1, 0, size - 1, from, to, 0);
+        }
+
+        private void add(int node, int lo, int hi, int from, int to, long delta) {
+            if (to < lo || hi < from) {
+                return;
+            }
+            if (from <= lo && hi <= to) {
+                apply(node, lo, hi, delta);
+                return;
+            }
+            push(node, lo, hi);
+            int mid = (lo + hi) >>> 1;
+            add(2 * node, lo, mid, from, to, delta);
+            add(2 * node + 1, mid + 1, hi, from, to, delta);
+            sum[node] = sum[2 * node] + sum[2 * node + 1];
+            min[node] = Math.min(min[2 * node], min[2 * node + 1]);
+        }
+
+        /**
+         * Queries carry the adds still pending above a node down as {@code acc} rather than
+         * pushing them, so a read writes nothing and cannot race a change into a wrong count.
+         */
+        private long sum(int node, int lo, int hi, int from, int to, long acc) {
+            if (to < lo || hi < from) {
+                return 0;
+            }
+            if (from <= lo && hi <= to) {
+                return sum[node] + acc * (hi - lo + 1);
+            }
+            long below = acc + pending[node];
+            int mid = (lo + hi) >>> 1;
+            return sum(2 * node, lo, mid, from, to, below) + sum(2 * node + 1, mid + 1, hi, from, to, below);
+        }
+
+        private long min(int node, int lo, int hi, int from, int to, long acc) {
+            if (to < lo || hi < from) {
+                return Long.MAX_VALUE;
+            }
+            if (from <= lo && hi <= to) {
+                return min[node] + acc;
+            }
+            long below = acc + pending[node];
+            int mid = (lo + hi) >>> 1;
+            return Math.min(min(2 * node, lo, mid, from, to, below), min(2 * node + 1, mid + 1, hi, from, to, below));
+        }
+
+        private void apply(int node, int lo, int hi, long delta) {
+            sum[node] += delta * (hi - lo + 1);
+            min[node] += delta;
+            pending[node] += delta;
+        }
+
+        private void push(int node, int lo, int hi) {
+            if (pending[node] != 0) {
+                int mid = (lo + hi) >>> 1;
+                apply(2 * node, lo, mid, pending[node]);
+                apply(2 * node + 1, mid + 1, hi, pending[node]);
+                pending[node] = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Booking;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Hotel-wide index of confirmed bookings by booking ID, guest, arrival date, departure date
+ * and each night stayed, so a booking can be found without visiting every room's
+ * {@link BookingRegister}, and a day's list costs O(log n + k).
+ * <p>
+ * The dates a booking was indexed under are remembered, so it can be removed even if
+ * the booking's dates have been changed since. Safe for concurrent use; each map is
+ * updated atomically per key.
+ * <p>
+ * Queries return bookings ordered by booking ID.
+ */
+public class BookingIndex {
+
+    private final ConcurrentMap<Integer, Entry> byId;                          // Key: bookingId
+    private final ConcurrentMap<String, Set<Integer>> byGuest;                 // Key: guest userId
+    private final ConcurrentSkipListMap<LocalDate, Set<Integer>> byArrival;    // Key: arrive date
+    private final ConcurrentSkipListMap<LocalDate, Set<Integer>> byDeparture;  // Key: depart date
+    private final ConcurrentSkipListMap<LocalDate, Set<Integer>> byNight;      // Key: each night from arrive to depart
+
+    /**
+     * Creates an empty index.
+     */
+    public BookingIndex() {
+        this.byId = new ConcurrentHashMap<>();
+        this.byGuest = new ConcurrentHashMap<>();
+        this.byArrival = new ConcurrentSkipListMap<>();
+        this.byDeparture = new ConcurrentSkipListMap<>();
+        this.byNight = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Adds a booking to every index, replacing an earlier entry with the same ID.
+     *
+     * @param booking the booking to index
+     * @throws IllegalArgumentException if the booking, its guest or its dates are null
+     */
+    public void add(Booking booking) {
+        if (booking == null || booking.getBookingGuest() == null) {
+            throw new IllegalArgumentException("Booking and guest cannot be null");
+        }
+        if (booking.getArriveDate() == null || booking.getDepartDate() == null) {
+            throw new IllegalArgumentException("Booking dates cannot be null");
+        }
+        Entry entry = new Entry(booking, booking.getBookingGuest().getUserId(),
+                booking.getArriveDate(), booking.getDepartDate());
+        Entry previous = byId.put(booking.getBookingID(), entry);
+        if (previous != null) {
+            unlink(booking.getBookingID(), previous);
+        }
+        int id = booking.getBookingID();
+        put(byGuest, entry.guestId, id);
+        put(byArrival, entry.arrive, id);
+        put(byDeparture, entry.depart, id);
+        for (LocalDate night = entry.arrive; night.isBefore(entry.depart); night = night.plusDays(1)) {
+            put(byNight, night, id);
+        }
+    }
+
+    /**
+     * Removes a booking from every index.
+     *
+     * @param bookingId the booking ID
+     * @return the removed booking, or null if it was not indexed
+     */
+    public Booking remove(int bookingId) {
+        Entry entry = byId.remove(bookingId);
+        if (entry == null) {
+            return null;
+        }
+        unlink(bookingId, entry);
+        return entry.booking;
+    }
+
+    /**
+     * Finds a booking by ID.
+     *
+     * @param bookingId the booking ID
+     * @return the booking, or null if not indexed
+     */
+    public Booking findById(int bookingId) {
+        Entry entry = byId.get(bookingId);
+        return entry == null ? null : entry.booking;
+    }
+
+    /**
+     * Finds the bookings of a guest.
+     *
+     * @param guestId the guest's user ID
+     * @return bookings of the guest, ordered by booking ID
+     */
+    public List<Booking> findByGuest(String guestId) {
+        return resolve(byGuest.get(guestId));
+    }
+
+    /**
+     * Finds the bookings arriving on a date.
+     *
+     * @param date the arrival date
+     * @return bookings arriving that day, ordered by booking ID
+     */
+    public List<Booking> findArrivals(LocalDate date) {
+        return resolve(byArrival.get(date));
+    }
+
+    /**
+     * Finds the bookings departing on a date.
+     *
+     * @param date the departure date
+     * @return bookings departing that day, ordered by booking ID
+     */
+    public List<Booking> findDepartures(LocalDate date) {
+        return resolve(byDeparture.get(date));
+    }
+
+    /**
+     * Finds the bookings staying the night of a date, i.e. arriving on or before it and departing after it.
+     *
+     * @param date the night
+     * @return bookings staying that night, ordered by booking ID
+     */
+    public List<Booking> findStaying(LocalDate date) {
+        return resolve(byNight.get(date));
+    }
+
+    /**
+     * Checks whether a booking is indexed.
+     *
+     * @param bookingId the booking ID
+     * @return true if indexed
+     */
+    public boolean contains(int bookingId) {
+        return byId.containsKey(bookingId);
+    }
+
+    /**
+     * Gets the number of indexed bookings.
+     *
+     * @return booking count
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    private void unlink(int bookingId, Entry entry) {
+        remove(byGuest, entry.guestId, bookingId);
+        remove(byArrival, entry.arrive, bookingId);
+        remove(byDeparture, entry.depart, bookingId);
+        for (LocalDate night = entry.arrive; night.isBefore(entry.depart); night = night.plusDays(1)) {
+            remove(byNight, night, bookingId);
+        }
+    }
+
+    private List<Booking> resolve(Set<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Booking> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Entry entry = byId.get(id);
+            if (entry != null) {
+                result.add(entry.booking);
+            }
+        }
+        return result;
+    }
+
+    private static <K> void put(ConcurrentMap<K, Set<Integer>> map, K key, int bookingId) {
+        map.compute(key, (k, ids) -> {
+            Set<Integer> set = ids == null ? new ConcurrentSkipListSet<>() : ids;
+            set.add(bookingId);
+            return set;
+        });
+    }
+
+    private static <K> void remove(ConcurrentMap<K, Set<Integer>> map, K key, int bookingId) {
+        map.computeIfPresent(key, (k, ids) -> {
+            ids.remove(bookingId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * The keys a booking was indexed under.
+     */
+    private static final class Entry {
+        private final Booking booking;
+        private final String guestId;
+        private final LocalDate arrive;
+        private final LocalDate depart;
+
+        private Entry(Booking booking, String guestId, LocalDate arrive, LocalDate depart) {
+            this.booking = booking;
+            this.guestId = guestId;
+            this.arrive = arrive;
+            this.depart = depart;
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.hotel.Service;
+import com.hotel.Logging.Log;
+import com.hotel.Logging.Logger;
 import com.hotel.Model.Booking;
 import com.hotel.Model.Room;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import java.util.ArrayList;
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 /**
 * This class is used to keep track of all Bookings for an individual Room
@@ -16,25 +20,133 @@ import java.util.TreeMap;
  * Also method for addDatesToRegister that will convert an arrive and depart date into
  * a list of dates to add to the bookingRegister TreeMap
  * Each BookingRegister object is associated with a single Room*
-
+ *
+ * The Bookings and booked nights are copy-on-write: each change builds a new View and publishes it,
+ * so availability checks and reports read a consistent View without locking while Bookings keep arriving.
+ * A register starts with a shared empty View, so a Room that is never booked holds no booking state of its own.
  */
 
 public class BookingRegister {
 
-    private TreeMap<Integer, Booking> bookingRegister;
-    private ArrayList<Room> roomList;
-    private ArrayList<LocalDate> bookedDates;
+    private static final Logger LOG = Log.getLogger(BookingRegister.class);
+
+    private volatile View current;
+    private NightsChangeListener nightsChangeListener;
 
 
     /** BookingRegister constructor
      * A BookingRegister object is created for each Room.
-     * bookingRegister TreeMap contains the list of Booking objects associated with the Room.
-     * bookDates ArrayList is used to convert the arrive and depart dates into a list to help check availability.
+     * The View holds an array of the Booking objects associated with the Room, sorted by booking ID, and a
+     * NightSet with a bit for each booked night to help check availability. Both are only allocated
+     * when the first Booking is added.
      */
     public BookingRegister() {
-        this.bookingRegister = new TreeMap<>(); //treemap used to keep track of booking details
-        this.roomList = new ArrayList<>();
-        this.bookedDates = new ArrayList<>(); //array used to check availability of range of dates
+        this.current = View.EMPTY;
+    }
+
+    /**
+     * view - returns the Bookings and booked nights as they are now. The View never changes,
+     * so a report can read it at leisure while the register moves on.
+     * @return the current View
+     */
+    public View view() {
+        return current;
+    }
+
+    /**
+     * View - the Bookings and booked nights of a register at one moment. A register never changes
+     * a View it has published; it replaces it with a changed copy.
+     */
+    public static final class View {
+        private static final View EMPTY = new View(new Booking[0], new NightSet());
+
+        private final Booking[] bookings;  // sorted by booking ID
+        private final NightSet nights;
+
+        private View(Booking[] bookings, NightSet nights) {
+            this.bookings = bookings;
+            this.nights = nights;
+        }
+
+        /**
+         * getBookings - returns the Bookings in this View, ordered by booking ID.
+         * @return a read-only collection of the Bookings
+         */
+        public Collection<Booking> getBookings() {
+            return Collections.unmodifiableList(Arrays.asList(bookings));
+        }
+
+        /**
+         * Finds a Booking by binary search.
+         * @return its index, or -(insertion point + 1) if it is not in this View
+         */
+        private int indexOf(int bookingID) {
+            int low = 0;
+            int high = bookings.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int id = bookings[mid].getBookingID();
+                if (id < bookingID) {
+                    low = mid + 1;
+                } else if (id > bookingID) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * Copies the Bookings with one added, or replaced if a Booking with its ID is already here.
+         */
+        private Booking[] with(Booking booking) {
+            int index = indexOf(booking.getBookingID());
+            if (index >= 0) {
+                Booking[] copy = bookings.clone();
+                copy[index] = booking;
+                return copy;
+            }
+            index = -index - 1;
+            Booking[] copy = new Booking[bookings.length + 1];
+            System.arraycopy(bookings, 0, copy, 0, index);
+            copy[index] = booking;
+            System.arraycopy(bookings, index, copy, index + 1, bookings.length - index);
+            return copy;
+        }
+
+        private Booking[] without(int index) {
+            Booking[] copy = new Booking[bookings.length - 1];
+            System.arraycopy(bookings, 0, copy, 0, index);
+            System.arraycopy(bookings, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+
+        /**
+         * isBooked checks whether any night from arrive to the day before depart is booked in this View.
+         * @param arrive the first night
+         * @param depart the day after the last night
+         * @return true if at least one of the nights is booked
+         */
+        public boolean isBooked(LocalDate arrive, LocalDate depart) {
+            return nights.intersects(arrive, depart);
+        }
+
+        /**
+         * getBookedDates - lists the booked nights in this View in date order.
+         * @return the booked nights
+         */
+        public List<LocalDate> getBookedDates() {
+            return nights.dates();
+        }
+
+        /**
+         * getBookedNightCount - counts the booked nights in this View.
+         * @return number of booked nights
+         */
+        public int getBookedNightCount() {
+            return nights.size();
+        }
     }
 
     /**
@@ -60,36 +172,79 @@ public class BookingRegister {
 ////add option to pass date to this method to get guests on a particular date
 //    public void showGuests() {
 //        System.out.println("List of Guests: ");
-//        for (Map.Entry<Integer, Booking> entry : bookingRegister.entrySet()) {
+//        for (Map.Entry<Integer, Booking> entry : current.bookings.entrySet()) {
 //            System.out.println(entry.getKey() + " Guest: " + entry.getValue().getBookingGuest().getName()
 //                    + " Room: " + entry.getValue().getBookingRoom().getRoomNumber());
 //        }
 //    }
 
+    //this method adds the booking to the booking register for this room. The bookingID number is also added
+
     /**
-     * showRooms - This method was created when it was thought that all the Rooms would be in one bookingRegister
-     * instead of a bookingRegister for each Room and a RoomInventory for the Hotel.
+     * addBooking - This method adds a Booking object to the bookingRegister list for a Room.
+     * The Booking should be CONFIRMED before this method is called.
+     * @param booking - the details of the Booking
      */
-    public void showRooms() {
-            ArrayList<Room> rooms = new ArrayList<>();
-            rooms = roomList;
-            for (Room room : rooms)
-                System.out.println(room.getRoomNumber());
+    public synchronized void addBooking(Booking booking) {
 
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(booking.getBookingGuest().getName());
+        }
+        current = new View(current.with(booking), current.nights);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("add booking" + booking.getBookingID());
+        }
     }
 
-    //this method adds the booking to the booking register for this room. The bookingID number is also added
-
     /**
-     * addBooking - This method adds a Booking object to the bookingRegister list for a Room.
-     * The Booking should be CONFIRMED before this method is called.
+     * assignBooking - adds a Booking and its nights to the register without printing, used when
+     * a Booking is moved here from another Room.
      * @param booking - the details of the Booking
      */
-    public void addBooking(Booking booking) {
+    public synchronized void assignBooking(Booking booking) {
+        BitSet before = nightsBefore(booking);
+        NightSet nights = current.nights.copy();
+        nights.add(booking.getArriveDate(), booking.getDepartDate());
+        current = new View(current.with(booking), nights);
+        notifyNights(booking, before, true);
+    }
+
+    /**
+     * getBookings - returns the Bookings held in this register, ordered by booking ID.
+     * @return a read-only collection of the Bookings as they are now, unaffected by later changes
+     */
+    public Collection<Booking> getBookings() {
+        return current.getBookings();
+    }
+
+    /**
+     * getBooking - returns a Booking held in this register.
+     * @param bookingID the ID of the Booking
+     * @return the Booking, or null if it is not in this register
+     */
+    public Booking getBooking(int bookingID) {
+        View view = current;
+        int index = view.indexOf(bookingID);
+        return index >= 0 ? view.bookings[index] : null;
+    }
 
-        System.out.println(booking.getBookingGuest().getName());
-        bookingRegister.put(booking.getBookingID(), booking);
-        System.out.println("add booking" + booking.getBookingID());
+    /**
+     * removeBooking - This method removes a Booking and its booked dates from the register,
+     * so the Room becomes available again on those dates.
+     * @param booking - the Booking to remove
+     * @return true if the Booking was in this register
+     */
+    public synchronized boolean removeBooking(Booking booking) {
+        int index = current.indexOf(booking.getBookingID());
+        if (index < 0) {
+            return false;
+        }
+        BitSet before = nightsBefore(booking);
+        NightSet nights = current.nights.copy();
+        nights.remove(booking.getArriveDate(), booking.getDepartDate());
+        current = new View(current.without(index), nights);
+        notifyNights(booking, before, false);
+        return true;
     }
 
     /**
@@ -99,11 +254,11 @@ public class BookingRegister {
      */
     public void showBookings() {
         System.out.println("List of Bookings: ");
-        for (Map.Entry<Integer, Booking> entry : bookingRegister.entrySet()) {
-            System.out.println(entry.getKey() + ": Arrival: " + entry.getValue().getArriveDate()
-                    + " Departure: " + entry.getValue().getDepartDate()
-                    + " Guest: " + entry.getValue().getBookingGuest().getName()
-                    + " Room: " + entry.getValue().getBookingRoom().getRoomNumber());
+        for (Booking booking : current.bookings) {
+            System.out.println(booking.getBookingID() + ": Arrival: " + booking.getArriveDate()
+                    + " Departure: " + booking.getDepartDate()
+                    + " Guest: " + booking.getBookingGuest().getName()
+                    + " Room: " + booking.getBookingRoom().getRoomNumber());
 
         }
     }
@@ -115,9 +270,9 @@ public class BookingRegister {
     //add option to pass date to this method to get guests on a particular date
     public void showGuests() {
         System.out.println("List of Guests: ");
-        for (Map.Entry<Integer, Booking> entry : bookingRegister.entrySet()) {
-            System.out.println(entry.getKey() + " Guest: " + entry.getValue().getBookingGuest().getName()
-                    + " Room: " + entry.getValue().getBookingRoom().getRoomNumber());
+        for (Booking booking : current.bookings) {
+            System.out.println(booking.getBookingID() + " Guest: " + booking.getBookingGuest().getName()
+                    + " Room: " + booking.getBookingRoom().getRoomNumber());
         }
     }
 
@@ -126,42 +281,119 @@ public class BookingRegister {
      * the Booking is set to CONFIRMED
      * @param booking - the details of the Guest's Booking
      */
-     public void addDatesToRegister(Booking booking) {
-        LocalDate arrive = booking.getArriveDate();
-        LocalDate depart = booking.getDepartDate();
+     public synchronized void addDatesToRegister(Booking booking) {
+        BitSet before = nightsBefore(booking);
+        NightSet nights = current.nights.copy();
+        nights.add(booking.getArriveDate(), booking.getDepartDate());
+        current = new View(current.bookings, nights);
+        notifyNights(booking, before, true);
+    }
+
+    /**
+     * Sets a listener that is called with each run of nights that becomes booked or free.
+     * Used by RoomInventoryImpl to keep the availability heatmap up to date.
+     * @param listener the listener, or null to remove
+     */
+    public void setNightsChangeListener(NightsChangeListener listener) {
+        this.nightsChangeListener = listener;
+    }
 
-        LocalDate addDate = arrive;
-        while (!addDate.isEqual(depart)) {
-            bookedDates.add(addDate);
-            addDate = addDate.plusDays(1);
+    /**
+     * Gets the booked nights of a booking's stay before a change, or null if nobody is listening.
+     */
+    private BitSet nightsBefore(Booking booking) {
+        if (nightsChangeListener == null) {
+            return null;
         }
+        int nights = (int) (booking.getDepartDate().toEpochDay() - booking.getArriveDate().toEpochDay());
+        return nights <= 0 ? null : current.nights.window(booking.getArriveDate(), nights);
+    }
+
+    /**
+     * Tells the listener which nights of a stay changed: runs that were free if booked is true,
+     * runs that were booked otherwise.
+     */
+    private void notifyNights(Booking booking, BitSet before, boolean booked) {
+        if (before == null) {
+            return;
+        }
+        LocalDate arrive = booking.getArriveDate();
+        int nights = (int) (booking.getDepartDate().toEpochDay() - arrive.toEpochDay());
+        int i = booked ? before.nextClearBit(0) : before.nextSetBit(0);
+        while (i >= 0 && i < nights) {
+            int end = Math.min(booked ? nextSetOrEnd(before, i) : before.nextClearBit(i), nights);
+            nightsChangeListener.nightsChanged(arrive.plusDays(i), arrive.plusDays(end), booked);
+            i = booked ? before.nextClearBit(end) : before.nextSetBit(end);
+        }
+    }
+
+    private static int nextSetOrEnd(BitSet bits, int from) {
+        int next = bits.nextSetBit(from);
+        return next < 0 ? Integer.MAX_VALUE : next;
     }
 
     /**
-     * checkForBookingOverlap This method creates a list of dates from arrive date
-     * to the day before depart. It then cycles through the existing booking dates and
-     * checks to see if any of the potential dates matches an existing booking date.
+     * checkForBookingOverlap This method checks whether any night from the arrive date
+     * to the day before depart is already booked, with one scan of the booked nights bitset.
      * @param booking the booking object. data including the arrive and depart dates
      * @param room the room object. not necessary anymore!
      * @return true if there is an overlap with an existing booking. false if there is no overlap.
      */
     //checkForBookingOverlap returns True if there is an overlap with an existing booking
     public boolean checkForBookingOverlap(Booking booking, Room room) {
-        LocalDate arrive = booking.getArriveDate();
-        LocalDate depart = booking.getDepartDate();
+        return current.nights.intersects(booking.getArriveDate(), booking.getDepartDate());
+    }
 
-        ArrayList<LocalDate> potentialBookingDates = new ArrayList<>();
-        LocalDate addDate = arrive;
-        while (!addDate.isEqual(depart)) {
-            potentialBookingDates.add(addDate);
-            addDate = addDate.plusDays(1);
-        }
-        for (LocalDate checkDate : bookedDates) {
-            if (potentialBookingDates.contains(checkDate)) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * isBooked checks whether any night from arrive to the day before depart is booked.
+     * @param arrive the first night
+     * @param depart the day after the last night
+     * @return true if at least one of the nights is booked
+     */
+    public boolean isBooked(LocalDate arrive, LocalDate depart) {
+        return current.nights.intersects(arrive, depart);
+    }
+
+    /**
+     * nextBookedNight finds the first booked night on or after a date, e.g. to see how long a free run lasts.
+     * @param from the first night to look at
+     * @return the booked night, or null if no later night is booked
+     */
+    public LocalDate nextBookedNight(LocalDate from) {
+        return current.nights.nextBooked(from);
+    }
+
+    /**
+     * previousBookedNight finds the last booked night before a date, e.g. to see where a free run starts.
+     * @param before the day after the last night to look at
+     * @return the booked night, or null if no earlier night is booked
+     */
+    public LocalDate previousBookedNight(LocalDate before) {
+        return current.nights.previousBooked(before);
+    }
+
+    /**
+     * getBookedNights returns the booked nights of a date window, for drawing a chart without
+     * checking each date separately.
+     * @param start the first night of the window
+     * @param days the length of the window
+     * @return bit i is set if the night start + i days is booked
+     */
+    public BitSet getBookedNights(LocalDate start, int days) {
+        return current.nights.window(start, days);
+    }
+
+    /**
+     * Receives runs of nights that change between booked and free in a register.
+     */
+    public interface NightsChangeListener {
+        /**
+         * Called after the nights from arrive up to but not including depart changed.
+         * @param arrive first night of the run
+         * @param depart day after the last night of the run
+         * @param booked true if the nights became booked, false if they became free
+         */
+        void nightsChanged(LocalDate arrive, LocalDate depart, boolean booked);
     }
 
     /**
@@ -170,7 +402,7 @@ public class BookingRegister {
      * @param room the Room in question
      */
     public void showBookedDates(Room room) {
-        for (LocalDate bookedDate : bookedDates) {
+        for (LocalDate bookedDate : current.nights.dates()) {
             System.out.println("Room: " + room.getRoomNumber() + " Type: " + room.getRoomType() + " Date: " + bookedDate);
         }
 
@@ -0,0 +1,369 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Invoice;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders large batches of invoices to disk, e.g. the month end folio reprint.
+ * Invoices are rendered in parallel on a bounded thread pool and written through
+ * buffered NIO file channels, either one file per invoice or one concatenated file.
+ */
+public class BulkInvoiceRenderer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int CHUNK_SIZE = 256;             // invoices per rendering task
+    private static final int CHUNKS_PER_THREAD = 2;        // rendered chunks allowed ahead of the writer
+    private static final String SEPARATOR = "\f\n";       // form feed between concatenated invoices
+
+    private final PaymentManager paymentManager;
+    private final int threads;
+
+    /**
+     * Creates a renderer that uses one thread per available processor.
+     *
+     * @param paymentManager the source of invoices
+     */
+    public BulkInvoiceRenderer(PaymentManager paymentManager) {
+        this(paymentManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a renderer with a fixed number of worker threads.
+     *
+     * @param paymentManager the source of invoices
+     * @param threads number of rendering threads (at least 1)
+     */
+    public BulkInvoiceRenderer(PaymentManager paymentManager, int threads) {
+        if (paymentManager == null) {
+            throw new IllegalArgumentException("Payment manager cannot be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1");
+        }
+        this.paymentManager = paymentManager;
+        this.threads = threads;
+    }
+
+    /**
+     * Renders each of the given invoices to its own file, {@code <invoiceNumber>.txt}.
+     *
+     * @param invoiceNumbers the invoices to render
+     * @param directory the output directory, created if missing
+     * @return the outcome of the run
+     * @throws IOException if the directory or a file cannot be written
+     */
+    public Result renderToDirectory(Collection<String> invoiceNumbers, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<Invoice> found = new ArrayList<>();
+        List<String> missing = lookup(invoiceNumbers, found);
+        return renderToDirectory(found, missing, directory);
+    }
+
+    /**
+     * Renders all invoices issued in a date range to their own files.
+     *
+     * @param from first invoice date (inclusive)
+     * @param to last invoice date (inclusive)
+     * @param directory the output directory, created if missing
+     * @return the outcome of the run
+     * @throws IOException if the directory or a file cannot be written
+     */
+    public Result renderToDirectory(LocalDate from, LocalDate to, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return renderToDirectory(paymentManager.getInvoicesBetween(from, to), Collections.emptyList(), directory);
+    }
+
+    /**
+     * Renders the given invoices into one file, in the order given, separated by form feeds.
+     *
+     * @param invoiceNumbers the invoices to render
+     * @param file the output file, replaced if it exists
+     * @return the outcome of the run
+     * @throws IOException if the file cannot be written
+     */
+    public Result renderToFile(Collection<String> invoiceNumbers, Path file) throws IOException {
+        List<Invoice> found = new ArrayList<>();
+        List<String> missing = lookup(invoiceNumbers, found);
+        return renderToFile(found, missing, file);
+    }
+
+    /**
+     * Renders all invoices issued in a date range into one file, oldest first.
+     *
+     * @param from first invoice date (inclusive)
+     * @param to last invoice date (inclusive)
+     * @param file the output file, replaced if it exists
+     * @return the outcome of the run
+     * @throws IOException if the file cannot be written
+     */
+    public Result renderToFile(LocalDate from, LocalDate to, Path file) throws IOException {
+        return renderToFile(paymentManager.getInvoicesBetween(from, to), Collections.emptyList(), file);
+    }
+
+    /**
+     * Resolves invoice numbers, collecting the ones that do not exist.
+     */
+    private List<String> lookup(Collection<String> invoiceNumbers, List<Invoice> found) {
+        if (invoiceNumbers == null) {
+            throw new IllegalArgumentException("Invoice numbers cannot be null");
+        }
+        List<String> missing = new ArrayList<>();
+        for (String number : invoiceNumbers) {
+            Invoice invoice = paymentManager.getInvoice(number);
+            if (invoice == null) {
+                missing.add(number);
+            } else {
+                found.add(invoice);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Per-invoice output: every task renders and writes its own chunk of files.
+     */
+    private Result renderToDirectory(List<Invoice> invoices, List<String> missing, Path directory)
+            throws IOException {
+        long start = System.nanoTime();
+        AtomicLong bytes = new AtomicLong();
+        AtomicInteger written = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, chunkCount(invoices))));
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (List<Invoice> chunk : chunks(invoices)) {
+                tasks.add(pool.submit(() -> {
+                    ChannelWriter writer = new ChannelWriter();
+                    for (Invoice invoice : chunk) {
+                        Path file = directory.resolve(invoice.getInvoiceNumber() + ".txt");
+                        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                            bytes.addAndGet(writer.write(channel, invoice.generateFormattedInvoice()));
+                            bytes.addAndGet(writer.flush(channel));
+                        }
+                        written.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            awaitAll(tasks);
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(written.get(), missing, bytes.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Concatenated output: chunks are rendered in parallel and appended to the file in order.
+     * At most {@link #CHUNKS_PER_THREAD} chunks per thread are in flight, so the rendered text
+     * held in memory stays bounded however large the batch is.
+     */
+    private Result renderToFile(List<Invoice> invoices, List<String> missing, Path file) throws IOException {
+        long start = System.nanoTime();
+        long bytes = 0;
+        int written = 0;
+
+        int poolSize = Math.min(threads, Math.max(1, chunkCount(invoices)));
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Deque<Future<String[]>> inFlight = new ArrayDeque<>();
+            ChannelWriter writer = new ChannelWriter();
+            for (List<Invoice> chunk : chunks(invoices)) {
+                if (inFlight.size() == poolSize * CHUNKS_PER_THREAD) {
+                    for (String text : await(inFlight.removeFirst())) {
+                        bytes += writeConcatenated(writer, channel, text, written++);
+                    }
+                }
+                inFlight.addLast(pool.submit(() -> {
+                    String[] rendered = new String[chunk.size()];
+                    for (int i = 0; i < rendered.length; i++) {
+                        rendered[i] = chunk.get(i).generateFormattedInvoice();
+                    }
+                    return rendered;
+                }));
+            }
+            while (!inFlight.isEmpty()) {
+                for (String text : await(inFlight.removeFirst())) {
+                    bytes += writeConcatenated(writer, channel, text, written++);
+                }
+            }
+            bytes += writer.flush(channel);
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(written, missing, bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Writes one invoice of a concatenated file, preceded by a separator unless it is the first.
+     */
+    private long writeConcatenated(ChannelWriter writer, FileChannel channel, String text, int position)
+            throws IOException {
+        long bytes = position > 0 ? writer.write(channel, SEPARATOR) : 0;
+        return bytes + writer.write(channel, text);
+    }
+
+    private int chunkCount(List<Invoice> invoices) {
+        return (invoices.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    private List<List<Invoice>> chunks(List<Invoice> invoices) {
+        List<List<Invoice>> chunks = new ArrayList<>();
+        for (int i = 0; i < invoices.size(); i += CHUNK_SIZE) {
+            chunks.add(invoices.subList(i, Math.min(i + CHUNK_SIZE, invoices.size())));
+        }
+        return chunks;
+    }
+
+    private void awaitAll(List<Future<?>> tasks) throws IOException {
+        for (Future<?> task : tasks) {
+            await(task);
+        }
+    }
+
+    private <T> T await(Future<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Invoice rendering interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Invoice rendering failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Encodes text as UTF-8 straight into a reusable buffer and drains it to a channel when full.
+     * One instance per thread.
+     */
+    private static final class ChannelWriter {
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        /**
+         * Encodes text into the buffer, draining to the channel as needed.
+         *
+         * @return number of bytes written to the channel by this call
+         */
+        long write(FileChannel channel, String text) throws IOException {
+            long drained = 0;
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, true);
+                if (result.isOverflow()) {
+                    drained += drain(channel);
+                } else if (result.isUnderflow()) {
+                    break;
+                } else {
+                    result.throwException();
+                }
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drained += drain(channel);
+            }
+            return drained;
+        }
+
+        /**
+         * Writes whatever is left in the buffer to the channel.
+         *
+         * @return number of bytes written
+         */
+        long flush(FileChannel channel) throws IOException {
+            return drain(channel);
+        }
+
+        private long drain(FileChannel channel) throws IOException {
+            buffer.flip();
+            long count = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            return count;
+        }
+    }
+
+    /**
+     * Outcome of a bulk rendering run.
+     */
+    public static class Result {
+        private final int invoicesRendered;
+        private final List<String> missingInvoices;
+        private final long bytesWritten;
+        private final long elapsedNanos;
+
+        Result(int invoicesRendered, List<String> missingInvoices, long bytesWritten, long elapsedNanos) {
+            this.invoicesRendered = invoicesRendered;
+            this.missingInvoices = Collections.unmodifiableList(missingInvoices);
+            this.bytesWritten = bytesWritten;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getInvoicesRendered() {
+            return invoicesRendered;
+        }
+
+        /**
+         * Invoice numbers that were requested but not found.
+         */
+        public List<String> getMissingInvoices() {
+            return missingInvoices;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Throughput of the run.
+         *
+         * @return invoices rendered and written per second
+         */
+        public double getInvoicesPerSecond() {
+            if (elapsedNanos <= 0) {
+                return 0;
+            }
+            return invoicesRendered * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Rendered %d invoice(s), %d byte(s) in %.1f ms (%.0f invoices/s), %d not found",
+                    invoicesRendered, bytesWritten, elapsedNanos / 1_000_000.0, getInvoicesPerSecond(),
+                    missingInvoices.size());
+        }
+    }
+}
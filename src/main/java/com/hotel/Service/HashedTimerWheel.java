@@ -0,0 +1,196 @@
+package com.hotel.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: a ring of buckets, one per tick, each holding the timeouts due on a
+ * tick that maps to it. Scheduling and cancelling cost O(1), and advancing the wheel only
+ * visits the buckets of elapsed ticks, so expiring many timeouts needs no thread per
+ * timeout and no scan of every pending one.
+ * <p>
+ * The wheel has no thread of its own; the owner calls {@link #advance(long, Consumer)} with
+ * the current time, usually from a {@link java.time.Clock}. A timeout fires on the first
+ * advance at or after its deadline, at most one tick late. Not thread-safe.
+ *
+ * @param <T> the item carried by each timeout
+ */
+public class HashedTimerWheel<T> {
+
+    private final long tickMillis;
+    private final Timeout<T>[] buckets;  // Index: tick & mask, each a doubly linked list
+    private final int mask;
+    private long currentTick;            // next tick to process
+    private int size;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tickMillis length of a tick in milliseconds
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param startMillis current time in milliseconds
+     * @throws IllegalArgumentException if tickMillis or wheelSize is not positive
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})  // no generic array creation; every bucket holds Timeout<T>
+    public HashedTimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("Tick length and wheel size must be positive");
+        }
+        int buckets = Integer.highestOneBit(wheelSize);
+        if (buckets < wheelSize) {
+            buckets <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = (Timeout<T>[]) new Timeout[buckets];
+        this.mask = buckets - 1;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules an item to expire at a time. A deadline already passed fires on the next tick advanced over.
+     *
+     * @param item the item
+     * @param deadlineMillis expiry time in milliseconds
+     * @return a handle for cancelling
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        long tick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), currentTick);  // first tick at or after deadline
+        Timeout<T> timeout = new Timeout<>(item, deadlineMillis, tick);
+        int bucket = (int) (tick & mask);
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        buckets[bucket] = timeout;
+        timeout.active = true;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a timeout so it never fires.
+     *
+     * @param timeout a handle from {@link #schedule(Object, long)}
+     * @return true if the timeout was pending
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout == null || !timeout.active) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Fires every timeout whose deadline is at or before a time, in tick order.
+     *
+     * @param nowMillis current time in milliseconds
+     * @param expired receives the item of each fired timeout
+     * @return number of timeouts fired
+     */
+    public int advance(long nowMillis, Consumer<? super T> expired) {
+        long lastTick = Math.floorDiv(nowMillis, tickMillis);
+        if (lastTick < currentTick || size == 0) {
+            currentTick = Math.max(currentTick, lastTick + 1);
+            return 0;
+        }
+        int fired = 0;
+        if (lastTick - currentTick >= buckets.length) {
+            // a full turn or more has passed, so every bucket is visited once
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                fired += expireBucket(bucket, lastTick, expired);
+            }
+        } else {
+            for (long tick = currentTick; tick <= lastTick; tick++) {
+                fired += expireBucket((int) (tick & mask), tick, expired);
+            }
+        }
+        currentTick = lastTick + 1;
+        return fired;
+    }
+
+    /**
+     * Gets the number of pending timeouts.
+     *
+     * @return timeout count
+     */
+    public int size() {
+        return size;
+    }
+
+    private int expireBucket(int bucket, long tick, Consumer<? super T> expired) {
+        int fired = 0;
+        Timeout<T> timeout = buckets[bucket];
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            if (timeout.tick <= tick) {
+                unlink(timeout);
+                expired.accept(timeout.item);
+                fired++;
+            }
+            timeout = next;
+        }
+        return fired;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.tick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.active = false;
+        size--;
+    }
+
+    /**
+     * A scheduled item, returned by {@link #schedule(Object, long)}.
+     *
+     * @param <T> the item type
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineMillis;
+        private final long tick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean active;
+
+        private Timeout(T item, long deadlineMillis, long tick) {
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+            this.tick = tick;
+        }
+
+        /**
+         * Gets the scheduled item.
+         *
+         * @return item
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Gets the expiry time.
+         *
+         * @return deadline in milliseconds
+         */
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * Checks whether the timeout is still pending.
+         *
+         * @return false once fired or cancelled
+         */
+        public boolean isActive() {
+            return active;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.hotel.Service;
+
+import com.hotel.Logging.Log;
+import com.hotel.Logging.Logger;
+import com.hotel.Model.Admin;
+import com.hotel.Model.Cleaner;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Manager;
+import com.hotel.Model.PasswordHash;
+import com.hotel.Model.ReceptionStaff;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomAttribute;
+import com.hotel.Model.RoomType;
+import com.hotel.Model.User;
+import com.hotel.Model.UserRole;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Rooms, prices and staff of a property, read from a properties file at startup in place
+ * of the demo data. Keys:
+ * <ul>
+ *   <li>{@code price.<TYPE>=<amount>} - price per night of a room type, for rooms that give none</li>
+ *   <li>{@code room.<number>=<TYPE>[, <price>][, <FEATURE>...]} - one room</li>
+ *   <li>{@code rooms.<first>-<last>=<TYPE>[, <price>][, <FEATURE>...]} - a run of rooms alike</li>
+ *   <li>{@code user.<id>=<ROLE>, <name>, <email>, <phone>, <password>[, <department>]} - a user;
+ *       a MANAGER needs a department</li>
+ * </ul>
+ * Types, features and roles are the enum names, e.g. {@code room.203=DOUBLE, 180, SEA_VIEW, KING_BED}.
+ * A mistake anywhere fails the whole load, naming the key, so a property never opens half configured;
+ * an email given to two users is caught here too, before anything is applied.
+ * <p>
+ * The password is a stored hash in the form {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}, as
+ * printed by {@code java com.hotel.Main --hash-password}, and is read without hashing anything.
+ * A password in the clear is still accepted, with a warning, and hashed as the user is built; as
+ * that is slow, users are built in parallel.
+ */
+public final class HotelConfig {
+
+    private static final String PRICE = "price.";
+    private static final String ROOM = "room.";
+    private static final String ROOMS = "rooms.";
+    private static final String USER = "user.";
+    private static final int MAX_RANGE = 10_000;  // rooms in one range, against a typo in a room number
+
+    private static final Logger LOG = Log.getLogger(HotelConfig.class);
+
+    private final List<Room> rooms;
+    private final List<User> users;
+
+    private HotelConfig(List<Room> rooms, List<User> users) {
+        this.rooms = Collections.unmodifiableList(rooms);
+        this.users = Collections.unmodifiableList(users);
+    }
+
+    /**
+     * Reads a configuration file.
+     *
+     * @param file the properties file
+     * @return the rooms and users it describes
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if an entry is malformed or a room number is given twice
+     */
+    public static HotelConfig load(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Configuration file cannot be null");
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Reads a configuration in properties format.
+     *
+     * @param reader the configuration text
+     * @return the rooms and users it describes
+     * @throws IOException if the text cannot be read
+     * @throws IllegalArgumentException if an entry is malformed or a room number is given twice
+     */
+    public static HotelConfig load(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+        return from(properties);
+    }
+
+    /**
+     * Builds a configuration from properties already loaded.
+     *
+     * @param properties the entries
+     * @return the rooms and users they describe
+     * @throws IllegalArgumentException if an entry is malformed or a room number is given twice
+     */
+    public static HotelConfig from(Properties properties) {
+        Map<RoomType, Double> prices = new EnumMap<>(RoomType.class);
+        Map<String, String> roomEntries = new TreeMap<>();
+        Map<String, String> userEntries = new TreeMap<>();  // by ID, so users are added in a stable order
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.startsWith(PRICE)) {
+                prices.put(parseEnum(RoomType.class, key.substring(PRICE.length()), key),
+                        parsePrice(value, key));
+            } else if (key.startsWith(ROOM) || key.startsWith(ROOMS)) {
+                roomEntries.put(key, value);
+            } else if (key.startsWith(USER)) {
+                userEntries.put(key, value);
+            } else {
+                throw new IllegalArgumentException("Unknown configuration key: " + key);
+            }
+        }
+
+        Map<Integer, Room> rooms = new TreeMap<>();
+        for (Map.Entry<String, String> entry : roomEntries.entrySet()) {
+            String key = entry.getKey();
+            int first;
+            int last;
+            if (key.startsWith(ROOMS)) {
+                String[] range = key.substring(ROOMS.length()).split("-", -1);
+                if (range.length != 2) {
+                    throw new IllegalArgumentException("Room range must be first-last: " + key);
+                }
+                first = parseRoomNumber(range[0], key);
+                last = parseRoomNumber(range[1], key);
+                if (last < first || last - first >= MAX_RANGE) {
+                    throw new IllegalArgumentException("Room range must run forwards over at most "
+                            + MAX_RANGE + " rooms: " + key);
+                }
+            } else {
+                first = parseRoomNumber(key.substring(ROOM.length()), key);
+                last = first;
+            }
+            for (int number = first; number <= last; number++) {
+                if (rooms.put(number, parseRoom(number, entry.getValue(), prices, key)) != null) {
+                    throw new IllegalArgumentException("Room " + number + " is configured twice: " + key);
+                }
+            }
+        }
+
+        checkUnique(userEntries);
+        List<User> users = userEntries.entrySet().parallelStream()
+                .map(entry -> parseUser(entry.getKey().substring(USER.length()), entry.getValue(), entry.getKey()))
+                .collect(Collectors.toList());
+        return new HotelConfig(new ArrayList<>(rooms.values()), users);
+    }
+
+    /**
+     * Adds the configured rooms and users to the services, the rooms in one bulk load.
+     *
+     * @param userManager where users are added
+     * @param roomInventory where rooms are added
+     * @throws IllegalArgumentException if a user ID or email is already registered, in which case nothing is added
+     */
+    public void applyTo(UserManager userManager, RoomInventoryImpl roomInventory) {
+        for (User user : users) {
+            if (userManager.getUser(user.getUserId()) != null) {
+                throw new IllegalArgumentException("User ID already exists: " + user.getUserId());
+            }
+            if (userManager.emailExists(user.getEmail())) {
+                throw new IllegalArgumentException("Email already registered: " + user.getEmail());
+            }
+        }
+        roomInventory.addRooms(rooms);
+        for (User user : users) {
+            userManager.addUser(user);
+        }
+    }
+
+    /**
+     * Gets the configured rooms.
+     *
+     * @return the rooms, by room number
+     */
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Gets the configured users.
+     *
+     * @return the users, by user ID
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    private static Room parseRoom(int number, String value, Map<RoomType, Double> prices, String key) {
+        String[] fields = split(value);
+        RoomType type = parseEnum(RoomType.class, fields[0], key);
+        Double price = prices.get(type);
+        Set<RoomAttribute> attributes = EnumSet.noneOf(RoomAttribute.class);
+        for (int i = 1; i < fields.length; i++) {
+            if (i == 1 && !fields[i].isEmpty() && Character.isDigit(fields[i].charAt(0))) {
+                price = parsePrice(fields[i], key);
+            } else {
+                attributes.add(parseEnum(RoomAttribute.class, fields[i], key));
+            }
+        }
+        if (price == null) {
+            throw new IllegalArgumentException("No price for room " + number + " and no " + PRICE + type + ": " + key);
+        }
+        return new Room(number, type, true, price, attributes);
+    }
+
+    private static User parseUser(String id, String value, String key) {
+        String[] fields = split(value);
+        UserRole role = parseEnum(UserRole.class, fields[0], key);
+        int expected = role == UserRole.MANAGER ? 6 : 5;
+        if (fields.length != expected) {
+            throw new IllegalArgumentException("A " + role + " needs " + (expected - 1) + " fields after the role: " + key);
+        }
+        try {
+            PasswordHash password;
+            if (PasswordHash.isEncoded(fields[4])) {
+                password = PasswordHash.parse(fields[4]);
+            } else {
+                LOG.warn("Password in the clear for " + key + "; store a hash from --hash-password instead");
+                password = PasswordHash.of(fields[4]);
+            }
+            switch (role) {
+                case ADMIN:
+                    return new Admin(id, fields[1], fields[2], fields[3], password);
+                case RECEPTION_STAFF:
+                    return new ReceptionStaff(id, fields[1], fields[2], fields[3], password);
+                case MANAGER:
+                    return new Manager(id, fields[1], fields[2], fields[3], password, fields[5]);
+                case CLEANER:
+                    return new Cleaner(id, fields[1], fields[2], fields[3], password);
+                default:
+                    return new Guest(id, fields[1], fields[2], fields[3], password);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + ": " + key, e);
+        }
+    }
+
+    /**
+     * Rejects an email, case ignored, given to two users, before any password is hashed.
+     * User IDs are property keys and so cannot repeat.
+     */
+    private static void checkUnique(Map<String, String> userEntries) {
+        Map<String, String> emails = new HashMap<>();
+        for (Map.Entry<String, String> entry : userEntries.entrySet()) {
+            String key = entry.getKey();
+            String[] fields = split(entry.getValue());
+            if (fields.length > 2 && !fields[2].isEmpty()) {
+                String first = emails.putIfAbsent(fields[2].toLowerCase(), key);
+                if (first != null) {
+                    throw new IllegalArgumentException("Email " + fields[2] + " is configured twice: " + first + ", " + key);
+                }
+            }
+        }
+    }
+
+    private static String[] split(String value) {
+        String[] fields = value.split(",", -1);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fields[i].trim();
+        }
+        return fields;
+    }
+
+    private static int parseRoomNumber(String text, String key) {
+        try {
+            int number = Integer.parseInt(text.trim());
+            if (number > 0) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid room number '" + text + "': " + key);
+    }
+
+    private static double parsePrice(String text, String key) {
+        try {
+            double price = Double.parseDouble(text);
+            if (price > 0 && !Double.isInfinite(price)) {
+                return price;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid price '" + text + "': " + key);
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String key) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + " '" + name + "': " + key);
+        }
+    }
+}
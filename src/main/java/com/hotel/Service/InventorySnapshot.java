@@ -0,0 +1,114 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The rooms of an inventory and their bookings at one moment, for reports.
+ * <p>
+ * Taken by {@link RoomInventoryImpl#snapshot()} between booking changes, so every room is
+ * seen as of the same change: a booking moved between rooms shows in exactly one of them.
+ * Each room's bookings and nights are the {@link BookingRegister.View} published at that
+ * moment, which the register never changes, so taking a snapshot copies no bookings and a
+ * long report can read it while bookings keep flowing. The Booking objects themselves are
+ * shared, so a status such as a check-in made after the snapshot shows through.
+ */
+public final class InventorySnapshot {
+
+    private final long version;
+    private final List<RoomView> rooms;
+
+    InventorySnapshot(long version, List<RoomView> rooms) {
+        this.version = version;
+        this.rooms = Collections.unmodifiableList(rooms);
+    }
+
+    /**
+     * Gets the number of booking changes made to the inventory before the snapshot was taken.
+     *
+     * @return version, higher for later snapshots
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the rooms in inventory order.
+     *
+     * @return the rooms
+     */
+    public List<RoomView> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Gets the number of rooms.
+     *
+     * @return room count
+     */
+    public int getTotalRooms() {
+        return rooms.size();
+    }
+
+    /**
+     * Gets the number of rooms not available, as {@link RoomInventoryImpl#getBookedRooms()} counts them.
+     *
+     * @return booked room count
+     */
+    public int getBookedRooms() {
+        int booked = 0;
+        for (RoomView room : rooms) {
+            if (!room.isAvailable()) {
+                booked++;
+            }
+        }
+        return booked;
+    }
+
+    /**
+     * A room and its bookings as they were when the snapshot was taken.
+     */
+    public static final class RoomView {
+        private final int roomNumber;
+        private final RoomType roomType;
+        private final double pricePerNight;
+        private final boolean available;
+        private final BookingRegister.View register;
+
+        RoomView(Room room) {
+            this.roomNumber = room.getRoomNumber();
+            this.roomType = room.getRoomType();
+            this.pricePerNight = room.getPricePerNight();
+            this.available = room.isAvailable();
+            this.register = room.getBookingRegister().view();
+        }
+
+        public int getRoomNumber() {
+            return roomNumber;
+        }
+
+        public RoomType getRoomType() {
+            return roomType;
+        }
+
+        public double getPricePerNight() {
+            return pricePerNight;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        /**
+         * Gets the room's bookings and booked nights.
+         *
+         * @return the register view
+         */
+        public BookingRegister.View getRegister() {
+            return register;
+        }
+    }
+}
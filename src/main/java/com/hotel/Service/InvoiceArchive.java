@@ -0,0 +1,345 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Invoice;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Cold storage for closed invoices.
+ * Invoices are serialized, compressed one record at a time and appended to segment files
+ * ({@code invoices-NNNNN.seg}). A small in-memory offset index, also written to a companion
+ * {@code .idx} file per segment, lets a single invoice be read back without touching the rest,
+ * so only the index stays on the heap.
+ * <p>
+ * Each {@code .idx} record also carries the invoice's search keys (guest, booking, date and
+ * total), so {@link PaymentManager}'s {@link InvoiceIndex} is rebuilt from the index files
+ * without reading any invoice.
+ * <p>
+ * Invoices read back from the archive are detached copies: their booking and room are
+ * not linked to the live room inventory.
+ */
+public class InvoiceArchive implements AutoCloseable {
+
+    private static final long DEFAULT_SEGMENT_SIZE = 8L * 1024 * 1024;
+    private static final String SEGMENT_PREFIX = "invoices-";
+
+    private final Path directory;
+    private final long maxSegmentSize;
+    private final NavigableMap<String, Entry> index;  // Key: invoiceNumber, ordered for paging
+
+    private int currentSegment;
+    private FileChannel segmentChannel;
+    private DataOutputStream indexOut;
+
+    /**
+     * Opens (or creates) an archive in the given directory with 8 MB segments.
+     *
+     * @param directory where segment and index files are kept
+     * @throws IOException if the directory or existing index files cannot be read
+     */
+    public InvoiceArchive(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens (or creates) an archive in the given directory.
+     * Existing segments are indexed from their {@code .idx} files; new invoices go to a new segment.
+     *
+     * @param directory where segment and index files are kept
+     * @param maxSegmentSize size in bytes after which a new segment is started
+     * @throws IOException if the directory or existing index files cannot be read
+     */
+    public InvoiceArchive(Path directory, long maxSegmentSize) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("Archive directory cannot be null");
+        }
+        if (maxSegmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxSegmentSize = maxSegmentSize;
+        this.index = new TreeMap<>(Page.ID_ORDER);
+        this.currentSegment = loadIndex();
+    }
+
+    /**
+     * Appends an invoice to the archive.
+     *
+     * @param invoice the invoice to store
+     * @throws IllegalArgumentException if the invoice is null or already archived
+     * @throws UncheckedIOException if the invoice cannot be written
+     */
+    public synchronized void append(Invoice invoice) {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null");
+        }
+        if (index.containsKey(invoice.getInvoiceNumber())) {
+            throw new IllegalArgumentException("Invoice already archived: " + invoice.getInvoiceNumber());
+        }
+        try {
+            byte[] record = compress(invoice);
+            FileChannel channel = segmentForWrite(record.length);
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+
+            Entry entry = new Entry(currentSegment, offset, record.length);
+            indexOut.writeUTF(invoice.getInvoiceNumber());
+            indexOut.writeLong(entry.offset);
+            indexOut.writeInt(entry.length);
+            indexOut.writeLong(invoice.getInvoiceDate().toEpochSecond(ZoneOffset.UTC));
+            indexOut.writeInt(invoice.getInvoiceDate().getNano());
+            indexOut.writeUTF(invoice.getBooking().getBookingGuest().getUserId());
+            indexOut.writeUTF(invoice.getBooking().getBookingGuest().getName());
+            indexOut.writeInt(invoice.getBooking().getBookingID());
+            indexOut.writeDouble(invoice.getTotalAmount());
+            indexOut.flush();
+            index.put(invoice.getInvoiceNumber(), entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive invoice " + invoice.getInvoiceNumber(), e);
+        }
+    }
+
+    /**
+     * Reads one invoice back from the archive.
+     *
+     * @param invoiceNumber the invoice number
+     * @return a detached copy of the invoice, or null if it is not archived
+     * @throws UncheckedIOException if the record cannot be read
+     */
+    public Invoice load(String invoiceNumber) {
+        Entry entry;
+        synchronized (this) {
+            entry = index.get(invoiceNumber);
+        }
+        if (entry == null) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(segmentPath(entry.segment), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                    throw new EOFException("Truncated archive segment " + entry.segment);
+                }
+            }
+            return decompress(buffer.array());
+        } catch (IOException | ClassNotFoundException e) {
+            throw new UncheckedIOException("Could not load archived invoice " + invoiceNumber,
+                    e instanceof IOException ? (IOException) e : new IOException(e));
+        }
+    }
+
+    /**
+     * Checks whether an invoice is in the archive.
+     *
+     * @param invoiceNumber the invoice number
+     * @return true if archived
+     */
+    public synchronized boolean contains(String invoiceNumber) {
+        return index.containsKey(invoiceNumber);
+    }
+
+    /**
+     * Adds every archived invoice to a search index, from the keys kept in the index files.
+     * No invoice is loaded.
+     *
+     * @param target the index to fill
+     * @throws UncheckedIOException if an index file cannot be read
+     */
+    synchronized void indexInto(InvoiceIndex target) {
+        try {
+            for (int segment = 0; Files.exists(indexPath(segment)); segment++) {
+                readIndex(segment, (number, in) -> {
+                    LocalDateTime date = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+                    target.add(number, in.readUTF(), in.readUTF(), in.readInt(), date, in.readDouble());
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive index", e);
+        }
+    }
+
+    /**
+     * Gets the numbers of all archived invoices.
+     *
+     * @return invoice numbers
+     */
+    public synchronized Collection<String> getInvoiceNumbers() {
+        return Collections.unmodifiableList(new ArrayList<>(index.keySet()));
+    }
+
+    /**
+     * Gets archived invoice numbers in {@link Page#ID_ORDER}, starting after a number, for paging.
+     * Uses the index only; no invoice is loaded.
+     *
+     * @param after the last number already seen, or null to start from the first
+     * @param limit the most numbers to return
+     * @return up to limit invoice numbers after the given one
+     */
+    public synchronized List<String> getInvoiceNumbersAfter(String after, int limit) {
+        List<String> numbers = new ArrayList<>(Math.min(limit, 64));
+        for (String number : (after == null ? index : index.tailMap(after, false)).keySet()) {
+            if (numbers.size() == limit) {
+                break;
+            }
+            numbers.add(number);
+        }
+        return numbers;
+    }
+
+    /**
+     * Gets the number of archived invoices.
+     *
+     * @return archived invoice count
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Closes the current segment and index files.
+     *
+     * @throws IOException if the files cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (segmentChannel != null) {
+            segmentChannel.close();
+            segmentChannel = null;
+        }
+        if (indexOut != null) {
+            indexOut.close();
+            indexOut = null;
+        }
+    }
+
+    /**
+     * Returns the channel of the segment to append to, rolling to a new segment when full.
+     */
+    private FileChannel segmentForWrite(int recordLength) throws IOException {
+        if (segmentChannel != null && segmentChannel.size() > 0
+                && segmentChannel.size() + recordLength > maxSegmentSize) {
+            close();
+            currentSegment++;
+        }
+        if (segmentChannel == null) {
+            segmentChannel = FileChannel.open(segmentPath(currentSegment),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            indexOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath(currentSegment),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        }
+        return segmentChannel;
+    }
+
+    /**
+     * Rebuilds the in-memory index from the {@code .idx} files on disk.
+     *
+     * @return the segment number new invoices should be written to
+     */
+    private int loadIndex() throws IOException {
+        int nextSegment = 0;
+        while (Files.exists(indexPath(nextSegment))) {
+            int segment = nextSegment;
+            readIndex(segment, (number, in) -> {
+                in.readLong();  // search keys, read by indexInto
+                in.readInt();
+                in.readUTF();
+                in.readUTF();
+                in.readInt();
+                in.readDouble();
+            });
+            nextSegment++;
+        }
+        return nextSegment;
+    }
+
+    /**
+     * Reads one index file, adding each record's location to the in-memory index and handing
+     * the rest of the record, its search keys, to the reader.
+     */
+    private void readIndex(int segment, KeyReader reader) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath(segment))))) {
+            while (true) {
+                String number;
+                try {
+                    number = in.readUTF();
+                } catch (EOFException end) {
+                    break;
+                }
+                index.put(number, new Entry(segment, in.readLong(), in.readInt()));
+                reader.read(number, in);
+            }
+        }
+    }
+
+    /**
+     * Reads the search keys that follow an index record's location.
+     */
+    private interface KeyReader {
+        void read(String invoiceNumber, DataInputStream in) throws IOException;
+    }
+
+    private Path segmentPath(int segment) {
+        return directory.resolve(String.format("%s%05d.seg", SEGMENT_PREFIX, segment));
+    }
+
+    private Path indexPath(int segment) {
+        return directory.resolve(String.format("%s%05d.idx", SEGMENT_PREFIX, segment));
+    }
+
+    private static byte[] compress(Invoice invoice) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(2048);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeObject(invoice);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Invoice decompress(byte[] record) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(record)))) {
+            return (Invoice) in.readObject();
+        }
+    }
+
+    /**
+     * Location of one archived invoice.
+     */
+    private static final class Entry {
+        private final int segment;
+        private final long offset;
+        private final int length;
+
+        private Entry(int segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
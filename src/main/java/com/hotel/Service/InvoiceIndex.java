@@ -0,0 +1,285 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Invoice;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Secondary indexes over invoices: by guest, guest name, booking, invoice date and total amount.
+ * Only invoice numbers and the indexed keys are held, so archived invoices stay indexed
+ * without keeping their object graphs in memory.
+ * <p>
+ * Queries return invoice numbers ordered by invoice date, oldest first.
+ */
+public class InvoiceIndex {
+
+    private final Map<String, Entry> entries;                      // Key: invoiceNumber
+    private final Map<String, Set<String>> byGuest;                // Key: guest userId
+    private final Map<String, Set<String>> byGuestName;            // Key: lower case guest name
+    private final Map<Integer, Set<String>> byBooking;             // Key: bookingId
+    private final TreeMap<LocalDateTime, Set<String>> byDate;      // Key: invoice date
+    private final TreeMap<Double, Set<String>> byTotal;            // Key: total amount
+
+    /**
+     * Creates an empty index.
+     */
+    public InvoiceIndex() {
+        this.entries = new HashMap<>();
+        this.byGuest = new HashMap<>();
+        this.byGuestName = new HashMap<>();
+        this.byBooking = new HashMap<>();
+        this.byDate = new TreeMap<>();
+        this.byTotal = new TreeMap<>();
+    }
+
+    /**
+     * Adds an invoice to every index.
+     *
+     * @param invoice the invoice to index
+     * @throws IllegalArgumentException if the invoice is null
+     */
+    public void add(Invoice invoice) {
+        if (invoice == null) {
+            throw new IllegalArgumentException("Invoice cannot be null");
+        }
+        add(invoice.getInvoiceNumber(), invoice.getBooking().getBookingGuest().getUserId(),
+                invoice.getBooking().getBookingGuest().getName(), invoice.getBooking().getBookingID(),
+                invoice.getInvoiceDate(), invoice.getTotalAmount());
+    }
+
+    /**
+     * Adds an invoice to every index from its keys alone, e.g. as stored by {@link InvoiceArchive}.
+     *
+     * @param invoiceNumber the invoice number
+     * @param guestId the guest's user ID
+     * @param guestName the guest's name
+     * @param bookingId the booking ID
+     * @param date the invoice date
+     * @param total the total amount
+     */
+    public void add(String invoiceNumber, String guestId, String guestName, int bookingId,
+                    LocalDateTime date, double total) {
+        if (entries.containsKey(invoiceNumber)) {
+            remove(invoiceNumber);
+        }
+        Entry entry = new Entry(guestId, nameKey(guestName), bookingId, date, total);
+        entries.put(invoiceNumber, entry);
+        put(byGuest, entry.guestId, invoiceNumber);
+        put(byGuestName, entry.guestName, invoiceNumber);
+        put(byBooking, entry.bookingId, invoiceNumber);
+        put(byDate, entry.date, invoiceNumber);
+        put(byTotal, entry.total, invoiceNumber);
+    }
+
+    /**
+     * Removes an invoice from every index.
+     *
+     * @param invoiceNumber the invoice number
+     * @return true if the invoice was indexed
+     */
+    public boolean remove(String invoiceNumber) {
+        Entry entry = entries.remove(invoiceNumber);
+        if (entry == null) {
+            return false;
+        }
+        take(byGuest, entry.guestId, invoiceNumber);
+        take(byGuestName, entry.guestName, invoiceNumber);
+        take(byBooking, entry.bookingId, invoiceNumber);
+        take(byDate, entry.date, invoiceNumber);
+        take(byTotal, entry.total, invoiceNumber);
+        return true;
+    }
+
+    /**
+     * Moves an invoice to its new position in the total index after its total changed.
+     *
+     * @param invoice the invoice whose total changed
+     */
+    public void updateTotal(Invoice invoice) {
+        Entry entry = entries.get(invoice.getInvoiceNumber());
+        if (entry == null || entry.total == invoice.getTotalAmount()) {
+            return;
+        }
+        take(byTotal, entry.total, invoice.getInvoiceNumber());
+        entry.total = invoice.getTotalAmount();
+        put(byTotal, entry.total, invoice.getInvoiceNumber());
+    }
+
+    /**
+     * Finds the invoices of a guest.
+     *
+     * @param guestId the guest's user ID
+     * @return matching invoice numbers
+     */
+    public List<String> findByGuest(String guestId) {
+        return sorted(byGuest.getOrDefault(guestId, Collections.emptySet()), n -> true);
+    }
+
+    /**
+     * Finds the invoices of guests with the given name, ignoring case.
+     *
+     * @param guestName the guest name
+     * @return matching invoice numbers
+     */
+    public List<String> findByGuestName(String guestName) {
+        if (guestName == null) {
+            return new ArrayList<>();
+        }
+        return sorted(byGuestName.getOrDefault(nameKey(guestName), Collections.emptySet()), n -> true);
+    }
+
+    /**
+     * Finds the invoices of a booking.
+     *
+     * @param bookingId the booking ID
+     * @return matching invoice numbers
+     */
+    public List<String> findByBooking(int bookingId) {
+        return sorted(byBooking.getOrDefault(bookingId, Collections.emptySet()), n -> true);
+    }
+
+    /**
+     * Finds the invoices issued in a time range.
+     *
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return matching invoice numbers
+     */
+    public List<String> findBetween(LocalDateTime from, LocalDateTime to) {
+        return flatten(byDate.subMap(from, true, to, false));
+    }
+
+    /**
+     * Finds the invoices whose total lies in a range.
+     *
+     * @param minTotal lowest total (inclusive)
+     * @param maxTotal highest total (inclusive)
+     * @return matching invoice numbers
+     */
+    public List<String> findByTotal(double minTotal, double maxTotal) {
+        List<String> numbers = flatten(byTotal.subMap(minTotal, true, maxTotal, true));
+        numbers.sort(Comparator.comparing(n -> entries.get(n).date));
+        return numbers;
+    }
+
+    /**
+     * Finds the invoices of a guest issued in a time range.
+     *
+     * @param guestId the guest's user ID
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return matching invoice numbers
+     */
+    public List<String> findForGuestBetween(String guestId, LocalDateTime from, LocalDateTime to) {
+        return guestBetween(byGuest.getOrDefault(guestId, Collections.emptySet()), from, to);
+    }
+
+    /**
+     * Finds the invoices of guests with the given name issued in a time range.
+     *
+     * @param guestName the guest name, case is ignored
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return matching invoice numbers
+     */
+    public List<String> findForGuestNameBetween(String guestName, LocalDateTime from, LocalDateTime to) {
+        if (guestName == null) {
+            return new ArrayList<>();
+        }
+        return guestBetween(byGuestName.getOrDefault(nameKey(guestName), Collections.emptySet()), from, to);
+    }
+
+    /**
+     * Checks whether an invoice is indexed.
+     *
+     * @param invoiceNumber the invoice number
+     * @return true if indexed
+     */
+    public boolean contains(String invoiceNumber) {
+        return entries.containsKey(invoiceNumber);
+    }
+
+    /**
+     * Gets the number of indexed invoices.
+     *
+     * @return indexed invoice count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private List<String> guestBetween(Set<String> guestInvoices, LocalDateTime from, LocalDateTime to) {
+        // A guest has few invoices, so filter those rather than walk the whole date range
+        return sorted(guestInvoices, n -> {
+            LocalDateTime date = entries.get(n).date;
+            return !date.isBefore(from) && date.isBefore(to);
+        });
+    }
+
+    private List<String> sorted(Collection<String> numbers, Predicate<String> filter) {
+        List<String> result = new ArrayList<>(numbers.size());
+        for (String number : numbers) {
+            if (filter.test(number)) {
+                result.add(number);
+            }
+        }
+        result.sort(Comparator.comparing(n -> entries.get(n).date));
+        return result;
+    }
+
+    private static List<String> flatten(Map<?, Set<String>> range) {
+        List<String> numbers = new ArrayList<>();
+        for (Set<String> sameKey : range.values()) {
+            numbers.addAll(sameKey);
+        }
+        return numbers;
+    }
+
+    private static <K> void put(Map<K, Set<String>> index, K key, String number) {
+        index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(number);
+    }
+
+    private static <K> void take(Map<K, Set<String>> index, K key, String number) {
+        Set<String> numbers = index.get(key);
+        if (numbers != null) {
+            numbers.remove(number);
+            if (numbers.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase();
+    }
+
+    /**
+     * Indexed keys of one invoice, kept so the invoice can be unindexed without loading it.
+     */
+    private static final class Entry {
+        private final String guestId;
+        private final String guestName;
+        private final int bookingId;
+        private final LocalDateTime date;
+        private double total;
+
+        private Entry(String guestId, String guestName, int bookingId, LocalDateTime date, double total) {
+            this.guestId = guestId;
+            this.guestName = guestName;
+            this.bookingId = bookingId;
+            this.date = date;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.hotel.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Set of booked nights for one room, held as a bit per night counted from a base date.
+ * A stay from {@code arrive} to {@code depart} occupies the nights {@code [arrive, depart)}.
+ * <p>
+ * Range checks are word-wide bit scans instead of date list comparisons, and a year of
+ * nights costs 48 bytes.
+ */
+public class NightSet {
+
+    private static final int REBASE_SLACK = 64;  // nights kept free before a new earliest date
+
+    private BitSet nights;
+    private long baseDay;  // epoch day of bit 0, set by the first add
+
+    /**
+     * Creates an empty set.
+     */
+    public NightSet() {
+        this.nights = new BitSet();
+        this.baseDay = Long.MIN_VALUE;
+    }
+
+    /**
+     * Copies the set, e.g. to change a copy while readers keep using the original.
+     *
+     * @return a new set with the same booked nights
+     */
+    public NightSet copy() {
+        NightSet copy = new NightSet();
+        copy.nights = (BitSet) nights.clone();
+        copy.baseDay = baseDay;
+        return copy;
+    }
+
+    /**
+     * Marks the nights from {@code arrive} up to but not including {@code depart} as booked.
+     *
+     * @param arrive first night
+     * @param depart day after the last night
+     */
+    public void add(LocalDate arrive, LocalDate depart) {
+        long from = arrive.toEpochDay();
+        long to = depart.toEpochDay();
+        if (to <= from) {
+            return;
+        }
+        if (baseDay == Long.MIN_VALUE) {
+            baseDay = from;
+        } else if (from < baseDay) {
+            rebase(from - REBASE_SLACK);
+        }
+        nights.set(offset(from), offset(to));
+    }
+
+    /**
+     * Clears the nights from {@code arrive} up to but not including {@code depart}.
+     *
+     * @param arrive first night
+     * @param depart day after the last night
+     */
+    public void remove(LocalDate arrive, LocalDate depart) {
+        int[] range = clip(arrive.toEpochDay(), depart.toEpochDay());
+        if (range != null) {
+            nights.clear(range[0], range[1]);
+        }
+    }
+
+    /**
+     * Checks whether any night from {@code arrive} up to but not including {@code depart} is booked.
+     *
+     * @param arrive first night
+     * @param depart day after the last night
+     * @return true if at least one of the nights is booked
+     */
+    public boolean intersects(LocalDate arrive, LocalDate depart) {
+        // Called on every availability probe, so clipped inline rather than through clip()
+        long from = arrive.toEpochDay();
+        long to = depart.toEpochDay();
+        if (baseDay == Long.MIN_VALUE || to <= from || to <= baseDay) {
+            return false;
+        }
+        long start = Math.max(from, baseDay) - baseDay;
+        if (start >= nights.length()) {
+            return false;
+        }
+        int next = nights.nextSetBit((int) start);
+        return next >= 0 && next < to - baseDay;
+    }
+
+    /**
+     * Checks whether a night is booked.
+     *
+     * @param night the night
+     * @return true if booked
+     */
+    public boolean contains(LocalDate night) {
+        long day = night.toEpochDay();
+        return baseDay != Long.MIN_VALUE && day >= baseDay && day - baseDay <= Integer.MAX_VALUE
+                && nights.get(offset(day));
+    }
+
+    /**
+     * Finds the first booked night on or after a date.
+     *
+     * @param from the first night to look at
+     * @return the booked night, or null if none
+     */
+    public LocalDate nextBooked(LocalDate from) {
+        if (baseDay == Long.MIN_VALUE) {
+            return null;
+        }
+        long start = Math.max(from.toEpochDay() - baseDay, 0);
+        if (start >= nights.length()) {
+            return null;
+        }
+        int next = nights.nextSetBit((int) start);
+        return next < 0 ? null : LocalDate.ofEpochDay(baseDay + next);
+    }
+
+    /**
+     * Finds the last booked night before a date.
+     *
+     * @param before the day after the last night to look at
+     * @return the booked night, or null if none
+     */
+    public LocalDate previousBooked(LocalDate before) {
+        if (baseDay == Long.MIN_VALUE) {
+            return null;
+        }
+        long end = before.toEpochDay() - baseDay;  // exclusive
+        if (end <= 0) {
+            return null;
+        }
+        int previous = nights.previousSetBit((int) Math.min(end - 1, Integer.MAX_VALUE - 1));
+        return previous < 0 ? null : LocalDate.ofEpochDay(baseDay + previous);
+    }
+
+    /**
+     * Returns the booked nights of a window, bit {@code i} standing for {@code start.plusDays(i)}.
+     *
+     * @param start first night of the window
+     * @param days length of the window
+     * @return a new BitSet of the booked nights in the window
+     */
+    public BitSet window(LocalDate start, int days) {
+        long from = start.toEpochDay();
+        int[] range = clip(from, from + days);
+        if (range == null) {
+            return new BitSet();
+        }
+        BitSet window = new BitSet(days);
+        long delta = baseDay - from;  // window position of bit 0
+        for (int i = nights.nextSetBit(range[0]); i >= 0 && i < range[1]; i = nights.nextSetBit(i + 1)) {
+            int end = Math.min(nights.nextClearBit(i), range[1]);
+            window.set((int) (i + delta), (int) (end + delta));
+            i = end;
+        }
+        return window;
+    }
+
+    /**
+     * Lists the booked nights in date order.
+     *
+     * @return booked nights
+     */
+    public List<LocalDate> dates() {
+        List<LocalDate> dates = new ArrayList<>(nights.cardinality());
+        for (int i = nights.nextSetBit(0); i >= 0; i = nights.nextSetBit(i + 1)) {
+            dates.add(LocalDate.ofEpochDay(baseDay + i));
+        }
+        return dates;
+    }
+
+    /**
+     * Gets the number of booked nights.
+     *
+     * @return night count
+     */
+    public int size() {
+        return nights.cardinality();
+    }
+
+    private int offset(long day) {
+        long offset = day - baseDay;
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Date too far from earliest booked night: " + LocalDate.ofEpochDay(day));
+        }
+        return (int) offset;
+    }
+
+    /**
+     * Maps a day range onto bit positions, or null if it lies wholly outside the set.
+     */
+    private int[] clip(long from, long to) {
+        if (baseDay == Long.MIN_VALUE || to <= from || to <= baseDay) {
+            return null;
+        }
+        long start = Math.max(from, baseDay) - baseDay;
+        long end = Math.min(to - baseDay, (long) Integer.MAX_VALUE);
+        return start >= end ? null : new int[]{(int) start, (int) end};
+    }
+
+    private void rebase(long newBaseDay) {
+        BitSet moved = new BitSet(nights.length() + (int) (baseDay - newBaseDay));
+        int shift = (int) (baseDay - newBaseDay);
+        for (int i = nights.nextSetBit(0); i >= 0; i = nights.nextSetBit(i + 1)) {
+            moved.set(i + shift);
+        }
+        nights = moved;
+        baseDay = newBaseDay;
+    }
+}
@@ -0,0 +1,284 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.BookingStatus;
+import com.hotel.Model.RoomType;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Occupancy, room-nights sold, average daily rate (ADR) and revenue per available room (RevPAR)
+ * over a date range, in total and per room type, read from the booking calendar.
+ * <p>
+ * A night is sold when a confirmed, checked-in or paid booking covers it; held and cancelled
+ * bookings are not counted. Every room in the inventory is on sale every night of the range,
+ * whatever its available flag. Revenue is each sold night at the room's price per night, as
+ * bookings carry no rate of their own.
+ * <p>
+ * Computed from an {@link InventorySnapshot}, so a booking added to or removed from a room
+ * meanwhile is seen in every room or in none, with the rooms split between fork/join tasks that
+ * each total their share. Whether a booking is sold is read from its live status as its room is
+ * totalled, so a hold confirmed during the report may or may not be counted.
+ */
+public final class OccupancyReport {
+
+    private static final int ROOMS_PER_TASK = 128;
+    private static final RoomType[] TYPES = RoomType.values();
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long nights;
+    private final Totals totals;
+
+    private OccupancyReport(LocalDate from, LocalDate to, Totals totals) {
+        this.from = from;
+        this.to = to;
+        this.nights = ChronoUnit.DAYS.between(from, to);
+        this.totals = totals;
+    }
+
+    /**
+     * Computes the report for the nights from one date up to, not including, another.
+     *
+     * @param snapshot the rooms and their bookings
+     * @param from the first night
+     * @param to the day after the last night
+     * @return the report
+     * @throws IllegalArgumentException if a date is null or to is not after from
+     */
+    public static OccupancyReport compute(InventorySnapshot snapshot, LocalDate from, LocalDate to) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Snapshot cannot be null");
+        }
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Report must end after it starts");
+        }
+        List<InventorySnapshot.RoomView> rooms = snapshot.getRooms();
+        Totals totals = new RoomsTask(rooms, 0, rooms.size(), from, to).invoke();
+        return new OccupancyReport(from, to, totals);
+    }
+
+    /**
+     * Gets the first night of the report.
+     *
+     * @return the start date
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Gets the day after the last night of the report.
+     *
+     * @return the end date, exclusive
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Gets the number of nights covered.
+     *
+     * @return nights
+     */
+    public long getNights() {
+        return nights;
+    }
+
+    /**
+     * Gets the room-nights on sale: rooms times nights.
+     *
+     * @return available room-nights
+     */
+    public long getRoomNightsAvailable() {
+        return sum(totals.rooms) * nights;
+    }
+
+    /**
+     * Gets the room-nights sold.
+     *
+     * @return sold room-nights
+     */
+    public long getRoomNightsSold() {
+        return sum(totals.sold);
+    }
+
+    /**
+     * Gets the revenue from the room-nights sold.
+     *
+     * @return room revenue
+     */
+    public double getRoomRevenue() {
+        double revenue = 0;
+        for (double r : totals.revenue) {
+            revenue += r;
+        }
+        return revenue;
+    }
+
+    /**
+     * Gets the share of room-nights sold.
+     *
+     * @return occupancy from 0 to 1, or 0 with no rooms
+     */
+    public double getOccupancy() {
+        return ratio(getRoomNightsSold(), getRoomNightsAvailable());
+    }
+
+    /**
+     * Gets the average daily rate: revenue per room-night sold.
+     *
+     * @return ADR, or 0 if nothing was sold
+     */
+    public double getAverageDailyRate() {
+        return ratio(getRoomRevenue(), getRoomNightsSold());
+    }
+
+    /**
+     * Gets the revenue per available room-night, occupancy times ADR.
+     *
+     * @return RevPAR, or 0 with no rooms
+     */
+    public double getRevPar() {
+        return ratio(getRoomRevenue(), getRoomNightsAvailable());
+    }
+
+    /**
+     * Gets the number of rooms of a type.
+     *
+     * @param type the room type
+     * @return room count
+     */
+    public int getRooms(RoomType type) {
+        return (int) totals.rooms[type.ordinal()];
+    }
+
+    /**
+     * Gets the room-nights sold for a room type.
+     *
+     * @param type the room type
+     * @return sold room-nights
+     */
+    public long getRoomNightsSold(RoomType type) {
+        return totals.sold[type.ordinal()];
+    }
+
+    /**
+     * Gets the share of a room type's room-nights sold.
+     *
+     * @param type the room type
+     * @return occupancy from 0 to 1, or 0 with no rooms of the type
+     */
+    public double getOccupancy(RoomType type) {
+        return ratio(getRoomNightsSold(type), totals.rooms[type.ordinal()] * nights);
+    }
+
+    /**
+     * Gets the average daily rate of a room type.
+     *
+     * @param type the room type
+     * @return ADR, or 0 if none of the type was sold
+     */
+    public double getAverageDailyRate(RoomType type) {
+        return ratio(totals.revenue[type.ordinal()], getRoomNightsSold(type));
+    }
+
+    /**
+     * Gets the revenue per available room-night of a room type.
+     *
+     * @param type the room type
+     * @return RevPAR, or 0 with no rooms of the type
+     */
+    public double getRevPar(RoomType type) {
+        return ratio(totals.revenue[type.ordinal()], totals.rooms[type.ordinal()] * nights);
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long v : values) {
+            total += v;
+        }
+        return total;
+    }
+
+    private static double ratio(double amount, double per) {
+        return per == 0 ? 0 : amount / per;
+    }
+
+    /**
+     * Rooms, nights sold and revenue per room type, for one task's share of the rooms.
+     */
+    private static final class Totals {
+        final long[] rooms = new long[TYPES.length];
+        final long[] sold = new long[TYPES.length];
+        final double[] revenue = new double[TYPES.length];
+
+        Totals add(Totals other) {
+            for (int t = 0; t < TYPES.length; t++) {
+                rooms[t] += other.rooms[t];
+                sold[t] += other.sold[t];
+                revenue[t] += other.revenue[t];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Totals a run of rooms, splitting it in two until the runs are small.
+     */
+    private static final class RoomsTask extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<InventorySnapshot.RoomView> rooms;
+        private final int start;
+        private final int end;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        RoomsTask(List<InventorySnapshot.RoomView> rooms, int start, int end, LocalDate from, LocalDate to) {
+            this.rooms = rooms;
+            this.start = start;
+            this.end = end;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (end - start > ROOMS_PER_TASK) {
+                int middle = (start + end) >>> 1;
+                RoomsTask left = new RoomsTask(rooms, start, middle, from, to);
+                left.fork();
+                Totals right = new RoomsTask(rooms, middle, end, from, to).compute();
+                return left.join().add(right);
+            }
+            Totals totals = new Totals();
+            for (int i = start; i < end; i++) {
+                InventorySnapshot.RoomView room = rooms.get(i);
+                int type = room.getRoomType().ordinal();
+                long sold = 0;
+                for (Booking booking : room.getRegister().getBookings()) {
+                    if (isSold(booking.getBookingStatus())) {
+                        LocalDate arrive = booking.getArriveDate().isAfter(from) ? booking.getArriveDate() : from;
+                        LocalDate depart = booking.getDepartDate().isBefore(to) ? booking.getDepartDate() : to;
+                        if (depart.isAfter(arrive)) {
+                            sold += ChronoUnit.DAYS.between(arrive, depart);
+                        }
+                    }
+                }
+                totals.rooms[type]++;
+                totals.sold[type] += sold;
+                totals.revenue[type] += sold * room.getPricePerNight();
+            }
+            return totals;
+        }
+
+        private static boolean isSold(BookingStatus status) {
+            return status == BookingStatus.CONFIRMED || status == BookingStatus.CHECKED_IN
+                    || status == BookingStatus.PAID;
+        }
+    }
+}
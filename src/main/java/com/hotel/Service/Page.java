@@ -0,0 +1,194 @@
+package com.hotel.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list, with a cursor to fetch the page after it.
+ * <p>
+ * Cursors are opaque tokens naming the last item of the page, not positions, so a listing
+ * continues correctly while items are added or removed between pages: nothing is repeated,
+ * and items added behind the cursor are not shown. A cursor belongs to the listing that issued
+ * it; passing it to a different listing is rejected.
+ * <p>
+ * Listings keyed by generated IDs page in {@link #ID_ORDER}, so PAY-1001 comes before PAY-10000.
+ *
+ * @param <T> the item type
+ */
+public final class Page<T> {
+
+    /** Largest page any listing returns, whatever size is asked for. */
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * Orders IDs such as PAY-1001 or G12 by their text, with each run of digits compared by
+     * its value, so IDs with more digits sort after those with fewer. Equal only for equal IDs.
+     */
+    static final Comparator<String> ID_ORDER = Page::compareIds;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    Page(List<T> items, String nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the items on this page.
+     *
+     * @return the items, in the listing's order
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the cursor for the next page.
+     *
+     * @return the cursor, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks whether there are more items after this page.
+     *
+     * @return true if {@link #getNextCursor()} gives a further page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Takes a page from the items after the cursor, reading one item past the page
+     * to tell whether another page follows.
+     *
+     * @param listing names the listing, e.g. "users"
+     * @param rest the items after the cursor, in key order
+     * @param size the page size, already checked
+     * @param keyOf the key of an item, as later passed to the listing's seek
+     * @return the page
+     */
+    static <T> Page<T> of(String listing, Iterator<T> rest, int size, Function<T, String> keyOf) {
+        List<T> items = new ArrayList<>(Math.min(size, 64));
+        while (items.size() < size && rest.hasNext()) {
+            items.add(rest.next());
+        }
+        String next = !items.isEmpty() && rest.hasNext()
+                ? cursor(listing, keyOf.apply(items.get(items.size() - 1))) : null;
+        return new Page<>(items, next);
+    }
+
+    private static int compareIds(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (!isDigit(ca) || !isDigit(cb)) {
+                if (ca != cb) {
+                    return Character.compare(ca, cb);
+                }
+                i++;
+                j++;
+                continue;
+            }
+            // Compare the digit runs by value: skip leading zeros, then more digits is larger
+            int endA = digitsEnd(a, i);
+            int endB = digitsEnd(b, j);
+            int startA = i;
+            int startB = j;
+            while (startA < endA - 1 && a.charAt(startA) == '0') {
+                startA++;
+            }
+            while (startB < endB - 1 && b.charAt(startB) == '0') {
+                startB++;
+            }
+            int order = Integer.compare(endA - startA, endB - startB);
+            for (int k = 0; order == 0 && k < endA - startA; k++) {
+                order = Character.compare(a.charAt(startA + k), b.charAt(startB + k));
+            }
+            if (order == 0) {
+                order = Integer.compare(endA - i, endB - j);  // same value, fewer leading zeros first
+            }
+            if (order != 0) {
+                return order;
+            }
+            i = endA;
+            j = endB;
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int digitsEnd(String s, int from) {
+        int end = from;
+        while (end < s.length() && isDigit(s.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Checks a requested page size.
+     *
+     * @param size the requested size
+     * @return the size, capped at {@link #MAX_SIZE}
+     * @throws IllegalArgumentException if size is not positive
+     */
+    static int checkSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * Makes the cursor that continues a listing after a key.
+     *
+     * @param listing names the listing, e.g. "users"
+     * @param key the key of the last item on the page
+     * @return the cursor
+     */
+    static String cursor(String listing, String key) {
+        return ENCODER.encodeToString((listing + ':' + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the key back out of a cursor.
+     *
+     * @param listing the listing the cursor must belong to
+     * @param cursor the cursor, or null for the first page
+     * @return the key of the last item already listed, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed or from another listing
+     */
+    static String keyOf(String listing, String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        if (!decoded.startsWith(listing + ':')) {
+            throw new IllegalArgumentException("Cursor is not for " + listing + ": " + cursor);
+        }
+        return decoded.substring(listing.length() + 1);
+    }
+}
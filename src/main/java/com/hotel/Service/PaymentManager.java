@@ -1,10 +1,20 @@
 package com.hotel.Service;
 
+import com.hotel.Logging.Log;
+import com.hotel.Logging.Logger;
 import com.hotel.Model.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
@@ -13,18 +23,40 @@ import java.util.stream.Collectors;
  */
 public class PaymentManager {
 
+    private static final Logger LOG = Log.getLogger(PaymentManager.class);
+
     // Storage for payments and invoices
-    private Map<String, Payment> payments;  // Key: paymentId
-    private Map<String, Invoice> invoices;  // Key: invoiceNumber
+    private NavigableMap<String, Payment> payments;  // Key: paymentId, ordered for paging
+    private NavigableMap<String, Invoice> invoices;  // Key: invoiceNumber, ordered for paging
     private Map<Integer, List<Payment>> paymentsByBooking;  // Key: bookingId
+    private final InvoiceArchive archive;  // closed invoices moved off the heap, may be null
+    private final InvoiceIndex invoiceIndex;  // guest, booking, date and total lookups
+    private volatile PaymentSnapshot totals = PaymentSnapshot.EMPTY;  // counts and amounts by status, replaced on each change
 
     /**
      * Payment manager constructor
      */
     public PaymentManager() {
-        this.payments = new HashMap<>();
-        this.invoices = new HashMap<>();
+        this(null);
+    }
+
+    /**
+     * Payment manager constructor with an invoice archive.
+     * Invoices moved by {@link #archiveInvoicesOlderThan(LocalDate)} are still found by
+     * the invoice lookups, loaded from the archive on demand.
+     * The search index is rebuilt from the keys kept in the archive's index files, without reading invoices.
+     *
+     * @param archive The archive for old invoices, or null to keep all invoices in memory
+     */
+    public PaymentManager(InvoiceArchive archive) {
+        this.payments = new TreeMap<>(Page.ID_ORDER);
+        this.invoices = new TreeMap<>(Page.ID_ORDER);
         this.paymentsByBooking = new HashMap<>();
+        this.archive = archive;
+        this.invoiceIndex = new InvoiceIndex();
+        if (archive != null) {
+            archive.indexInto(invoiceIndex);
+        }
     }
 
     /**
@@ -50,11 +82,14 @@ public class PaymentManager {
         Payment payment = new Payment(booking.getBookingID(), amount, paymentMethod, guestName);
 
         // Process the payment
+        PaymentStatus recorded = null;
         try {
             payment.processPayment();
 
             // Store payment
             payments.put(payment.getPaymentId(), payment);
+            recordStatus(payment, null);
+            recorded = payment.getPaymentStatus();
 
             // Add to booking payments list
             paymentsByBooking.computeIfAbsent(booking.getBookingID(), k -> new ArrayList<>())
@@ -66,15 +101,13 @@ public class PaymentManager {
             // Generate invoice
             Invoice invoice = generateInvoice(booking, payment);
 
-            System.out.println("✓ Payment processed successfully: " + payment.getPaymentId());
-            System.out.println("✓ Invoice generated: " + invoice.getInvoiceNumber());
+            LOG.info("✓ Payment processed successfully: " + payment.getPaymentId());
+            LOG.info("✓ Invoice generated: " + invoice.getInvoiceNumber());
 
             return invoice;
 
         } catch (Exception e) {
-            payment.failPayment();
-            payments.put(payment.getPaymentId(), payment);
-            throw new IllegalStateException("Payment processing failed: " + e.getMessage(), e);
+            throw processingFailed(payment, recorded, e);
         }
     }
 
@@ -99,9 +132,12 @@ public class PaymentManager {
         Payment payment = new Payment(booking.getBookingID(), amount,
                 paymentMethod, guestName, transactionRef);
 
+        PaymentStatus recorded = null;
         try {
             payment.processPayment();
             payments.put(payment.getPaymentId(), payment);
+            recordStatus(payment, null);
+            recorded = payment.getPaymentStatus();
             paymentsByBooking.computeIfAbsent(booking.getBookingID(), k -> new ArrayList<>())
                     .add(payment);
 
@@ -109,16 +145,35 @@ public class PaymentManager {
 
             Invoice invoice = generateInvoice(booking, payment);
 
-            System.out.println("✓ Payment processed: " + payment.getPaymentId());
-            System.out.println("✓ Transaction Ref: " + transactionRef);
+            LOG.info("✓ Payment processed: " + payment.getPaymentId());
+            LOG.info("✓ Transaction Ref: " + transactionRef);
 
             return invoice;
 
         } catch (Exception e) {
+            throw processingFailed(payment, recorded, e);
+        }
+    }
+
+    /**
+     * Settles a payment whose processing threw. A payment that never completed is marked failed;
+     * one that completed before a later step (such as the invoice) threw stays completed.
+     * Either way the report totals move at most once from what was already recorded.
+     *
+     * @param payment The payment
+     * @param recorded The status it was recorded with, or null if it was never recorded
+     * @param cause The failure
+     * @return The exception to throw
+     */
+    private IllegalStateException processingFailed(Payment payment, PaymentStatus recorded, Exception cause) {
+        if (payment.getPaymentStatus() != PaymentStatus.COMPLETED) {
             payment.failPayment();
-            payments.put(payment.getPaymentId(), payment);
-            throw new IllegalStateException("Payment processing failed: " + e.getMessage(), e);
         }
+        payments.put(payment.getPaymentId(), payment);
+        if (recorded != payment.getPaymentStatus()) {
+            recordStatus(payment, recorded);
+        }
+        return new IllegalStateException("Payment processing failed: " + cause.getMessage(), cause);
     }
 
     /**
@@ -137,7 +192,7 @@ public class PaymentManager {
         Invoice invoice = new Invoice(booking, payment);
 
         // Store invoice
-        invoices.put(invoice.getInvoiceNumber(), invoice);
+        storeInvoice(invoice);
 
         return invoice;
     }
@@ -156,11 +211,41 @@ public class PaymentManager {
         }
 
         Invoice invoice = new Invoice(booking, payment, taxRate);
-        invoices.put(invoice.getInvoiceNumber(), invoice);
+        storeInvoice(invoice);
 
         return invoice;
     }
 
+    /**
+     * Stores an invoice and indexes it, keeping the total index current as charges are added.
+     */
+    private void storeInvoice(Invoice invoice) {
+        invoices.put(invoice.getInvoiceNumber(), invoice);
+        invoiceIndex.add(invoice);
+        invoice.setTotalChangeListener((changed, previousTotal) -> invoiceIndex.updateTotal(changed));
+    }
+
+    /**
+     * Moves a stored payment to its new status in the report totals.
+     *
+     * @param payment The payment
+     * @param previous The status it was last recorded with, or null if it was just stored
+     */
+    private synchronized void recordStatus(Payment payment, PaymentStatus previous) {
+        totals = totals.with(previous, payment.getPaymentStatus(), payment.getAmount());
+    }
+
+    /**
+     * Takes a point-in-time view of payment counts and amounts by status.
+     * Reports built from one snapshot add up even while payments keep being processed,
+     * and taking it costs a single read.
+     *
+     * @return The payment snapshot
+     */
+    public PaymentSnapshot snapshot() {
+        return totals;
+    }
+
     /**
      * Processes a refund for a payment.
      * Updates payment status and booking status.
@@ -185,19 +270,20 @@ public class PaymentManager {
 
         try {
             payment.refundPayment();
+            recordStatus(payment, PaymentStatus.COMPLETED);
 
             // Update booking status
             int bookingId = payment.getBookingId();
             // Note: In a real system, we'd get the booking and update it
             // For now, just update the payment
 
-            System.out.println("✓ Refund processed for payment: " + paymentId);
-            System.out.println("✓ Amount refunded: €" + String.format("%.2f", payment.getAmount()));
+            LOG.info("✓ Refund processed for payment: " + paymentId);
+            LOG.info("✓ Amount refunded: €" + String.format("%.2f", payment.getAmount()));
 
             return true;
 
         } catch (Exception e) {
-            System.err.println("✗ Refund failed: " + e.getMessage());
+            LOG.error("✗ Refund failed: " + e.getMessage());
             return false;
         }
     }
@@ -217,10 +303,11 @@ public class PaymentManager {
 
         try {
             payment.cancelPayment();
-            System.out.println("✓ Payment cancelled: " + paymentId);
+            recordStatus(payment, PaymentStatus.PENDING);
+            LOG.info("✓ Payment cancelled: " + paymentId);
             return true;
         } catch (IllegalStateException e) {
-            System.err.println("✗ Cannot cancel payment: " + e.getMessage());
+            LOG.error("✗ Cannot cancel payment: " + e.getMessage());
             return false;
         }
     }
@@ -238,11 +325,17 @@ public class PaymentManager {
     /**
      * Gets an invoice by number.
      *
+     * Archived invoices are loaded from the archive as detached copies.
+     *
      * @param invoiceNumber The invoice number
      * @return The invoice, or null if not found
      */
     public Invoice getInvoice(String invoiceNumber) {
-        return invoices.get(invoiceNumber);
+        Invoice invoice = invoices.get(invoiceNumber);
+        if (invoice == null && archive != null) {
+            invoice = archive.load(invoiceNumber);
+        }
+        return invoice;
     }
 
     /**
@@ -298,12 +391,241 @@ public class PaymentManager {
     }
 
     /**
-     * Gets all invoices.
+     * Gets a page of payments in payment ID order, for listings too long to build in one go.
+     * IDs are ordered by {@link Page#ID_ORDER}, so PAY-999 comes before PAY-1000.
+     * Only the page is read, from the payment after the cursor.
      *
-     * @return List of all invoices
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param size the most payments to return, capped at {@link Page#MAX_SIZE}
+     * @return the page and the cursor for the next one
+     * @throws IllegalArgumentException if size is not positive or the cursor is not from this listing
+     */
+    public Page<Payment> getPaymentsPage(String cursor, int size) {
+        int limit = Page.checkSize(size);
+        String after = Page.keyOf("payments", cursor);
+        Map<String, Payment> rest = after == null ? payments : payments.tailMap(after, false);
+        return Page.of("payments", rest.values().iterator(), limit, Payment::getPaymentId);
+    }
+
+    /**
+     * Gets a page of invoices in invoice number order ({@link Page#ID_ORDER}), including archived ones.
+     * Live and archived invoices are merged by number, and only the archived invoices
+     * on the page are read back from the archive.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param size the most invoices to return, capped at {@link Page#MAX_SIZE}
+     * @return the page and the cursor for the next one
+     * @throws IllegalArgumentException if size is not positive or the cursor is not from this listing
+     */
+    public Page<Invoice> getInvoicesPage(String cursor, int size) {
+        int limit = Page.checkSize(size);
+        String after = Page.keyOf("invoices", cursor);
+        Iterator<Invoice> live = (after == null ? invoices : invoices.tailMap(after, false)).values().iterator();
+        if (archive == null) {
+            return Page.of("invoices", live, limit, Invoice::getInvoiceNumber);
+        }
+        // one number past the page, so the merge can tell whether a next page follows
+        Iterator<String> archived = archive.getInvoiceNumbersAfter(after, limit + 1).iterator();
+        Iterator<Invoice> merged = new Iterator<Invoice>() {
+            private Invoice nextLive = live.hasNext() ? live.next() : null;
+            private String nextArchived = archived.hasNext() ? archived.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextLive != null || nextArchived != null;
+            }
+
+            @Override
+            public Invoice next() {
+                if (nextArchived != null
+                        && (nextLive == null || Page.ID_ORDER.compare(nextArchived, nextLive.getInvoiceNumber()) < 0)) {
+                    Invoice invoice = archive.load(nextArchived);
+                    nextArchived = archived.hasNext() ? archived.next() : null;
+                    return invoice;
+                }
+                if (nextLive == null) {
+                    throw new NoSuchElementException();
+                }
+                Invoice invoice = nextLive;
+                nextLive = live.hasNext() ? live.next() : null;
+                return invoice;
+            }
+        };
+        return Page.of("invoices", merged, limit, Invoice::getInvoiceNumber);
+    }
+
+    /**
+     * Gets all invoices, including archived ones.
+     * The list is read-only and holds the archived invoices by number: each is loaded from
+     * the archive only when its element is read, so taking the list or its size reads nothing.
+     * Use {@link #getInvoicesPage(String, int)} to show them.
+     *
+     * @return List of all invoices, live ones first
      */
     public List<Invoice> getAllInvoices() {
-        return new ArrayList<>(invoices.values());
+        List<Invoice> live = new ArrayList<>(invoices.values());
+        if (archive == null) {
+            return live;
+        }
+        List<String> archived = new ArrayList<>(archive.getInvoiceNumbers());
+        return new AbstractList<Invoice>() {
+            @Override
+            public Invoice get(int i) {
+                return i < live.size() ? live.get(i) : archive.load(archived.get(i - live.size()));
+            }
+
+            @Override
+            public int size() {
+                return live.size() + archived.size();
+            }
+        };
+    }
+
+    /**
+     * Gets the invoices issued between two dates (both inclusive), oldest first.
+     *
+     * @param from First invoice date to include
+     * @param to Last invoice date to include
+     * @return List of invoices in the date range
+     * @throws IllegalArgumentException if a date is null or the range is reversed
+     */
+    public List<Invoice> getInvoicesBetween(LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return resolve(invoiceIndex.findBetween(start, end));
+    }
+
+    /**
+     * Gets all invoices of a guest, oldest first.
+     *
+     * @param guestId The guest's user ID
+     * @return List of the guest's invoices
+     */
+    public List<Invoice> getInvoicesForGuest(String guestId) {
+        return resolve(invoiceIndex.findByGuest(guestId));
+    }
+
+    /**
+     * Gets the invoices of a guest issued between two dates (both inclusive), oldest first.
+     *
+     * @param guestId The guest's user ID
+     * @param from First invoice date to include
+     * @param to Last invoice date to include
+     * @return List of matching invoices
+     * @throws IllegalArgumentException if a date is null or the range is reversed
+     */
+    public List<Invoice> getInvoicesForGuest(String guestId, LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        return resolve(invoiceIndex.findForGuestBetween(guestId, from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Gets the invoices of guests with a given name (case ignored) issued between two dates
+     * (both inclusive), oldest first.
+     *
+     * @param guestName The guest name
+     * @param from First invoice date to include
+     * @param to Last invoice date to include
+     * @return List of matching invoices
+     * @throws IllegalArgumentException if a date is null or the range is reversed
+     */
+    public List<Invoice> getInvoicesForGuestName(String guestName, LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        return resolve(invoiceIndex.findForGuestNameBetween(guestName,
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay()));
+    }
+
+    /**
+     * Gets all invoices of a booking, oldest first.
+     *
+     * @param bookingId The booking ID
+     * @return List of the booking's invoices
+     */
+    public List<Invoice> getInvoicesForBooking(int bookingId) {
+        return resolve(invoiceIndex.findByBooking(bookingId));
+    }
+
+    /**
+     * Gets the invoices whose total lies in a range (both inclusive), oldest first.
+     *
+     * @param minTotal Lowest total to include
+     * @param maxTotal Highest total to include
+     * @return List of matching invoices
+     * @throws IllegalArgumentException if the range is reversed
+     */
+    public List<Invoice> getInvoicesByTotal(double minTotal, double maxTotal) {
+        if (maxTotal < minTotal) {
+            throw new IllegalArgumentException("Maximum total cannot be below minimum total");
+        }
+        return resolve(invoiceIndex.findByTotal(minTotal, maxTotal));
+    }
+
+    /**
+     * Looks up invoice numbers found through the index, in memory or in the archive.
+     */
+    private List<Invoice> resolve(List<String> invoiceNumbers) {
+        List<Invoice> found = new ArrayList<>(invoiceNumbers.size());
+        for (String number : invoiceNumbers) {
+            Invoice invoice = getInvoice(number);
+            if (invoice != null) {
+                found.add(invoice);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Moves closed invoices issued before a date from memory into the archive.
+     * Invoices whose payment is still pending or processing stay in memory.
+     *
+     * @param cutoff Invoices issued before this date are archived
+     * @return Number of invoices archived
+     * @throws IllegalArgumentException if the date is null
+     * @throws IllegalStateException if no archive is configured
+     */
+    public int archiveInvoicesOlderThan(LocalDate cutoff) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException("Cutoff date cannot be null");
+        }
+        if (archive == null) {
+            throw new IllegalStateException("No invoice archive configured");
+        }
+        LocalDateTime limit = cutoff.atStartOfDay();
+        int archived = 0;
+        Iterator<Invoice> it = invoices.values().iterator();
+        while (it.hasNext()) {
+            Invoice invoice = it.next();
+            PaymentStatus status = invoice.getPayment().getPaymentStatus();
+            if (invoice.getInvoiceDate().isBefore(limit)
+                    && status != PaymentStatus.PENDING && status != PaymentStatus.PROCESSING) {
+                archive.append(invoice);
+                it.remove();
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Gets the number of invoices held in the archive.
+     *
+     * @return Archived invoice count, 0 if no archive is configured
+     */
+    public int getArchivedInvoiceCount() {
+        return archive == null ? 0 : archive.size();
+    }
+
+    /**
+     * Validates a from/to date range.
+     */
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
     }
 
     /**
@@ -312,10 +634,7 @@ public class PaymentManager {
      * @return Total revenue
      */
     public double getTotalRevenue() {
-        return payments.values().stream()
-                .filter(Payment::isCompleted)
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        return totals.getTotalRevenue();
     }
 
     /**
@@ -324,30 +643,24 @@ public class PaymentManager {
      * @return Total refunds
      */
     public double getTotalRefunds() {
-        return payments.values().stream()
-                .filter(p -> p.getPaymentStatus() == PaymentStatus.REFUNDED)
-                .mapToDouble(Payment::getAmount)
-                .sum();
+        return totals.getTotalRefunds();
     }
 
     /**
-     * Gets payment statistics summary.
+     * Gets payment statistics summary, all figures taken from one snapshot.
      *
      * @return Formatted statistics string
      */
     public String getPaymentStatistics() {
-        int total = payments.size();
-        long completed = payments.values().stream()
-                .filter(Payment::isCompleted).count();
-        long pending = payments.values().stream()
-                .filter(p -> p.getPaymentStatus() == PaymentStatus.PENDING).count();
-        long failed = payments.values().stream()
-                .filter(p -> p.getPaymentStatus() == PaymentStatus.FAILED).count();
-        long refunded = payments.values().stream()
-                .filter(p -> p.getPaymentStatus() == PaymentStatus.REFUNDED).count();
-
-        double totalRevenue = getTotalRevenue();
-        double totalRefunds = getTotalRefunds();
+        PaymentSnapshot snapshot = snapshot();
+        int total = snapshot.getPaymentCount();
+        int completed = snapshot.getCount(PaymentStatus.COMPLETED);
+        int pending = snapshot.getCount(PaymentStatus.PENDING);
+        int failed = snapshot.getCount(PaymentStatus.FAILED);
+        int refunded = snapshot.getCount(PaymentStatus.REFUNDED);
+
+        double totalRevenue = snapshot.getTotalRevenue();
+        double totalRefunds = snapshot.getTotalRefunds();
 
         StringBuilder stats = new StringBuilder();
         stats.append("\n╔══════════════════════════════════════╗\n");
@@ -388,7 +701,7 @@ public class PaymentManager {
      * @param invoiceNumber The invoice number
      */
     public void displayInvoice(String invoiceNumber) {
-        Invoice invoice = invoices.get(invoiceNumber);
+        Invoice invoice = getInvoice(invoiceNumber);
         if (invoice == null) {
             System.out.println("Invoice not found: " + invoiceNumber);
             return;
@@ -407,22 +720,25 @@ public class PaymentManager {
     }
 
     /**
-     * Gets the total number of invoices.
+     * Gets the total number of invoices, including archived ones.
      *
      * @return Total invoice count
      */
     public int getTotalInvoiceCount() {
-        return invoices.size();
+        return invoices.size() + getArchivedInvoiceCount();
     }
 
     /**
-     * Clears all payment and invoice data.
+     * Clears all payment and invoice data held in memory.
+     * Archive files are left untouched.
      * WARNING: Use only for testing or system reset.
      */
     public void clearAll() {
+        invoices.keySet().forEach(invoiceIndex::remove); // archived invoices stay indexed
         payments.clear();
         invoices.clear();
         paymentsByBooking.clear();
-        System.out.println("⚠ All payment data cleared");
+        totals = PaymentSnapshot.EMPTY;
+        LOG.warn("⚠ All payment data cleared");
     }
 }
\ No newline at end of file
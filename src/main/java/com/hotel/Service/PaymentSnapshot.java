@@ -0,0 +1,106 @@
+package com.hotel.Service;
+
+import com.hotel.Model.PaymentStatus;
+
+/**
+ * Payment counts and amounts by status at one moment, for reports.
+ * <p>
+ * A snapshot never changes. {@link PaymentManager} keeps the latest one and replaces it with
+ * an updated copy each time a payment is recorded or changes status, so taking a snapshot is
+ * a single read and a report built from it adds up even while payments keep being processed.
+ */
+public final class PaymentSnapshot {
+
+    static final PaymentSnapshot EMPTY = new PaymentSnapshot(0,
+            new int[PaymentStatus.values().length], new double[PaymentStatus.values().length]);
+
+    private final long version;
+    private final int[] counts;      // Index: PaymentStatus ordinal
+    private final double[] amounts;  // Index: PaymentStatus ordinal
+
+    private PaymentSnapshot(long version, int[] counts, double[] amounts) {
+        this.version = version;
+        this.counts = counts;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Returns a copy with a payment moved from one status to another.
+     *
+     * @param previous the status the payment was last recorded with, or null if it is new
+     * @param status the payment's status now
+     * @param amount the payment amount
+     * @return the updated snapshot
+     */
+    PaymentSnapshot with(PaymentStatus previous, PaymentStatus status, double amount) {
+        int[] newCounts = counts.clone();
+        double[] newAmounts = amounts.clone();
+        if (previous != null) {
+            newCounts[previous.ordinal()]--;
+            newAmounts[previous.ordinal()] -= amount;
+        }
+        newCounts[status.ordinal()]++;
+        newAmounts[status.ordinal()] += amount;
+        return new PaymentSnapshot(version + 1, newCounts, newAmounts);
+    }
+
+    /**
+     * Gets the number of changes recorded before this snapshot was taken.
+     *
+     * @return version, higher for later snapshots
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of payments.
+     *
+     * @return payment count
+     */
+    public int getPaymentCount() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of payments with a status.
+     *
+     * @param status the payment status
+     * @return payment count
+     */
+    public int getCount(PaymentStatus status) {
+        return counts[status.ordinal()];
+    }
+
+    /**
+     * Gets the sum of the amounts of payments with a status.
+     *
+     * @param status the payment status
+     * @return total amount
+     */
+    public double getTotal(PaymentStatus status) {
+        return amounts[status.ordinal()];
+    }
+
+    /**
+     * Gets the total revenue from completed payments.
+     *
+     * @return total revenue
+     */
+    public double getTotalRevenue() {
+        return getTotal(PaymentStatus.COMPLETED);
+    }
+
+    /**
+     * Gets the total refunded amount.
+     *
+     * @return total refunds
+     */
+    public double getTotalRefunds() {
+        return getTotal(PaymentStatus.REFUNDED);
+    }
+}
@@ -0,0 +1,209 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.BookingStatus;
+import com.hotel.Model.Room;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Re-packs the rooms of confirmed stays so free nights are left in long runs rather than
+ * one and two night holes between stays.
+ * <p>
+ * A confirmed stay is guaranteed a room of its type, but the room itself is provisional
+ * until a cut-off a few days before arrival; stays inside the cut-off, checked in, or
+ * beyond the horizon stay where they are. The movable stays are assigned by interval
+ * scheduling: in order of arrival, longest first, each goes to the free room whose
+ * previous stay ended closest before it, so stays are packed end to end and rooms with
+ * long free windows are left alone. Each night of the horizon is a bitmap of free rooms, so
+ * the rooms free for a stay, and among them those whose previous stay ended latest, are
+ * found with word-wide ANDs across all rooms rather than by checking rooms one by one.
+ */
+public class RoomAssignmentOptimizer {
+
+    /** Days before arrival from which a stay's room is no longer moved. */
+    public static final int DEFAULT_CUTOFF_DAYS = 2;
+
+    /** Days ahead over which stays are packed. */
+    public static final int DEFAULT_HORIZON_DAYS = 90;
+
+    private final int cutoffDays;
+    private final int horizonDays;
+
+    /**
+     * Creates an optimizer with the default cut-off and horizon.
+     */
+    public RoomAssignmentOptimizer() {
+        this(DEFAULT_CUTOFF_DAYS, DEFAULT_HORIZON_DAYS);
+    }
+
+    /**
+     * Creates an optimizer.
+     *
+     * @param cutoffDays days before arrival from which a stay's room is fixed
+     * @param horizonDays days ahead over which stays are packed
+     * @throws IllegalArgumentException if cutoffDays is negative or not less than horizonDays
+     */
+    public RoomAssignmentOptimizer(int cutoffDays, int horizonDays) {
+        if (cutoffDays < 0 || horizonDays <= cutoffDays) {
+            throw new IllegalArgumentException("Cut-off must be zero or more and less than the horizon");
+        }
+        this.cutoffDays = cutoffDays;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Gets the days before arrival from which a stay's room is fixed.
+     *
+     * @return cut-off in days
+     */
+    public int getCutoffDays() {
+        return cutoffDays;
+    }
+
+    /**
+     * Gets the days ahead over which stays are packed.
+     *
+     * @return horizon in days
+     */
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    /**
+     * Checks whether a booking's room may still be changed.
+     *
+     * @param booking the booking
+     * @param today the current date
+     * @return true if the booking is CONFIRMED, arrives on or after the cut-off and departs within the horizon
+     */
+    public boolean isMovable(Booking booking, LocalDate today) {
+        return booking.getBookingStatus() == BookingStatus.CONFIRMED
+                && !booking.getArriveDate().isBefore(today.plusDays(cutoffDays))
+                && !booking.getDepartDate().isAfter(today.plusDays(horizonDays));
+    }
+
+    /**
+     * Works out new rooms for movable stays. Nothing is changed; the caller moves the bookings.
+     *
+     * @param rooms rooms of one type, each holding its current stays in its register
+     * @param movable stays in those rooms that may be moved, see {@link #isMovable(Booking, LocalDate)}
+     * @param today the current date
+     * @return the stays whose room changes, with their new room, in arrival order;
+     *         empty if the stays could not all be placed, in which case they are best left where they are
+     * @throws IllegalArgumentException if a movable stay is not in one of the rooms
+     */
+    public Map<Booking, Room> assign(List<Room> rooms, List<Booking> movable, LocalDate today) {
+        Map<Room, Integer> indexOf = new IdentityHashMap<>();
+        int words = (rooms.size() + 63) >>> 6;
+        long[][] free = new long[horizonDays][words];  // Index: night from today, bit r set if room r is free
+        for (int r = 0; r < rooms.size(); r++) {
+            indexOf.put(rooms.get(r), r);
+            BitSet booked = rooms.get(r).getBookingRegister().getBookedNights(today, horizonDays);
+            for (int night = booked.nextClearBit(0); night < horizonDays; night = booked.nextClearBit(night + 1)) {
+                free[night][r >>> 6] |= 1L << r;
+            }
+        }
+        long start = today.toEpochDay();
+        for (Booking booking : movable) {
+            Integer r = indexOf.get(booking.getBookingRoom());
+            if (r == null) {
+                throw new IllegalArgumentException("Booking " + booking.getBookingID() + " is not in one of the rooms");
+            }
+            for (long night = booking.getArriveDate().toEpochDay() - start; night < booking.getDepartDate().toEpochDay() - start; night++) {
+                free[(int) night][r >>> 6] |= 1L << r;
+            }
+        }
+
+        List<Booking> order = new ArrayList<>(movable);
+        order.sort(Comparator.comparing(Booking::getArriveDate)
+                .thenComparing(Booking::getDepartDate, Comparator.reverseOrder())
+                .thenComparingInt(Booking::getBookingID));
+        Map<Booking, Room> moves = new LinkedHashMap<>();
+        long[] candidates = new long[words];
+        long[] narrowed = new long[words];
+        for (Booking booking : order) {
+            int arrive = (int) (booking.getArriveDate().toEpochDay() - start);
+            int depart = (int) (booking.getDepartDate().toEpochDay() - start);
+            System.arraycopy(free[arrive], 0, candidates, 0, words);
+            boolean any = true;
+            for (int night = arrive + 1; night < depart; night++) {
+                any = and(candidates, free[night]);
+            }
+            if (!any || isEmpty(candidates)) {
+                return Collections.emptyMap();
+            }
+            // keep the rooms whose previous stay ended latest, then those whose next stay starts soonest
+            int before = arrive - 1;
+            while (before >= 0 && !keepBooked(candidates, free[before], narrowed)) {
+                before--;
+            }
+            int after = depart;
+            while (after < horizonDays && !keepBooked(candidates, free[after], narrowed)) {
+                after++;
+            }
+            int current = indexOf.get(booking.getBookingRoom());
+            int best = (candidates[current >>> 6] & (1L << current)) != 0 ? current : firstSetBit(candidates);
+            for (int night = arrive; night < depart; night++) {
+                free[night][best >>> 6] &= ~(1L << best);
+            }
+            if (best != current) {
+                moves.put(booking, rooms.get(best));
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Intersects candidates with a night's free rooms.
+     *
+     * @return false if no candidate is left
+     */
+    private static boolean and(long[] candidates, long[] free) {
+        long any = 0;
+        for (int w = 0; w < candidates.length; w++) {
+            candidates[w] &= free[w];
+            any |= candidates[w];
+        }
+        return any != 0;
+    }
+
+    /**
+     * Narrows candidates to those booked on a night, if any are.
+     *
+     * @return true if some candidates were booked that night and the rest were dropped
+     */
+    private static boolean keepBooked(long[] candidates, long[] free, long[] scratch) {
+        long any = 0;
+        for (int w = 0; w < candidates.length; w++) {
+            scratch[w] = candidates[w] & ~free[w];
+            any |= scratch[w];
+        }
+        if (any == 0) {
+            return false;
+        }
+        System.arraycopy(scratch, 0, candidates, 0, candidates.length);
+        return true;
+    }
+
+    private static boolean isEmpty(long[] bits) {
+        return firstSetBit(bits) < 0;
+    }
+
+    private static int firstSetBit(long[] bits) {
+        for (int w = 0; w < bits.length; w++) {
+            if (bits[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(bits[w]);
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,288 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomAttribute;
+import com.hotel.Model.RoomType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Bitmap index of rooms by type, floor and feature. Each room has a slot, and each type,
+ * floor and {@link RoomAttribute} has a bitmap with a bit set for the slots of matching
+ * rooms, so a filter such as "double, sea view, accessible" is a few word-wide ANDs
+ * before any room is looked at.
+ * <p>
+ * The type, floor and features each slot was indexed under are remembered, so a room can
+ * be re-indexed after it changes. Slots of removed rooms are reused. Rooms are also kept
+ * in room number order, so listings can be read a page at a time.
+ */
+public class RoomAttributeIndex {
+
+    private final List<Room> slots;
+    private final Map<Room, Integer> slotOf;        // identity, rooms compare by reference
+    private final BitSet live;
+    private final Map<RoomType, BitSet> byType;
+    private final Map<Integer, BitSet> byFloor;     // Key: floor
+    private final BitSet[] byAttribute;             // Index: RoomAttribute ordinal
+    private RoomType[] slotType;                    // Index: slot, as indexed
+    private int[] slotFloor;
+    private int[] slotMask;
+    private int[] slotNumber;
+    private final TreeSet<Long> byNumber;           // position of each slot in room number order, see position
+
+    /**
+     * Creates an empty index.
+     */
+    public RoomAttributeIndex() {
+        this.slots = new ArrayList<>();
+        this.slotOf = new IdentityHashMap<>();
+        this.live = new BitSet();
+        this.byType = new EnumMap<>(RoomType.class);
+        for (RoomType type : RoomType.values()) {
+            byType.put(type, new BitSet());
+        }
+        this.byFloor = new HashMap<>();
+        this.byAttribute = new BitSet[RoomAttribute.values().length];
+        for (int i = 0; i < byAttribute.length; i++) {
+            byAttribute[i] = new BitSet();
+        }
+        this.slotType = new RoomType[16];
+        this.slotFloor = new int[16];
+        this.slotMask = new int[16];
+        this.slotNumber = new int[16];
+        this.byNumber = new TreeSet<>();
+    }
+
+    /**
+     * Adds a room to the index.
+     *
+     * @param room the room
+     * @return false if the room was already indexed
+     * @throws IllegalArgumentException if the room or its type is null
+     */
+    public boolean add(Room room) {
+        if (room == null || room.getRoomType() == null) {
+            throw new IllegalArgumentException("Room and room type cannot be null");
+        }
+        if (slotOf.containsKey(room)) {
+            return false;
+        }
+        int slot = live.nextClearBit(0);
+        if (slot == slots.size()) {
+            slots.add(room);
+            if (slot == slotType.length) {
+                slotType = Arrays.copyOf(slotType, slot * 2);
+                slotFloor = Arrays.copyOf(slotFloor, slot * 2);
+                slotMask = Arrays.copyOf(slotMask, slot * 2);
+                slotNumber = Arrays.copyOf(slotNumber, slot * 2);
+            }
+        } else {
+            slots.set(slot, room);
+        }
+        slotOf.put(room, slot);
+        live.set(slot);
+        link(slot, room);
+        return true;
+    }
+
+    /**
+     * Adds many rooms to the index, growing its slot arrays once for the lot.
+     *
+     * @param rooms the rooms
+     * @return how many rooms were added; rooms already indexed are skipped
+     * @throws IllegalArgumentException if a room or its type is null
+     */
+    public int addAll(Collection<Room> rooms) {
+        int needed = slots.size() + rooms.size();
+        if (needed > slotType.length) {
+            slotType = Arrays.copyOf(slotType, needed);
+            slotFloor = Arrays.copyOf(slotFloor, needed);
+            slotMask = Arrays.copyOf(slotMask, needed);
+            slotNumber = Arrays.copyOf(slotNumber, needed);
+        }
+        int added = 0;
+        for (Room room : rooms) {
+            if (add(room)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Removes a room from the index.
+     *
+     * @param room the room
+     * @return true if the room was indexed
+     */
+    public boolean remove(Room room) {
+        Integer slot = slotOf.remove(room);
+        if (slot == null) {
+            return false;
+        }
+        unlink(slot);
+        live.clear(slot);
+        slots.set(slot, null);
+        return true;
+    }
+
+    /**
+     * Re-indexes a room after its type, number or features changed.
+     *
+     * @param room the room
+     * @return the type the room was indexed under before, or null if it was not indexed
+     */
+    public RoomType update(Room room) {
+        Integer slot = slotOf.get(room);
+        if (slot == null) {
+            return null;
+        }
+        RoomType previous = slotType[slot];
+        unlink(slot);
+        link(slot, room);
+        return previous;
+    }
+
+    /**
+     * Finds the rooms matching every given filter.
+     *
+     * @param type the room type, or null for any
+     * @param attributes features the room must all have; empty for any
+     * @param floor the floor, or null for any
+     * @return matching rooms, in slot order
+     */
+    public List<Room> find(RoomType type, Set<RoomAttribute> attributes, Integer floor) {
+        BitSet match = (BitSet) (type == null ? live : byType.get(type)).clone();
+        if (floor != null) {
+            BitSet floorRooms = byFloor.get(floor);
+            if (floorRooms == null) {
+                return new ArrayList<>();
+            }
+            match.and(floorRooms);
+        }
+        for (RoomAttribute attribute : attributes) {
+            match.and(byAttribute[attribute.ordinal()]);
+        }
+        List<Room> rooms = new ArrayList<>(match.cardinality());
+        for (int slot = match.nextSetBit(0); slot >= 0; slot = match.nextSetBit(slot + 1)) {
+            rooms.add(slots.get(slot));
+        }
+        return rooms;
+    }
+
+    /**
+     * Finds the next room of a type from a slot onwards, without copying any bitmap.
+     * Used by allocation-free availability probes: loop with {@code slot = nextOfType(type, slot + 1)}.
+     *
+     * @param type the room type
+     * @param fromSlot first slot to look at
+     * @return the slot of the next room of the type, or -1 if none
+     */
+    public int nextOfType(RoomType type, int fromSlot) {
+        return byType.get(type).nextSetBit(fromSlot);
+    }
+
+    /**
+     * Gets the room in a slot.
+     *
+     * @param slot a slot returned by {@link #nextOfType(RoomType, int)}
+     * @return the room
+     */
+    public Room roomAt(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * Gets where an indexed room falls in room number order. Rooms sharing a number are
+     * ordered by slot, so every room has its own position.
+     *
+     * @param room an indexed room
+     * @return the position, for {@link #inNumberOrder(long)}
+     * @throws IllegalArgumentException if the room is not indexed
+     */
+    public long positionOf(Room room) {
+        Integer slot = slotOf.get(room);
+        if (slot == null) {
+            throw new IllegalArgumentException("Room is not indexed");
+        }
+        return position(slotNumber[slot], slot);
+    }
+
+    /**
+     * Iterates the rooms in room number order from just after a position, reading only
+     * as far as the caller goes. The index must not change while iterating.
+     *
+     * @param after a position from {@link #positionOf(Room)}, or Long.MIN_VALUE for the first room
+     * @return the rooms after the position
+     */
+    public Iterator<Room> inNumberOrder(long after) {
+        Iterator<Long> positions = byNumber.tailSet(after, false).iterator();
+        return new Iterator<Room>() {
+            @Override
+            public boolean hasNext() {
+                return positions.hasNext();
+            }
+
+            @Override
+            public Room next() {
+                return slots.get((int) (positions.next() & 0xFFFFFFFFL));
+            }
+        };
+    }
+
+    /**
+     * Gets the number of indexed rooms.
+     *
+     * @return room count
+     */
+    public int size() {
+        return slotOf.size();
+    }
+
+    private void link(int slot, Room room) {
+        byType.get(room.getRoomType()).set(slot);
+        byFloor.computeIfAbsent(room.getFloor(), k -> new BitSet()).set(slot);
+        int mask = room.getAttributeMask();
+        for (int bit = 0; bit < byAttribute.length; bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                byAttribute[bit].set(slot);
+            }
+        }
+        slotType[slot] = room.getRoomType();
+        slotFloor[slot] = room.getFloor();
+        slotMask[slot] = mask;
+        slotNumber[slot] = room.getRoomNumber();
+        byNumber.add(position(slotNumber[slot], slot));
+    }
+
+    private static long position(int roomNumber, int slot) {
+        return ((long) roomNumber << 32) | slot;
+    }
+
+    private void unlink(int slot) {
+        byNumber.remove(position(slotNumber[slot], slot));
+        byType.get(slotType[slot]).clear(slot);
+        BitSet floorRooms = byFloor.get(slotFloor[slot]);
+        floorRooms.clear(slot);
+        if (floorRooms.isEmpty()) {
+            byFloor.remove(slotFloor[slot]);
+        }
+        int mask = slotMask[slot];
+        for (int bit = 0; bit < byAttribute.length; bit++) {
+            if ((mask & (1 << bit)) != 0) {
+                byAttribute[bit].clear(slot);
+            }
+        }
+    }
+}
@@ -1,12 +1,31 @@
 package com.hotel.Service;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.hotel.Logging.Log;
+import com.hotel.Logging.Logger;
 import com.hotel.Model.Booking;
 import com.hotel.Model.BookingStatus;
+import com.hotel.Model.Guest;
 import com.hotel.Model.Room;
+import com.hotel.Model.RoomAttribute;
 import com.hotel.Model.RoomType;
 
 /**
@@ -19,8 +38,10 @@ import com.hotel.Model.RoomType;
 
 public class RoomInventoryImpl {
 
+    private static final Logger LOG = Log.getLogger(RoomInventoryImpl.class);
+
     // Attributes
-    private List<Room> rooms = new ArrayList<>();  // Collection of all rooms in the hotel
+    private List<Room> rooms = new CopyOnWriteArrayList<>();  // Collection of all rooms in the hotel, copied on change so snapshots can read it
 
     private int totalRooms; // Total number of rooms
 
@@ -28,13 +49,148 @@ public class RoomInventoryImpl {
 
     private int bookedRooms; // Number of booked rooms
 
+    private final BookingIndex bookingIndex = new BookingIndex(); // Confirmed bookings by ID, guest and date
+
+    private static final int HEATMAP_DAYS = 365;
+
+    private volatile AvailabilityHeatmap heatmap; // Free rooms per type and night, built on first use; set under writeLock
+
+    private final StayRestrictions stayRestrictions; // Minimum stay and closed to arrival/departure rules
+
+    private final RoomAttributeIndex roomIndex = new RoomAttributeIndex(); // Rooms by type, floor and feature
+
+    /** How long a room is held by holdBooking(Booking) for a guest to decide. */
+    public static final Duration DEFAULT_HOLD_TTL = Duration.ofMinutes(10);
+
+    private static final long HOLD_TICK_MILLIS = 1000;
+
+    private static final int HOLD_WHEEL_SIZE = 1024; // one-second buckets, a turn is about 17 minutes
+
+    private final Clock clock; // Time source for hold expiry, replaceable in tests
+
+    private final HashedTimerWheel<Booking> holdTimers; // Expiry of held bookings
+
+    private final Map<Integer, HashedTimerWheel.Timeout<Booking>> holds = new ConcurrentHashMap<>(); // Key: booking ID; changed under writeLock, as is holdTimers, read by probes without it
+
+    private volatile long holdsLapseFrom = Long.MAX_VALUE; // No hold runs out before this time; lowered and recomputed under writeLock
+
+    private final Consumer<Booking> holdLapsed = this::holdLapsed; // created once so expireHolds does not allocate
+
+    private final List<Booking> lapsedHolds = new ArrayList<>(); // Holds lapsed by the last expireHolds, to offer on
+
+    /** How long a room offered to a waitlisted guest is held for them. */
+    public static final Duration WAITLIST_OFFER_TTL = Duration.ofHours(24);
+
+    private final Waitlist waitlist = new Waitlist(); // Guests waiting for a room type and dates
+
+    private final RoomAssignmentOptimizer assignmentOptimizer = new RoomAssignmentOptimizer(); // Packs provisional rooms
+
+    private final Map<RoomType, LocalDate> assignmentsDirtyFrom = new EnumMap<>(RoomType.class); // Earliest arrival to repack per type
+
+    private LocalDate assignmentsPackedOn; // Day of the last packing; the cut-off moves with the day
+
+    private final AtomicLong writeVersion = new AtomicLong(); // Odd while a booking or room change is under way
+
+    private final ReentrantLock writeLock = new ReentrantLock(); // Held across a change, so one writer at a time
+
+    private int writeDepth; // Nesting of beginWrite calls, e.g. a cancellation that offers to the waitlist; guarded by writeLock
+
+    private static final int SNAPSHOT_ATTEMPTS = 64; // Optimistic reads before a snapshot waits for the writer
+
     /**
      * Adds a new room to the inventory.
      * @param room
      */
     public void addRoom(Room room) {
+        beginWrite();
+        try {
+            addRoomToInventory(room);
+        } finally {
+            endWrite();
+        }
+        LOG.info("Room added successfully: " + room);
+    }
+
+    /**
+     * Adds many rooms at once, e.g. a whole property loaded at startup. The room list is copied
+     * and the indexes grown once for the lot rather than once per room, and one line is logged.
+     * @param newRooms the rooms
+     * @throws IllegalArgumentException if the collection, a room or its type is null
+     */
+    public void addRooms(Collection<Room> newRooms) {
+        if (newRooms == null) {
+            throw new IllegalArgumentException("Rooms cannot be null");
+        }
+        Set<RoomType> types = EnumSet.noneOf(RoomType.class);
+        for (Room room : newRooms) {
+            if (room == null || room.getRoomType() == null) {
+                throw new IllegalArgumentException("Room and room type cannot be null");
+            }
+            types.add(room.getRoomType());
+        }
+        beginWrite();
+        try {
+            rooms.addAll(newRooms);
+            roomIndex.addAll(newRooms);
+            for (Room room : newRooms) {
+                linkRoom(room);
+            }
+            for (RoomType type : types) {
+                assignmentsChanged(type, LocalDate.MIN);
+            }
+        } finally {
+            endWrite();
+        }
+        LOG.info("Rooms added successfully: " + newRooms.size());
+    }
+
+    private void addRoomToInventory(Room room) {
         rooms.add(room);
-        System.out.println("Room added successfully: " + room);
+        roomIndex.add(room);
+        linkRoom(room);
+        assignmentsChanged(room.getRoomType(), LocalDate.MIN);
+    }
+
+    /**
+     * Connects an added room's booking register and changes to the heatmap and indexes.
+     */
+    private void linkRoom(Room room) {
+        room.getBookingRegister().setNightsChangeListener((arrive, depart, booked) -> {
+            if (heatmap != null) {
+                if (booked) {
+                    heatmap.book(room.getRoomType(), arrive, depart);
+                } else {
+                    heatmap.release(room.getRoomType(), arrive, depart);
+                }
+            }
+        });
+        if (heatmap != null) {
+            heatmap.addRoom(room.getRoomType(), room.getBookingRegister().getBookedNights(heatmap.getStart(), HEATMAP_DAYS));
+        }
+        room.setChangeListener(this::roomChanged);
+    }
+
+    /**
+     * Re-indexes a room after its type, number or features changed,
+     * moving its nights to the new type in the heatmap if the type changed.
+     * Rooms are edited from outside the inventory, so this takes the write lock itself.
+     */
+    private void roomChanged(Room room) {
+        writeLock.lock();
+        try {
+            RoomType previous = roomIndex.update(room);
+            assignmentsChanged(room.getRoomType(), LocalDate.MIN);
+            if (previous != null) {
+                assignmentsChanged(previous, LocalDate.MIN);
+            }
+            if (heatmap != null && previous != null && previous != room.getRoomType()) {
+                BitSet booked = room.getBookingRegister().getBookedNights(heatmap.getStart(), HEATMAP_DAYS);
+                heatmap.removeRoom(previous, booked);
+                heatmap.addRoom(room.getRoomType(), booked);
+            }
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -42,11 +198,29 @@ public class RoomInventoryImpl {
      * @param roomNumber
      */
     public void removeRoom(int roomNumber) {
-        boolean removed = rooms.removeIf(room -> room.getRoomNumber() == roomNumber && room.isAvailable());
+        boolean removed = false;
+        beginWrite();
+        try {
+            for (Room room : rooms) { // iterates a copy, so rooms can be removed as we go
+                if (room.getRoomNumber() == roomNumber && room.isAvailable()) {
+                    rooms.removeIf(r -> r == room);
+                    room.getBookingRegister().setNightsChangeListener(null);
+                    room.setChangeListener(null);
+                    roomIndex.remove(room);
+                    assignmentsChanged(room.getRoomType(), LocalDate.MIN);
+                    if (heatmap != null) {
+                        heatmap.removeRoom(room.getRoomType(), room.getBookingRegister().getBookedNights(heatmap.getStart(), HEATMAP_DAYS));
+                    }
+                    removed = true;
+                }
+            }
+        } finally {
+            endWrite();
+        }
         if (removed) {
-            System.out.println("Room " + roomNumber + " removed successfully.");
+            LOG.info("Room " + roomNumber + " removed successfully.");
         } else {
-            System.out.println("Room " + roomNumber + " not found or Unable to remove as room is booked.");
+            LOG.warn("Room " + roomNumber + " not found or Unable to remove as room is booked.");
         }
     }
 
@@ -59,12 +233,17 @@ public class RoomInventoryImpl {
 
         for (Room room : rooms) {
             if (room.getRoomNumber() == roomNumber) {
-                room.setAvailable(available);
-                System.out.println("Room " + roomNumber + " availability updated to: " + available);
+                beginWrite();
+                try {
+                    room.setAvailable(available);
+                } finally {
+                    endWrite();
+                }
+                LOG.info("Room " + roomNumber + " availability updated to: " + available);
                 return;
             }
         }
-        System.out.println("Room " + roomNumber + " not found in inventory.");
+        LOG.warn("Room " + roomNumber + " not found in inventory.");
     }
 
     /**
@@ -79,6 +258,85 @@ public class RoomInventoryImpl {
         return availableRooms;
     }
 
+    /**
+     * Gets a page of rooms in room number order, for listings too long to build in one go.
+     * Only the page is read, from the room after the cursor.
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param size the most rooms to return, capped at {@link Page#MAX_SIZE}
+     * @return the page and the cursor for the next one
+     * @throws IllegalArgumentException if size is not positive or the cursor is not from this listing
+     */
+    public Page<Room> getRoomsPage(String cursor, int size) {
+        return roomsPage("rooms", cursor, size, false);
+    }
+
+    /**
+     * Gets a page of the rooms open for booking, in room number order. Closed rooms between
+     * the cursor and the end of the page are skipped over, the open ones are the only ones kept.
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param size the most rooms to return, capped at {@link Page#MAX_SIZE}
+     * @return the page and the cursor for the next one
+     * @throws IllegalArgumentException if size is not positive or the cursor is not from this listing
+     */
+    public Page<Room> getAvailableRoomsPage(String cursor, int size) {
+        return roomsPage("available-rooms", cursor, size, true);
+    }
+
+    private Page<Room> roomsPage(String listing, String cursor, int size, boolean availableOnly) {
+        int limit = Page.checkSize(size);
+        String after = Page.keyOf(listing, cursor);
+        long position;
+        try {
+            position = after == null ? Long.MIN_VALUE : Long.parseLong(after);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        Iterator<Room> rest = roomIndex.inNumberOrder(position);
+        if (availableOnly) {
+            Iterator<Room> all = rest;
+            rest = new Iterator<Room>() {
+                private Room next = advance();
+
+                private Room advance() {
+                    while (all.hasNext()) {
+                        Room room = all.next();
+                        if (room.isAvailable()) {
+                            return room;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Room next() {
+                    Room room = next;
+                    next = advance();
+                    return room;
+                }
+            };
+        }
+        return Page.of(listing, rest, limit, room -> Long.toString(roomIndex.positionOf(room)));
+    }
+
+    /**
+     * Finds a room by room number.
+     * @param roomNumber
+     * @return the room, or null if it is not in the inventory
+     */
+    public Room getRoom(int roomNumber) {
+        for (Room room : rooms) {
+            if (room.getRoomNumber() == roomNumber) {
+                return room;
+            }
+        }
+        return null;
+    }
+
     /**
      * Searches for rooms by type.
      * @param type
@@ -116,12 +374,46 @@ public class RoomInventoryImpl {
     public int getBookedRooms() {
         int availableCount = (int) rooms.stream().filter(Room::isAvailable).count();
         bookedRooms = rooms.size() - availableCount;
-        System.out.println("Total booked rooms: " + bookedRooms);
+        LOG.debug("Total booked rooms: " + bookedRooms);
         return bookedRooms;
     }
 //-----------------------------Check availability and dates-------------------
 
     public RoomInventoryImpl() {
+        this(new StayRestrictions());
+    }
+
+    /**
+     * Creates an inventory that enforces the given stay rules in its availability search.
+     * @param stayRestrictions minimum stay and closed to arrival/departure rules
+     */
+    public RoomInventoryImpl(StayRestrictions stayRestrictions) {
+        this(stayRestrictions, Clock.systemUTC());
+    }
+
+    /**
+     * Creates an inventory that enforces the given stay rules and times booking holds with the given clock.
+     * @param stayRestrictions minimum stay and closed to arrival/departure rules
+     * @param clock time source for hold expiry
+     */
+    public RoomInventoryImpl(StayRestrictions stayRestrictions, Clock clock) {
+        if (stayRestrictions == null) {
+            throw new IllegalArgumentException("Stay restrictions cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.stayRestrictions = stayRestrictions;
+        this.clock = clock;
+        this.holdTimers = new HashedTimerWheel<>(HOLD_TICK_MILLIS, HOLD_WHEEL_SIZE, clock.millis());
+    }
+
+    /**
+     * getStayRestrictions - returns the stay rules checked by checkRoomAvailability, for changing them.
+     * @return the stay rules
+     */
+    public StayRestrictions getStayRestrictions() {
+        return stayRestrictions;
     }
 
     public void checkRoomAvailability (RoomType roomType){
@@ -145,6 +437,7 @@ public class RoomInventoryImpl {
      * checkRoomAvailability - this method searches for an available room for the guest.
      * It first takes the list of all the Rooms and orders them by the roomBookingCount and then by RoomNumber (reversed).
      * The reason for reordering the Rooms is to avoid using one Room too much.
+     * Stays that break a minimum stay, closed to arrival or closed to departure rule for the roomType are turned away first.
      * The method then checks each Room that matches the roomType selected and calls checkForBookingOverlap to see if the
      * Room is available on the Guest's selected dates.
      * The search loop breaks when an available room is found or if no room is available.
@@ -153,46 +446,772 @@ public class RoomInventoryImpl {
      *
      */
     public void checkRoomAvailability (Booking booking, RoomType roomType){
+        checkRoomAvailability(booking, roomType, EnumSet.noneOf(RoomAttribute.class));
+    }
+
+    /**
+     * checkRoomAvailability - as checkRoomAvailability(Booking, RoomType), but only considers rooms
+     * that have all of the given features, e.g. sea view and accessible.
+     * @param booking the booking object that contains the arrive and depart dates
+     * @param roomType the type of room the guest is looking to book
+     * @param attributes the features the room must have; empty for any room of the type
+     */
+    public void checkRoomAvailability (Booking booking, RoomType roomType, Set<RoomAttribute> attributes){
 
-        System.out.println("Checking Room Availability..." + roomType);
+        LOG.debug("Checking Room Availability..." + roomType);
+        expireHolds();
+        if (roomType == null) {
+            return;
+        }
+
+        //stay rules depend only on the room type and dates, so they are checked once before any room
+        String violation = stayRestrictions.getViolation(roomType, booking.getArriveDate(), booking.getDepartDate());
+        if (violation != null) {
+            LOG.info("Booking Unavailable: " + violation);
+            return;
+        }
 //        List<Room> rooms1;
 //        String roomTypeText = roomType.toString();
 
-        //for loop runs through list of all rooms in the hotel roomInventory rooms.
-        // It finds the correct room type first and then checks for date overlap.
+        //the room attribute index gives the rooms of the correct type and features with bitmap ANDs,
+        // then the for loop checks each of them for date overlap.
         //To make sure that we do not overuse any one room, the rooms are ordered by their booking count descending
         // and then by their room number ascending
 
-        List<Room> sortedRoomList = new ArrayList<>(rooms);
+        List<Room> sortedRoomList = roomIndex.find(roomType, attributes, null);
         sortedRoomList.sort(Comparator.comparing(Room::getRoomBookingCount)
                 .thenComparing(Room::getRoomNumber).reversed());
 
 
+        boolean debug = LOG.isDebugEnabled(); //the per room lines are only built when they will be written
         for (Room room : sortedRoomList){
-            //System.out.println(room.getRoomType());
-            if (room.getRoomType()==roomType){
-                System.out.println("Possible room number: " + room.getRoomNumber()); //added output for testing MP
-                if(room.getBookingRegister().checkForBookingOverlap(booking, room))
-                    System.out.println("Booking Unavailable");
-                else {
-                    System.out.println("Booking Available");
-                    booking.setBookingStatus(BookingStatus.POSSIBLE); //update booking status at each phase of process
-                    booking.setBookingRoom(room);
-                    room.setNextRoomBookingCount();
-                    break; //the search will stop at the first room that is the correct type and has available dates that match the booking
+            if (debug) {
+                LOG.debug("Possible room number: " + room.getRoomNumber()); //added output for testing MP
+            }
+            if(room.getBookingRegister().checkForBookingOverlap(booking, room)) {
+                if (debug) {
+                    LOG.debug("Booking Unavailable");
+                }
+            } else {
+                LOG.info("Booking Available");
+                booking.setBookingStatus(BookingStatus.POSSIBLE); //update booking status at each phase of process
+                booking.setBookingRoom(room);
+                room.setNextRoomBookingCount();
+                return; //the search will stop at the first room that is the correct type and has available dates that match the booking
+
+            }
+        }
+        LOG.info("Booking Unavailable: no " + roomType + " room is free for these dates");
+
+    }
 
+    /**
+     * confirmBooking - marks a POSSIBLE booking as CONFIRMED, records it in its room's BookingRegister
+     * and adds it to the guest's booking history and the hotel-wide booking index.
+     * A HELD booking keeps the nights reserved by holdBooking and its timer is cancelled.
+     * @param booking a booking with a room found by checkRoomAvailability
+     * @throws IllegalArgumentException if the booking has no room or guest
+     * @throws IllegalStateException if the booking's hold has expired, or the booking was not held and
+     *         its room has been booked or held since it was found
+     */
+    public void confirmBooking(Booking booking) {
+        if (booking == null || booking.getBookingRoom() == null || booking.getBookingGuest() == null) {
+            throw new IllegalArgumentException("Booking must have a room and a guest");
+        }
+        expireHolds();
+        beginWrite();
+        try {
+            HashedTimerWheel.Timeout<Booking> hold = holds.remove(booking.getBookingID());
+            if (hold != null) {
+                holdTimers.cancel(hold);
+            } else {
+                if (booking.getBookingStatus() == BookingStatus.EXPIRED) {
+                    throw new IllegalStateException("Hold on booking " + booking.getBookingID() + " has expired");
                 }
+                BookingRegister register = booking.getBookingRoom().getBookingRegister();
+                checkFree(booking, register);
+                register.addBooking(booking);
+                register.addDatesToRegister(booking);
             }
+            booking.setBookingStatus(BookingStatus.CONFIRMED);
+            booking.getBookingGuest().addBooking(booking.getBookingID());
+            bookingIndex.add(booking);
+            assignmentsChanged(booking.getBookingRoom().getRoomType(), booking.getArriveDate());
+        } finally {
+            endWrite();
         }
+    }
 
+    /**
+     * holdBooking - holds a POSSIBLE booking's room for DEFAULT_HOLD_TTL while the guest decides.
+     * @param booking a booking with a room found by checkRoomAvailability
+     * @see #holdBooking(Booking, Duration)
+     */
+    public void holdBooking(Booking booking) {
+        holdBooking(booking, DEFAULT_HOLD_TTL);
     }
 
     /**
-     * showAllBookings loops through each Room and calls the showBookedDates for each of them
+     * holdBooking - reserves a POSSIBLE booking's nights in its room for a limited time, so no other
+     * search can take the room while the guest decides. The booking becomes HELD until confirmBooking
+     * makes it CONFIRMED, releaseHold cancels it, or the time runs out and it lapses to EXPIRED,
+     * releasing the nights. Expiry is timed with a hashed timer wheel that is advanced by each
+     * availability check, hold and confirmation, and by expireHolds.
+     * @param booking a booking with a room found by checkRoomAvailability
+     * @param ttl how long to hold the room
+     * @throws IllegalArgumentException if the booking has no room or guest, is not POSSIBLE, or ttl is not positive
+     * @throws IllegalStateException if the room has been booked or held since the booking was found
      */
-    public void showAllBookings(){
+    public void holdBooking(Booking booking, Duration ttl) {
+        if (booking == null || booking.getBookingRoom() == null || booking.getBookingGuest() == null) {
+            throw new IllegalArgumentException("Booking must have a room and a guest");
+        }
+        if (booking.getBookingStatus() != BookingStatus.POSSIBLE) {
+            throw new IllegalArgumentException("Only a possible booking can be held, not " + booking.getBookingStatus());
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Hold time must be positive");
+        }
+        expireHolds();
+        hold(booking, ttl);
+    }
+
+    /**
+     * Reserves a booking's nights and schedules its expiry, checking the nights are free while
+     * the write lock is held so two desks cannot hold the same room.
+     */
+    private void hold(Booking booking, Duration ttl) {
+        beginWrite();
+        try {
+            BookingRegister register = booking.getBookingRoom().getBookingRegister();
+            checkFree(booking, register);
+            register.addBooking(booking);
+            register.addDatesToRegister(booking);
+            booking.setBookingStatus(BookingStatus.HELD);
+            assignmentsChanged(booking.getBookingRoom().getRoomType(), booking.getArriveDate());
+            long deadline = clock.millis() + ttl.toMillis();
+            holds.put(booking.getBookingID(), holdTimers.schedule(booking, deadline));
+            holdsLapseFrom = Math.min(holdsLapseFrom, deadline);
+        } finally {
+            endWrite();
+        }
+    }
+
+    private static void checkFree(Booking booking, BookingRegister register) {
+        if (register.isBooked(booking.getArriveDate(), booking.getDepartDate())) {
+            throw new IllegalStateException("Room " + booking.getBookingRoom().getRoomNumber() + " is no longer free for these dates");
+        }
+    }
+
+    /**
+     * releaseHold - cancels a HELD booking before its hold runs out, e.g. when the guest declines,
+     * and frees its nights.
+     * @param bookingId the booking ID
+     * @return the cancelled booking, or null if no booking with that ID is held
+     */
+    public Booking releaseHold(int bookingId) {
+        writeLock.lock();
+        try {
+            HashedTimerWheel.Timeout<Booking> hold = holds.remove(bookingId);
+            if (hold == null) {
+                return null;
+            }
+            holdTimers.cancel(hold);
+            Booking booking = hold.getItem();
+            beginWrite();
+            try {
+                booking.getBookingRoom().getBookingRegister().removeBooking(booking);
+                booking.setBookingStatus(BookingStatus.CANCELLED);
+                assignmentsChanged(booking.getBookingRoom().getRoomType(), booking.getArriveDate());
+                offerToWaitlist(booking.getBookingRoom(), booking.getArriveDate(), booking.getDepartDate());
+            } finally {
+                endWrite();
+            }
+            return booking;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * expireHolds - lapses every hold whose time has run out: the booking becomes EXPIRED and its
+     * nights are freed. Only the timer wheel buckets of the time passed since the last call are visited.
+     * @return number of holds that lapsed
+     */
+    public int expireHolds() {
+        writeLock.lock();
+        try {
+            long now = clock.millis();
+            int lapsed = holdTimers.advance(now, holdLapsed);
+            if (lapsed > 0 || holdsLapseFrom <= now) {
+                long earliest = Long.MAX_VALUE;
+                for (HashedTimerWheel.Timeout<Booking> hold : holds.values()) {
+                    earliest = Math.min(earliest, hold.getDeadlineMillis());
+                }
+                holdsLapseFrom = earliest;
+            }
+            if (lapsed > 0) {
+                // offered after the wheel has advanced, as an offer schedules a new hold
+                List<Booking> freed = new ArrayList<>(lapsedHolds);
+                lapsedHolds.clear();
+                for (Booking booking : freed) {
+                    offerToWaitlist(booking.getBookingRoom(), booking.getArriveDate(), booking.getDepartDate());
+                }
+            }
+            return lapsed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void holdLapsed(Booking booking) {
+        beginWrite();
+        try {
+            holds.remove(booking.getBookingID());
+            booking.getBookingRoom().getBookingRegister().removeBooking(booking);
+            booking.setBookingStatus(BookingStatus.EXPIRED);
+            assignmentsChanged(booking.getBookingRoom().getRoomType(), booking.getArriveDate());
+            lapsedHolds.add(booking);
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * getHeldBooking - finds a held booking by its ID, e.g. a room offered from the waitlist.
+     * @param bookingId the booking ID
+     * @return the booking, or null if no booking with that ID is held
+     */
+    public Booking getHeldBooking(int bookingId) {
+        writeLock.lock();
+        try {
+            HashedTimerWheel.Timeout<Booking> hold = holds.get(bookingId);
+            return hold == null ? null : hold.getItem();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * getHeldBookings - returns the bookings currently held, ordered by booking ID.
+     * @return held bookings
+     */
+    public List<Booking> getHeldBookings() {
+        List<Booking> held = new ArrayList<>();
+        writeLock.lock();
+        try {
+            for (HashedTimerWheel.Timeout<Booking> hold : holds.values()) {
+                held.add(hold.getItem());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        held.sort(Comparator.comparingInt(Booking::getBookingID));
+        return held;
+    }
+
+    /**
+     * addToWaitlist - puts a guest on the waitlist for a room type and dates, to be offered a room
+     * when a cancellation or lapsed hold frees one. Returning guests are offered rooms first,
+     * then earlier requests.
+     * @param guest the guest
+     * @param roomType the room type wanted
+     * @param arrive the arrival date
+     * @param depart the departure date
+     * @return the waitlist entry
+     * @throws IllegalArgumentException if an argument is missing or the stay breaks a stay rule of the room type
+     */
+    public Waitlist.Entry addToWaitlist(Guest guest, RoomType roomType, LocalDate arrive, LocalDate depart) {
+        if (roomType != null && arrive != null && depart != null) {
+            String violation = stayRestrictions.getViolation(roomType, arrive, depart);
+            if (violation != null) {
+                throw new IllegalArgumentException(violation);
+            }
+        }
+        return waitlist.add(guest, roomType, arrive, depart);
+    }
+
+    /**
+     * getWaitlist - returns the waitlist, for listing or withdrawing requests.
+     * @return the waitlist
+     */
+    public Waitlist getWaitlist() {
+        return waitlist;
+    }
+
+    /**
+     * offerToWaitlist - offers a room whose nights from arrive to depart have just been freed to the
+     * waitlist. For each free run of the room overlapping those nights, the highest priority request
+     * that fits wholly inside the run is found in the waitlist's segment trees, given a POSSIBLE booking
+     * for the room and held for WAITLIST_OFFER_TTL, and removed from the waitlist; this repeats until
+     * no waiting request fits.
+     * @param room the room
+     * @param arrive the first freed night
+     * @param depart the day after the last freed night
+     */
+    private void offerToWaitlist(Room room, LocalDate arrive, LocalDate depart) {
+        if (waitlist.size() == 0 || !rooms.contains(room)) {
+            return;
+        }
+        BookingRegister register = room.getBookingRegister();
+        LocalDate night = arrive;
+        while (night.isBefore(depart)) {
+            LocalDate nextBooked = register.nextBookedNight(night);
+            if (night.equals(nextBooked)) {
+                night = night.plusDays(1);
+                continue;
+            }
+            LocalDate previousBooked = register.previousBookedNight(night);
+            LocalDate runStart = previousBooked == null ? null : previousBooked.plusDays(1);
+            Waitlist.Entry entry = waitlist.findFirstFit(room.getRoomType(), runStart, nextBooked);
+            if (entry == null) {
+                if (nextBooked == null) {
+                    break;
+                }
+                night = nextBooked;
+                continue;
+            }
+            waitlist.remove(entry.getId());
+            Booking booking = new Booking(entry.getArriveDate(), entry.getDepartDate(), entry.getGuest(), room);
+            booking.setBookingStatus(BookingStatus.POSSIBLE);
+            hold(booking, WAITLIST_OFFER_TTL);
+            LOG.info("Waitlist: Room " + room.getRoomNumber() + " offered to " + entry.getGuest().getName()
+                    + " for " + entry.getArriveDate() + " to " + entry.getDepartDate() + " (Booking " + booking.getBookingID() + ")");
+        }
+    }
+
+    /**
+     * getHeldCount - returns the number of bookings currently held.
+     * @return held booking count
+     */
+    public int getHeldCount() {
+        writeLock.lock();
+        try {
+            return holds.size();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * getBooking - finds a confirmed booking by its ID.
+     * @param bookingId the booking ID
+     * @return the booking, or null if there is no such booking
+     */
+    public Booking getBooking(int bookingId) {
+        return bookingIndex.findById(bookingId);
+    }
+
+    /**
+     * cancelBooking - marks a CONFIRMED booking as CANCELLED and releases its room dates.
+     * The booking is removed from its room's BookingRegister, the guest's booking history and the booking index,
+     * and the freed nights are offered to the waitlist. A HELD booking is cancelled with releaseHold.
+     * @param bookingId the booking ID
+     * @return the cancelled booking, or null if there is no such booking
+     * @throws IllegalStateException if the booking is no longer CONFIRMED, e.g. checked in or paid
+     */
+    public Booking cancelBooking(int bookingId) {
+        beginWrite();
+        try {
+            Booking booking = bookingIndex.findById(bookingId);
+            if (booking == null) {
+                return null;
+            }
+            if (booking.getBookingStatus() != BookingStatus.CONFIRMED) {
+                throw new IllegalStateException("Booking " + bookingId + " is " + booking.getBookingStatus()
+                        + " and can no longer be cancelled");
+            }
+            bookingIndex.remove(bookingId);
+            booking.setBookingStatus(BookingStatus.CANCELLED);
+            booking.getBookingRoom().getBookingRegister().removeBooking(booking);
+            booking.getBookingGuest().removeBooking(bookingId);
+            assignmentsChanged(booking.getBookingRoom().getRoomType(), booking.getArriveDate());
+            offerToWaitlist(booking.getBookingRoom(), booking.getArriveDate(), booking.getDepartDate());
+            return booking;
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * getArrivals - returns the bookings arriving on a date.
+     * @param date the arrival date
+     * @return bookings arriving that day, ordered by booking ID
+     */
+    public List<Booking> getArrivals(LocalDate date) {
+        return bookingIndex.findArrivals(date);
+    }
+
+    /**
+     * getDepartures - returns the bookings departing on a date.
+     * @param date the departure date
+     * @return bookings departing that day, ordered by booking ID
+     */
+    public List<Booking> getDepartures(LocalDate date) {
+        return bookingIndex.findDepartures(date);
+    }
+
+    /**
+     * getInHouse - returns the checked-in bookings on a date: guests staying that night
+     * and guests due to depart that day who have not yet checked out.
+     * @param date the date
+     * @return checked-in bookings, stays first then departures, each ordered by booking ID
+     */
+    public List<Booking> getInHouse(LocalDate date) {
+        List<Booking> inHouse = new ArrayList<>();
+        for (Booking booking : bookingIndex.findStaying(date)) {
+            if (booking.getBookingStatus() == BookingStatus.CHECKED_IN) {
+                inHouse.add(booking);
+            }
+        }
+        for (Booking booking : bookingIndex.findDepartures(date)) {
+            if (booking.getBookingStatus() == BookingStatus.CHECKED_IN) {
+                inHouse.add(booking);
+            }
+        }
+        return inHouse;
+    }
+
+    /**
+     * getBookingsForGuest - returns the confirmed bookings of a guest from the booking index.
+     * @param guestId the guest's user ID
+     * @return the guest's bookings, ordered by booking ID
+     */
+    public List<Booking> getBookingsForGuest(String guestId) {
+        return bookingIndex.findByGuest(guestId);
+    }
+
+    /**
+     * optimizeRoomAssignments - re-packs the provisional rooms of confirmed stays, see optimizeRoomAssignments(LocalDate).
+     * @return number of bookings moved to another room
+     */
+    public int optimizeRoomAssignments() {
+        return optimizeRoomAssignments(LocalDate.now(clock));
+    }
+
+    /**
+     * optimizeRoomAssignments - moves confirmed stays between rooms of their type so free nights are left in
+     * long runs instead of short holes between stays. A stay's room is provisional until the optimizer's cut-off
+     * before arrival; stays inside the cut-off, checked in or held keep their rooms. The run is incremental: only
+     * room types with bookings or rooms changed since the last run are packed again, and only stays arriving on
+     * or after the earliest changed booking are moved, unless the day has changed.
+     * Each room type is read, packed and moved while holding the write lock, so no booking or hold can land
+     * on a night a move fills; bookings of other types go ahead between types.
+     * @param today the current date
+     * @return number of bookings moved to another room
+     */
+    public int optimizeRoomAssignments(LocalDate today) {
+        expireHolds();
+        int moved = 0;
+        for (RoomType type : RoomType.values()) {
+            writeLock.lock();
+            try {
+                if (!today.equals(assignmentsPackedOn)) {
+                    for (RoomType changed : RoomType.values()) {
+                        assignmentsChanged(changed, LocalDate.MIN);
+                    }
+                    assignmentsPackedOn = today;
+                }
+                LocalDate dirtyFrom = assignmentsDirtyFrom.remove(type); // marks made later stay for the next run
+                if (dirtyFrom != null) {
+                    moved += packRooms(type, dirtyFrom, today);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Packs the stays of one room type arriving on or after a date; called with writeLock held.
+     */
+    private int packRooms(RoomType type, LocalDate dirtyFrom, LocalDate today) {
+        List<Room> typeRooms = searchRoomByType(type);
+        List<Booking> movable = new ArrayList<>();
+        for (Room room : typeRooms) {
+            for (Booking booking : room.getBookingRegister().getBookings()) {
+                if (!booking.getArriveDate().isBefore(dirtyFrom)
+                        && bookingIndex.contains(booking.getBookingID()) && assignmentOptimizer.isMovable(booking, today)) {
+                    movable.add(booking);
+                }
+            }
+        }
+        Map<Booking, Room> moves = assignmentOptimizer.assign(typeRooms, movable, today);
+        if (moves.isEmpty()) {
+            return 0;
+        }
+        //every booking leaves its old room before any arrives, so two bookings can swap rooms
+        beginWrite();
+        try {
+            for (Booking booking : moves.keySet()) {
+                booking.getBookingRoom().getBookingRegister().removeBooking(booking);
+            }
+            for (Map.Entry<Booking, Room> move : moves.entrySet()) {
+                move.getKey().setBookingRoom(move.getValue());
+                move.getValue().getBookingRegister().assignBooking(move.getKey());
+            }
+        } finally {
+            endWrite();
+        }
+        return moves.size();
+    }
+
+    /**
+     * Records that stays of a room type arriving on or after a date may need packing again; called with writeLock held.
+     */
+    private void assignmentsChanged(RoomType type, LocalDate from) {
+        assignmentsDirtyFrom.merge(type, from, (a, b) -> a.isBefore(b) ? a : b);
+    }
+
+    /**
+     * probeAvailability - answers whether a room of a type is free for a stay, without creating a Booking,
+     * using a booking ID, changing any room's booking count or allocating. Stay rules are applied.
+     * It only reads, without the write lock: a hold whose time has run out counts as free, but lapsing it
+     * and offering its nights to the waitlist are left to the booking paths.
+     * @param roomType the room type
+     * @param arrive the arrival date
+     * @param depart the departure date
+     * @return a free room of the type, or null if none is free or the stay breaks a rule
+     */
+    public Room probeAvailability(RoomType roomType, LocalDate arrive, LocalDate depart) {
+        if (roomType == null || stayRestrictions.getViolation(roomType, arrive, depart) != null) {
+            return null;
+        }
+        long now = clock.millis();
+        for (int slot = roomIndex.nextOfType(roomType, 0); slot >= 0; slot = roomIndex.nextOfType(roomType, slot + 1)) {
+            Room room = roomIndex.roomAt(slot);
+            if (isFree(room.getBookingRegister(), arrive, depart, now)) {
+                return room;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * countAvailableRooms - counts the rooms of a type free for a stay, with the same guarantees as probeAvailability.
+     * @param roomType the room type
+     * @param arrive the arrival date
+     * @param depart the departure date
+     * @return free rooms of the type, or 0 if the stay breaks a rule
+     */
+    public int countAvailableRooms(RoomType roomType, LocalDate arrive, LocalDate depart) {
+        if (roomType == null || stayRestrictions.getViolation(roomType, arrive, depart) != null) {
+            return 0;
+        }
+        long now = clock.millis();
+        int free = 0;
+        for (int slot = roomIndex.nextOfType(roomType, 0); slot >= 0; slot = roomIndex.nextOfType(roomType, slot + 1)) {
+            if (isFree(roomIndex.roomAt(slot).getBookingRegister(), arrive, depart, now)) {
+                free++;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Checks a room's nights are free, counting nights kept only by holds that have run out as free.
+     * Bookings are looked at only once some hold has run out and the room is booked in the range.
+     */
+    private boolean isFree(BookingRegister register, LocalDate arrive, LocalDate depart, long now) {
+        if (!register.isBooked(arrive, depart)) {
+            return true;
+        }
+        if (now < holdsLapseFrom) {
+            return false;
+        }
+        List<Booking> lapsed = new ArrayList<>();
+        for (Booking booking : register.getBookings()) {
+            if (booking.getArriveDate().isBefore(depart) && arrive.isBefore(booking.getDepartDate())) {
+                HashedTimerWheel.Timeout<Booking> hold = holds.get(booking.getBookingID());
+                if (hold == null || hold.getItem() != booking || hold.getDeadlineMillis() > now) {
+                    return false;
+                }
+                lapsed.add(booking);
+            }
+        }
+        // every booked night in the range must belong to one of the lapsed holds
+        for (LocalDate night = register.nextBookedNight(arrive); night != null && night.isBefore(depart);
+             night = register.nextBookedNight(night.plusDays(1))) {
+            boolean covered = false;
+            for (Booking booking : lapsed) {
+                if (!night.isBefore(booking.getArriveDate()) && night.isBefore(booking.getDepartDate())) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * searchAvailableRooms - finds the rooms matching every filter that are free for the whole stay
+     * and whose type's stay rules allow it. The type, floor and feature filters are resolved with
+     * bitmap ANDs in the attribute index, so only matching rooms have their dates checked.
+     * @param roomType the room type, or null for any
+     * @param attributes features the room must all have; empty for any
+     * @param floor the floor, or null for any
+     * @param arrive the arrival date
+     * @param depart the departure date
+     * @return the free rooms, ordered by room number
+     */
+    public List<Room> searchAvailableRooms(RoomType roomType, Set<RoomAttribute> attributes, Integer floor,
+                                           LocalDate arrive, LocalDate depart) {
+        expireHolds();
+        List<Room> free = new ArrayList<>();
+        for (Room room : roomIndex.find(roomType, attributes, floor)) {
+            if (!room.getBookingRegister().isBooked(arrive, depart)
+                    && stayRestrictions.getViolation(room.getRoomType(), arrive, depart) == null) {
+                free.add(room);
+            }
+        }
+        free.sort(Comparator.comparingInt(Room::getRoomNumber));
+        return free;
+    }
+
+    /**
+     * buildTapeChart - builds a room by night occupancy grid from each room's booked nights bitset,
+     * one pass per room, instead of checking each room and date separately.
+     * @param start the first night shown
+     * @param days the number of nights shown
+     * @param roomType only show rooms of this type, or null for every room
+     * @return the chart, rooms ordered by room number
+     * @throws IllegalArgumentException if start is null or days is not positive
+     */
+    public TapeChart buildTapeChart(LocalDate start, int days, RoomType roomType) {
+        if (start == null || days <= 0) {
+            throw new IllegalArgumentException("Start date and a positive number of days are required");
+        }
+        expireHolds();
+        List<Room> chartRooms = new ArrayList<>();
         for (Room room : rooms) {
-            room.getBookingRegister().showBookedDates(room);
+            if (roomType == null || room.getRoomType() == roomType) {
+                chartRooms.add(room);
+            }
+        }
+        chartRooms.sort(Comparator.comparingInt(Room::getRoomNumber));
+        BitSet[] rows = new BitSet[chartRooms.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = chartRooms.get(i).getBookingRegister().getBookedNights(start, days);
+        }
+        return new TapeChart(start, days, chartRooms, rows);
+    }
+
+    /**
+     * getAvailabilityHeatmap - returns the free rooms per room type for each night of the coming year.
+     * The heatmap is built from the room registers on first use and again when the day changes;
+     * in between it is updated as nights are booked and released and rooms are added and removed.
+     * The rebuild holds the write lock, so no booking made meanwhile is missed.
+     * @return the heatmap, starting today by the inventory's clock
+     */
+    public AvailabilityHeatmap getAvailabilityHeatmap() {
+        expireHolds();
+        LocalDate today = LocalDate.now(clock);
+        AvailabilityHeatmap current = heatmap;
+        if (current != null && current.getStart().equals(today)) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            current = heatmap;
+            if (current == null || !current.getStart().equals(today)) {
+                current = new AvailabilityHeatmap(today, HEATMAP_DAYS);
+                for (Room room : rooms) {
+                    current.addRoom(room.getRoomType(), room.getBookingRegister().getBookedNights(today, HEATMAP_DAYS));
+                }
+                heatmap = current;
+            }
+            return current;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * getOccupancyReport - works out occupancy, room-nights sold, ADR and RevPAR for a date range from
+     * the booking calendar of every room, as of one snapshot, with the rooms shared between fork/join tasks.
+     * @param from the first night
+     * @param to the day after the last night
+     * @return the report
+     * @throws IllegalArgumentException if a date is null or to is not after from
+     */
+    public OccupancyReport getOccupancyReport(LocalDate from, LocalDate to) {
+        return OccupancyReport.compute(snapshot(), from, to);
+    }
+
+    /**
+     * snapshot - takes a point-in-time view of every room and its bookings for a report. The view is taken
+     * between booking changes, so all rooms are seen as of the same change, and it never changes afterwards,
+     * so a long report can read it while bookings keep being made. Taking it copies no bookings: each room's
+     * BookingRegister is copy-on-write and hands out its current View. If a change is made while the rooms
+     * are read, they are read again; after a few such retries the snapshot waits for the writer lock instead,
+     * so a steady stream of changes cannot starve it. Changes never wait for an optimistic read.
+     * @return the snapshot
+     */
+    public InventorySnapshot snapshot() {
+        if (!writeLock.isHeldByCurrentThread()) {
+            for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+                long version = writeVersion.get();
+                if ((version & 1) == 0) {
+                    List<InventorySnapshot.RoomView> views = readViews();
+                    if (writeVersion.get() == version) {
+                        return new InventorySnapshot(version >>> 1, views);
+                    }
+                }
+                Thread.onSpinWait();
+            }
+        }
+        writeLock.lock();
+        try {
+            // a change this thread has under way is seen as far as it has got
+            return new InventorySnapshot(writeVersion.get() >>> 1, readViews());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private List<InventorySnapshot.RoomView> readViews() {
+        List<InventorySnapshot.RoomView> views = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            views.add(new InventorySnapshot.RoomView(room));
+        }
+        return views;
+    }
+
+    /**
+     * Marks the start of a change to rooms or bookings, so snapshots taken meanwhile are read again.
+     * Takes the writer lock, so concurrent changes run one after another. Changes may nest; only the
+     * outermost counts.
+     */
+    private void beginWrite() {
+        writeLock.lock();
+        if (writeDepth++ == 0) {
+            writeVersion.incrementAndGet();
+        }
+    }
+
+    private void endWrite() {
+        try {
+            if (--writeDepth == 0) {
+                writeVersion.incrementAndGet();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * showAllBookings lists the booked dates of each Room, from one snapshot so a booking
+     * made meanwhile cannot show in one room and be missed in another.
+     */
+    public void showAllBookings(){
+        for (InventorySnapshot.RoomView room : snapshot().getRooms()) {
+            for (LocalDate bookedDate : room.getRegister().getBookedDates()) {
+                System.out.println("Room: " + room.getRoomNumber() + " Type: " + room.getRoomType() + " Date: " + bookedDate);
+            }
         }
     }
 }
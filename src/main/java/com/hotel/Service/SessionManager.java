@@ -0,0 +1,165 @@
+package com.hotel.Service;
+
+import com.hotel.Model.User;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues and validates session tokens, so a user's password is hashed once per login
+ * rather than on every request.
+ * Tokens are random 256 bit values; a session expires after a period without use.
+ * Expired sessions are dropped when they are next seen, and swept every few hundred logins.
+ * A session also ends once its user's password is changed, see {@link User#setPassword(String)}.
+ */
+public class SessionManager {
+
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final int TOKEN_BYTES = 32;
+    private static final int SWEEP_INTERVAL = 256;  // logins between sweeps of expired sessions
+
+    private final ConcurrentMap<String, Session> sessions;  // Key: token
+    private final Duration idleTimeout;
+    private final Clock clock;
+    private final SecureRandom random;
+    private final AtomicInteger loginsSinceSweep;
+
+    /**
+     * Creates a session manager with a 30 minute idle timeout.
+     */
+    public SessionManager() {
+        this(DEFAULT_IDLE_TIMEOUT, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a session manager.
+     *
+     * @param idleTimeout how long a session stays valid without use
+     * @param clock time source, replaceable in tests
+     */
+    public SessionManager(Duration idleTimeout, Clock clock) {
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.sessions = new ConcurrentHashMap<>();
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+        this.random = new SecureRandom();
+        this.loginsSinceSweep = new AtomicInteger();
+    }
+
+    /**
+     * Starts a session for an authenticated user.
+     *
+     * @param user the authenticated user
+     * @return the session token
+     */
+    public String createSession(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        if (loginsSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+            loginsSinceSweep.set(0);
+            purgeExpired();
+        }
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, new Session(user, clock.millis() + idleTimeout.toMillis()));
+        return token;
+    }
+
+    /**
+     * Looks up the user of a session and extends the session.
+     *
+     * @param token the session token
+     * @return the session's user ID, or null if the token is unknown, expired or from before a password change
+     */
+    public String validate(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = clock.millis();
+        if (session.expiresAt <= now || session.user.getPasswordVersion() != session.passwordVersion) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.expiresAt = now + idleTimeout.toMillis();
+        return session.userId;
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param token the session token
+     * @return true if the session existed
+     */
+    public boolean invalidate(String token) {
+        return token != null && sessions.remove(token) != null;
+    }
+
+    /**
+     * Ends every session of a user, e.g. after a password change or deletion.
+     *
+     * @param userId the user ID
+     * @return number of sessions ended
+     */
+    public int invalidateUser(String userId) {
+        int ended = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext(); ) {
+            if (it.next().userId.equals(userId)) {
+                it.remove();
+                ended++;
+            }
+        }
+        return ended;
+    }
+
+    /**
+     * Removes all expired sessions.
+     *
+     * @return number of sessions removed
+     */
+    public int purgeExpired() {
+        long now = clock.millis();
+        int before = sessions.size();
+        sessions.values().removeIf(s -> s.expiresAt <= now);
+        return Math.max(0, before - sessions.size());
+    }
+
+    /**
+     * Gets the number of sessions held, including expired ones not yet swept.
+     *
+     * @return session count
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    private static final class Session {
+        private final String userId;
+        private final User user;
+        private final int passwordVersion;  // the user's at login
+        private volatile long expiresAt;
+
+        private Session(User user, long expiresAt) {
+            this.userId = user.getUserId();
+            this.user = user;
+            this.passwordVersion = user.getPasswordVersion();
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.hotel.Service;
+
+import com.hotel.Model.RoomType;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Stay rules per {@link RoomType} and date: minimum length of stay, closed to arrival
+ * and closed to departure. A minimum stay applies to stays arriving on that date.
+ * <p>
+ * Rules are held in arrays indexed by days from a base date, one byte of minimum stay
+ * and two bits per type and date, so checking a stay is three array reads however
+ * many rules are set. Dates before the base date cannot be restricted.
+ */
+public class StayRestrictions {
+
+    /** Longest minimum stay that can be set, in nights. */
+    public static final int MAX_MIN_STAY = 255;
+
+    private final long baseDay;
+    private final Map<RoomType, Rules> rules;
+
+    /**
+     * Creates an empty set of rules for dates from today.
+     */
+    public StayRestrictions() {
+        this(LocalDate.now());
+    }
+
+    /**
+     * Creates an empty set of rules.
+     *
+     * @param base earliest date that can be restricted
+     */
+    public StayRestrictions(LocalDate base) {
+        if (base == null) {
+            throw new IllegalArgumentException("Base date cannot be null");
+        }
+        this.baseDay = base.toEpochDay();
+        this.rules = new EnumMap<>(RoomType.class);
+        for (RoomType type : RoomType.values()) {
+            rules.put(type, new Rules());
+        }
+    }
+
+    /**
+     * Sets the minimum stay for arrivals on the dates {@code [from, to)}.
+     *
+     * @param type the room type
+     * @param from first arrival date
+     * @param to day after the last arrival date
+     * @param nights minimum nights, or 0 to clear
+     * @throws IllegalArgumentException if nights is outside 0 to {@link #MAX_MIN_STAY} or the dates are invalid
+     */
+    public void setMinStay(RoomType type, LocalDate from, LocalDate to, int nights) {
+        if (nights < 0 || nights > MAX_MIN_STAY) {
+            throw new IllegalArgumentException("Minimum stay must be between 0 and " + MAX_MIN_STAY + " nights");
+        }
+        int[] range = range(type, from, to);
+        Rules typeRules = rules.get(type);
+        typeRules.ensureCapacity(range[1]);
+        Arrays.fill(typeRules.minStay, range[0], range[1], (byte) nights);
+    }
+
+    /**
+     * Opens or closes the dates {@code [from, to)} to arrivals.
+     *
+     * @param type the room type
+     * @param from first date
+     * @param to day after the last date
+     * @param closed true to close, false to open
+     * @throws IllegalArgumentException if the dates are invalid
+     */
+    public void setClosedToArrival(RoomType type, LocalDate from, LocalDate to, boolean closed) {
+        int[] range = range(type, from, to);
+        rules.get(type).closedToArrival.set(range[0], range[1], closed);
+    }
+
+    /**
+     * Opens or closes the dates {@code [from, to)} to departures.
+     *
+     * @param type the room type
+     * @param from first date
+     * @param to day after the last date
+     * @param closed true to close, false to open
+     * @throws IllegalArgumentException if the dates are invalid
+     */
+    public void setClosedToDeparture(RoomType type, LocalDate from, LocalDate to, boolean closed) {
+        int[] range = range(type, from, to);
+        rules.get(type).closedToDeparture.set(range[0], range[1], closed);
+    }
+
+    /**
+     * Checks a stay against the rules of its room type.
+     *
+     * @param type the room type
+     * @param arrive arrival date
+     * @param depart departure date
+     * @return the broken rule, or null if the stay is allowed
+     * @throws IllegalArgumentException if the type or a date is null
+     */
+    public String getViolation(RoomType type, LocalDate arrive, LocalDate depart) {
+        if (type == null || arrive == null || depart == null) {
+            throw new IllegalArgumentException("Room type, arrival and departure are required");
+        }
+        Rules typeRules = rules.get(type);
+        long arriveIndex = arrive.toEpochDay() - baseDay;
+        long departIndex = depart.toEpochDay() - baseDay;
+        if (arriveIndex >= 0 && arriveIndex < Integer.MAX_VALUE) {
+            int index = (int) arriveIndex;
+            if (typeRules.closedToArrival.get(index)) {
+                return "Closed to arrival on " + arrive;
+            }
+            int minStay = index < typeRules.minStay.length ? typeRules.minStay[index] & 0xFF : 0;
+            if (depart.toEpochDay() - arrive.toEpochDay() < minStay) {
+                return "Minimum stay of " + minStay + " nights for arrival on " + arrive;
+            }
+        }
+        if (departIndex >= 0 && departIndex < Integer.MAX_VALUE && typeRules.closedToDeparture.get((int) departIndex)) {
+            return "Closed to departure on " + depart;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the minimum stay for an arrival date.
+     *
+     * @param type the room type
+     * @param arrive arrival date
+     * @return minimum nights, or 0 if none
+     */
+    public int getMinStay(RoomType type, LocalDate arrive) {
+        long index = arrive.toEpochDay() - baseDay;
+        byte[] minStay = rules.get(type).minStay;
+        return index >= 0 && index < minStay.length ? minStay[(int) index] & 0xFF : 0;
+    }
+
+    private int[] range(RoomType type, LocalDate from, LocalDate to) {
+        if (type == null || from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("Room type and a date range with end after start are required");
+        }
+        long first = from.toEpochDay() - baseDay;
+        long last = to.toEpochDay() - baseDay;
+        if (first < 0) {
+            throw new IllegalArgumentException("Cannot restrict dates before " + LocalDate.ofEpochDay(baseDay));
+        }
+        if (last > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Date too far ahead: " + to);
+        }
+        return new int[]{(int) first, (int) last};
+    }
+
+    /**
+     * The rules of one room type, indexed by days from the base date.
+     */
+    private static final class Rules {
+        private byte[] minStay = new byte[0];
+        private final BitSet closedToArrival = new BitSet();
+        private final BitSet closedToDeparture = new BitSet();
+
+        void ensureCapacity(int size) {
+            if (size > minStay.length) {
+                minStay = Arrays.copyOf(minStay, Math.max(size, minStay.length * 2));
+            }
+        }
+    }
+}
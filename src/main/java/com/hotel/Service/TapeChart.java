@@ -0,0 +1,130 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Room;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Room by night occupancy grid for the front desk, built by
+ * {@link RoomInventoryImpl#buildTapeChart(LocalDate, int, com.hotel.Model.RoomType)}.
+ * Each row is the booked nights bitset of one room over the chart's window.
+ */
+public class TapeChart {
+
+    private final LocalDate start;
+    private final int days;
+    private final List<Room> rooms;
+    private final BitSet[] rows;
+
+    TapeChart(LocalDate start, int days, List<Room> rooms, BitSet[] rows) {
+        this.start = start;
+        this.days = days;
+        this.rooms = Collections.unmodifiableList(rooms);
+        this.rows = rows;
+    }
+
+    /**
+     * Gets the first night shown.
+     *
+     * @return start date
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * Gets the number of nights shown.
+     *
+     * @return night count
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Gets the rooms shown, one per row, ordered by room number.
+     *
+     * @return rooms
+     */
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * Checks whether a room is booked on a night of the chart.
+     *
+     * @param row row index, matching {@link #getRooms()}
+     * @param day night index from the start date
+     * @return true if booked
+     */
+    public boolean isBooked(int row, int day) {
+        return rows[row].get(day);
+    }
+
+    /**
+     * Counts the free rooms on a night of the chart.
+     *
+     * @param day night index from the start date
+     * @return rooms without a booking that night
+     */
+    public int getFreeRooms(int day) {
+        int free = rooms.size();
+        for (BitSet row : rows) {
+            if (row.get(day)) {
+                free--;
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Renders the chart as text: a header of day-of-month numbers, then one row per room
+     * with '#' for a booked night and '.' for a free one, then a free-room count per night.
+     *
+     * @return the chart
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder((rooms.size() + 3) * (20 + days * 3));
+        pad(out, "Room", 6);
+        pad(out, "Type", 13);
+        for (int d = 0; d < days; d++) {
+            int dayOfMonth = start.plusDays(d).getDayOfMonth();
+            out.append(dayOfMonth < 10 ? "  " : " ").append(dayOfMonth);
+        }
+        out.append('\n');
+        int[] booked = new int[days];
+        for (int r = 0; r < rooms.size(); r++) {
+            Room room = rooms.get(r);
+            pad(out, String.valueOf(room.getRoomNumber()), 6);
+            pad(out, room.getRoomType().toString(), 13);
+            int rowStart = out.length();
+            for (int d = 0; d < days; d++) {
+                out.append("  .");
+            }
+            BitSet row = rows[r];
+            for (int d = row.nextSetBit(0); d >= 0 && d < days; d = row.nextSetBit(d + 1)) {
+                out.setCharAt(rowStart + d * 3 + 2, '#');
+                booked[d]++;
+            }
+            out.append('\n');
+        }
+        pad(out, "Free", 19);
+        for (int d = 0; d < days; d++) {
+            int free = rooms.size() - booked[d];
+            String count = String.valueOf(free);
+            out.append("   ", 0, Math.max(0, 3 - count.length())).append(count);
+        }
+        out.append('\n');
+        return out.toString();
+    }
+
+    private static void pad(StringBuilder out, String text, int width) {
+        out.append(text);
+        for (int i = text.length(); i < width; i++) {
+            out.append(' ');
+        }
+    }
+}
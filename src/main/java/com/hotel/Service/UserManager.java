@@ -3,41 +3,89 @@ package com.hotel.Service;
 import com.hotel.Model.User;
 import com.hotel.Model.UserRole;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages all users in the hotel system.
  * Handles user authentication, registration, and CRUD operations.
  * Maintains indexes for efficient user lookup by ID and email.
+ * <p>
+ * Thread safe without a global lock: user IDs and emails are claimed with atomic
+ * putIfAbsent/replace/remove operations on concurrent maps, so two registrations
+ * for the same email cannot both succeed. Adding, updating and deleting a user hold
+ * a stripe lock picked by the user ID while every index is changed, so a concurrent
+ * add and delete of one ID cannot leave it behind in some indexes and not others.
  * @author dev_Amru
  * @version 1.0
  */
 public class UserManager {
-    // Primary storage for all users, keyed by user ID
-    private Map<String, User> users;
+    // Primary storage for all users, keyed by user ID and kept in ID order for paging
+    private ConcurrentNavigableMap<String, User> users;
     
     // Secondary index for email lookup
     // Maps email addresses to user objects for quick authentication
-    private Map<String, User> emailIndex;
+    private ConcurrentMap<String, User> emailIndex;
+
+    // Substring and prefix index over names, emails and phones
+    private UserSearchIndex searchIndex;
+
+    // Users partitioned by role, so staff listings and role counts skip the guests
+    private Map<UserRole, ConcurrentMap<String, User>> usersByRole;
+
+    // Session tokens, so requests after login skip the slow password hash
+    private SessionManager sessionManager;
     
+    // Stripe locks for changes to one user ID across all the indexes
+    private static final int ID_STRIPES = 64;
+    private final Object[] idLocks;
+
     // Counter for generating unique user IDs
     // Starts at 1000 and increments for each new user
-    private int userCounter;
+    private AtomicInteger userCounter;
 
     /**
      * Constructs a new UserManager.
      */
     public UserManager() {
-        this.users = new HashMap<>();
-        this.emailIndex = new HashMap<>();
-        this.userCounter = 1000;
+        this(new SessionManager());
+    }
+
+    /**
+     * Constructs a new UserManager with the given session store.
+     */
+    public UserManager(SessionManager sessionManager) {
+        if (sessionManager == null) {
+            throw new IllegalArgumentException("Session manager cannot be null");
+        }
+        this.sessionManager = sessionManager;
+        this.users = new ConcurrentSkipListMap<>(Page.ID_ORDER);
+        this.emailIndex = new ConcurrentHashMap<>();
+        this.searchIndex = new UserSearchIndex();
+        this.usersByRole = new EnumMap<>(UserRole.class);
+        for (UserRole role : UserRole.values()) {
+            usersByRole.put(role, new ConcurrentHashMap<>());
+        }
+        this.idLocks = new Object[ID_STRIPES];
+        for (int i = 0; i < ID_STRIPES; i++) {
+            idLocks[i] = new Object();
+        }
+        this.userCounter = new AtomicInteger(1000);
+    }
+
+    private Object lockFor(String userId) {
+        int h = userId.hashCode();
+        return idLocks[(h ^ (h >>> 16)) & (ID_STRIPES - 1)];
     }
 
     /**
      * Generates a unique user ID.
     */
     public String generateUserId(String prefix) {
-        return prefix + (userCounter++);
+        return prefix + userCounter.getAndIncrement();
     }
 
     /**
@@ -47,15 +95,21 @@ public class UserManager {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
-        if (users.containsKey(user.getUserId())) {
-            throw new IllegalArgumentException("User ID already exists: " + user.getUserId());
-        }
-        if (emailIndex.containsKey(user.getEmail().toLowerCase())) {
-            throw new IllegalArgumentException("Email already registered: " + user.getEmail());
+        if (user.getRole() == null) {
+            throw new IllegalArgumentException("User role cannot be null");
         }
+        synchronized (lockFor(user.getUserId())) {
+            if (users.putIfAbsent(user.getUserId(), user) != null) {
+                throw new IllegalArgumentException("User ID already exists: " + user.getUserId());
+            }
+            if (emailIndex.putIfAbsent(user.getEmail().toLowerCase(), user) != null) {
+                users.remove(user.getUserId(), user); // give the ID back
+                throw new IllegalArgumentException("Email already registered: " + user.getEmail());
+            }
 
-        users.put(user.getUserId(), user);
-        emailIndex.put(user.getEmail().toLowerCase(), user);
+            searchIndex.add(user);
+            usersByRole.get(user.getRole()).put(user.getUserId(), user);
+        }
     }
 
     /**
@@ -87,10 +141,39 @@ public class UserManager {
         }
 
         User user = getUserByEmail(email);
-        if (user != null && user.validatePassword(password)) {
-            return user;
+        if (user == null) {
+            return null;
         }
-        return null;
+        // a hash weaker than the current cost is checked and upgraded in one go, keeping sessions
+        boolean valid = user.passwordNeedsRehash() ? user.upgradePasswordHash(password) : user.validatePassword(password);
+        return valid ? user : null;
+    }
+
+    /**
+     * Authenticates a user and starts a session.
+     *
+     * @return the session token, or null if the credentials are invalid
+     */
+    public String login(String email, String password) {
+        User user = authenticateUser(email, password);
+        return user == null ? null : sessionManager.createSession(user);
+    }
+
+    /**
+     * Gets the user of a session without checking the password again.
+     *
+     * @return the user, or null if the session is unknown, expired or the user was deleted
+     */
+    public User getSessionUser(String token) {
+        String userId = sessionManager.validate(token);
+        return userId == null ? null : users.get(userId);
+    }
+
+    /**
+     * Ends a session.
+     */
+    public boolean logout(String token) {
+        return sessionManager.invalidate(token);
     }
 
     /**
@@ -100,35 +183,54 @@ public class UserManager {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
-        if (!users.containsKey(user.getUserId())) {
-            throw new IllegalArgumentException("User not found: " + user.getUserId());
-        }
-
-        User existingUser = users.get(user.getUserId());
+        synchronized (lockFor(user.getUserId())) {
+            User existingUser = users.get(user.getUserId());
+            if (existingUser == null) {
+                throw new IllegalArgumentException("User not found: " + user.getUserId());
+            }
 
-        // Update email index if email changed
-        if (!existingUser.getEmail().equalsIgnoreCase(user.getEmail())) {
-            emailIndex.remove(existingUser.getEmail().toLowerCase());
+            String oldEmail = existingUser.getEmail().toLowerCase();
+            String newEmail = user.getEmail().toLowerCase();
+            boolean emailChanged = !oldEmail.equals(newEmail);
 
-            if (emailIndex.containsKey(user.getEmail().toLowerCase())) {
+            // Claim the new email before giving up the old one
+            if (emailChanged && emailIndex.putIfAbsent(newEmail, user) != null) {
                 throw new IllegalArgumentException("Email already in use: " + user.getEmail());
             }
-            emailIndex.put(user.getEmail().toLowerCase(), user);
-        }
+            // Users compare equal by ID, so check identity to detect a concurrent update
+            if (users.compute(user.getUserId(), (id, current) -> current == existingUser ? user : current) != user) {
+                if (emailChanged) {
+                    emailIndex.remove(newEmail, user);
+                }
+                throw new IllegalStateException("User was modified concurrently: " + user.getUserId());
+            }
+            if (emailChanged) {
+                emailIndex.remove(oldEmail, existingUser);
+            } else {
+                emailIndex.replace(oldEmail, existingUser, user);
+            }
 
-        users.put(user.getUserId(), user);
+            searchIndex.add(user);
+            usersByRole.get(existingUser.getRole()).remove(user.getUserId(), existingUser);
+            usersByRole.get(user.getRole()).put(user.getUserId(), user);
+        }
     }
 
     /**
      * Deletes a user from the system.
      */
     public boolean deleteUser(String userId) {
-        User user = users.remove(userId);
-        if (user != null) {
-            emailIndex.remove(user.getEmail().toLowerCase());
-            return true;
+        synchronized (lockFor(userId)) {
+            User user = users.remove(userId);
+            if (user != null) {
+                emailIndex.remove(user.getEmail().toLowerCase(), user);
+                searchIndex.remove(userId);
+                usersByRole.get(user.getRole()).remove(userId, user);
+                sessionManager.invalidateUser(userId);
+                return true;
+            }
+            return false;
         }
-        return false;
     }
 
     /**
@@ -138,6 +240,23 @@ public class UserManager {
         return new ArrayList<>(users.values());
     }
 
+    /**
+     * Gets a page of users in user ID order, for listings too long to build in one go.
+     * IDs are ordered by {@link Page#ID_ORDER}, so G999 comes before G1000.
+     * Only the page is read, from the user after the cursor.
+     *
+     * @param cursor the cursor from the previous page, or null for the first page
+     * @param size the most users to return, capped at {@link Page#MAX_SIZE}
+     * @return the page and the cursor for the next one
+     * @throws IllegalArgumentException if size is not positive or the cursor is not from this listing
+     */
+    public Page<User> getUsersPage(String cursor, int size) {
+        int limit = Page.checkSize(size);
+        String after = Page.keyOf("users", cursor);
+        Map<String, User> rest = after == null ? users : users.tailMap(after, false);
+        return Page.of("users", rest.values().iterator(), limit, User::getUserId);
+    }
+
     /**
      * Gets users by role.
      */
@@ -145,9 +264,17 @@ public class UserManager {
         if (role == null) {
             throw new IllegalArgumentException("Role cannot be null");
         }
-        return users.values().stream()
-                .filter(user -> user.getRole() == role)
-                .collect(Collectors.toList());
+        return new ArrayList<>(usersByRole.get(role).values());
+    }
+
+    /**
+     * Counts users with a role without listing them.
+     */
+    public int countUsersByRole(UserRole role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null");
+        }
+        return usersByRole.get(role).size();
     }
 
     /**
@@ -157,18 +284,56 @@ public class UserManager {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return new ArrayList<>();
         }
+        return toUsers(searchIndex.searchNames(searchTerm));
+    }
 
-        String lowerSearch = searchTerm.toLowerCase();
-        return users.values().stream()
-                .filter(user -> user.getName().toLowerCase().contains(lowerSearch))
-                .collect(Collectors.toList());
+    /**
+     * Searches users by name, email or phone (case-insensitive partial match).
+     */
+    public List<User> searchUsers(String searchTerm) {
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return toUsers(searchIndex.search(searchTerm.trim()));
+    }
+
+    /**
+     * Suggests up to {@code limit} users whose name, a word of their name, email or phone
+     * starts with the prefix, for autocomplete as the user types.
+     */
+    public List<User> autocompleteUsers(String prefix, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1");
+        }
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return toUsers(searchIndex.complete(prefix.trim(), limit));
+    }
+
+    /**
+     * Resolves user IDs returned by the search index.
+     */
+    private List<User> toUsers(List<String> userIds) {
+        List<User> result = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            User user = users.get(userId);
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
     }
 
     /**
      * Gets total user count.
      */
     public int getTotalUserCount() {
-        return users.size();
+        int total = 0;  // the skip list counts by walking, the role maps keep a count
+        for (ConcurrentMap<String, User> roleUsers : usersByRole.values()) {
+            total += roleUsers.size();
+        }
+        return total;
     }
 
     /**
@@ -0,0 +1,260 @@
+package com.hotel.Service;
+
+import com.hotel.Model.User;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Search index over user names, emails and phone numbers.
+ * <p>
+ * Substring search uses a trigram index: every three character window of each field points
+ * at the users containing it, so a query only verifies the users on its rarest trigram.
+ * Queries shorter than three characters fall back to scanning the indexed fields.
+ * Prefix autocomplete walks a sorted map of name words, full names, emails and phones.
+ * <p>
+ * Thread safe without a global lock. Each posting list is a concurrent set, and a trigram's
+ * list is created and dropped inside its own bucket of a concurrent map; prefix lists are
+ * guarded by one of a fixed set of stripe locks picked by the prefix. Changes to one user are
+ * serialized by a stripe lock picked by the user ID, so updates to different users run side by
+ * side and queries never wait.
+ */
+public class UserSearchIndex {
+
+    private static final int NAME = 0;
+    private static final int EMAIL = 1;
+    private static final int PHONE = 2;
+    private static final int STRIPES = 64;
+
+    private final ConcurrentMap<String, String[]> fieldsByUser;        // Key: userId; lower case name, email, phone
+    private final ConcurrentMap<Long, Set<String>> trigrams;           // Key: three chars packed into a long
+    private final ConcurrentNavigableMap<String, Set<String>> prefixes; // Key: lower case word, name, email or phone
+
+    private final Object[] userLocks = newLocks();
+    private final Object[] prefixLocks = newLocks();
+
+    /**
+     * Creates an empty index.
+     */
+    public UserSearchIndex() {
+        this.fieldsByUser = new ConcurrentHashMap<>();
+        this.trigrams = new ConcurrentHashMap<>();
+        this.prefixes = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Indexes a user, replacing any previous entry for the same user ID.
+     *
+     * @param user the user to index
+     */
+    public void add(User user) {
+        String[] values = {
+                user.getName().toLowerCase(), user.getEmail().toLowerCase(), user.getPhone().toLowerCase()};
+        String userId = user.getUserId();
+        synchronized (stripe(userLocks, userId)) {
+            String[] previous = fieldsByUser.put(userId, values);
+            if (previous != null) {
+                unpost(userId, previous);
+            }
+            post(userId, values);
+        }
+    }
+
+    /**
+     * Removes a user from the index.
+     *
+     * @param userId the user ID
+     */
+    public void remove(String userId) {
+        synchronized (stripe(userLocks, userId)) {
+            String[] previous = fieldsByUser.remove(userId);
+            if (previous != null) {
+                unpost(userId, previous);
+            }
+        }
+    }
+
+    /**
+     * Finds users whose name contains the term, ignoring case.
+     *
+     * @param term the search term
+     * @return matching user IDs
+     */
+    public List<String> searchNames(String term) {
+        return search(term.toLowerCase(), NAME, NAME);
+    }
+
+    /**
+     * Finds users whose name, email or phone contains the term, ignoring case.
+     *
+     * @param term the search term
+     * @return matching user IDs
+     */
+    public List<String> search(String term) {
+        return search(term.toLowerCase(), NAME, PHONE);
+    }
+
+    /**
+     * Finds up to {@code limit} users with a name word, full name, email or phone starting
+     * with the prefix, ordered by the matching entry.
+     *
+     * @param prefix the typed prefix, case is ignored
+     * @param limit maximum number of users to return
+     * @return matching user IDs
+     */
+    public List<String> complete(String prefix, int limit) {
+        String key = prefix.toLowerCase();
+        Set<String> found = new LinkedHashSet<>();
+        for (Map.Entry<String, Set<String>> entry : prefixes.tailMap(key, true).entrySet()) {
+            if (found.size() >= limit || !entry.getKey().startsWith(key)) {
+                break;
+            }
+            for (String userId : entry.getValue()) {
+                if (found.size() >= limit) {
+                    break;
+                }
+                found.add(userId);
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Gets the number of indexed users.
+     *
+     * @return indexed user count
+     */
+    public int size() {
+        return fieldsByUser.size();
+    }
+
+    /**
+     * Substring search over the fields numbered {@code first} to {@code last}.
+     */
+    private List<String> search(String term, int first, int last) {
+        List<String> found = new ArrayList<>();
+        if (term.length() < 3) {
+            for (Map.Entry<String, String[]> entry : fieldsByUser.entrySet()) {
+                if (matches(entry.getValue(), term, first, last)) {
+                    found.add(entry.getKey());
+                }
+            }
+            return found;
+        }
+
+        // Verify only the users holding the term's rarest trigram
+        Set<String> rarest = null;
+        int rarestSize = 0;
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            Set<String> postings = trigrams.get(trigram(term, i));
+            if (postings == null) {
+                return found;
+            }
+            int size = postings.size();
+            if (rarest == null || size < rarestSize) {
+                rarest = postings;
+                rarestSize = size;
+            }
+        }
+        for (String userId : rarest) {
+            if (matches(fieldsByUser.get(userId), term, first, last)) {
+                found.add(userId);
+            }
+        }
+        return found;
+    }
+
+    private static boolean matches(String[] values, String term, int first, int last) {
+        if (values == null) {
+            return false; // removed since its postings were read
+        }
+        for (int f = first; f <= last; f++) {
+            if (values[f].contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a user to the trigram and prefix postings of its fields.
+     */
+    private void post(String userId, String[] values) {
+        for (String value : values) {
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                trigrams.compute(trigram(value, i), (k, users) -> {
+                    Set<String> postings = users == null ? ConcurrentHashMap.newKeySet() : users;
+                    postings.add(userId);
+                    return postings;
+                });
+            }
+        }
+        for (String key : prefixKeys(values)) {
+            synchronized (stripe(prefixLocks, key)) {
+                prefixes.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(userId);
+            }
+        }
+    }
+
+    /**
+     * Removes a user from the postings of its old fields, dropping lists left empty.
+     */
+    private void unpost(String userId, String[] values) {
+        for (String value : values) {
+            for (int i = 0; i + 3 <= value.length(); i++) {
+                trigrams.computeIfPresent(trigram(value, i), (k, users) -> {
+                    users.remove(userId);
+                    return users.isEmpty() ? null : users;
+                });
+            }
+        }
+        for (String key : prefixKeys(values)) {
+            synchronized (stripe(prefixLocks, key)) {
+                Set<String> users = prefixes.get(key);
+                if (users != null && users.remove(userId) && users.isEmpty()) {
+                    prefixes.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * The autocomplete keys of a user: each field whole, plus each word of a name of several words.
+     */
+    private static Set<String> prefixKeys(String[] values) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String value : values) {
+            keys.add(value);
+        }
+        for (String word : values[NAME].split("\\s+")) {
+            if (!word.isEmpty()) {
+                keys.add(word);
+            }
+        }
+        return keys;
+    }
+
+    private static Object[] newLocks() {
+        Object[] locks = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    private static Object stripe(Object[] locks, String key) {
+        int h = key.hashCode();
+        return locks[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static long trigram(String s, int at) {
+        return ((long) s.charAt(at) << 32) | ((long) s.charAt(at + 1) << 16) | s.charAt(at + 2);
+    }
+}
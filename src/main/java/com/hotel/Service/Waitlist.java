@@ -0,0 +1,291 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Guest;
+import com.hotel.Model.RoomType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Guests waiting for a room of a {@link RoomType} over a date range, in priority order:
+ * returning guests first, then earlier requests first.
+ * <p>
+ * Each room type has two bands, returning guests and others, each a segment tree over its
+ * requests in the order they were made. A node holds the latest arrival and earliest
+ * departure of the requests below it, so when nights become free the first request that
+ * fits the free run is found by descending the tree, skipping every subtree that cannot
+ * hold a fit.
+ * <p>
+ * The two bounds may come from different requests, so a subtree can pass the test and
+ * still hold no fit. A search is O(log n) when few subtrees do that, as when requests are
+ * spread over many dates, but is O(n) in the worst case: requests alternating between
+ * arriving too early and departing too late for the free run make every subtree pass the
+ * test and every leaf fail it. A bound below O(n) needs a true two-dimensional index
+ * (arrival against departure, keeping the earliest request), which the waitlists of one
+ * hotel have not called for.
+ */
+public class Waitlist {
+
+    private final Map<RoomType, Band[]> bands;  // Index 0: returning guests, 1: others
+    private final Map<Integer, Entry> entries;  // Key: entry ID
+    private int nextId;
+
+    /**
+     * Creates an empty waitlist.
+     */
+    public Waitlist() {
+        this.bands = new EnumMap<>(RoomType.class);
+        for (RoomType type : RoomType.values()) {
+            bands.put(type, new Band[]{new Band(), new Band()});
+        }
+        this.entries = new HashMap<>();
+        this.nextId = 1;
+    }
+
+    /**
+     * Adds a request. The guest's priority is fixed by whether they are a returning guest now.
+     *
+     * @param guest the guest
+     * @param roomType the room type wanted
+     * @param arrive arrival date
+     * @param depart departure date
+     * @return the new entry
+     * @throws IllegalArgumentException if any argument is null or depart is not after arrive
+     */
+    public Entry add(Guest guest, RoomType roomType, LocalDate arrive, LocalDate depart) {
+        if (guest == null || roomType == null || arrive == null || depart == null || !depart.isAfter(arrive)) {
+            throw new IllegalArgumentException("Guest, room type and a date range with departure after arrival are required");
+        }
+        Entry entry = new Entry(nextId++, guest, roomType, arrive, depart, guest.isReturningGuest());
+        bands.get(roomType)[entry.returningGuest ? 0 : 1].add(entry);
+        entries.put(entry.id, entry);
+        return entry;
+    }
+
+    /**
+     * Removes a request, e.g. once it has been offered a room or the guest withdraws.
+     *
+     * @param entryId the entry ID
+     * @return the removed entry, or null if there is no such entry
+     */
+    public Entry remove(int entryId) {
+        Entry entry = entries.remove(entryId);
+        if (entry != null) {
+            bands.get(entry.roomType)[entry.returningGuest ? 0 : 1].remove(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Finds a request by ID.
+     *
+     * @param entryId the entry ID
+     * @return the entry, or null if there is no such entry
+     */
+    public Entry get(int entryId) {
+        return entries.get(entryId);
+    }
+
+    /**
+     * Finds the highest priority request of a type whose stay lies wholly within a free run.
+     *
+     * @param roomType the room type
+     * @param from first free night, or null if every earlier night is free
+     * @param to day after the last free night, or null if every later night is free
+     * @return the first fitting entry, or null if none fits
+     */
+    public Entry findFirstFit(RoomType roomType, LocalDate from, LocalDate to) {
+        long fromDay = from == null ? Long.MIN_VALUE : from.toEpochDay();
+        long toDay = to == null ? Long.MAX_VALUE : to.toEpochDay();
+        for (Band band : bands.get(roomType)) {
+            Entry entry = band.findFirstFit(fromDay, toDay);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lists the requests for a room type in priority order.
+     *
+     * @param roomType the room type
+     * @return the entries
+     */
+    public List<Entry> getEntries(RoomType roomType) {
+        List<Entry> result = new ArrayList<>();
+        for (Band band : bands.get(roomType)) {
+            for (int slot = 0; slot < band.used; slot++) {
+                if (band.slots[slot] != null) {
+                    result.add(band.slots[slot]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of waiting requests.
+     *
+     * @return entry count
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * A guest's request for a room type over a date range.
+     */
+    public static final class Entry {
+        private final int id;
+        private final Guest guest;
+        private final RoomType roomType;
+        private final LocalDate arriveDate;
+        private final LocalDate departDate;
+        private final boolean returningGuest;
+        private int slot;  // position in its band
+
+        private Entry(int id, Guest guest, RoomType roomType, LocalDate arriveDate, LocalDate departDate,
+                      boolean returningGuest) {
+            this.id = id;
+            this.guest = guest;
+            this.roomType = roomType;
+            this.arriveDate = arriveDate;
+            this.departDate = departDate;
+            this.returningGuest = returningGuest;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public Guest getGuest() {
+            return guest;
+        }
+
+        public RoomType getRoomType() {
+            return roomType;
+        }
+
+        public LocalDate getArriveDate() {
+            return arriveDate;
+        }
+
+        public LocalDate getDepartDate() {
+            return departDate;
+        }
+
+        public boolean isReturningGuest() {
+            return returningGuest;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + id + " " + guest.getName() + " | " + roomType + " | " + arriveDate + " to " + departDate
+                    + (returningGuest ? " | Returning guest" : "");
+        }
+    }
+
+    /**
+     * Requests of one priority band in request order, with a segment tree of the latest
+     * arrival and earliest departure over them. Empty slots hold neutral values that never fit.
+     * A search descends leftmost first and stops at the first fit, visiting O(n) nodes at worst,
+     * see the class comment.
+     */
+    private static final class Band {
+        private Entry[] slots = new Entry[8];
+        private long[] maxArrive = neutral(Long.MIN_VALUE, 16);
+        private long[] minDepart = neutral(Long.MAX_VALUE, 16);
+        private int used;  // slots handed out, including removed ones
+        private int live;
+
+        void add(Entry entry) {
+            if (used == slots.length) {
+                grow();
+            }
+            entry.slot = used++;
+            slots[entry.slot] = entry;
+            live++;
+            set(entry.slot, entry.arriveDate.toEpochDay(), entry.departDate.toEpochDay());
+        }
+
+        void remove(Entry entry) {
+            slots[entry.slot] = null;
+            set(entry.slot, Long.MIN_VALUE, Long.MAX_VALUE);
+            if (--live == 0) {
+                used = 0;
+            }
+        }
+
+        Entry findFirstFit(long from, long to) {
+            int node = 1;
+            if (!fits(node, from, to)) {
+                return null;
+            }
+            return descend(node, from, to);
+        }
+
+        private Entry descend(int node, long from, long to) {
+            if (node >= slots.length) {
+                return slots[node - slots.length];
+            }
+            for (int child = 2 * node; child <= 2 * node + 1; child++) {
+                if (fits(child, from, to)) {
+                    Entry found = descend(child, from, to);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Whether a subtree may hold a request arriving on or after from and departing on or before to.
+         * False rules the subtree out; true does not promise a fit.
+         */
+        private boolean fits(int node, long from, long to) {
+            return maxArrive[node] >= from && minDepart[node] <= to;
+        }
+
+        private void set(int slot, long arrive, long depart) {
+            int node = slot + slots.length;
+            maxArrive[node] = arrive;
+            minDepart[node] = depart;
+            for (node >>= 1; node >= 1; node >>= 1) {
+                maxArrive[node] = Math.max(maxArrive[2 * node], maxArrive[2 * node + 1]);
+                minDepart[node] = Math.min(minDepart[2 * node], minDepart[2 * node + 1]);
+            }
+        }
+
+        /**
+         * Doubles the slots if most are in use, otherwise packs the live requests to the front.
+         */
+        private void grow() {
+            Entry[] old = slots;
+            int capacity = live > old.length / 2 ? old.length * 2 : old.length;
+            slots = new Entry[capacity];
+            maxArrive = neutral(Long.MIN_VALUE, 2 * capacity);
+            minDepart = neutral(Long.MAX_VALUE, 2 * capacity);
+            used = 0;
+            for (Entry entry : old) {
+                if (entry != null) {
+                    entry.slot = used++;
+                    slots[entry.slot] = entry;
+                    set(entry.slot, entry.arriveDate.toEpochDay(), entry.departDate.toEpochDay());
+                }
+            }
+        }
+
+        private static long[] neutral(long value, int size) {
+            long[] values = new long[size];
+            Arrays.fill(values, value);
+            return values;
+        }
+    }
+}
@@ -4,11 +4,20 @@ import com.hotel.*;
 import com.hotel.Model.*;
 import com.hotel.Service.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Hotel Management System User Interface.
@@ -25,20 +34,44 @@ public class HotelManagementUI {
     private final RoomInventoryImpl roomInventory;
     private final PaymentManager paymentManager;
     private User currentUser;
+    private String sessionToken;  // set by login, checked before each menu
     private boolean running;
 
+    /** Rows printed by a list view before it asks whether to show more. */
+    private static final int PAGE_SIZE = 20;
+
+    /** System property naming a configuration file to load instead of the sample data. */
+    public static final String CONFIG_PROPERTY = "hotel.config";
+
     /**
      * Constructs a HotelManagementUI with default settings.
-     * Initializes all managers and loads sample data for testing.
+     * Initializes all managers and loads the property named by the {@code hotel.config}
+     * system property, or sample data for testing when it is not set.
+     *
+     * @throws IllegalArgumentException if the configuration file has a bad entry
+     * @throws UncheckedIOException if the configuration file cannot be read
      */
     public HotelManagementUI() {
-        this.scanner = new Scanner(System.in);
-        this.userManager = new UserManager();
-        this.roomInventory = new RoomInventoryImpl();
-        this.paymentManager = new PaymentManager();
-        this.currentUser = null;
-        this.running = true;
-        initializeSampleData();
+        this(new UserManager(), new RoomInventoryImpl(), new PaymentManager());
+        String configFile = System.getProperty(CONFIG_PROPERTY);
+        if (configFile == null) {
+            initializeSampleData();
+        } else {
+            loadConfiguration(Paths.get(configFile));
+        }
+    }
+
+    /**
+     * Constructs a HotelManagementUI for a property described by a configuration file,
+     * without any sample data. See {@link HotelConfig} for the file format.
+     *
+     * @param configFile the configuration file
+     * @throws IllegalArgumentException if the configuration file has a bad entry
+     * @throws UncheckedIOException if the configuration file cannot be read
+     */
+    public HotelManagementUI(Path configFile) {
+        this(new UserManager(), new RoomInventoryImpl(), new PaymentManager());
+        loadConfiguration(configFile);
     }
 
     /**
@@ -58,6 +91,21 @@ public class HotelManagementUI {
         this.running = true;
     }
 
+    /**
+     * Loads the rooms, prices and users of a property, with the rooms indexed in one bulk load.
+     */
+    private void loadConfiguration(Path configFile) {
+        HotelConfig config;
+        try {
+            config = HotelConfig.load(configFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read configuration " + configFile, e);
+        }
+        config.applyTo(userManager, roomInventory);
+        System.out.println("Loaded " + config.getRooms().size() + " rooms and "
+                + config.getUsers().size() + " users from " + configFile);
+    }
+
     /**
      * Initializes the system with sample users and rooms for demonstration purposes.
      */
@@ -75,19 +123,19 @@ public class HotelManagementUI {
             userManager.addUser(cleaner);
             userManager.addUser(guest);
 
-            roomInventory.addRoom(new Room(101, RoomType.SINGLE, true, 120.0));
+            roomInventory.addRoom(new Room(101, RoomType.SINGLE, true, 120.0, EnumSet.of(RoomAttribute.ACCESSIBLE)));
             roomInventory.addRoom(new Room(102, RoomType.SINGLE, true, 120.0));
             roomInventory.addRoom(new Room(103, RoomType.SINGLE, true, 120.0));
-            roomInventory.addRoom(new Room(201, RoomType.DOUBLE, true, 180.0));
-            roomInventory.addRoom(new Room(202, RoomType.DOUBLE, true, 180.0));
-            roomInventory.addRoom(new Room(203, RoomType.DOUBLE, true, 180.0));
-            roomInventory.addRoom(new Room(301, RoomType.DELUXE, true, 250.0));
-            roomInventory.addRoom(new Room(302, RoomType.DELUXE, true, 250.0));
-            roomInventory.addRoom(new Room(303, RoomType.SUITE, true, 350.0));
+            roomInventory.addRoom(new Room(201, RoomType.DOUBLE, true, 180.0, EnumSet.of(RoomAttribute.ACCESSIBLE, RoomAttribute.KING_BED)));
+            roomInventory.addRoom(new Room(202, RoomType.DOUBLE, true, 180.0, EnumSet.of(RoomAttribute.TWIN_BEDS)));
+            roomInventory.addRoom(new Room(203, RoomType.DOUBLE, true, 180.0, EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.KING_BED)));
+            roomInventory.addRoom(new Room(301, RoomType.DELUXE, true, 250.0, EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.BALCONY)));
+            roomInventory.addRoom(new Room(302, RoomType.DELUXE, true, 250.0, EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.ACCESSIBLE)));
+            roomInventory.addRoom(new Room(303, RoomType.SUITE, true, 350.0, EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.BALCONY, RoomAttribute.KING_BED)));
             roomInventory.addRoom(new Room(304, RoomType.SUITE, true, 350.0));
             roomInventory.addRoom(new Room(401, RoomType.FAMILY, true, 280.0));
             roomInventory.addRoom(new Room(402, RoomType.FAMILY, true, 280.0));
-            roomInventory.addRoom(new Room(501, RoomType.PRESIDENTIAL, true, 500.0));
+            roomInventory.addRoom(new Room(501, RoomType.PRESIDENTIAL, true, 500.0, EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.BALCONY, RoomAttribute.KING_BED)));
 
         } catch (Exception e) {
             System.err.println("Error initializing sample data: " + e.getMessage());
@@ -100,6 +148,11 @@ public class HotelManagementUI {
     public void start() {
         displayWelcomeBanner();
         while (running) {
+            if (sessionToken != null && userManager.getSessionUser(sessionToken) == null) {
+                System.out.println("\nSession expired. Please log in again.");
+                currentUser = null;
+                sessionToken = null;
+            }
             if (currentUser == null) {
                 showLoginMenu();
             } else {
@@ -157,9 +210,11 @@ public class HotelManagementUI {
 
         // Add Try-Catch block here
         try {
-            User user = userManager.authenticateUser(email, password);
+            String token = userManager.login(email, password);
+            User user = token == null ? null : userManager.getSessionUser(token);
             if (user != null) {
                 currentUser = user;
+                sessionToken = token;
                 System.out.println("\nLogin successful, welcome " + user.getName() + "!");
                 return true;
             } else {
@@ -284,6 +339,12 @@ public class HotelManagementUI {
         System.out.println("7. Cancel Booking");
         System.out.println("8. Add Facilities");
         System.out.println("9. Profile");
+        System.out.println("10. Today's Arrivals");
+        System.out.println("11. Today's Departures");
+        System.out.println("12. In-House Guests");
+        System.out.println("13. Tape Chart");
+        System.out.println("14. Search Rooms by Features");
+        System.out.println("15. Waitlist");
         System.out.println("0. Logout");
         System.out.println("═══════════════════════════════════════════════════");
 
@@ -298,6 +359,12 @@ public class HotelManagementUI {
             case 7: handleCancelBooking(); break;
             case 8: handleAddFacilityCharges(); break;
             case 9: handleMyProfile(); break;
+            case 10: handleArrivals(); break;
+            case 11: handleDepartures(); break;
+            case 12: handleInHouse(); break;
+            case 13: handleTapeChart(); break;
+            case 14: handleSearchRoomsByFeatures(); break;
+            case 15: handleWaitlist(); break;
             case 0: logout(); break;
             default: System.out.println("Invalid choice.");
         }
@@ -420,16 +487,19 @@ public class HotelManagementUI {
                 long nights = java.time.temporal.ChronoUnit.DAYS.between(arriveDate, departDate);
                 double total = nights * booking.getBookingRoom().getPricePerNight();
 
-                System.out.println("\nRoom Found: " + booking.getBookingRoom().getRoomNumber());
+                // hold the room so another desk cannot take it while the guest decides
+                roomInventory.holdBooking(booking);
+
+                System.out.println("\nRoom Found: " + booking.getBookingRoom().getRoomNumber()
+                        + " (held for " + RoomInventoryImpl.DEFAULT_HOLD_TTL.toMinutes() + " minutes)");
                 System.out.println("Nights: " + nights + " | Total: €" + String.format("%.2f", total));
                 System.out.print("Confirm? (yes/no): ");
 
                 if (scanner.nextLine().trim().equalsIgnoreCase("yes")) {
-                    booking.setBookingStatus(BookingStatus.CONFIRMED);
-                    booking.getBookingRoom().getBookingRegister().addBooking(booking);
-                    booking.getBookingRoom().getBookingRegister().addDatesToRegister(booking);
-                    guest.addBooking(String.valueOf(booking.getBookingID()));
+                    roomInventory.confirmBooking(booking);
                     System.out.println("Booking confirmed! ID: " + booking.getBookingID());
+                } else {
+                    roomInventory.releaseHold(booking.getBookingID());
                 }
             } else {
                 System.out.println("No rooms available.");
@@ -486,7 +556,16 @@ public class HotelManagementUI {
     private void handleCheckIn() {
         System.out.println("\n────────────── CHECK-IN ────────────────");
         int bookingId = getIntInput("Booking ID: ");
-        System.out.println("Guest checked in. Booking: " + bookingId);
+        Booking booking = roomInventory.getBooking(bookingId);
+        if (booking == null) {
+            System.out.println("Booking not found.");
+        } else if (booking.getBookingStatus() != BookingStatus.CONFIRMED) {
+            System.out.println("Booking " + bookingId + " cannot be checked in: " + booking.getBookingStatus());
+        } else {
+            booking.setBookingStatus(BookingStatus.CHECKED_IN);
+            booking.showBookingDetails(booking);
+            System.out.println("Guest checked in. Booking: " + bookingId);
+        }
     }
 
     /**
@@ -505,14 +584,24 @@ public class HotelManagementUI {
             }
             Guest guest = (Guest) user;
 
-            int roomNum = getIntInput("Room Number: ");
-            int nights = getIntInput("Nights: ");
-            double pricePerNight = getDoubleInput("Price/night: €");
-
-            LocalDate checkOut = LocalDate.now();
-            LocalDate checkIn = checkOut.minusDays(nights);
-            Room room = new Room(roomNum, RoomType.DOUBLE, true, pricePerNight);
-            Booking booking = new Booking(checkIn, checkOut, guest, room);
+            // A checked-in booking is charged as booked; otherwise take the stay details for a walk-in
+            Booking booking = findCheckedInBooking(guest);
+            long nights;
+            double pricePerNight;
+            if (booking != null) {
+                nights = java.time.temporal.ChronoUnit.DAYS.between(booking.getArriveDate(), booking.getDepartDate());
+                pricePerNight = booking.getBookingRoom().getPricePerNight();
+                booking.showBookingDetails(booking);
+            } else {
+                int roomNum = getIntInput("Room Number: ");
+                nights = getIntInput("Nights: ");
+                pricePerNight = getDoubleInput("Price/night: €");
+
+                LocalDate checkOut = LocalDate.now();
+                LocalDate checkIn = checkOut.minusDays(nights);
+                Room room = new Room(roomNum, RoomType.DOUBLE, true, pricePerNight);
+                booking = new Booking(checkIn, checkOut, guest, room);
+            }
 
             double roomTotal = nights * pricePerNight;
             System.out.println("\n── Summary ──");
@@ -559,6 +648,21 @@ public class HotelManagementUI {
         }
     }
 
+    /**
+     * Finds the booking a guest is currently checked in on.
+     *
+     * @param guest the guest checking out
+     * @return the checked-in booking, or null if the guest has none
+     */
+    private Booking findCheckedInBooking(Guest guest) {
+        for (Booking booking : roomInventory.getBookingsForGuest(guest.getUserId())) {
+            if (booking.getBookingStatus() == BookingStatus.CHECKED_IN) {
+                return booking;
+            }
+        }
+        return null;
+    }
+
     /**
      * Adds facility charges to a payment.
      * Prompts for facility selection and quantity.
@@ -645,15 +749,14 @@ public class HotelManagementUI {
             RoomType type = selectRoomType();
             if (type == null) return;
 
-            Guest temp = new Guest("T", "Temp", "t@t.com", "0", "t");
-            Booking booking = new Booking(arrive, depart, temp);
-            roomInventory.checkRoomAvailability(booking, type);
-
-            if (booking.getBookingStatus() == BookingStatus.POSSIBLE && booking.getBookingRoom() != null) {
-                System.out.println("Available: Room " + booking.getBookingRoom().getRoomNumber());
-                System.out.println("Price: €" + booking.getBookingRoom().getPricePerNight() + "/night");
+            Room room = roomInventory.probeAvailability(type, arrive, depart);
+            if (room != null) {
+                System.out.println("Available: Room " + room.getRoomNumber()
+                        + " (" + roomInventory.countAvailableRooms(type, arrive, depart) + " free)");
+                System.out.println("Price: €" + room.getPricePerNight() + "/night");
             } else {
-                System.out.println("No rooms available.");
+                String violation = roomInventory.getStayRestrictions().getViolation(type, arrive, depart);
+                System.out.println(violation != null ? "Unavailable: " + violation : "No rooms available.");
             }
         } catch (Exception e) {
             System.out.println("Error: " + e.getMessage());
@@ -668,17 +771,180 @@ public class HotelManagementUI {
         roomInventory.showAllBookings();
     }
 
+    /**
+     * Displays the bookings arriving today.
+     */
+    private void handleArrivals() {
+        System.out.println("\n────────────── ARRIVALS " + LocalDate.now() + " ────────────────");
+        printBookings(roomInventory.getArrivals(LocalDate.now()), "No arrivals today.");
+    }
+
+    /**
+     * Displays the bookings departing today.
+     */
+    private void handleDepartures() {
+        System.out.println("\n────────────── DEPARTURES " + LocalDate.now() + " ────────────────");
+        printBookings(roomInventory.getDepartures(LocalDate.now()), "No departures today.");
+    }
+
+    /**
+     * Displays the guests currently checked in.
+     */
+    private void handleInHouse() {
+        System.out.println("\n────────────── IN-HOUSE " + LocalDate.now() + " ────────────────");
+        printBookings(roomInventory.getInHouse(LocalDate.now()), "No guests in house.");
+    }
+
+    /**
+     * Displays the room by night occupancy grid from today, for 14 or 30 nights,
+     * for one room type or the whole hotel.
+     */
+    private void handleTapeChart() {
+        System.out.println("\n────────────── TAPE CHART ────────────────");
+        int days = getIntInput("Nights (14/30): ") == 30 ? 30 : 14;
+        System.out.println("Choose a room type, or 0 for all rooms.");
+        RoomType type = selectRoomType();
+        System.out.print(roomInventory.buildTapeChart(LocalDate.now(), days, type).render());
+    }
+
+    /**
+     * Lists the rooms free for a stay that match a room type, floor and features.
+     */
+    private void handleSearchRoomsByFeatures() {
+        System.out.println("\n────────────── SEARCH ROOMS ────────────────");
+        LocalDate arrive = getDateInput("Arrival (yyyy-MM-dd): ");
+        LocalDate depart = getDateInput("Departure (yyyy-MM-dd): ", arrive.plusDays(1));
+        System.out.println("Choose a room type, or 0 for any.");
+        RoomType type = selectRoomType();
+        int floor = getIntInput("Floor (0 for any): ");
+        Set<RoomAttribute> attributes = selectRoomAttributes();
+        List<Room> free = roomInventory.searchAvailableRooms(type, attributes, floor == 0 ? null : floor, arrive, depart);
+        if (free.isEmpty()) {
+            System.out.println("No rooms available.");
+        } else {
+            free.forEach(room -> System.out.println(room.getRoomNumber() + " " + room.getRoomType()
+                    + " €" + room.getPricePerNight() + "/night " + room.getAttributes()));
+            System.out.println("Total: " + free.size());
+        }
+    }
+
+    /**
+     * Handles the waitlist: adding a guest for a room type and dates, listing requests and
+     * rooms offered from cancellations, and confirming or withdrawing them.
+     */
+    private void handleWaitlist() {
+        System.out.println("\n────────────── WAITLIST ────────────────");
+        System.out.println("1. Add Guest to Waitlist");
+        System.out.println("2. View Waitlist & Offers");
+        System.out.println("3. Confirm Offer");
+        System.out.println("4. Remove from Waitlist");
+        System.out.println("0. Back");
+        int choice = getIntInput("Choice: ");
+        try {
+            switch (choice) {
+                case 1: {
+                    System.out.print("Guest Email: ");
+                    User user = userManager.getUserByEmail(scanner.nextLine().trim());
+                    if (!(user instanceof Guest)) {
+                        System.out.println("Guest not found.");
+                        return;
+                    }
+                    LocalDate arrive = getDateInput("Arrival (yyyy-MM-dd): ");
+                    LocalDate depart = getDateInput("Departure (yyyy-MM-dd): ", arrive.plusDays(1));
+                    RoomType type = selectRoomType();
+                    if (type == null) return;
+                    Waitlist.Entry entry = roomInventory.addToWaitlist((Guest) user, type, arrive, depart);
+                    System.out.println("Added to waitlist: " + entry);
+                    break;
+                }
+                case 2: {
+                    int waiting = 0;
+                    for (RoomType type : RoomType.values()) {
+                        for (Waitlist.Entry entry : roomInventory.getWaitlist().getEntries(type)) {
+                            System.out.println(entry);
+                            waiting++;
+                        }
+                    }
+                    System.out.println("Waiting: " + waiting);
+                    printBookings(roomInventory.getHeldBookings(), "No rooms offered.");
+                    break;
+                }
+                case 3: {
+                    Booking booking = roomInventory.getHeldBooking(getIntInput("Booking ID: "));
+                    if (booking == null) {
+                        System.out.println("No offer with that booking ID.");
+                        return;
+                    }
+                    roomInventory.confirmBooking(booking);
+                    System.out.println("Booking confirmed! ID: " + booking.getBookingID());
+                    break;
+                }
+                case 4: {
+                    Waitlist.Entry entry = roomInventory.getWaitlist().remove(getIntInput("Waitlist #: "));
+                    System.out.println(entry == null ? "Waitlist entry not found." : "Removed: " + entry);
+                    break;
+                }
+                case 0: break;
+                default: System.out.println("Invalid choice.");
+            }
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Prompts for room features as a comma separated list of numbers.
+     *
+     * @return the chosen features, empty if none
+     */
+    private Set<RoomAttribute> selectRoomAttributes() {
+        RoomAttribute[] all = RoomAttribute.values();
+        StringBuilder menu = new StringBuilder();
+        for (int i = 0; i < all.length; i++) {
+            menu.append(i + 1).append(". ").append(all[i]).append(' ');
+        }
+        System.out.println(menu.toString().trim());
+        System.out.print("Features (e.g. 1,3 or blank for none): ");
+        Set<RoomAttribute> attributes = EnumSet.noneOf(RoomAttribute.class);
+        for (String part : scanner.nextLine().split(",")) {
+            try {
+                int choice = Integer.parseInt(part.trim());
+                if (choice >= 1 && choice <= all.length) {
+                    attributes.add(all[choice - 1]);
+                }
+            } catch (NumberFormatException e) {
+                // blank or not a number: ignored
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Prints the details of each booking, or a message if there are none.
+     *
+     * @param bookings the bookings to print
+     * @param emptyMessage message printed for an empty list
+     */
+    private void printBookings(List<Booking> bookings, String emptyMessage) {
+        if (bookings.isEmpty()) {
+            System.out.println(emptyMessage);
+        } else {
+            bookings.forEach(booking -> booking.showBookingDetails(booking));
+            System.out.println("Total: " + bookings.size());
+        }
+    }
+
     /**
      * Displays bookings for the current guest user.
      */
     private void handleViewMyBookings() {
         System.out.println("\n────────────── MY BOOKINGS ────────────────");
         Guest guest = (Guest) currentUser;
-        List<String> bookings = guest.getBookingHistory();
+        List<Booking> bookings = roomInventory.getBookingsForGuest(guest.getUserId());
         if (bookings.isEmpty()) {
             System.out.println("No bookings found.");
         } else {
-            bookings.forEach(id -> System.out.println("Booking ID: " + id));
+            bookings.forEach(booking -> booking.showBookingDetails(booking));
         }
     }
 
@@ -697,9 +963,20 @@ public class HotelManagementUI {
     private void handleCancelBooking() {
         System.out.println("\n────────────── CANCEL BOOKING ────────────────");
         int id = getIntInput("Booking ID: ");
+        Booking booking = roomInventory.getBooking(id);
+        if (booking == null) {
+            System.out.println("Booking not found.");
+            return;
+        }
+        booking.showBookingDetails(booking);
         System.out.print("Confirm? (yes/no): ");
         if (scanner.nextLine().trim().equalsIgnoreCase("yes")) {
-            System.out.println("Booking " + id + " cancelled.");
+            try {
+                roomInventory.cancelBooking(id);
+                System.out.println("Booking " + id + " cancelled.");
+            } catch (IllegalStateException e) {
+                System.out.println("Error: " + e.getMessage());
+            }
         }
     }
 
@@ -720,7 +997,12 @@ public class HotelManagementUI {
      */
     private void handleViewAllRooms() {
         System.out.println("\n────────────── ALL ROOMS ────────────────");
-        roomInventory.displayAllRooms();
+        if (roomInventory.getTotalRooms() == 0) {
+            System.out.println("No rooms in inventory.");
+            return;
+        }
+        System.out.println("All Rooms in Inventory:");
+        printPages(cursor -> roomInventory.getRoomsPage(cursor, PAGE_SIZE), System.out::println);
     }
 
     /**
@@ -728,14 +1010,15 @@ public class HotelManagementUI {
      */
     private void handleViewAvailableRooms() {
         System.out.println("\n────────────── AVAILABLE ROOMS ────────────────");
-        List<Room> available = roomInventory.getAvailableRooms();
-        if (available.isEmpty()) {
+        Page<Room> first = roomInventory.getAvailableRoomsPage(null, PAGE_SIZE);
+        if (first.getItems().isEmpty()) {
             System.out.println("No rooms available.");
         } else {
             System.out.printf("%-10s %-15s %-10s%n", "Room#", "Type", "Price");
             System.out.println("─".repeat(40));
-            available.forEach(r -> System.out.printf("%-10d %-15s €%-10.2f%n",
-                    r.getRoomNumber(), r.getRoomType(), r.getPricePerNight()));
+            printPages(cursor -> cursor == null ? first : roomInventory.getAvailableRoomsPage(cursor, PAGE_SIZE),
+                    r -> System.out.printf("%-10d %-15s €%-10.2f%n",
+                            r.getRoomNumber(), r.getRoomType(), r.getPricePerNight()));
         }
     }
 
@@ -748,6 +1031,9 @@ public class HotelManagementUI {
         System.out.println("2. Remove Room");
         System.out.println("3. Update Status");
         System.out.println("4. View All");
+        System.out.println("5. Stay Restrictions");
+        System.out.println("6. Set Room Features");
+        System.out.println("7. Optimise Room Assignments");
         System.out.println("0. Back");
         int choice = getIntInput("Choice: ");
         switch (choice) {
@@ -755,6 +1041,61 @@ public class HotelManagementUI {
             case 2: handleRemoveRoom(); break;
             case 3: handleUpdateRoomStatusAdmin(); break;
             case 4: handleViewAllRooms(); break;
+            case 5: handleStayRestrictions(); break;
+            case 6: handleSetRoomFeatures(); break;
+            case 7:
+                int moved = roomInventory.optimizeRoomAssignments();
+                System.out.println("Room assignments optimised: " + moved + " booking(s) moved.");
+                break;
+        }
+    }
+
+    /**
+     * Replaces the features of a room, e.g. after a refit.
+     */
+    private void handleSetRoomFeatures() {
+        System.out.println("\n────────────── ROOM FEATURES ────────────────");
+        int num = getIntInput("Room Number: ");
+        Room room = roomInventory.getRoom(num);
+        if (room == null) {
+            System.out.println("Room " + num + " not found in inventory.");
+            return;
+        }
+        System.out.println("Current features: " + room.getAttributes());
+        room.setAttributes(selectRoomAttributes());
+        System.out.println("Room " + num + " features updated to: " + room.getAttributes());
+    }
+
+    /**
+     * Sets a minimum stay, closed to arrival or closed to departure rule
+     * for a room type over a range of dates.
+     */
+    private void handleStayRestrictions() {
+        System.out.println("\n────────────── STAY RESTRICTIONS ────────────────");
+        RoomType type = selectRoomType();
+        if (type == null) return;
+        LocalDate from = getDateInput("From (yyyy-MM-dd): ");
+        LocalDate to = getDateInput("To, inclusive (yyyy-MM-dd): ", from).plusDays(1);
+        System.out.println("1. Minimum stay 2. Close to arrival 3. Close to departure 4. Clear all");
+        int rule = getIntInput("Rule: ");
+        StayRestrictions restrictions = roomInventory.getStayRestrictions();
+        try {
+            switch (rule) {
+                case 1: restrictions.setMinStay(type, from, to, getIntInput("Nights: ")); break;
+                case 2: restrictions.setClosedToArrival(type, from, to, true); break;
+                case 3: restrictions.setClosedToDeparture(type, from, to, true); break;
+                case 4:
+                    restrictions.setMinStay(type, from, to, 0);
+                    restrictions.setClosedToArrival(type, from, to, false);
+                    restrictions.setClosedToDeparture(type, from, to, false);
+                    break;
+                default:
+                    System.out.println("Invalid choice.");
+                    return;
+            }
+            System.out.println("Restriction saved for " + type + " from " + from + " to " + to.minusDays(1) + ".");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
         }
     }
 
@@ -853,11 +1194,11 @@ public class HotelManagementUI {
      */
     private void handleViewAllUsers() {
         System.out.println("\n────────────── ALL USERS ────────────────");
-        List<User> users = userManager.getAllUsers();
         System.out.printf("%-10s %-20s %-25s %-15s%n", "ID", "Name", "Email", "Role");
         System.out.println("─".repeat(75));
-        users.forEach(u -> System.out.printf("%-10s %-20s %-25s %-15s%n",
-                u.getUserId(), u.getName(), u.getEmail(), u.getRole()));
+        printPages(cursor -> userManager.getUsersPage(cursor, PAGE_SIZE),
+                u -> System.out.printf("%-10s %-20s %-25s %-15s%n",
+                        u.getUserId(), u.getName(), u.getEmail(), u.getRole()));
         System.out.println("\nTotal: " + userManager.getTotalUserCount());
     }
 
@@ -924,9 +1265,9 @@ public class HotelManagementUI {
      */
     private void handleSearchUser() {
         System.out.println("\n── Search User ──");
-        System.out.print("Name: ");
+        System.out.print("Name, email or phone: ");
         String search = scanner.nextLine().trim();
-        List<User> results = userManager.searchUsersByName(search);
+        List<User> results = userManager.searchUsers(search);
         if (results.isEmpty()) {
             System.out.println("No users found.");
         } else {
@@ -989,10 +1330,10 @@ public class HotelManagementUI {
      */
     private void handleViewStaff() {
         System.out.println("\n────────────── STAFF ────────────────");
-        System.out.println("\nReception: " + userManager.getUsersByRole(UserRole.RECEPTION_STAFF).size());
-        System.out.println("Managers: " + userManager.getUsersByRole(UserRole.MANAGER).size());
-        System.out.println("Cleaners: " + userManager.getUsersByRole(UserRole.CLEANER).size());
-        System.out.println("Admins: " + userManager.getUsersByRole(UserRole.ADMIN).size());
+        System.out.println("\nReception: " + userManager.countUsersByRole(UserRole.RECEPTION_STAFF));
+        System.out.println("Managers: " + userManager.countUsersByRole(UserRole.MANAGER));
+        System.out.println("Cleaners: " + userManager.countUsersByRole(UserRole.CLEANER));
+        System.out.println("Admins: " + userManager.countUsersByRole(UserRole.ADMIN));
     }
 
     // PAYMENT OPERATIONS
@@ -1006,6 +1347,8 @@ public class HotelManagementUI {
         System.out.println("3. Refund");
         System.out.println("4. Stats");
         System.out.println("5. Invoice");
+        System.out.println("6. Bulk Export Invoices");
+        System.out.println("7. Search Invoices");
         System.out.println("0. Back");
         int choice = getIntInput("Choice: ");
         switch (choice) {
@@ -1014,6 +1357,8 @@ public class HotelManagementUI {
             case 3: handleProcessRefund(); break;
             case 4: handlePaymentStatistics(); break;
             case 5: handleViewInvoice(); break;
+            case 6: handleBulkInvoiceExport(); break;
+            case 7: handleSearchInvoices(); break;
         }
     }
 
@@ -1022,14 +1367,15 @@ public class HotelManagementUI {
      */
     private void handleViewAllPayments() {
         System.out.println("\n────────────── ALL PAYMENTS ────────────────");
-        List<Payment> payments = paymentManager.getAllPayments();
-        if (payments.isEmpty()) {
+        Page<Payment> first = paymentManager.getPaymentsPage(null, PAGE_SIZE);
+        if (first.getItems().isEmpty()) {
             System.out.println("No payments.");
         } else {
             System.out.printf("%-12s %-15s €%-10s %-12s%n", "ID", "Guest", "Amount", "Status");
             System.out.println("─".repeat(55));
-            payments.forEach(p -> System.out.printf("%-12s %-15s €%-10.2f %-12s%n",
-                    p.getPaymentId(), p.getGuestName(), p.getAmount(), p.getPaymentStatus()));
+            printPages(cursor -> cursor == null ? first : paymentManager.getPaymentsPage(cursor, PAGE_SIZE),
+                    p -> System.out.printf("%-12s %-15s €%-10.2f %-12s%n",
+                            p.getPaymentId(), p.getGuestName(), p.getAmount(), p.getPaymentStatus()));
         }
     }
 
@@ -1074,6 +1420,55 @@ public class HotelManagementUI {
         paymentManager.displayInvoice(num);
     }
 
+    /**
+     * Renders all invoices in a date range to files, e.g. for the month end reprint.
+     */
+    private void handleBulkInvoiceExport() {
+        System.out.println("\n── Bulk Export Invoices ──");
+        try {
+            LocalDate from = getDateInput("From (yyyy-MM-dd): ", null);
+            LocalDate to = getDateInput("To (yyyy-MM-dd): ", from);
+            System.out.print("Output directory: ");
+            Path directory = Paths.get(scanner.nextLine().trim());
+            System.out.println("1. One file per invoice 2. Single file");
+            int mode = getIntInput("Output: ");
+
+            BulkInvoiceRenderer renderer = new BulkInvoiceRenderer(paymentManager);
+            BulkInvoiceRenderer.Result result;
+            if (mode == 2) {
+                Files.createDirectories(directory);
+                result = renderer.renderToFile(from, to, directory.resolve("invoices-" + from + "-" + to + ".txt"));
+            } else {
+                result = renderer.renderToDirectory(from, to, directory);
+            }
+            System.out.println(result);
+        } catch (Exception e) {
+            System.out.println("Export failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the invoices of a guest issued in a date range.
+     */
+    private void handleSearchInvoices() {
+        System.out.println("\n── Search Invoices ──");
+        try {
+            System.out.print("Guest name: ");
+            String name = scanner.nextLine().trim();
+            LocalDate from = getDateInput("From (yyyy-MM-dd): ", null);
+            LocalDate to = getDateInput("To (yyyy-MM-dd): ", from);
+
+            List<Invoice> found = paymentManager.getInvoicesForGuestName(name, from, to);
+            if (found.isEmpty()) {
+                System.out.println("No invoices found.");
+                return;
+            }
+            found.forEach(i -> System.out.println(i.generateSummary()));
+        } catch (Exception e) {
+            System.out.println("Search failed: " + e.getMessage());
+        }
+    }
+
     // REPORTS & ANALYTICS
     /**
      * Handles system reports menu.
@@ -1084,6 +1479,8 @@ public class HotelManagementUI {
         System.out.println("2. Revenue");
         System.out.println("3. Guests");
         System.out.println("4. Booking");
+        System.out.println("5. Availability (12 months)");
+        System.out.println("6. Occupancy by Dates");
         System.out.println("0. Back");
         int choice = getIntInput("Choice: ");
         switch (choice) {
@@ -1091,27 +1488,79 @@ public class HotelManagementUI {
             case 2: handleRevenueReport(); break;
             case 3: handleGuestStatistics(); break;
             case 4: handleBookingStatistics(); break;
+            case 5: handleAvailabilityReport(); break;
+            case 6: handleOccupancyByDates(); break;
+        }
+    }
+
+    /**
+     * Displays, for each room type and each of the coming 12 months, the fewest free rooms
+     * on any night of the month, and the free room-nights over the year.
+     */
+    private void handleAvailabilityReport() {
+        System.out.println("\n────────────── AVAILABILITY (fewest free rooms per month) ────────────────");
+        AvailabilityHeatmap heatmap = roomInventory.getAvailabilityHeatmap();
+        LocalDate start = heatmap.getStart();
+        LocalDate end = start.plusDays(heatmap.getDays());
+        StringBuilder header = new StringBuilder(String.format("%-13s", "Type"));
+        for (int m = 0; m < 12; m++) {
+            header.append(String.format("%5s", start.plusMonths(m).getMonth().toString().substring(0, 3)));
+        }
+        System.out.println(header.append("  Free room-nights"));
+        for (RoomType type : RoomType.values()) {
+            StringBuilder row = new StringBuilder(String.format("%-13s", type));
+            for (int m = 0; m < 12; m++) {
+                LocalDate monthEnd = m == 11 ? end : start.plusMonths(m + 1);
+                row.append(String.format("%5d", heatmap.getMinFreeRooms(type, start.plusMonths(m), monthEnd)));
+            }
+            System.out.println(row.append(String.format("  %16d", heatmap.getFreeRoomNights(type, start, end))));
         }
     }
 
     /**
-     * Displays room occupancy report.
+     * Displays room occupancy report for tonight, from the booking calendar.
      */
     private void handleRoomOccupancyReport() {
+        LocalDate today = LocalDate.now();
+        OccupancyReport report = roomInventory.getOccupancyReport(today, today.plusDays(1));
+        long total = report.getRoomNightsAvailable();
+        long booked = report.getRoomNightsSold();
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║     ROOM OCCUPANCY REPORT              ║");
         System.out.println("╠════════════════════════════════════════╣");
-        int total = roomInventory.getTotalRooms();
-        int booked = roomInventory.getBookedRooms();
-        int available = total - booked;
-        double rate = total > 0 ? (booked * 100.0 / total) : 0;
+        System.out.printf("║  Tonight:    %-10s                ║%n", today);
         System.out.printf("║  Total:      %3d                       ║%n", total);
         System.out.printf("║  Occupied:   %3d                       ║%n", booked);
-        System.out.printf("║  Available:  %3d                       ║%n", available);
-        System.out.printf("║  Rate:       %5.1f%%                    ║%n", rate);
+        System.out.printf("║  Available:  %3d                       ║%n", total - booked);
+        System.out.printf("║  Rate:       %5.1f%%                    ║%n", report.getOccupancy() * 100);
         System.out.println("╚════════════════════════════════════════╝");
     }
 
+    /**
+     * Displays occupancy, room-nights sold, ADR and RevPAR per room type for a date range.
+     */
+    private void handleOccupancyByDates() {
+        LocalDate from = getDateInput("From (yyyy-MM-dd): ", null);
+        LocalDate to = getDateInput("To, inclusive (yyyy-MM-dd): ", from);
+        OccupancyReport report = roomInventory.getOccupancyReport(from, to.plusDays(1));
+        System.out.println("\n────────────── OCCUPANCY " + from + " TO " + to
+                + " (" + report.getNights() + " nights) ────────────────");
+        System.out.printf("%-13s %6s %12s %10s %10s %10s%n", "Type", "Rooms", "Nights sold", "Occupancy", "ADR", "RevPAR");
+        System.out.println("─".repeat(66));
+        for (RoomType type : RoomType.values()) {
+            if (report.getRooms(type) > 0) {
+                System.out.printf("%-13s %6d %12d %9.1f%% €%9.2f €%9.2f%n", type, report.getRooms(type),
+                        report.getRoomNightsSold(type), report.getOccupancy(type) * 100,
+                        report.getAverageDailyRate(type), report.getRevPar(type));
+            }
+        }
+        System.out.println("─".repeat(66));
+        System.out.printf("%-13s %6d %12d %9.1f%% €%9.2f €%9.2f%n", "Total",
+                report.getRoomNightsAvailable() / report.getNights(), report.getRoomNightsSold(),
+                report.getOccupancy() * 100, report.getAverageDailyRate(), report.getRevPar());
+        System.out.printf("Room revenue: €%.2f%n", report.getRoomRevenue());
+    }
+
     /**
      * Displays revenue report.
      */
@@ -1119,8 +1568,9 @@ public class HotelManagementUI {
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║       REVENUE REPORT                   ║");
         System.out.println("╠════════════════════════════════════════╣");
-        double revenue = paymentManager.getTotalRevenue();
-        double refunds = paymentManager.getTotalRefunds();
+        PaymentSnapshot snapshot = paymentManager.snapshot();
+        double revenue = snapshot.getTotalRevenue();
+        double refunds = snapshot.getTotalRefunds();
         double net = revenue - refunds;
         System.out.printf("║  Revenue:    €%8.2f                 ║%n", revenue);
         System.out.printf("║  Refunds:    €%8.2f                 ║%n", refunds);
@@ -1135,7 +1585,7 @@ public class HotelManagementUI {
         System.out.println("\n╔════════════════════════════════════════╗");
         System.out.println("║      GUEST STATISTICS                  ║");
         System.out.println("╠════════════════════════════════════════╣");
-        int guests = userManager.getUsersByRole(UserRole.GUEST).size();
+        int guests = userManager.countUsersByRole(UserRole.GUEST);
         System.out.printf("║  Total Guests: %4d                   ║%n", guests);
         System.out.println("╚════════════════════════════════════════╝");
     }
@@ -1192,6 +1642,10 @@ public class HotelManagementUI {
     public void logout() {
         if (currentUser != null) {
             System.out.println("\nLogged out: " + currentUser.getName());
+            if (sessionToken != null) {
+                userManager.logout(sessionToken);
+                sessionToken = null;
+            }
             currentUser = null;
         } else {
             System.out.println("\nNo user currently logged in.");
@@ -1207,6 +1661,31 @@ public class HotelManagementUI {
         System.out.println("╚════════════════════════════════════════════════════════════╝");
     }
 
+    /**
+     * Prints a list view a page at a time, asking before each page after the first,
+     * so a long list is never built or printed in one go.
+     *
+     * @param fetch gets the page after a cursor, null for the first
+     * @param printRow prints one item
+     * @return the number of items printed
+     */
+    private <T> int printPages(Function<String, Page<T>> fetch, Consumer<T> printRow) {
+        int printed = 0;
+        Page<T> page = fetch.apply(null);
+        while (true) {
+            page.getItems().forEach(printRow);
+            printed += page.getItems().size();
+            if (!page.hasNext()) {
+                return printed;
+            }
+            System.out.print("Enter for more, q to stop: ");
+            if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                return printed;
+            }
+            page = fetch.apply(page.getNextCursor());
+        }
+    }
+
     /**
      * Prompts for and validates integer input.
      *
@@ -1342,6 +1821,7 @@ public class HotelManagementUI {
      */
     public void setCurrentUser(User user) {
         this.currentUser = user;
+        this.sessionToken = null;
     }
 
     /**
@@ -0,0 +1,122 @@
+package com.hotel;
+
+import com.hotel.Model.*;
+import com.hotel.Service.AvailabilityHeatmap;
+import com.hotel.Service.RoomInventoryImpl;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AvailabilityHeatmap and its upkeep by RoomInventoryImpl.
+ */
+class AvailabilityHeatmapTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Range sums and minimums should match a night by night count")
+    void testMatchesBruteForce() {
+        AvailabilityHeatmap heatmap = new AvailabilityHeatmap(START, 365);
+        int[] free = new int[365];
+        Random random = new Random(7);
+        for (int r = 0; r < 20; r++) {
+            heatmap.addRoom(RoomType.DOUBLE, new BitSet());
+        }
+        Arrays.fill(free, 20);
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(365);
+            int to = Math.min(365, from + 1 + random.nextInt(14));
+            boolean book = random.nextBoolean();
+            if (book) {
+                heatmap.book(RoomType.DOUBLE, START.plusDays(from), START.plusDays(to));
+            } else {
+                heatmap.release(RoomType.DOUBLE, START.plusDays(from), START.plusDays(to));
+            }
+            for (int d = from; d < to; d++) {
+                free[d] += book ? -1 : 1;
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(365);
+            int to = from + 1 + random.nextInt(365 - from);
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            for (int d = from; d < to; d++) {
+                sum += free[d];
+                min = Math.min(min, free[d]);
+            }
+            assertEquals(sum, heatmap.getFreeRoomNights(RoomType.DOUBLE, START.plusDays(from), START.plusDays(to)));
+            assertEquals(min, heatmap.getMinFreeRooms(RoomType.DOUBLE, START.plusDays(from), START.plusDays(to)));
+        }
+        assertEquals(free[100], heatmap.getFreeRooms(RoomType.DOUBLE, START.plusDays(100)));
+        assertEquals(0, heatmap.getFreeRoomNights(RoomType.SINGLE, START, START.plusDays(365)));
+    }
+
+    @Test
+    @DisplayName("Nights outside the window should be ignored")
+    void testClipsToWindow() {
+        AvailabilityHeatmap heatmap = new AvailabilityHeatmap(START, 10);
+        BitSet booked = new BitSet();
+        booked.set(8, 12);
+        heatmap.addRoom(RoomType.SUITE, booked);
+        heatmap.book(RoomType.SUITE, START.minusDays(5), START.plusDays(2));
+
+        assertEquals(0, heatmap.getFreeRooms(RoomType.SUITE, START.plusDays(1)));
+        assertEquals(1, heatmap.getFreeRooms(RoomType.SUITE, START.plusDays(2)));
+        assertEquals(6, heatmap.getFreeRoomNights(RoomType.SUITE, START.minusDays(30), START.plusDays(30)));
+        assertEquals(0, heatmap.getFreeRooms(RoomType.SUITE, START.plusDays(20)));
+        assertThrows(IllegalArgumentException.class, () -> new AvailabilityHeatmap(START, 0));
+    }
+
+    @Test
+    @DisplayName("Inventory should keep the heatmap current as bookings and rooms change")
+    void testInventoryUpkeep() {
+        LocalDate today = LocalDate.now();
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        inventory.addRoom(new Room(101, RoomType.SINGLE, true, 100));
+        inventory.addRoom(new Room(102, RoomType.SINGLE, true, 100));
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+        Booking early = new Booking(today.plusDays(1), today.plusDays(4), guest);
+        inventory.checkRoomAvailability(early, RoomType.SINGLE);
+        inventory.confirmBooking(early);
+
+        AvailabilityHeatmap heatmap = inventory.getAvailabilityHeatmap();
+        assertEquals(2, heatmap.getFreeRooms(RoomType.SINGLE, today));
+        assertEquals(1, heatmap.getFreeRooms(RoomType.SINGLE, today.plusDays(1)));
+
+        Booking late = new Booking(today.plusDays(2), today.plusDays(6), guest);
+        inventory.checkRoomAvailability(late, RoomType.SINGLE);
+        inventory.confirmBooking(late);
+        assertEquals(0, heatmap.getMinFreeRooms(RoomType.SINGLE, today, today.plusDays(7)));
+
+        inventory.addRoom(new Room(103, RoomType.SINGLE, true, 100));
+        assertEquals(1, heatmap.getFreeRooms(RoomType.SINGLE, today.plusDays(3)));
+
+        inventory.cancelBooking(early.getBookingID());
+        assertEquals(2, heatmap.getFreeRooms(RoomType.SINGLE, today.plusDays(3)));
+        inventory.removeRoom(103);
+        assertEquals(1, heatmap.getFreeRooms(RoomType.SINGLE, today.plusDays(3)));
+        assertEquals(2, heatmap.getFreeRooms(RoomType.SINGLE, today.plusDays(1)));
+        assertSame(heatmap, inventory.getAvailabilityHeatmap());
+    }
+}
@@ -0,0 +1,87 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.RoomInventoryImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Counts bytes allocated per availability question: the old throwaway Guest and Booking
+ * through checkRoomAvailability, against RoomInventoryImpl.probeAvailability.
+ * Needs a HotSpot JVM for per-thread allocation counters.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.AvailabilityProbeBenchmark [rooms]
+ */
+public class AvailabilityProbeBenchmark {
+
+    private static final int PROBES = 1_000_000;
+    private static final int THROWAWAY_PROBES = 2_000;
+
+    public static void main(String[] args) {
+        // The throwaway Guest hashes a password; keep that cheap, LoginBenchmark measures hashing
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // the old path prints each room
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        for (int r = 0; r < roomCount; r++) {
+            Room room = new Room(100 + r, RoomType.values()[r % RoomType.values().length], true, 100);
+            inventory.addRoom(room);
+            for (int day = 0; day < 365; day += 2 + random.nextInt(5)) {
+                room.getBookingRegister().addDatesToRegister(
+                        new Booking(today.plusDays(day), today.plusDays(day + 1 + random.nextInt(2)), guest, room));
+            }
+        }
+        LocalDate[] arrivals = new LocalDate[64];
+        for (int i = 0; i < arrivals.length; i++) {
+            arrivals[i] = today.plusDays(random.nextInt(350));
+        }
+        LocalDate[] departures = new LocalDate[arrivals.length];
+        for (int i = 0; i < arrivals.length; i++) {
+            departures[i] = arrivals[i].plusDays(1 + random.nextInt(4));
+        }
+
+        long before = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < THROWAWAY_PROBES; i++) {
+            int q = i & (arrivals.length - 1);
+            Booking probe = new Booking(arrivals[q], departures[q], new Guest("T", "Temp", "t@t.com", "0", "t"));
+            inventory.checkRoomAvailability(probe, RoomType.DOUBLE);
+        }
+        double throwawayNanos = (System.nanoTime() - start) / (double) THROWAWAY_PROBES;
+        long throwawayBytes = (threads.getThreadAllocatedBytes(thread) - before) / THROWAWAY_PROBES;
+        System.setOut(out);
+
+        int found = 0;
+        for (int i = 0; i < PROBES / 10; i++) {  // warm up so the loop is compiled before counting
+            int q = i & (arrivals.length - 1);
+            found += inventory.probeAvailability(RoomType.DOUBLE, arrivals[q], departures[q]) != null ? 1 : 0;
+        }
+        before = threads.getThreadAllocatedBytes(thread);
+        start = System.nanoTime();
+        for (int i = 0; i < PROBES; i++) {
+            int q = i & (arrivals.length - 1);
+            found += inventory.probeAvailability(RoomType.DOUBLE, arrivals[q], departures[q]) != null ? 1 : 0;
+        }
+        double probeNanos = (System.nanoTime() - start) / (double) PROBES;
+        long probeBytes = threads.getThreadAllocatedBytes(thread) - before;
+
+        System.out.printf("throwaway booking: %,10.0f ns/probe %,8d bytes/probe%n", throwawayNanos, throwawayBytes);
+        System.out.printf("probeAvailability: %,10.0f ns/probe %,8.3f bytes/probe (%d found)%n",
+                probeNanos, probeBytes / (double) PROBES, found);
+    }
+}
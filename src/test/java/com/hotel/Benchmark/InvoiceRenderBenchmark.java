@@ -0,0 +1,141 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Compares the precompiled, cached invoice renderer with the previous
+ * String.format based renderer.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.InvoiceRenderBenchmark
+ */
+public class InvoiceRenderBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    public static void main(String[] args) {
+        Guest guest = new Guest("G001", "Father Ted", "ted@craggy.ie", "0871234571", "guest123");
+        Room room = new Room(201, RoomType.DOUBLE, true, 180.0);
+        Booking booking = new Booking(LocalDate.now(), LocalDate.now().plusDays(3), guest, room);
+        Payment payment = new Payment(booking.getBookingID(), 540.0, PaymentMethod.CREDIT_CARD, guest.getName());
+        payment.processPayment();
+        Invoice invoice = new Invoice(booking, payment);
+        invoice.addAdditionalCharge("Spa Treatment", 50.0);
+        invoice.addAdditionalCharge("Dining", 75.0);
+
+        if (!legacyRender(invoice).equals(invoice.generateFormattedInvoice())) {
+            throw new IllegalStateException("Renderers produce different output");
+        }
+
+        run("String.format renderer", invoice, true);
+        run("compiled renderer (new invoice)", invoice, false);
+
+        long start = System.nanoTime();
+        int length = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            length += invoice.generateFormattedInvoice().length();
+        }
+        report("compiled renderer (cached)", System.nanoTime() - start, length);
+    }
+
+    private static void run(String name, Invoice invoice, boolean legacy) {
+        int length = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            length += render(invoice, legacy).length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            length += render(invoice, legacy).length();
+        }
+        report(name, System.nanoTime() - start, length);
+    }
+
+    private static String render(Invoice invoice, boolean legacy) {
+        if (legacy) {
+            return legacyRender(invoice);
+        }
+        // A fresh invoice has an empty cache, so every call below is a full render
+        Invoice fresh = new Invoice(invoice.getBooking(), invoice.getPayment());
+        fresh.addAdditionalCharge("Spa Treatment", 50.0);
+        fresh.addAdditionalCharge("Dining", 75.0);
+        return fresh.generateFormattedInvoice();
+    }
+
+    private static void report(String name, long nanos, int checksum) {
+        System.out.printf("%-32s %8.2f us/invoice  (checksum %d)%n",
+                name, nanos / 1000.0 / ITERATIONS, checksum);
+    }
+
+    /**
+     * The renderer as it was before the layout was precompiled.
+     */
+    static String legacyRender(Invoice inv) {
+        StringBuilder invoice = new StringBuilder();
+        DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd MMM yyyy");
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm");
+        Booking booking = inv.getBooking();
+        Payment payment = inv.getPayment();
+
+        invoice.append("\n");
+        invoice.append("═══════════════════════════════════════════════════════════\n");
+        invoice.append("                    INVOICE                                 \n");
+        invoice.append("═══════════════════════════════════════════════════════════\n");
+        invoice.append("\n");
+
+        invoice.append(String.format("%-30s %28s\n", "The Group 6 Hotel", "Invoice #: " + inv.getInvoiceNumber()));
+        invoice.append(String.format("%-30s %28s\n", "Shore Road, Killybegs, Co. Donegal, F94 DV52, Ireland",
+                "Date: " + inv.getInvoiceDate().format(dateFormat)));
+        invoice.append(String.format("%-30s %28s\n", "Tel: " + "+353 74 918 6000",
+                "Time: " + inv.getInvoiceDate().format(timeFormat)));
+        invoice.append(String.format("%-30s\n", "Email: " + "info@groupsixhotel.com"));
+        invoice.append("\n");
+        invoice.append("───────────────────────────────────────────────────────────\n");
+
+        invoice.append("BILL TO:\n");
+        invoice.append(String.format("Guest Name:    %s\n", booking.getBookingGuest().getName()));
+        invoice.append(String.format("Room Number:   %d\n", booking.getBookingRoom().getRoomNumber()));
+        invoice.append(String.format("Check-in:      %s\n", booking.getArriveDate().format(dateFormat)));
+        invoice.append(String.format("Check-out:     %s\n", booking.getDepartDate().format(dateFormat)));
+        invoice.append(String.format("Booking ID:    %d\n", booking.getBookingID()));
+        invoice.append("\n");
+        invoice.append("───────────────────────────────────────────────────────────\n");
+
+        invoice.append(String.format("%-35s %8s %10s %10s\n",
+                "DESCRIPTION", "QTY", "RATE", "AMOUNT"));
+        invoice.append("───────────────────────────────────────────────────────────\n");
+
+        for (Invoice.InvoiceItem item : inv.getItems()) {
+            String description = item.getDescription();
+            if (description.length() > 35) {
+                description = description.substring(0, 32) + "...";
+            }
+            invoice.append(String.format("%-35s %8d €%9.2f €%9.2f\n",
+                    description, item.getQuantity(), item.getUnitPrice(), item.getTotalPrice()));
+        }
+
+        invoice.append("───────────────────────────────────────────────────────────\n");
+
+        invoice.append(String.format("%55s €%9.2f\n", "Subtotal:", inv.getSubtotal()));
+        invoice.append(String.format("%55s €%9.2f\n",
+                String.format("VAT (%.0f%%):", inv.getTaxRate() * 100), inv.getTaxAmount()));
+        invoice.append("═══════════════════════════════════════════════════════════\n");
+        invoice.append(String.format("%55s €%9.2f\n", "TOTAL:", inv.getTotalAmount()));
+        invoice.append("═══════════════════════════════════════════════════════════\n");
+        invoice.append("\n");
+
+        invoice.append("PAYMENT DETAILS:\n");
+        invoice.append(String.format("Payment Method: %s\n", payment.getPaymentMethod()));
+        invoice.append(String.format("Payment Status: %s\n", payment.getPaymentStatus()));
+        invoice.append(String.format("Receipt Number: %s\n", payment.getReceiptNumber()));
+        invoice.append("\n");
+
+        invoice.append("───────────────────────────────────────────────────────────\n");
+        invoice.append("           Thank you for staying with us!                  \n");
+        invoice.append("         We hope to see you again soon.                    \n");
+        invoice.append("═══════════════════════════════════════════════════════════\n");
+
+        return invoice.toString();
+    }
+}
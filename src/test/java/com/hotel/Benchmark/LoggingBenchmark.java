@@ -0,0 +1,77 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Logging.Appender;
+import com.hotel.Logging.AsyncAppender;
+import com.hotel.Logging.ConsoleAppender;
+import com.hotel.Logging.Level;
+import com.hotel.Logging.Log;
+import com.hotel.Model.Booking;
+import com.hotel.Model.Guest;
+import com.hotel.Model.PaymentMethod;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.PaymentManager;
+import com.hotel.Service.RoomInventoryImpl;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+/**
+ * Times a bulk load of rooms, bookings and payments with the services' log output written
+ * synchronously to the console, through the async appender, and with debug messages off.
+ * The console is stood in for by an unbuffered file stream, as a terminal or pipe would be.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.LoggingBenchmark [rooms]
+ */
+public class LoggingBenchmark {
+
+    private static final int BOOKINGS_PER_ROOM = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        PrintStream out = System.out;
+        File file = File.createTempFile("hotel-log", ".txt");
+        file.deleteOnExit();
+        System.setOut(new PrintStream(new FileOutputStream(file), true));
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+
+        load(roomCount, guest);  // warm up
+        long sync = load(roomCount, guest);
+        Appender console = Log.setAppender(new AsyncAppender(new ConsoleAppender()));
+        long async = load(roomCount, guest);
+        long start = System.nanoTime();
+        Log.flush();
+        long drain = System.nanoTime() - start;
+        Log.setAppender(console);
+        Log.setLevel(Level.INFO);
+        long info = load(roomCount, guest);
+
+        System.setOut(out);
+        System.out.printf("synchronous console, DEBUG: %,8d ms%n", sync / 1_000_000);
+        System.out.printf("async appender, DEBUG:      %,8d ms (writer caught up %,d ms later)%n",
+                async / 1_000_000, drain / 1_000_000);
+        System.out.printf("synchronous console, INFO:  %,8d ms%n", info / 1_000_000);
+    }
+
+    private static long load(int roomCount, Guest guest) {
+        long start = System.nanoTime();
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        PaymentManager payments = new PaymentManager();
+        LocalDate today = LocalDate.now();
+        for (int r = 0; r < roomCount; r++) {
+            Room room = new Room(1000 + r, RoomType.DOUBLE, true, 120);
+            inventory.addRoom(room);
+            for (int b = 0; b < BOOKINGS_PER_ROOM; b++) {
+                Booking booking = new Booking(today.plusDays(b * 3L), today.plusDays(b * 3L + 2), guest, room);
+                inventory.confirmBooking(booking);
+                payments.processPayment(booking, 240, PaymentMethod.CASH, guest.getName());
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Guest;
+import com.hotel.Service.UserManager;
+
+/**
+ * Measures password logins per second on one core at the configured hashing cost,
+ * against validating an existing session token.
+ * Run with: java -cp target/classes:target/test-classes [-Dhotel.password.iterations=N] com.hotel.Benchmark.LoginBenchmark
+ */
+public class LoginBenchmark {
+
+    private static final int SESSION_CHECKS = 1_000_000;
+
+    public static void main(String[] args) {
+        UserManager manager = new UserManager();
+        manager.addUser(new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "secret"));
+        String token = manager.login("ted@craggy.ie", "secret"); // warm up the key factory
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        long start = System.nanoTime();
+        int logins = 0;
+        while (System.nanoTime() < deadline) {
+            if (manager.login("ted@craggy.ie", "secret") == null) {
+                throw new IllegalStateException("Login failed");
+            }
+            logins++;
+        }
+        double loginSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("password login:     %,10.1f logins/s per core (%.1f ms each, %s iterations)%n",
+                logins / loginSeconds, loginSeconds * 1000 / logins,
+                System.getProperty("hotel.password.iterations", "default"));
+
+        for (int i = 0; i < SESSION_CHECKS / 10; i++) {
+            manager.getSessionUser(token);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < SESSION_CHECKS; i++) {
+            if (manager.getSessionUser(token) == null) {
+                throw new IllegalStateException("Session lost");
+            }
+        }
+        double sessionSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("session validation: %,10.0f checks/s per core (%.2f µs each)%n",
+                SESSION_CHECKS / sessionSeconds, sessionSeconds * 1e6 / SESSION_CHECKS);
+    }
+}
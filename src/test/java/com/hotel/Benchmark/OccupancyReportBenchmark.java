@@ -0,0 +1,68 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.InventorySnapshot;
+import com.hotel.Service.OccupancyReport;
+import com.hotel.Service.RoomInventoryImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times a full-year occupancy report across a property booked about three nights in four.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.OccupancyReportBenchmark [rooms]
+ */
+public class OccupancyReportBenchmark {
+
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // rooms and bookings print as they are added
+
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        int bookings = 0;
+        for (int r = 0; r < roomCount; r++) {
+            Room room = new Room(1000 + r, RoomType.values()[r % RoomType.values().length], true, 100 + r % 7 * 40);
+            inventory.addRoom(room);
+            for (int day = r % 4; day < 365; day += 4) {  // three nights, one free
+                inventory.confirmBooking(new Booking(start.plusDays(day), start.plusDays(day + 3L), guest, room));
+                bookings++;
+            }
+        }
+        System.setOut(out);
+
+        InventorySnapshot snapshot = inventory.snapshot();
+        LocalDate end = start.plusDays(365);
+        OccupancyReport report = null;
+        for (int i = 0; i < ROUNDS; i++) {  // warm up
+            report = OccupancyReport.compute(snapshot, start, end);
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            report = OccupancyReport.compute(snapshot, start, end);
+        }
+        long perReport = (System.nanoTime() - begin) / ROUNDS;
+        begin = System.nanoTime();
+        inventory.getOccupancyReport(start, end);
+        long withSnapshot = System.nanoTime() - begin;
+
+        System.out.printf("%,d rooms, %,d bookings, %d worker threads%n", roomCount, bookings,
+                ForkJoinPool.getCommonPoolParallelism());
+        System.out.printf("full year report:             %,8.2f ms%n", perReport / 1e6);
+        System.out.printf("including taking a snapshot:  %,8.2f ms%n", withSnapshot / 1e6);
+        System.out.printf("occupancy %.1f%%, ADR %.2f, RevPAR %.2f%n", report.getOccupancy() * 100,
+                report.getAverageDailyRate(), report.getRevPar());
+    }
+}
@@ -0,0 +1,98 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Payment;
+import com.hotel.Model.PaymentMethod;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.Page;
+import com.hotel.Service.PaymentManager;
+import com.hotel.Service.RoomInventoryImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+/**
+ * Times listing payments and open rooms in full against fetching one page from the middle
+ * of the listing, as a list view does when the user pages on.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.PaginationBenchmark [payments] [rooms]
+ */
+public class PaginationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int paymentCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int roomCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // payments and rooms print as they are added
+
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+        Room room = new Room(101, RoomType.SINGLE, true, 120);
+        PaymentManager payments = new PaymentManager();
+        LocalDate arrive = LocalDate.now().plusDays(1);
+        for (int i = 0; i < paymentCount; i++) {
+            payments.processPayment(new Booking(arrive, arrive.plusDays(2), guest, room), 240,
+                    PaymentMethod.CASH, guest.getName());
+        }
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        for (int r = 0; r < roomCount; r++) {
+            inventory.addRoom(new Room(1000 + r, RoomType.DOUBLE, r % 4 != 0, 180));
+        }
+        String paymentCursor = pageAt(payments, paymentCount / 2);
+        String roomCursor = roomPageAt(inventory, roomCount / 2);
+        System.setOut(out);
+
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += payments.getAllPayments().size();
+        }
+        long allPayments = (System.nanoTime() - start) / ROUNDS;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += payments.getPaymentsPage(paymentCursor, PAGE_SIZE).getItems().size();
+        }
+        long paymentPage = (System.nanoTime() - start) / ROUNDS;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += inventory.getAvailableRooms().size();
+        }
+        long allRooms = (System.nanoTime() - start) / ROUNDS;
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += inventory.getAvailableRoomsPage(roomCursor, PAGE_SIZE).getItems().size();
+        }
+        long roomPage = (System.nanoTime() - start) / ROUNDS;
+
+        System.out.printf("%,d payments, full list:   %,10.1f us%n", paymentCount, allPayments / 1e3);
+        System.out.printf("%,d payments, one page:    %,10.1f us%n", paymentCount, paymentPage / 1e3);
+        System.out.printf("%,d rooms, all open rooms: %,10.1f us%n", roomCount, allRooms / 1e3);
+        System.out.printf("%,d rooms, one page:       %,10.1f us%n", roomCount, roomPage / 1e3);
+        if (sink == 0) {
+            throw new IllegalStateException("nothing listed");
+        }
+    }
+
+    private static String pageAt(PaymentManager payments, int skip) {
+        Page<Payment> page = payments.getPaymentsPage(null, Page.MAX_SIZE);
+        for (int seen = page.getItems().size(); seen < skip; seen += page.getItems().size()) {
+            page = payments.getPaymentsPage(page.getNextCursor(), Page.MAX_SIZE);
+        }
+        return page.getNextCursor();
+    }
+
+    private static String roomPageAt(RoomInventoryImpl inventory, int skip) {
+        Page<Room> page = inventory.getAvailableRoomsPage(null, Page.MAX_SIZE);
+        for (int seen = page.getItems().size(); seen < skip; seen += page.getItems().size()) {
+            page = inventory.getAvailableRoomsPage(page.getNextCursor(), Page.MAX_SIZE);
+        }
+        return page.getNextCursor();
+    }
+}
@@ -0,0 +1,103 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.RoomAssignmentOptimizer;
+import com.hotel.Service.RoomInventoryImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures packing a 90 night horizon of one room type after rooms were handed out in
+ * scattered order, then packing again after a single cancellation, and counts the short
+ * free holes and long free windows before and after.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.RoomAssignmentBenchmark [rooms]
+ */
+public class RoomAssignmentBenchmark {
+
+    private static final int HORIZON = RoomAssignmentOptimizer.DEFAULT_HORIZON_DAYS;
+
+    public static void main(String[] args) {
+        // Cheap hashes for the guest; LoginBenchmark measures hashing
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        Random random = new Random(42);
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+        LocalDate today = LocalDate.now();
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // addRoom and confirmBooking print
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        for (int r = 0; r < roomCount; r++) {
+            inventory.addRoom(new Room(100 + r, RoomType.DOUBLE, true, 180));
+        }
+        List<Room> rooms = inventory.searchRoomByType(RoomType.DOUBLE);
+        int bookings = 0;
+        Booking last = null;
+        for (int attempt = 0; attempt < roomCount * 30; attempt++) {
+            LocalDate arrive = today.plusDays(3 + random.nextInt(HORIZON - 10));
+            LocalDate depart = arrive.plusDays(1 + random.nextInt(5));
+            int first = random.nextInt(roomCount);  // scattered, as wear order spreads stays over rooms
+            for (int i = 0; i < roomCount; i++) {
+                Room room = rooms.get((first + i) % roomCount);
+                if (!room.getBookingRegister().isBooked(arrive, depart)) {
+                    last = new Booking(arrive, depart, guest, room);
+                    inventory.confirmBooking(last);
+                    bookings++;
+                    break;
+                }
+            }
+        }
+        System.setOut(out);
+        System.out.printf("%,d rooms, %,d bookings over %d nights%n", roomCount, bookings, HORIZON);
+        report("before", rooms, today);
+
+        long start = System.nanoTime();
+        int moved = inventory.optimizeRoomAssignments(today);
+        double fullMillis = (System.nanoTime() - start) / 1e6;
+        report("after", rooms, today);
+        System.out.printf("full pack (cold): %8.1f ms, %,d bookings moved%n", fullMillis, moved);
+
+        inventory.cancelBooking(last.getBookingID());
+        start = System.nanoTime();
+        moved = inventory.optimizeRoomAssignments(today);
+        System.out.printf("after one cancel: %8.1f ms, %,d bookings moved%n", (System.nanoTime() - start) / 1e6, moved);
+        start = System.nanoTime();
+        moved = inventory.optimizeRoomAssignments(today);
+        System.out.printf("nothing changed:  %8.3f ms, %,d bookings moved%n", (System.nanoTime() - start) / 1e6, moved);
+    }
+
+    /**
+     * Prints the free runs of one or two nights between stays, and the rooms with a week or more free in a row.
+     */
+    private static void report(String label, List<Room> rooms, LocalDate today) {
+        int holes = 0;
+        int longWindows = 0;
+        for (Room room : rooms) {
+            BitSet booked = room.getBookingRegister().getBookedNights(today, HORIZON);
+            int longest = 0;
+            for (int free = booked.nextClearBit(0); free < HORIZON; ) {
+                int end = booked.nextSetBit(free);
+                end = end < 0 ? HORIZON : end;
+                if (free > 0 && end < HORIZON && end - free <= 2) {
+                    holes++;
+                }
+                longest = Math.max(longest, end - free);
+                free = booked.nextClearBit(end);
+            }
+            if (longest >= 7) {
+                longWindows++;
+            }
+        }
+        System.out.printf("%-6s 1-2 night holes: %,6d   rooms with 7+ free nights: %,d%n", label, holes, longWindows);
+    }
+}
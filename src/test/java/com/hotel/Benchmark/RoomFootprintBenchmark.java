@@ -0,0 +1,74 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.RoomInventoryImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+/**
+ * Measures the heap retained per room, for rooms never booked, and per booking once rooms are booked.
+ * Rooms are added to an inventory, as the hotel holds them; the inventory's own indexes are included.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.RoomFootprintBenchmark [rooms]
+ */
+public class RoomFootprintBenchmark {
+
+    private static final int BOOKINGS_PER_ROOM = 4;
+
+    public static void main(String[] args) {
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // rooms and bookings print as they are added
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+
+        long empty = usedHeap();
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        Room[] rooms = new Room[roomCount];
+        for (int r = 0; r < roomCount; r++) {
+            rooms[r] = new Room(100 + r, RoomType.values()[r % RoomType.values().length], true, 100);
+            inventory.addRoom(rooms[r]);
+        }
+        long withRooms = usedHeap();
+
+        Booking[] bookings = new Booking[roomCount / 10 * BOOKINGS_PER_ROOM];
+        LocalDate today = LocalDate.now();
+        int made = 0;
+        for (int r = 0; r < roomCount; r += 10) {  // one room in ten is ever booked
+            for (int b = 0; b < BOOKINGS_PER_ROOM; b++) {
+                bookings[made] = new Booking(today.plusDays(b * 7L), today.plusDays(b * 7L + 3), guest, rooms[r]);
+                inventory.confirmBooking(bookings[made++]);
+            }
+        }
+        long withBookings = usedHeap();
+        System.setOut(out);
+
+        System.out.printf("rooms:    %,10d bytes per room (%,d rooms)%n", (withRooms - empty) / roomCount, roomCount);
+        System.out.printf("bookings: %,10d bytes per booking, including the Booking (%,d bookings)%n",
+                (withBookings - withRooms) / made, made);
+        if (inventory.getTotalRooms() != roomCount || bookings[made - 1] == null) {
+            throw new IllegalStateException("inventory incomplete");
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,106 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.InventorySnapshot;
+import com.hotel.Service.RoomInventoryImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures booking throughput on one thread while another thread takes inventory snapshots
+ * as fast as it can, against the same bookings with no reader, and checks that every
+ * snapshot adds up: each room's booked nights are exactly the nights of its bookings.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.SnapshotBenchmark [rooms]
+ */
+public class SnapshotBenchmark {
+
+    private static final long RUN_MILLIS = 2_000;
+    private static final int LIVE_BOOKINGS = 2_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // bookings print as they are added
+
+        double alone = run(roomCount, false, out);
+        double withReader = run(roomCount, true, out);
+        System.setOut(out);
+        System.out.printf("bookings alone:            %,12.0f changes/s%n", alone);
+        System.out.printf("bookings with snapshotter: %,12.0f changes/s%n", withReader);
+    }
+
+    private static double run(int roomCount, boolean snapshotting, PrintStream out) throws InterruptedException {
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        Room[] rooms = new Room[roomCount];
+        for (int r = 0; r < roomCount; r++) {
+            rooms[r] = new Room(100 + r, RoomType.DOUBLE, true, 100);
+            inventory.addRoom(rooms[r]);
+        }
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] snapshots = new long[1];
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                check(inventory.snapshot());
+                snapshots[0]++;
+            }
+        });
+        if (snapshotting) {
+            reader.start();
+        }
+
+        Random random = new Random(42);
+        Deque<Booking> live = new ArrayDeque<>();
+        LocalDate today = LocalDate.now();
+        long changes = 0;
+        long start = System.nanoTime();
+        long end = start + RUN_MILLIS * 1_000_000;
+        while (System.nanoTime() < end) {
+            Room room = rooms[random.nextInt(roomCount)];
+            LocalDate arrive = today.plusDays(random.nextInt(365));
+            LocalDate depart = arrive.plusDays(1 + random.nextInt(4));
+            if (!room.getBookingRegister().isBooked(arrive, depart)) {
+                Booking booking = new Booking(arrive, depart, guest, room);
+                inventory.confirmBooking(booking);
+                live.add(booking);
+                changes++;
+            }
+            if (live.size() > LIVE_BOOKINGS) {
+                inventory.cancelBooking(live.remove().getBookingID());
+                changes++;
+            }
+        }
+        double perSecond = changes / ((System.nanoTime() - start) / 1e9);
+        running.set(false);
+        if (snapshotting) {
+            reader.join();
+            out.printf("%,d consistent snapshots taken while booking%n", snapshots[0]);
+        }
+        return perSecond;
+    }
+
+    private static void check(InventorySnapshot snapshot) {
+        for (InventorySnapshot.RoomView room : snapshot.getRooms()) {
+            long nights = 0;
+            for (Booking booking : room.getRegister().getBookings()) {
+                nights += booking.getDepartDate().toEpochDay() - booking.getArriveDate().toEpochDay();
+            }
+            if (nights != room.getRegister().getBookedNightCount()) {
+                throw new IllegalStateException("Room " + room.getRoomNumber() + " has " + nights
+                        + " nights of bookings but " + room.getRegister().getBookedNightCount() + " booked nights");
+            }
+        }
+    }
+}
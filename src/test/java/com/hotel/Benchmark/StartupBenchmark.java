@@ -0,0 +1,107 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomAttribute;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.HotelConfig;
+import com.hotel.Service.RoomInventoryImpl;
+import com.hotel.UI.HotelManagementUI;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Times startup of a property loaded from a configuration file of one line per room, against
+ * adding the same rooms one by one, and the first availability check after each.
+ * Staff passwords are hashed at the configured iteration count, as in production, and timed apart.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.StartupBenchmark [rooms] [staff]
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int staffCount = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        Path roomsOnly = write(roomCount, 0);
+        Path withStaff = write(roomCount, staffCount);
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // rooms print as they are added
+
+        LocalDate arrive = LocalDate.now().plusDays(7);
+        long parse = 0;
+        long oneByOne = 0;
+        long bulk = 0;
+        long firstSearch = 0;
+        for (int round = 0; round < 5; round++) {  // the first rounds warm up
+            long start = System.nanoTime();
+            List<Room> rooms = HotelConfig.load(roomsOnly).getRooms();
+            parse = System.nanoTime() - start;
+            List<Room> copies = new ArrayList<>(rooms.size());
+            for (Room room : rooms) {
+                copies.add(new Room(room.getRoomNumber(), room.getRoomType(), true, room.getPricePerNight(),
+                        room.getAttributes()));
+            }
+
+            start = System.nanoTime();
+            RoomInventoryImpl single = new RoomInventoryImpl();
+            for (Room room : copies) {
+                single.addRoom(room);
+            }
+            oneByOne = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            RoomInventoryImpl inventory = new RoomInventoryImpl();
+            inventory.addRooms(rooms);
+            bulk = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            inventory.searchAvailableRooms(RoomType.DOUBLE, EnumSet.of(RoomAttribute.SEA_VIEW), null,
+                    arrive, arrive.plusDays(3));
+            firstSearch = System.nanoTime() - start;
+        }
+
+        long start = System.nanoTime();
+        HotelManagementUI ui = new HotelManagementUI(withStaff);
+        long full = System.nanoTime() - start;
+        System.setOut(out);
+        Files.delete(roomsOnly);
+        Files.delete(withStaff);
+
+        System.out.printf("%,d rooms read from the file:  %,8.1f ms%n", roomCount, parse / 1e6);
+        System.out.printf("added one by one:               %,8.1f ms%n", oneByOne / 1e6);
+        System.out.printf("added in one bulk load:         %,8.1f ms (first search %,.2f ms)%n",
+                bulk / 1e6, firstSearch / 1e6);
+        System.out.printf("UI startup with %d staff:       %,8.1f ms (%,d rooms, %d users)%n", staffCount,
+                full / 1e6, ui.getRoomInventory().getTotalRooms(), ui.getUserManager().getTotalUserCount());
+    }
+
+    private static Path write(int roomCount, int staffCount) throws IOException {
+        StringBuilder config = new StringBuilder();
+        for (RoomType type : RoomType.values()) {
+            config.append("price.").append(type.name()).append('=').append(100 + 40 * type.ordinal()).append('\n');
+        }
+        RoomAttribute[] features = RoomAttribute.values();
+        for (int r = 0; r < roomCount; r++) {
+            int number = (r / 100 + 1) * 100 + r % 100 + 1;  // 100 rooms a floor
+            config.append("room.").append(number).append('=')
+                    .append(RoomType.values()[r % RoomType.values().length].name());
+            if (r % 3 == 0) {
+                config.append(", ").append(features[r % features.length].name());
+            }
+            config.append('\n');
+        }
+        for (int s = 0; s < staffCount; s++) {
+            config.append("user.R").append(s).append("=RECEPTION_STAFF, Staff ").append(s)
+                    .append(", staff").append(s).append("@hotel.com, 0871234567, password").append(s).append('\n');
+        }
+        Path file = Files.createTempFile("hotel-startup", ".properties");
+        Files.writeString(file, config);
+        return file;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.RoomInventoryImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Measures building and rendering a 30 night tape chart for a large hotel with a year of bookings.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.TapeChartBenchmark [rooms]
+ */
+public class TapeChartBenchmark {
+
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        // Cheap hashes for the guest; LoginBenchmark measures hashing
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int roomCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        Random random = new Random(42);
+        RoomType[] types = RoomType.values();
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+        LocalDate today = LocalDate.now();
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));  // addRoom prints each room
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        int bookings = 0;
+        for (int r = 0; r < roomCount; r++) {
+            Room room = new Room(100 + r, types[r % types.length], true, 100);
+            inventory.addRoom(room);
+            LocalDate arrive = today.minusDays(random.nextInt(5));
+            while (arrive.isBefore(today.plusYears(1))) {
+                LocalDate depart = arrive.plusDays(1 + random.nextInt(6));
+                room.getBookingRegister().addDatesToRegister(new Booking(arrive, depart, guest, room));
+                bookings++;
+                arrive = depart.plusDays(random.nextInt(4));
+            }
+        }
+        System.setOut(out);
+        System.out.printf("%,d rooms, %,d bookings%n", roomCount, bookings);
+
+        int chars = 0;
+        for (int i = 0; i < ROUNDS / 10; i++) {
+            chars += inventory.buildTapeChart(today, 30, null).render().length();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            chars += inventory.buildTapeChart(today, 30, null).render().length();
+        }
+        double ms = (System.nanoTime() - start) / 1e6 / ROUNDS;
+        System.out.printf("30 night tape chart, whole hotel: %.2f ms (%d chars)%n", ms, chars / (ROUNDS + ROUNDS / 10));
+    }
+}
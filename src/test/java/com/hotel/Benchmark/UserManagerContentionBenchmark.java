@@ -0,0 +1,127 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Guest;
+import com.hotel.Service.UserManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures UserManager throughput with many threads registering and logging in at once.
+ * Every registration round also races several threads for the same email, and the run
+ * fails if more than one of them succeeds.
+ * Run with: java -cp target/classes:target/test-classes com.hotel.Benchmark.UserManagerContentionBenchmark [threads]
+ */
+public class UserManagerContentionBenchmark {
+
+    private static final int SEED_USERS = 50_000;
+    private static final int OPERATIONS_PER_THREAD = 50_000;
+    private static final int DUPLICATE_ROUNDS = 200;
+
+    public static void main(String[] args) throws Exception {
+        // Measure contention on the maps, not PBKDF2; LoginBenchmark measures hashing
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors() * 2;
+        UserManager manager = new UserManager();
+        for (int i = 0; i < SEED_USERS; i++) {
+            manager.addUser(new Guest("S" + i, "Seed " + i, "seed" + i + "@craggy.ie", "087", "pw" + i));
+        }
+
+        run("registration", threads, manager, (m, thread, i) -> {
+            String id = m.generateUserId("G");
+            m.addUser(new Guest(id, "Guest " + id, id + "@craggy.ie", "087", "pw"));
+        });
+        run("authentication", threads, manager, (m, thread, i) -> {
+            int n = ThreadLocalRandom.current().nextInt(SEED_USERS);
+            if (m.authenticateUser("seed" + n + "@craggy.ie", "pw" + n) == null) {
+                throw new IllegalStateException("Login failed for seed" + n);
+            }
+        });
+        run("mixed 90% auth / 10% register", threads, manager, (m, thread, i) -> {
+            if (i % 10 == 0) {
+                String id = m.generateUserId("M");
+                m.addUser(new Guest(id, "Mixed " + id, id + "@craggy.ie", "087", "pw"));
+            } else {
+                int n = ThreadLocalRandom.current().nextInt(SEED_USERS);
+                m.authenticateUser("seed" + n + "@craggy.ie", "pw" + n);
+            }
+        });
+
+        checkDuplicateEmails(manager, threads);
+    }
+
+    private interface Operation {
+        void apply(UserManager manager, int thread, int iteration);
+    }
+
+    private static void run(String name, int threads, UserManager manager, Operation operation) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        operation.apply(manager, thread, i);
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            long elapsed = System.nanoTime() - begin;
+            long operations = (long) threads * OPERATIONS_PER_THREAD;
+            System.out.printf("%-30s %2d thread(s) %,12.0f ops/s%n", name, threads, operations * 1e9 / elapsed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void checkDuplicateEmails(UserManager manager, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < DUPLICATE_ROUNDS; round++) {
+                String email = "race" + round + "@craggy.ie";
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicInteger winners = new AtomicInteger();
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    String id = "R" + round + "-" + t;
+                    tasks.add(pool.submit(() -> {
+                        start.await();
+                        try {
+                            manager.addUser(new Guest(id, "Racer", email, "087", "pw"));
+                            winners.incrementAndGet();
+                        } catch (IllegalArgumentException expected) {
+                            // lost the race
+                        }
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> task : tasks) {
+                    task.get();
+                }
+                if (winners.get() != 1) {
+                    throw new IllegalStateException(winners.get() + " registrations won for " + email);
+                }
+            }
+            System.out.printf("duplicate email races: %d round(s), exactly one winner each%n", DUPLICATE_ROUNDS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
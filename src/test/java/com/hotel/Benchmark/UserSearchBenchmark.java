@@ -0,0 +1,82 @@
+package com.hotel.Benchmark;
+
+import com.hotel.Model.Guest;
+import com.hotel.Model.User;
+import com.hotel.Service.UserManager;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares indexed user search with a full scan over a large guest base.
+ * Run with: java -Xmx2g -cp target/classes:target/test-classes com.hotel.Benchmark.UserSearchBenchmark [users]
+ */
+public class UserSearchBenchmark {
+
+    private static final String[] FIRST = {"Ted", "Dougal", "Jack", "Joan", "Pat", "Mary", "Dick", "Cyril", "Noel",
+            "Tom", "Larry", "Polly", "Niamh", "Siobhan", "Aidan", "Ciaran"};
+    private static final String[] LAST = {"Crilly", "McGuire", "Hackett", "Doyle", "Mustard", "Byrne", "Kelly",
+            "Murphy", "Walsh", "O'Brien", "Ryan", "Duffy", "Gallagher", "Boyle", "Sweeney", "McLaughlin"};
+    private static final String[] QUERIES = {"crill", "mcgui", "ted c", "0871234", "gallagher1", "rian@", "xyzzy"};
+    private static final int ROUNDS = 200;
+
+    public static void main(String[] args) {
+        // Cheap hashes so loading 500k users stays quick; LoginBenchmark measures hashing
+        if (System.getProperty("hotel.password.iterations") == null) {
+            System.setProperty("hotel.password.iterations", "1000");
+        }
+        int userCount = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        Random random = new Random(42);
+        UserManager manager = new UserManager();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < userCount; i++) {
+            String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + i;
+            manager.addUser(new Guest("G" + i, name, "guest" + i + "@craggy.ie",
+                    String.format("087%07d", random.nextInt(10_000_000)), "pw"));
+        }
+        System.out.printf("Indexed %,d users in %.0f ms%n", userCount, (System.nanoTime() - start) / 1e6);
+
+        List<User> all = manager.getAllUsers();
+        for (String query : QUERIES) {
+            int indexed = manager.searchUsers(query).size();
+            int scanned = scan(all, query);
+            if (indexed != scanned) {
+                throw new IllegalStateException("Index and scan disagree for '" + query + "'");
+            }
+
+            long t0 = System.nanoTime();
+            for (int r = 0; r < ROUNDS; r++) {
+                manager.searchUsers(query);
+            }
+            long t1 = System.nanoTime();
+            for (int r = 0; r < 5; r++) {
+                scan(all, query);
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("%-12s %7d hit(s)  index %10.1f µs  scan %10.1f µs%n",
+                    "'" + query + "'", indexed, (t1 - t0) / 1e3 / ROUNDS, (t2 - t1) / 1e3 / 5);
+        }
+
+        long t0 = System.nanoTime();
+        for (int r = 0; r < ROUNDS; r++) {
+            manager.autocompleteUsers("sio", 10);
+        }
+        System.out.printf("autocomplete top 10 for 'sio': %.1f µs%n", (System.nanoTime() - t0) / 1e3 / ROUNDS);
+    }
+
+    /**
+     * The previous search: lower case and test every field of every user.
+     */
+    private static int scan(List<User> users, String query) {
+        String term = query.toLowerCase();
+        int hits = 0;
+        for (User user : users) {
+            if (user.getName().toLowerCase().contains(term) || user.getEmail().toLowerCase().contains(term)
+                    || user.getPhone().toLowerCase().contains(term)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotel;
+
+import com.hotel.Model.*;
+import com.hotel.Service.BookingIndex;
+import com.hotel.Service.RoomInventoryImpl;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BookingIndex and the booking lookups of RoomInventoryImpl.
+ */
+class BookingIndexTest {
+
+    private final PrintStream originalOut = System.out;
+    private RoomInventoryImpl inventory;
+    private Guest ted;
+    private Guest dougal;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        inventory = new RoomInventoryImpl();
+        inventory.addRoom(new Room(101, RoomType.SINGLE, true, 100.00));
+        inventory.addRoom(new Room(102, RoomType.SINGLE, true, 100.00));
+        ted = new Guest("G100", "Father Ted", "ted@craggy.ie", "555-0100", "pass");
+        dougal = new Guest("G101", "Father Dougal", "dougal@craggy.ie", "555-0101", "pass");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    private Booking book(Guest guest, LocalDate arrive, LocalDate depart) {
+        Booking booking = new Booking(arrive, depart, guest);
+        inventory.checkRoomAvailability(booking, RoomType.SINGLE);
+        inventory.confirmBooking(booking);
+        return booking;
+    }
+
+    @Test
+    @DisplayName("Bookings should be found by ID, arrival and departure date")
+    void testLookups() {
+        Booking first = book(ted, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 3));
+        Booking second = book(dougal, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 5));
+
+        assertSame(first, inventory.getBooking(first.getBookingID()));
+        assertNull(inventory.getBooking(-1));
+        assertEquals(List.of(first, second), inventory.getArrivals(LocalDate.of(2025, 7, 1)));
+        assertEquals(List.of(first), inventory.getDepartures(LocalDate.of(2025, 7, 3)));
+        assertEquals(List.of(second), inventory.getDepartures(LocalDate.of(2025, 7, 5)));
+        assertTrue(inventory.getArrivals(LocalDate.of(2025, 7, 2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cancelling should release the room and drop the booking from every index")
+    void testCancelBooking() {
+        Booking booking = book(ted, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 3));
+        Room room = booking.getBookingRoom();
+
+        assertSame(booking, inventory.cancelBooking(booking.getBookingID()));
+        assertNull(inventory.cancelBooking(booking.getBookingID()));
+
+        assertEquals(BookingStatus.CANCELLED, booking.getBookingStatus());
+        assertNull(inventory.getBooking(booking.getBookingID()));
+        assertNull(room.getBookingRegister().getBooking(booking.getBookingID()));
+        assertFalse(room.getBookingRegister().checkForBookingOverlap(booking, room));
+        assertFalse(ted.hasBooking(booking.getBookingID()));
+        assertTrue(inventory.getBookingsForGuest("G100").isEmpty());
+        assertTrue(inventory.getArrivals(LocalDate.of(2025, 7, 1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Only a confirmed booking should be cancelled")
+    void testCancelOnlyConfirmed() {
+        Booking stay = book(ted, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 3));
+        stay.setBookingStatus(BookingStatus.CHECKED_IN);
+        Booking held = new Booking(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 3), ted,
+                stay.getBookingRoom());
+        held.setBookingStatus(BookingStatus.POSSIBLE);
+        inventory.holdBooking(held);
+
+        assertThrows(IllegalStateException.class, () -> inventory.cancelBooking(stay.getBookingID()));
+        assertEquals(BookingStatus.CHECKED_IN, stay.getBookingStatus());
+        assertSame(stay, inventory.getBooking(stay.getBookingID()));
+        assertTrue(ted.hasBooking(stay.getBookingID()));
+
+        assertNull(inventory.cancelBooking(held.getBookingID()));
+        assertEquals(BookingStatus.HELD, held.getBookingStatus());
+        assertSame(held, inventory.releaseHold(held.getBookingID()));
+    }
+
+    @Test
+    @DisplayName("Index should remove a booking under the dates it was added with")
+    void testRemoveAfterDateChange() {
+        BookingIndex index = new BookingIndex();
+        Booking booking = new Booking(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 3), ted);
+        index.add(booking);
+        booking.setArriveDate(LocalDate.of(2025, 8, 1));
+        booking.setDepartDate(LocalDate.of(2025, 8, 3));
+
+        assertSame(booking, index.remove(booking.getBookingID()));
+        assertTrue(index.findArrivals(LocalDate.of(2025, 7, 1)).isEmpty());
+        assertTrue(index.findDepartures(LocalDate.of(2025, 7, 3)).isEmpty());
+        assertEquals(0, index.size());
+        assertThrows(IllegalArgumentException.class, () -> index.add(null));
+    }
+
+    @Test
+    @DisplayName("Staying and in-house lists should follow the nights of each stay")
+    void testStayingAndInHouse() {
+        Booking first = book(ted, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 3));
+        Booking second = book(dougal, LocalDate.of(2025, 7, 2), LocalDate.of(2025, 7, 4));
+        BookingIndex index = new BookingIndex();
+        index.add(first);
+        index.add(second);
+
+        assertEquals(List.of(first), index.findStaying(LocalDate.of(2025, 7, 1)));
+        assertEquals(List.of(first, second), index.findStaying(LocalDate.of(2025, 7, 2)));
+        assertEquals(List.of(second), index.findStaying(LocalDate.of(2025, 7, 3)));
+        assertTrue(index.findStaying(LocalDate.of(2025, 7, 4)).isEmpty());
+
+        assertTrue(inventory.getInHouse(LocalDate.of(2025, 7, 2)).isEmpty());
+        first.setBookingStatus(BookingStatus.CHECKED_IN);
+        second.setBookingStatus(BookingStatus.CHECKED_IN);
+        assertEquals(List.of(second, first), inventory.getInHouse(LocalDate.of(2025, 7, 3)));
+
+        assertThrows(IllegalStateException.class, () -> inventory.cancelBooking(second.getBookingID()));
+        second.setBookingStatus(BookingStatus.PAID);
+        assertEquals(List.of(first), inventory.getInHouse(LocalDate.of(2025, 7, 2)));
+    }
+}
@@ -62,21 +62,6 @@ class BookingRegisterTest {
         assertEquals("26 Nov 2025", formattedDate);
     }
 
-    @Test
-    void testShowRooms() {
-
-        ArrayList<Room> roomList = new ArrayList<>();
-
-        room1 = new Room(101, RoomType.SINGLE, true, 199);
-//        room2 = new Room(102, RoomType.SINGLE, true, 237);
-//        room3 = new Room(201, RoomType.DOUBLE, true, 237);
-        roomList.add(room1);
-        room1.getBookingRegister().showRooms();
-        String output = outputStream.toString();
-       // assertEquals("101",output);
-
-    }
-
     @Test
     void testAddBooking() {
 
@@ -192,4 +177,30 @@ class BookingRegisterTest {
     @Test
     void showBookedDates() {
     }
-}
\ No newline at end of file
+
+    @Test
+    void registerAllocatesBookingStateOnFirstBooking() {
+        Room room1 = new Room(101, RoomType.SINGLE, true, 199);
+        Guest guest1 = new Guest("1", "Jack Torrance", "jack@axemail.com", "12345", "guest1");
+        Booking first = new Booking(LocalDate.of(2025, 11, 23), LocalDate.of(2025, 11, 25), guest1, room1);
+        Booking second = new Booking(LocalDate.of(2025, 11, 26), LocalDate.of(2025, 11, 28), guest1, room1);
+        Booking third = new Booking(LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 3), guest1, room1);
+        BookingRegister register = room1.getBookingRegister();
+        assertSame(new BookingRegister().view(), register.view());
+
+        register.assignBooking(third);
+        register.assignBooking(first);
+        register.assignBooking(second);
+        register.addBooking(second);
+
+        assertNotSame(new BookingRegister().view(), register.view());
+        assertEquals(List.of(first, second, third), new ArrayList<>(register.getBookings()));
+        assertSame(second, register.getBooking(second.getBookingID()));
+        assertNull(register.getBooking(third.getBookingID() + 1));
+        assertTrue(register.removeBooking(second));
+        assertFalse(register.removeBooking(second));
+        assertEquals(List.of(first, third), new ArrayList<>(register.getBookings()));
+        assertFalse(register.isBooked(LocalDate.of(2025, 11, 26), LocalDate.of(2025, 11, 28)));
+        assertTrue(new BookingRegister().view().getBookings().isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package com.hotel;
+
+import com.hotel.Model.*;
+import com.hotel.Service.BulkInvoiceRenderer;
+import com.hotel.Service.PaymentManager;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BulkInvoiceRenderer.
+ * Tests per-invoice and concatenated output, date range selection and missing invoices.
+ */
+class BulkInvoiceRendererTest {
+
+    private PaymentManager paymentManager;
+    private List<Invoice> invoices;
+    private Path outputDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        paymentManager = new PaymentManager();
+        invoices = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Guest guest = new Guest("G" + i, "Guest " + i, "guest" + i + "@email.com", "555", "pass");
+            Room room = new Room(100 + i, RoomType.DOUBLE, true, 150.00);
+            Booking booking = new Booking(LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 3), guest, room);
+            invoices.add(paymentManager.processPayment(booking, 300.00, PaymentMethod.CASH, guest.getName()));
+        }
+        outputDir = Files.createTempDirectory("invoices");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(outputDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("Per-invoice output should write one file per invoice")
+    void testRenderToDirectory() throws IOException {
+        List<String> numbers = new ArrayList<>();
+        invoices.forEach(i -> numbers.add(i.getInvoiceNumber()));
+
+        BulkInvoiceRenderer.Result result = new BulkInvoiceRenderer(paymentManager, 2)
+                .renderToDirectory(numbers, outputDir);
+
+        assertEquals(5, result.getInvoicesRendered());
+        for (Invoice invoice : invoices) {
+            Path file = outputDir.resolve(invoice.getInvoiceNumber() + ".txt");
+            assertEquals(invoice.generateFormattedInvoice(), Files.readString(file, StandardCharsets.UTF_8));
+        }
+        assertTrue(result.getBytesWritten() > 0);
+        assertTrue(result.getInvoicesPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Concatenated output should keep the requested order")
+    void testRenderToFile() throws IOException {
+        Path file = outputDir.resolve("all.txt");
+        List<String> numbers = Arrays.asList(invoices.get(3).getInvoiceNumber(), invoices.get(1).getInvoiceNumber());
+
+        BulkInvoiceRenderer.Result result = new BulkInvoiceRenderer(paymentManager, 4).renderToFile(numbers, file);
+
+        String expected = invoices.get(3).generateFormattedInvoice() + "\f\n"
+                + invoices.get(1).generateFormattedInvoice();
+        assertEquals(2, result.getInvoicesRendered());
+        assertEquals(expected, Files.readString(file, StandardCharsets.UTF_8));
+        assertEquals(Files.size(file), result.getBytesWritten());
+    }
+
+    @Test
+    @DisplayName("Concatenated output should keep the order across more chunks than are kept in flight")
+    void testRenderToFileManyChunks() throws IOException {
+        Path file = outputDir.resolve("many.txt");
+        List<String> numbers = new ArrayList<>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {              // five chunks, two in flight on one thread
+            Invoice invoice = invoices.get((i * 3) % invoices.size());
+            numbers.add(invoice.getInvoiceNumber());
+            expected.append(i > 0 ? "\f\n" : "").append(invoice.generateFormattedInvoice());
+        }
+
+        BulkInvoiceRenderer.Result result = new BulkInvoiceRenderer(paymentManager, 1).renderToFile(numbers, file);
+
+        assertEquals(1200, result.getInvoicesRendered());
+        assertEquals(expected.toString(), Files.readString(file, StandardCharsets.UTF_8));
+        assertEquals(Files.size(file), result.getBytesWritten());
+    }
+
+    @Test
+    @DisplayName("Date range should select invoices issued in the range")
+    void testRenderDateRange() throws IOException {
+        LocalDate today = LocalDate.now();
+
+        BulkInvoiceRenderer renderer = new BulkInvoiceRenderer(paymentManager);
+        assertEquals(5, renderer.renderToFile(today, today, outputDir.resolve("today.txt")).getInvoicesRendered());
+        assertEquals(0, renderer.renderToDirectory(today.plusDays(1), today.plusDays(30), outputDir)
+                .getInvoicesRendered());
+    }
+
+    @Test
+    @DisplayName("Unknown invoice numbers should be reported, not rendered")
+    void testMissingInvoices() throws IOException {
+        List<String> numbers = Arrays.asList(invoices.get(0).getInvoiceNumber(), "INV-MISSING");
+
+        BulkInvoiceRenderer.Result result = new BulkInvoiceRenderer(paymentManager).renderToDirectory(numbers, outputDir);
+
+        assertEquals(1, result.getInvoicesRendered());
+        assertEquals(List.of("INV-MISSING"), result.getMissingInvoices());
+    }
+
+    @Test
+    @DisplayName("Invalid arguments should throw exception")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BulkInvoiceRenderer(null));
+        assertThrows(IllegalArgumentException.class, () -> new BulkInvoiceRenderer(paymentManager, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BulkInvoiceRenderer(paymentManager)
+                .renderToFile(LocalDate.now(), LocalDate.now().minusDays(1), outputDir.resolve("x.txt")));
+    }
+}
@@ -2,6 +2,9 @@ package com.hotel;
 
 import com.hotel.Model.*;
 import org.junit.jupiter.api.*;
+
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GuestTest {
@@ -32,10 +35,40 @@ class GuestTest {
     @Test
     @DisplayName("Add booking should add to history")
     void testAddBooking() {
-        guest.addBooking("B001");
+        guest.addBooking(1);
 
         assertEquals(1, guest.getBookingHistory().size());
-        assertTrue(guest.getBookingHistory().contains("B001"));
+        assertTrue(guest.getBookingHistory().contains(1));
+    }
+
+    @Test
+    @DisplayName("Booking history should be sorted and ignore duplicates")
+    void testBookingHistorySortedSet() {
+        for (int id : new int[]{7, 3, 9, 3, 1, 5, 7}) {
+            guest.addBooking(id);
+        }
+
+        assertEquals(List.of(1, 3, 5, 7, 9), guest.getBookingHistory());
+        assertTrue(guest.hasBooking(5));
+        assertTrue(guest.removeBooking(5));
+        assertFalse(guest.removeBooking(5));
+        assertFalse(guest.hasBooking(5));
+        assertEquals(List.of(1, 3, 7, 9), guest.getBookingHistory());
+        assertThrows(UnsupportedOperationException.class, () -> guest.getBookingHistory().add(2));
+    }
+
+    @Test
+    @DisplayName("Guest with more than one booking is a returning guest")
+    void testReturningGuestDerived() {
+        assertFalse(guest.isReturningGuest());
+        guest.addBooking(10);
+        assertFalse(guest.isReturningGuest());
+        guest.addBooking(11);
+        assertTrue(guest.isReturningGuest());
+        guest.removeBooking(11);
+        assertFalse(guest.isReturningGuest());
+        guest.setReturningGuest(true);
+        assertTrue(guest.isReturningGuest());
     }
 
     @Test
@@ -0,0 +1,160 @@
+package com.hotel;
+
+import com.hotel.Model.Guest;
+import com.hotel.Model.Manager;
+import com.hotel.Model.PasswordHash;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomAttribute;
+import com.hotel.Model.RoomType;
+import com.hotel.Model.UserRole;
+import com.hotel.Service.HotelConfig;
+import com.hotel.Service.RoomInventoryImpl;
+import com.hotel.Service.UserManager;
+import com.hotel.UI.HotelManagementUI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotelConfigTest {
+
+    private static final String CONFIG = String.join("\n",
+            "# a small property",
+            "price.SINGLE=120",
+            "price.DOUBLE=180.50",
+            "room.101=SINGLE, ACCESSIBLE",
+            "room.102=SINGLE, 99",
+            "rooms.201-203=DOUBLE, SEA_VIEW, KING_BED",
+            "room.501=PRESIDENTIAL, 500, SEA_VIEW",
+            "user.A001=ADMIN, Lusungu, admin@hotel.com, 0871234567, admin123",
+            "user.M001=MANAGER, Basil Fawlty, manager@hotel.com, 0871234569, manager123, Operations");
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outputStream));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void readsRoomsRangesPricesAndUsers() throws IOException {
+        HotelConfig config = HotelConfig.load(new StringReader(CONFIG));
+
+        List<Room> rooms = config.getRooms();
+        assertEquals(6, rooms.size());
+        assertEquals(101, rooms.get(0).getRoomNumber());
+        assertEquals(120.0, rooms.get(0).getPricePerNight());
+        assertEquals(EnumSet.of(RoomAttribute.ACCESSIBLE), rooms.get(0).getAttributes());
+        assertEquals(99.0, rooms.get(1).getPricePerNight());
+        for (Room room : rooms.subList(2, 5)) {
+            assertEquals(RoomType.DOUBLE, room.getRoomType());
+            assertEquals(180.5, room.getPricePerNight());
+            assertEquals(EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.KING_BED), room.getAttributes());
+        }
+        assertEquals(203, rooms.get(4).getRoomNumber());
+        assertEquals(500.0, rooms.get(5).getPricePerNight());
+
+        assertEquals(2, config.getUsers().size());
+        assertEquals(UserRole.ADMIN, config.getUsers().get(0).getRole());
+        assertEquals("Operations", ((Manager) config.getUsers().get(1)).getDepartment());
+    }
+
+    @Test
+    void appliedRoomsAreIndexedAndUsersCanLogIn() throws IOException {
+        UserManager userManager = new UserManager();
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        HotelConfig.load(new StringReader(CONFIG)).applyTo(userManager, inventory);
+
+        assertEquals(6, inventory.getTotalRooms());
+        assertNotNull(inventory.getRoom(202));
+        LocalDate arrive = LocalDate.now().plusDays(1);
+        List<Room> seaView = inventory.searchAvailableRooms(RoomType.DOUBLE, EnumSet.of(RoomAttribute.SEA_VIEW),
+                2, arrive, arrive.plusDays(2));
+        assertEquals(3, seaView.size());
+        assertNotNull(inventory.probeAvailability(RoomType.PRESIDENTIAL, arrive, arrive.plusDays(1)));
+        assertNotNull(userManager.authenticateUser("manager@hotel.com", "manager123"));
+        assertTrue(outputStream.toString().contains("Rooms added successfully: 6"));
+    }
+
+    @Test
+    void badEntriesFailTheLoadNamingTheKey() {
+        assertRejected("room.101=SINGLE, 100\nrooms.100-101=SINGLE, 100", "rooms.100-101");
+        assertRejected("room.101=SINGEL, 100", "room.101");
+        assertRejected("room.101=SINGLE", "room.101");              // no price for the type
+        assertRejected("room.101=SINGLE, 100, JACUZZI", "room.101");
+        assertRejected("room.abc=SINGLE, 100", "room.abc");
+        assertRejected("rooms.105-101=SINGLE, 100", "rooms.105-101");
+        assertRejected("price.SINGLE=-5", "price.SINGLE");
+        assertRejected("rooom.101=SINGLE, 100", "rooom.101");
+        assertRejected("user.M002=MANAGER, Polly, polly@hotel.com, 087, pw", "user.M002");
+        assertRejected("user.X001=JANITOR, Polly, polly@hotel.com, 087, pw", "user.X001");
+    }
+
+    @Test
+    void storedHashesAreTakenAsTheyAre() throws IOException {
+        String hash = PasswordHash.of("guest123").getEncoded();
+        UserManager userManager = new UserManager();
+        HotelConfig.load(new StringReader("user.G001=GUEST, Father Ted, guest@hotel.com, 087, " + hash))
+                .applyTo(userManager, new RoomInventoryImpl());
+
+        assertNotNull(userManager.authenticateUser("guest@hotel.com", "guest123"));
+        assertNull(userManager.authenticateUser("guest@hotel.com", hash));
+    }
+
+    @Test
+    void sharedEmailFailsTheLoad() {
+        assertRejected("user.A001=ADMIN, Lusungu, admin@hotel.com, 087, pw\n"
+                + "user.G001=GUEST, Ted, ADMIN@hotel.com, 087, pw", "user.G001");
+    }
+
+    @Test
+    void registeredUserStopsTheApplyBeforeAnyRoomIsAdded() throws IOException {
+        UserManager userManager = new UserManager();
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        userManager.addUser(new Guest("G9", "Basil", "manager@hotel.com", "087", "pw"));
+        HotelConfig config = HotelConfig.load(new StringReader(CONFIG));
+
+        assertThrows(IllegalArgumentException.class, () -> config.applyTo(userManager, inventory));
+        assertEquals(0, inventory.getTotalRooms());
+        assertNull(userManager.getUser("A001"));
+    }
+
+    @Test
+    void configurationFileReplacesTheSampleData() throws IOException {
+        Path file = Files.createTempFile("hotel", ".properties");
+        try {
+            Files.writeString(file, CONFIG);
+            HotelManagementUI ui = new HotelManagementUI(file);
+
+            assertEquals(6, ui.getRoomInventory().getTotalRooms());
+            assertNull(ui.getRoomInventory().getRoom(303));         // a sample data room
+            assertEquals(2, ui.getUserManager().getTotalUserCount());
+            assertTrue(outputStream.toString().contains("Loaded 6 rooms and 2 users"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void assertRejected(String config, String key) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> HotelConfig.load(new StringReader(config)));
+        assertTrue(e.getMessage().contains(key), e.getMessage());
+    }
+}
@@ -468,4 +468,193 @@ class HotelManagementUITest {
         String output = getOutput();
         assertTrue(output.contains("Guest not found."), "Should fail because guest email is invalid.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Reception: Check-in, checkout and cancel load bookings by ID")
+    void testCheckInCheckOutAndCancelById() {
+        UserManager users = new UserManager();
+        users.addUser(new ReceptionStaff("R001", "Sybil Fawlty", "reception@hotel.com", "087", "reception123"));
+        Guest guest = new Guest("G001", "Basil Fawlty", "basil@hotel.com", "087", "guest123");
+        users.addUser(guest);
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        inventory.addRoom(new Room(101, RoomType.SINGLE, true, 120.0));
+        inventory.addRoom(new Room(201, RoomType.DOUBLE, true, 180.0));
+
+        Booking stay = new Booking(LocalDate.now().minusDays(2), LocalDate.now(), guest);
+        inventory.checkRoomAvailability(stay, RoomType.SINGLE);
+        inventory.confirmBooking(stay);
+        Booking later = new Booking(LocalDate.now().plusDays(10), LocalDate.now().plusDays(12), guest);
+        inventory.checkRoomAvailability(later, RoomType.DOUBLE);
+        inventory.confirmBooking(later);
+
+        setInput(
+                "1", "reception@hotel.com", "reception123",
+                "3", "-5", // Check-in unknown booking
+                "3", String.valueOf(stay.getBookingID()),
+                "4", "basil@hotel.com", "no", "1", // Checkout charges the booked stay, Cash
+                "7", String.valueOf(later.getBookingID()), "yes",
+                "0", "0"
+        );
+        ui = new HotelManagementUI(users, inventory, new PaymentManager());
+        ui.start();
+
+        String output = getOutput();
+        assertTrue(output.contains("Booking not found."));
+        assertTrue(output.contains("Guest checked in. Booking: " + stay.getBookingID()));
+        assertTrue(output.contains("Room charges: €240.00"), output);
+        assertEquals(BookingStatus.PAID, stay.getBookingStatus());
+        assertEquals(BookingStatus.CANCELLED, later.getBookingStatus());
+        assertNull(inventory.getBooking(later.getBookingID()));
+    }
+
+    @Test
+    @DisplayName("Reception: Arrivals, departures and in-house lists for today")
+    void testFrontDeskLists() {
+        UserManager users = new UserManager();
+        users.addUser(new ReceptionStaff("R001", "Sybil Fawlty", "reception@hotel.com", "087", "reception123"));
+        Guest arriving = new Guest("G001", "Basil Fawlty", "basil@hotel.com", "087", "guest123");
+        Guest staying = new Guest("G002", "Manuel Garcia", "manuel@hotel.com", "087", "guest123");
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        inventory.addRoom(new Room(101, RoomType.SINGLE, true, 120.0));
+        inventory.addRoom(new Room(102, RoomType.SINGLE, true, 120.0));
+
+        Booking arrival = new Booking(LocalDate.now(), LocalDate.now().plusDays(2), arriving);
+        inventory.checkRoomAvailability(arrival, RoomType.SINGLE);
+        inventory.confirmBooking(arrival);
+        Booking stay = new Booking(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1), staying);
+        inventory.checkRoomAvailability(stay, RoomType.SINGLE);
+        inventory.confirmBooking(stay);
+        stay.setBookingStatus(BookingStatus.CHECKED_IN);
+
+        setInput("1", "reception@hotel.com", "reception123", "10", "11", "12", "0", "0");
+        ui = new HotelManagementUI(users, inventory, new PaymentManager());
+        ui.start();
+
+        String output = getOutput();
+        String arrivals = output.substring(output.indexOf("ARRIVALS"), output.indexOf("DEPARTURES"));
+        String inHouse = output.substring(output.indexOf("IN-HOUSE"));
+        assertTrue(arrivals.contains("Basil Fawlty"));
+        assertFalse(arrivals.contains("Manuel Garcia"));
+        assertTrue(output.contains("No departures today."));
+        assertTrue(inHouse.contains("Manuel Garcia"));
+        assertFalse(inHouse.contains("Basil Fawlty"));
+    }
+
+    @Test
+    @DisplayName("Reception: Tape chart for one room type")
+    void testTapeChart() {
+        setInput("1", "reception@hotel.com", "reception123", "13", "14", "5", "0", "0");
+        ui = new HotelManagementUI();
+        ui.start();
+
+        String output = getOutput();
+        assertTrue(output.contains("TAPE CHART"));
+        assertTrue(output.contains("303   Suite"));
+        assertTrue(output.contains("304   Suite"));
+        assertFalse(output.contains("101   Single"));
+    }
+
+    @Test
+    @DisplayName("Admin: Availability report per room type")
+    void testAvailabilityReport() {
+        setInput("1", "admin@hotel.com", "admin123", "5", "5", "0", "0");
+        ui = new HotelManagementUI();
+        ui.start();
+
+        String output = getOutput();
+        assertTrue(output.contains("AVAILABILITY"));
+        assertTrue(output.contains("Presidential"));
+        assertTrue(output.contains("Single           3    3"), output);
+    }
+
+    @Test
+    @DisplayName("Admin: Minimum stay rule turns away a short booking")
+    void testStayRestrictionBlocksBooking() {
+        String arr = LocalDate.now().plusDays(5).toString();
+        String dep = LocalDate.now().plusDays(6).toString();
+        setInput(
+                "1", "admin@hotel.com", "admin123",
+                "2", "5", "1", arr, arr, "1", "3", // Single: 3 night minimum for arrivals on arr
+                "0", // Logout
+                "1", "reception@hotel.com", "reception123",
+                "1", "guest@hotel.com", arr, dep, "1"
+        );
+        ui = new HotelManagementUI();
+        ui.start();
+
+        String output = getOutput();
+        assertTrue(output.contains("Restriction saved for Single"));
+        assertTrue(output.contains("Booking Unavailable: Minimum stay of 3 nights"));
+        assertTrue(output.contains("No rooms available."));
+    }
+
+    @Test
+    @DisplayName("Reception: Search rooms by features")
+    void testSearchRoomsByFeatures() {
+        String arr = LocalDate.now().plusDays(3).toString();
+        String dep = LocalDate.now().plusDays(7).toString();
+        setInput("1", "reception@hotel.com", "reception123", "14", arr, dep, "0", "0", "1,3", "0", "0");
+        ui = new HotelManagementUI();
+        ui.start();
+
+        String output = getOutput();
+        assertTrue(output.contains("302 Deluxe"));
+        assertFalse(output.contains("301 Deluxe"));
+        assertTrue(output.contains("Total: 1"));
+    }
+
+    @Test
+    @DisplayName("Reception: Waitlisted guest is offered a cancelled room")
+    void testWaitlistOfferOnCancellation() {
+        String arr = LocalDate.now().plusDays(20).toString();
+        String dep = LocalDate.now().plusDays(22).toString();
+        setInput("1", "reception@hotel.com", "reception123",
+                "15", "1", "guest@hotel.com", arr, dep, "6",
+                "15", "2",
+                "0", "0");
+        ui = new HotelManagementUI();
+        ui.start();
+
+        String output = getOutput();
+        assertTrue(output.contains("WAITLIST"));
+        assertTrue(output.contains("Added to waitlist: #1 Father Ted | Presidential"), output);
+        assertTrue(output.contains("Waiting: 1"));
+        assertTrue(output.contains("No rooms offered."));
+    }
+
+    @Test
+    @DisplayName("Admin: Long room list is shown a page at a time")
+    void testViewAllRoomsPaged() {
+        UserManager userManager = new UserManager();
+        userManager.addUser(new Admin("A001", "Lusungu", "admin@hotel.com", "0871234567", "admin123"));
+        RoomInventoryImpl inventory = new RoomInventoryImpl();
+        for (int number = 101; number <= 150; number++) {
+            inventory.addRoom(new Room(number, RoomType.SINGLE, true, 120.0));
+        }
+        outputStream.reset();  // drop the rooms' added messages
+        setInput("1", "admin@hotel.com", "admin123", "2", "4", "", "q");
+        ui = new HotelManagementUI(userManager, inventory, new PaymentManager());
+        ui.start();
+
+        String output = getOutput();
+        assertTrue(output.contains("roomNumber=120,"));
+        assertTrue(output.contains("roomNumber=140,"));
+        assertFalse(output.contains("roomNumber=141,"));
+        assertEquals(2, output.split("Enter for more", -1).length - 1);
+    }
+
+    @Test
+    @DisplayName("Manager: Occupancy report for a date range")
+    void testOccupancyByDates() {
+        String from = LocalDate.now().plusDays(1).toString();
+        String to = LocalDate.now().plusDays(30).toString();
+        setInput("1", "manager@hotel.com", "manager123", "5", "6", from, to);
+        ui = new HotelManagementUI();
+        ui.start();
+
+        String output = getOutput();
+        assertTrue(output.contains("OCCUPANCY " + from + " TO " + to + " (30 nights)"), output);
+        assertTrue(output.contains("Presidential"));
+        assertTrue(output.contains("Room revenue: €0.00"));
+    }
+}
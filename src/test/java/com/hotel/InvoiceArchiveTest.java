@@ -0,0 +1,210 @@
+package com.hotel;
+
+import com.hotel.Model.*;
+import com.hotel.Service.InvoiceArchive;
+import com.hotel.Service.Page;
+import com.hotel.Service.PaymentManager;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for InvoiceArchive and archived invoice lookups through PaymentManager.
+ */
+class InvoiceArchiveTest {
+
+    private Path archiveDir;
+    private InvoiceArchive archive;
+    private PaymentManager paymentManager;
+    private List<Invoice> invoices;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archiveDir = Files.createTempDirectory("invoice-archive");
+        archive = new InvoiceArchive(archiveDir, 1024);
+        paymentManager = new PaymentManager(archive);
+        invoices = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Guest guest = new Guest("G" + i, "Guest " + i, "guest" + i + "@email.com", "555", "pass");
+            Room room = new Room(200 + i, RoomType.SUITE, true, 250.00);
+            Booking booking = new Booking(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 3), guest, room);
+            invoices.add(paymentManager.processPayment(booking, 500.00, PaymentMethod.CREDIT_CARD, guest.getName()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        archive.close();
+        try (Stream<Path> files = Files.walk(archiveDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    @DisplayName("Archived invoices should still be found by number")
+    void testArchiveAndLoad() {
+        Invoice original = invoices.get(2);
+        original.addAdditionalCharge("Spa", 80.00);
+        String expected = original.generateFormattedInvoice();
+
+        assertEquals(6, paymentManager.archiveInvoicesOlderThan(LocalDate.now().plusDays(1)));
+
+        Invoice loaded = paymentManager.getInvoice(original.getInvoiceNumber());
+        assertNotNull(loaded);
+        assertNotSame(original, loaded);
+        assertEquals(expected, loaded.generateFormattedInvoice());
+        assertEquals(original.getTotalAmount(), loaded.getTotalAmount(), 0.001);
+        assertEquals(6, paymentManager.getTotalInvoiceCount());
+        assertEquals(6, paymentManager.getArchivedInvoiceCount());
+    }
+
+    @Test
+    @DisplayName("Invoice pages should merge live and archived invoices in number order")
+    void testInvoicePagesMergeArchived() {
+        paymentManager.archiveInvoicesOlderThan(LocalDate.now().plusDays(1));
+        for (int i = 6; i < 9; i++) {
+            Guest guest = new Guest("G" + i, "Guest " + i, "guest" + i + "@email.com", "555", "pass");
+            Booking booking = new Booking(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 3), guest,
+                    new Room(200 + i, RoomType.SUITE, true, 250.00));
+            invoices.add(paymentManager.processPayment(booking, 500.00, PaymentMethod.CREDIT_CARD, guest.getName()));
+        }
+
+        List<String> listed = new ArrayList<>();
+        Page<Invoice> page = paymentManager.getInvoicesPage(null, 4);
+        int pages = 1;
+        while (true) {
+            assertTrue(page.getItems().size() <= 4);
+            page.getItems().forEach(invoice -> listed.add(invoice.getInvoiceNumber()));
+            if (!page.hasNext()) {
+                break;
+            }
+            page = paymentManager.getInvoicesPage(page.getNextCursor(), 4);
+            pages++;
+        }
+
+        List<String> expected = new ArrayList<>();
+        invoices.forEach(invoice -> expected.add(invoice.getInvoiceNumber()));
+        expected.sort(Comparator.naturalOrder());
+        assertEquals(expected, listed);
+        assertEquals(3, pages);
+        assertThrows(IllegalArgumentException.class,
+                () -> paymentManager.getPaymentsPage(paymentManager.getInvoicesPage(null, 4).getNextCursor(), 4));
+    }
+
+    @Test
+    @DisplayName("Invoices newer than the cutoff should stay in memory")
+    void testCutoffKeepsRecentInvoices() {
+        assertEquals(0, paymentManager.archiveInvoicesOlderThan(LocalDate.now()));
+        assertEquals(0, archive.size());
+        assertSame(invoices.get(0), paymentManager.getInvoice(invoices.get(0).getInvoiceNumber()));
+    }
+
+    @Test
+    @DisplayName("Small segments should roll over to new segment files")
+    void testSegmentRollover() throws IOException {
+        paymentManager.archiveInvoicesOlderThan(LocalDate.now().plusDays(1));
+
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            assertTrue(files.filter(p -> p.toString().endsWith(".seg")).count() > 1);
+        }
+        for (Invoice invoice : invoices) {
+            assertEquals(invoice.getInvoiceNumber(), archive.load(invoice.getInvoiceNumber()).getInvoiceNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("Reopened archive should rebuild its index from disk")
+    void testReopen() throws IOException {
+        paymentManager.archiveInvoicesOlderThan(LocalDate.now().plusDays(1));
+        archive.close();
+
+        archive = new InvoiceArchive(archiveDir, 1024);
+        assertEquals(6, archive.size());
+        Invoice loaded = archive.load(invoices.get(5).getInvoiceNumber());
+        assertEquals("Guest 5", loaded.getBooking().getBookingGuest().getName());
+        assertNull(archive.load("INV-MISSING"));
+    }
+
+    @Test
+    @DisplayName("Reopened archive should rebuild the search index without reading invoices")
+    void testSearchIndexRebuiltFromIndexFiles() throws IOException {
+        paymentManager.archiveInvoicesOlderThan(LocalDate.now().plusDays(1));
+        archive.close();
+        archive = new InvoiceArchive(archiveDir, 1024);
+
+        PaymentManager reopened = new PaymentManager(archive);
+        LocalDate today = LocalDate.now();
+        assertEquals(6, reopened.getInvoicesBetween(today, today).size());
+        Invoice third = invoices.get(3);
+        assertEquals(third.getInvoiceNumber(), reopened.getInvoicesForGuest("G3").get(0).getInvoiceNumber());
+        assertEquals(third.getInvoiceNumber(),
+                reopened.getInvoicesForBooking(third.getBooking().getBookingID()).get(0).getInvoiceNumber());
+        assertEquals(1, reopened.getInvoicesForGuestName("guest 3", today, today).size());
+        assertEquals(6, reopened.getInvoicesByTotal(third.getTotalAmount(), third.getTotalAmount()).size());
+
+        archive.close();
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            files.filter(p -> p.toString().endsWith(".seg")).forEach(p -> p.toFile().delete());
+        }
+        archive = new InvoiceArchive(archiveDir, 1024);
+        assertDoesNotThrow(() -> new PaymentManager(archive));  // built from the .idx files alone
+    }
+
+    @Test
+    @DisplayName("Date range and full listings should include archived invoices")
+    void testRangeIncludesArchived() {
+        paymentManager.archiveInvoicesOlderThan(LocalDate.now().plusDays(1));
+
+        LocalDate today = LocalDate.now();
+        assertEquals(6, paymentManager.getInvoicesBetween(today, today).size());
+        assertEquals(0, paymentManager.getInvoicesBetween(today.plusDays(1), today.plusDays(2)).size());
+        assertEquals(6, paymentManager.getAllInvoices().size());
+    }
+
+    @Test
+    @DisplayName("Listing all invoices should not read archived ones until asked")
+    void testAllInvoicesLoadsOnDemand() throws IOException {
+        paymentManager.archiveInvoicesOlderThan(LocalDate.now().plusDays(1));
+        List<Invoice> all = paymentManager.getAllInvoices();
+        assertEquals(invoices.get(2).getInvoiceNumber(), all.get(2).getInvoiceNumber());
+
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            files.filter(p -> p.toString().endsWith(".seg")).forEach(p -> p.toFile().delete());
+        }
+        assertEquals(6, paymentManager.getAllInvoices().size());  // no record is read
+        assertThrows(UncheckedIOException.class, () -> all.get(3));
+    }
+
+    @Test
+    @DisplayName("Archived guests should not carry a password hash")
+    void testArchivedGuestHasNoPassword() {
+        paymentManager.archiveInvoicesOlderThan(LocalDate.now().plusDays(1));
+        Guest guest = paymentManager.getInvoice(invoices.get(0).getInvoiceNumber()).getBooking().getBookingGuest();
+
+        assertEquals("Guest 0", guest.getName());
+        assertFalse(guest.validatePassword("pass"));
+        assertFalse(guest.passwordNeedsRehash());
+    }
+
+    @Test
+    @DisplayName("Invalid archive use should throw exception")
+    void testInvalidArguments() {
+        assertThrows(IllegalStateException.class,
+                () -> new PaymentManager().archiveInvoicesOlderThan(LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> paymentManager.archiveInvoicesOlderThan(null));
+        assertThrows(IllegalArgumentException.class, () -> archive.append(null));
+
+        archive.append(invoices.get(0));
+        assertThrows(IllegalArgumentException.class, () -> archive.append(invoices.get(0)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.hotel;
+
+import com.hotel.Model.*;
+import com.hotel.Service.InvoiceIndex;
+import com.hotel.Service.PaymentManager;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for InvoiceIndex and the indexed invoice queries of PaymentManager.
+ */
+class InvoiceIndexTest {
+
+    private PaymentManager paymentManager;
+    private Guest ted;
+    private Guest dougal;
+    private Invoice tedFirst;
+    private Invoice tedSecond;
+    private Invoice dougalInvoice;
+
+    @BeforeEach
+    void setUp() {
+        paymentManager = new PaymentManager();
+        ted = new Guest("G100", "Father Ted", "ted@craggy.ie", "555-0100", "pass");
+        dougal = new Guest("G101", "Father Dougal", "dougal@craggy.ie", "555-0101", "pass");
+
+        tedFirst = invoiceFor(ted, 101, 2);     // 2 nights * 100 + VAT = 240
+        tedSecond = invoiceFor(ted, 102, 5);    // 5 nights * 100 + VAT = 600
+        dougalInvoice = invoiceFor(dougal, 103, 1);  // 1 night * 100 + VAT = 120
+    }
+
+    private Invoice invoiceFor(Guest guest, int roomNumber, int nights) {
+        Room room = new Room(roomNumber, RoomType.SINGLE, true, 100.00);
+        Booking booking = new Booking(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 1 + nights), guest, room);
+        return paymentManager.processPayment(booking, nights * 100.00, PaymentMethod.CASH, guest.getName());
+    }
+
+    @Test
+    @DisplayName("Guest queries should return only that guest's invoices")
+    void testFindByGuest() {
+        List<Invoice> invoices = paymentManager.getInvoicesForGuest("G100");
+
+        assertEquals(2, invoices.size());
+        assertTrue(invoices.contains(tedFirst));
+        assertTrue(invoices.contains(tedSecond));
+        assertTrue(paymentManager.getInvoicesForGuest("G999").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Guest name and date range should combine")
+    void testGuestNameInDateRange() {
+        LocalDate today = LocalDate.now();
+
+        assertEquals(2, paymentManager.getInvoicesForGuestName("father ted", today, today).size());
+        assertTrue(paymentManager.getInvoicesForGuestName("Father Ted", today.minusDays(90),
+                today.minusDays(1)).isEmpty());
+        assertEquals(List.of(dougalInvoice), paymentManager.getInvoicesForGuest("G101", today, today));
+    }
+
+    @Test
+    @DisplayName("Booking query should return the booking's invoice")
+    void testFindByBooking() {
+        int bookingId = tedSecond.getBooking().getBookingID();
+
+        assertEquals(List.of(tedSecond), paymentManager.getInvoicesForBooking(bookingId));
+    }
+
+    @Test
+    @DisplayName("Total range should follow additional charges")
+    void testTotalRangeTracksCharges() {
+        assertEquals(List.of(dougalInvoice), paymentManager.getInvoicesByTotal(100.00, 150.00));
+
+        dougalInvoice.addAdditionalCharge("Tea", 400.00);  // (100 + 400) * 1.2 = 600
+
+        assertTrue(paymentManager.getInvoicesByTotal(100.00, 150.00).isEmpty());
+        assertEquals(2, paymentManager.getInvoicesByTotal(600.00, 600.00).size());
+        assertThrows(IllegalArgumentException.class, () -> paymentManager.getInvoicesByTotal(10.00, 5.00));
+    }
+
+    @Test
+    @DisplayName("Date range should use the index")
+    void testFindBetween() {
+        InvoiceIndex index = new InvoiceIndex();
+        index.add(tedFirst);
+        index.add(dougalInvoice);
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(2, index.findBetween(now.minusDays(1), now.plusDays(1)).size());
+        assertTrue(index.findBetween(now.plusDays(1), now.plusDays(2)).isEmpty());
+
+        assertTrue(index.remove(tedFirst.getInvoiceNumber()));
+        assertFalse(index.contains(tedFirst.getInvoiceNumber()));
+        assertEquals(List.of(dougalInvoice.getInvoiceNumber()), index.findByGuestName("FATHER DOUGAL"));
+        assertEquals(1, index.size());
+    }
+}
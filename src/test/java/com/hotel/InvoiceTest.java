@@ -233,6 +233,63 @@ class InvoiceTest {
         assertTrue(formatted.contains("432.00")); // Total
     }
 
+    @Test
+    @DisplayName("Formatted invoice should be cached between calls")
+    void testFormattedInvoiceCached() {
+        String first = invoice.generateFormattedInvoice();
+        String second = invoice.generateFormattedInvoice();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Additional charge should invalidate the cached invoice")
+    void testAdditionalChargeInvalidatesCache() {
+        String before = invoice.generateFormattedInvoice();
+        invoice.addAdditionalCharge("Minibar", 20.00);
+        String after = invoice.generateFormattedInvoice();
+
+        assertNotSame(before, after);
+        assertFalse(before.contains("Minibar"));
+        assertTrue(after.contains("Minibar"));
+        assertTrue(after.contains("456.00")); // (360 + 20) * 1.2
+    }
+
+    @Test
+    @DisplayName("Payment status change should re-render the invoice")
+    void testPaymentStatusChangeRerenders() {
+        assertTrue(invoice.generateFormattedInvoice().contains("Payment Status: Completed"));
+        payment.refundPayment();
+
+        assertTrue(invoice.generateFormattedInvoice().contains("Payment Status: Refunded"));
+    }
+
+    @Test
+    @DisplayName("Guest or booking changes should re-render the invoice")
+    void testBookingChangeRerenders() {
+        invoice.generateFormattedInvoice();
+        guest.setName("Alice Jones");
+        assertTrue(invoice.generateFormattedInvoice().contains("Guest Name:    Alice Jones"));
+
+        booking.setDepartDate(LocalDate.of(2025, 12, 5));
+        assertTrue(invoice.generateFormattedInvoice().contains("Check-out:     05 Dec 2025"));
+
+        booking.setBookingRoom(new Room(202, RoomType.DOUBLE, true, 120.00));
+        String moved = invoice.generateFormattedInvoice();
+        assertTrue(moved.contains("Room Number:   202"));
+        assertSame(moved, invoice.generateFormattedInvoice());
+    }
+
+    @Test
+    @DisplayName("Formatted invoice columns should be aligned")
+    void testFormattedInvoiceAlignment() {
+        String formatted = invoice.generateFormattedInvoice();
+
+        assertTrue(formatted.contains(String.format("%-35s %8d €%9.2f €%9.2f\n",
+                "Double Room - 3 night(s)", 3, 120.00, 360.00)));
+        assertTrue(formatted.contains(String.format("%55s €%9.2f\n", "VAT (20%):", 72.00)));
+    }
+
     @Test
     @DisplayName("Generate summary should return concise string")
     void testGenerateSummary() {
@@ -0,0 +1,138 @@
+package com.hotel;
+
+import com.hotel.Logging.Appender;
+import com.hotel.Logging.AsyncAppender;
+import com.hotel.Logging.ConsoleAppender;
+import com.hotel.Logging.Level;
+import com.hotel.Logging.Log;
+import com.hotel.Logging.LogEvent;
+import com.hotel.Logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTest {
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+    private final PrintStream originalErr = System.err;
+    private Level originalLevel;
+    private Appender originalAppender;
+
+    @BeforeEach
+    void setUp() {
+        originalLevel = Log.getLevel();
+        originalAppender = Log.getAppender();
+        System.setOut(new PrintStream(outputStream));
+        System.setErr(new PrintStream(errorStream));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Log.setLevel(originalLevel);
+        Log.setAppender(originalAppender);
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+
+    @Test
+    void levelSwitchesDebugOff() {
+        Log.setAppender(new ConsoleAppender());
+        Logger log = Log.getLogger(LogTest.class);
+        Log.setLevel(Level.DEBUG);
+        log.debug("first detail");
+        Log.setLevel(Level.INFO);
+        log.debug("second detail");
+        log.info("outcome");
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("first detail"));
+        assertFalse(output.contains("second detail"));
+        assertTrue(output.contains("outcome"));
+        assertFalse(log.isDebugEnabled());
+        assertTrue(log.isEnabled(Level.WARN));
+        assertEquals("LogTest", log.getName());
+    }
+
+    @Test
+    void consoleAppenderWritesErrorsToStandardError() {
+        Log.setAppender(new ConsoleAppender());
+        Logger log = Log.getLogger(LogTest.class);
+        log.warn("refused");
+        log.error("failed");
+
+        assertTrue(outputStream.toString().contains("refused"));
+        assertFalse(outputStream.toString().contains("failed"));
+        assertTrue(errorStream.toString().contains("failed"));
+    }
+
+    @Test
+    void asyncAppenderWritesEveryEventInOrderInBatches() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> batches = Collections.synchronizedList(new ArrayList<>());
+        Appender recorder = new Appender() {
+            @Override
+            public void append(LogEvent event) {
+                written.add(event.getMessage());
+            }
+
+            @Override
+            public void append(List<LogEvent> events) {
+                try {
+                    release.await();  // hold the writer so events pile up into batches
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                batches.add(events.size());
+                Appender.super.append(events);
+            }
+        };
+        AsyncAppender async = new AsyncAppender(recorder, 1000, 50);
+        for (int i = 0; i < 200; i++) {
+            async.append(new LogEvent(i, Level.INFO, "test", "main", "message " + i));
+        }
+        release.countDown();
+        async.flush();
+
+        assertEquals(200, written.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals("message " + i, written.get(i));
+        }
+        assertTrue(batches.size() < 200);
+        assertTrue(batches.stream().allMatch(size -> size <= 50));
+        assertEquals(0, async.getPending());
+
+        async.close();
+        async.append(new LogEvent(0, Level.INFO, "test", "main", "after close"));
+        assertEquals("after close", written.get(200));
+    }
+
+    @Test
+    void servicesLogThroughTheAsyncAppender() {
+        Log.setLevel(Level.INFO);
+        AsyncAppender async = new AsyncAppender(new ConsoleAppender());
+        Log.setAppender(async);
+        Logger log = Log.getLogger(LogTest.class);
+        for (int i = 0; i < 1000; i++) {
+            log.info("line " + i);
+        }
+        Log.flush();
+
+        String output = outputStream.toString();
+        assertTrue(output.contains("line 0"));
+        assertTrue(output.contains("line 999"));
+        assertTrue(output.indexOf("line 10") < output.indexOf("line 999"));
+        async.close();
+    }
+}
@@ -0,0 +1,89 @@
+package com.hotel;
+
+import com.hotel.Service.NightSet;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for NightSet, the booked nights bitset behind BookingRegister.
+ */
+class NightSetTest {
+
+    private static final LocalDate JULY_1 = LocalDate.of(2025, 7, 1);
+
+    private NightSet nights;
+
+    @BeforeEach
+    void setUp() {
+        nights = new NightSet();
+    }
+
+    @Test
+    @DisplayName("A stay should occupy its nights but not the departure day")
+    void testAddAndIntersect() {
+        nights.add(JULY_1, JULY_1.plusDays(3));
+
+        assertTrue(nights.contains(JULY_1));
+        assertTrue(nights.contains(JULY_1.plusDays(2)));
+        assertFalse(nights.contains(JULY_1.plusDays(3)));
+        assertTrue(nights.intersects(JULY_1.plusDays(2), JULY_1.plusDays(5)));
+        assertFalse(nights.intersects(JULY_1.plusDays(3), JULY_1.plusDays(5)));
+        assertFalse(nights.intersects(JULY_1.minusDays(2), JULY_1));
+        assertEquals(3, nights.size());
+    }
+
+    @Test
+    @DisplayName("Earlier stays should be kept when the set is rebased")
+    void testEarlierStayRebases() {
+        nights.add(JULY_1, JULY_1.plusDays(2));
+        nights.add(JULY_1.minusYears(1), JULY_1.minusYears(1).plusDays(1));
+
+        assertEquals(List.of(JULY_1.minusYears(1), JULY_1, JULY_1.plusDays(1)), nights.dates());
+        assertTrue(nights.intersects(JULY_1.minusYears(1), JULY_1.minusYears(1).plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Removing a stay should free its nights only")
+    void testRemove() {
+        nights.add(JULY_1, JULY_1.plusDays(5));
+        nights.remove(JULY_1.plusDays(1), JULY_1.plusDays(3));
+        nights.remove(JULY_1.minusDays(10), JULY_1.minusDays(5));
+
+        assertEquals(List.of(JULY_1, JULY_1.plusDays(3), JULY_1.plusDays(4)), nights.dates());
+    }
+
+    @Test
+    @DisplayName("Window should be relative to its start date and clipped to its length")
+    void testWindow() {
+        nights.add(JULY_1, JULY_1.plusDays(3));
+        nights.add(JULY_1.plusDays(10), JULY_1.plusDays(20));
+
+        BitSet window = nights.window(JULY_1.minusDays(2), 14);
+
+        BitSet expected = new BitSet();
+        expected.set(2, 5);
+        expected.set(12, 14);
+        assertEquals(expected, window);
+        assertTrue(new NightSet().window(JULY_1, 14).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Next and previous booked nights should bound a free run")
+    void testNextAndPreviousBooked() {
+        nights.add(JULY_1, JULY_1.plusDays(3));
+        nights.add(JULY_1.plusDays(10), JULY_1.plusDays(12));
+
+        assertEquals(JULY_1.plusDays(10), nights.nextBooked(JULY_1.plusDays(3)));
+        assertEquals(JULY_1.plusDays(2), nights.previousBooked(JULY_1.plusDays(5)));
+        assertEquals(JULY_1, nights.nextBooked(JULY_1.minusYears(1)));
+        assertNull(nights.nextBooked(JULY_1.plusDays(12)));
+        assertNull(nights.previousBooked(JULY_1));
+        assertEquals(JULY_1.plusDays(11), nights.previousBooked(JULY_1.plusYears(5)));
+        assertNull(new NightSet().nextBooked(JULY_1));
+    }
+}
@@ -0,0 +1,118 @@
+package com.hotel;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.BookingStatus;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.InventorySnapshot;
+import com.hotel.Service.OccupancyReport;
+import com.hotel.Service.RoomInventoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyReportTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2030, 1, 1);
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+    private RoomInventoryImpl inventory;
+    private Room single;
+    private Room twin;
+    private Guest guest;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outputStream));
+        inventory = new RoomInventoryImpl();
+        single = new Room(101, RoomType.SINGLE, true, 100);
+        twin = new Room(201, RoomType.DOUBLE, false, 200);  // the available flag plays no part
+        inventory.addRoom(single);
+        inventory.addRoom(twin);
+        guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void countsSoldNightsInsideTheRange() {
+        confirm(single, JAN_1, JAN_1.plusDays(3));                        // 3 nights in range
+        confirm(twin, JAN_1.plusDays(7), JAN_1.plusDays(12));             // 2 of its 5 nights in range
+        Booking held = new Booking(JAN_1.plusDays(2), JAN_1.plusDays(5), guest, twin);
+        held.setBookingStatus(BookingStatus.POSSIBLE);
+        inventory.holdBooking(held);                                       // reserved, not sold
+
+        OccupancyReport report = inventory.getOccupancyReport(JAN_1, JAN_1.plusDays(9));
+
+        assertEquals(9, report.getNights());
+        assertEquals(18, report.getRoomNightsAvailable());
+        assertEquals(5, report.getRoomNightsSold());
+        assertEquals(700.0, report.getRoomRevenue(), 0.001);
+        assertEquals(5.0 / 18, report.getOccupancy(), 1e-9);
+        assertEquals(140.0, report.getAverageDailyRate(), 0.001);
+        assertEquals(700.0 / 18, report.getRevPar(), 1e-9);
+        assertEquals(report.getOccupancy() * report.getAverageDailyRate(), report.getRevPar(), 1e-9);
+
+        assertEquals(1, report.getRooms(RoomType.DOUBLE));
+        assertEquals(2, report.getRoomNightsSold(RoomType.DOUBLE));
+        assertEquals(2.0 / 9, report.getOccupancy(RoomType.DOUBLE), 1e-9);
+        assertEquals(200.0, report.getAverageDailyRate(RoomType.DOUBLE), 0.001);
+        assertEquals(0, report.getRooms(RoomType.SUITE));
+        assertEquals(0.0, report.getRevPar(RoomType.SUITE));
+    }
+
+    @Test
+    void cancelledStaysAndOtherDatesAreNotSold() {
+        Booking cancelled = confirm(single, JAN_1, JAN_1.plusDays(3));
+        inventory.cancelBooking(cancelled.getBookingID());
+        confirm(twin, JAN_1.plusDays(20), JAN_1.plusDays(22));
+
+        OccupancyReport report = inventory.getOccupancyReport(JAN_1, JAN_1.plusDays(10));
+        assertEquals(0, report.getRoomNightsSold());
+        assertEquals(0.0, report.getOccupancy());
+        assertEquals(0.0, report.getAverageDailyRate());
+    }
+
+    @Test
+    void largeInventoryMatchesRoomByRoomCount() {
+        RoomInventoryImpl big = new RoomInventoryImpl();
+        long expected = 0;
+        for (int r = 0; r < 1000; r++) {  // enough rooms to be split between tasks
+            Room room = new Room(1000 + r, RoomType.values()[r % RoomType.values().length], true, 100);
+            big.addRoom(room);
+            for (int b = 0; b < r % 5; b++) {
+                Booking booking = new Booking(JAN_1.plusDays(b * 10L), JAN_1.plusDays(b * 10L + 4), guest, room);
+                big.confirmBooking(booking);
+                expected += 4;
+            }
+        }
+        OccupancyReport report = big.getOccupancyReport(JAN_1, JAN_1.plusDays(365));
+        assertEquals(expected, report.getRoomNightsSold());
+        assertEquals(1000L * 365, report.getRoomNightsAvailable());
+    }
+
+    @Test
+    void rejectsEmptyRanges() {
+        InventorySnapshot snapshot = inventory.snapshot();
+        assertThrows(IllegalArgumentException.class, () -> OccupancyReport.compute(snapshot, JAN_1, JAN_1));
+        assertThrows(IllegalArgumentException.class, () -> OccupancyReport.compute(snapshot, JAN_1, null));
+        assertThrows(IllegalArgumentException.class, () -> inventory.getOccupancyReport(JAN_1.plusDays(1), JAN_1));
+    }
+
+    private Booking confirm(Room room, LocalDate arrive, LocalDate depart) {
+        Booking booking = new Booking(arrive, depart, guest, room);
+        inventory.confirmBooking(booking);
+        return booking;
+    }
+}
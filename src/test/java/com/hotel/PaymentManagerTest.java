@@ -2,6 +2,7 @@ package com.hotel;
 
 import com.hotel.Model.*;
 import com.hotel.Service.PaymentManager;
+import com.hotel.Service.PaymentSnapshot;
 import org.junit.jupiter.api.*;
 import java.time.LocalDate;
 import java.util.List;
@@ -303,6 +304,49 @@ class PaymentManagerTest {
         assertTrue(stats.contains("Total Revenue"));
     }
 
+    @Test
+    @DisplayName("Snapshot should keep its totals while payments continue")
+    void testSnapshotIsPointInTime() {
+        Invoice inv1 = paymentManager.processPayment(booking, 750.00, PaymentMethod.CASH, "Bob");
+        paymentManager.processPayment(booking, 250.00, PaymentMethod.CASH, "Bob");
+
+        PaymentSnapshot snapshot = paymentManager.snapshot();
+        paymentManager.processRefund(inv1.getPayment().getPaymentId());
+        paymentManager.processPayment(booking, 300.00, PaymentMethod.CASH, "Bob");
+
+        assertEquals(2, snapshot.getPaymentCount());
+        assertEquals(2, snapshot.getCount(PaymentStatus.COMPLETED));
+        assertEquals(1000.00, snapshot.getTotalRevenue(), 0.01);
+        assertEquals(0.00, snapshot.getTotalRefunds(), 0.01);
+
+        PaymentSnapshot later = paymentManager.snapshot();
+        assertTrue(later.getVersion() > snapshot.getVersion());
+        assertEquals(3, later.getPaymentCount());
+        assertEquals(1, later.getCount(PaymentStatus.REFUNDED));
+        assertEquals(550.00, later.getTotalRevenue(), 0.01);
+        assertEquals(750.00, later.getTotalRefunds(), 0.01);
+
+        paymentManager.clearAll();
+        assertEquals(0, paymentManager.snapshot().getPaymentCount());
+    }
+
+    @Test
+    @DisplayName("A payment whose invoice fails should be counted once")
+    void testInvoiceFailureCountsPaymentOnce() {
+        Booking roomless = new Booking(LocalDate.of(2025, 12, 10), LocalDate.of(2025, 12, 13), guest);
+
+        assertThrows(IllegalStateException.class,
+                () -> paymentManager.processPayment(roomless, 400.00, PaymentMethod.CASH, "Bob"));
+        assertThrows(IllegalStateException.class,
+                () -> paymentManager.processPaymentWithReference(roomless, 100.00, PaymentMethod.CREDIT_CARD, "Bob", "TX-1"));
+
+        PaymentSnapshot snapshot = paymentManager.snapshot();
+        assertEquals(2, snapshot.getPaymentCount());
+        assertEquals(2, snapshot.getCount(PaymentStatus.COMPLETED));
+        assertEquals(0, snapshot.getCount(PaymentStatus.FAILED));
+        assertEquals(500.00, snapshot.getTotalRevenue(), 0.01);
+    }
+
     @Test
     @DisplayName("Display payment summary should not throw exception")
     void testDisplayPaymentSummary() {
@@ -0,0 +1,163 @@
+package com.hotel;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.BookingStatus;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.RoomAssignmentOptimizer;
+import com.hotel.Service.RoomInventoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomAssignmentOptimizerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 1);
+
+    private final PrintStream originalOut = System.out;
+    private RoomInventoryImpl inventory;
+    private Room room1;
+    private Room room2;
+    private Guest guest;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        inventory = new RoomInventoryImpl();
+        room1 = new Room(101, RoomType.SINGLE, true, 120);
+        room2 = new Room(102, RoomType.SINGLE, true, 120);
+        inventory.addRoom(room1);
+        inventory.addRoom(room2);
+        guest = new Guest("G1", "Jack Torrance", "jack@axemail.com", "12345", "guest1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    private Booking confirm(Room room, int arriveDay, int departDay) {
+        Booking booking = new Booking(TODAY.plusDays(arriveDay), TODAY.plusDays(departDay), guest, room);
+        inventory.confirmBooking(booking);
+        return booking;
+    }
+
+    @Test
+    @DisplayName("Stays are packed end to end, leaving a room free for a long stay")
+    void testPacksStaysIntoFewerRooms() {
+        Booking first = confirm(room1, 9, 11);
+        Booking second = confirm(room2, 11, 13);
+        Booking third = confirm(room1, 14, 16);
+        assertNull(inventory.probeAvailability(RoomType.SINGLE, TODAY.plusDays(9), TODAY.plusDays(19)));
+
+        assertEquals(1, inventory.optimizeRoomAssignments(TODAY));
+
+        assertSame(room1, second.getBookingRoom());
+        assertSame(room1, first.getBookingRoom());
+        assertSame(room1, third.getBookingRoom());
+        assertSame(second, room1.getBookingRegister().getBooking(second.getBookingID()));
+        assertNull(room2.getBookingRegister().getBooking(second.getBookingID()));
+        assertSame(room2, inventory.probeAvailability(RoomType.SINGLE, TODAY.plusDays(9), TODAY.plusDays(19)));
+        assertSame(second, inventory.getBooking(second.getBookingID()));
+        assertEquals(0, inventory.optimizeRoomAssignments(TODAY));
+    }
+
+    @Test
+    @DisplayName("Stays inside the cut-off or checked in keep their rooms")
+    void testPinnedStaysDoNotMove() {
+        Booking inHouse = confirm(room2, 0, 4);
+        inHouse.setBookingStatus(BookingStatus.CHECKED_IN);
+        Booking later = confirm(room1, 4, 6);
+        Booking cutOff = confirm(room1, 1, 2);
+
+        assertEquals(1, inventory.optimizeRoomAssignments(TODAY));
+
+        assertSame(room2, later.getBookingRoom());  // packed after the checked-in stay
+        assertSame(room2, inHouse.getBookingRoom());
+        assertSame(room1, cutOff.getBookingRoom());
+    }
+
+    @Test
+    @DisplayName("Packing while desks book and cancel never puts two stays on one night")
+    void testPackingRacingBookingsNeverDoubleBooks() throws InterruptedException {
+        Room room3 = new Room(103, RoomType.SINGLE, true, 120);
+        inventory.addRoom(room3);
+        Room[] rooms = {room1, room2, room3};
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread desk = new Thread(() -> {
+            Random random = new Random(11);
+            List<Booking> confirmed = new ArrayList<>();
+            try {
+                for (int i = 0; i < 3000; i++) {
+                    if (!confirmed.isEmpty() && random.nextInt(3) == 0) {
+                        inventory.cancelBooking(confirmed.remove(random.nextInt(confirmed.size())).getBookingID());
+                        continue;
+                    }
+                    int arrive = 5 + random.nextInt(40);
+                    Booking booking = new Booking(TODAY.plusDays(arrive), TODAY.plusDays(arrive + 1 + random.nextInt(4)),
+                            guest, rooms[random.nextInt(rooms.length)]);
+                    try {
+                        inventory.confirmBooking(booking);
+                        confirmed.add(booking);
+                    } catch (IllegalStateException taken) {
+                        // the room was booked, or a move filled it, since the booking was made
+                    }
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        desk.start();
+        while (desk.isAlive()) {
+            inventory.optimizeRoomAssignments(TODAY);
+        }
+        desk.join();
+        assertNull(failure.get());
+
+        for (Room room : rooms) {
+            List<Booking> stays = new ArrayList<>(room.getBookingRegister().getBookings());
+            for (int a = 0; a < stays.size(); a++) {
+                assertSame(room, stays.get(a).getBookingRoom());
+                for (int b = a + 1; b < stays.size(); b++) {
+                    assertFalse(stays.get(a).getArriveDate().isBefore(stays.get(b).getDepartDate())
+                            && stays.get(b).getArriveDate().isBefore(stays.get(a).getDepartDate()),
+                            "Room " + room.getRoomNumber() + ": " + stays.get(a).getBookingID()
+                                    + " overlaps " + stays.get(b).getBookingID());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Assign leaves everything in place when the stays cannot all be placed")
+    void testAssignGivesUpRatherThanDropStays() {
+        RoomAssignmentOptimizer optimizer = new RoomAssignmentOptimizer(0, 30);
+        room1.getBookingRegister().addDatesToRegister(new Booking(TODAY, TODAY.plusDays(1), guest, room1));
+        room2.getBookingRegister().addDatesToRegister(new Booking(TODAY.plusDays(3), TODAY.plusDays(4), guest, room2));
+        Booking shortStay = confirm(room2, 1, 3);
+        Booking movable = confirm(room1, 2, 5);
+
+        // packing the short stay after night 0 in room 1 would leave no room for the longer one
+        Map<Booking, Room> moves = optimizer.assign(List.of(room1, room2), List.of(shortStay, movable), TODAY);
+
+        assertTrue(moves.isEmpty());
+        assertTrue(optimizer.isMovable(movable, TODAY));
+        assertFalse(optimizer.isMovable(movable, TODAY.plusDays(6)));
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizer.assign(List.of(room2), List.of(movable), TODAY));
+        assertThrows(IllegalArgumentException.class, () -> new RoomAssignmentOptimizer(5, 5));
+    }
+}
@@ -0,0 +1,116 @@
+package com.hotel;
+
+import com.hotel.Model.*;
+import com.hotel.Service.RoomAttributeIndex;
+import com.hotel.Service.RoomInventoryImpl;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RoomAttributeIndex and the filtered room search of RoomInventoryImpl.
+ */
+class RoomAttributeIndexTest {
+
+    private static final LocalDate MAY_3 = LocalDate.now().plusYears(1).withMonth(5).withDayOfMonth(3);
+
+    private final PrintStream originalOut = System.out;
+    private RoomInventoryImpl inventory;
+    private Room seaViewAccessible;
+    private Room seaView;
+    private Room accessibleUpstairs;
+    private Room single;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        inventory = new RoomInventoryImpl();
+        seaViewAccessible = new Room(201, RoomType.DOUBLE, true, 180,
+                EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.ACCESSIBLE));
+        seaView = new Room(202, RoomType.DOUBLE, true, 180, EnumSet.of(RoomAttribute.SEA_VIEW));
+        accessibleUpstairs = new Room(305, RoomType.DOUBLE, true, 180,
+                EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.ACCESSIBLE, RoomAttribute.BALCONY));
+        single = new Room(101, RoomType.SINGLE, true, 120, EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.ACCESSIBLE));
+        inventory.addRoom(seaViewAccessible);
+        inventory.addRoom(seaView);
+        inventory.addRoom(accessibleUpstairs);
+        inventory.addRoom(single);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Room should keep its features as a bit mask")
+    void testRoomAttributes() {
+        assertTrue(seaViewAccessible.hasAttribute(RoomAttribute.ACCESSIBLE));
+        assertFalse(seaViewAccessible.hasAttribute(RoomAttribute.SMOKING));
+        assertEquals(RoomAttribute.SEA_VIEW.mask() | RoomAttribute.ACCESSIBLE.mask(), seaViewAccessible.getAttributeMask());
+        assertEquals(EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.ACCESSIBLE), seaViewAccessible.getAttributes());
+        assertEquals(3, accessibleUpstairs.getFloor());
+        assertEquals("Sea view", RoomAttribute.SEA_VIEW.toString());
+    }
+
+    @Test
+    @DisplayName("Search should AND type, features and floor, then check dates")
+    void testSearchAvailableRooms() {
+        EnumSet<RoomAttribute> wanted = EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.ACCESSIBLE);
+
+        assertEquals(List.of(seaViewAccessible, accessibleUpstairs),
+                inventory.searchAvailableRooms(RoomType.DOUBLE, wanted, null, MAY_3, MAY_3.plusDays(4)));
+        assertEquals(List.of(accessibleUpstairs),
+                inventory.searchAvailableRooms(RoomType.DOUBLE, wanted, 3, MAY_3, MAY_3.plusDays(4)));
+        assertEquals(List.of(single, seaViewAccessible, accessibleUpstairs),
+                inventory.searchAvailableRooms(null, wanted, null, MAY_3, MAY_3.plusDays(4)));
+        assertTrue(inventory.searchAvailableRooms(RoomType.DOUBLE, wanted, 9, MAY_3, MAY_3.plusDays(4)).isEmpty());
+
+        Booking booking = new Booking(MAY_3.plusDays(2), MAY_3.plusDays(3), new Guest("G1", "Ted", "ted@craggy.ie", "087", "pw"));
+        inventory.checkRoomAvailability(booking, RoomType.DOUBLE, EnumSet.of(RoomAttribute.BALCONY));
+        assertSame(accessibleUpstairs, booking.getBookingRoom());
+        inventory.confirmBooking(booking);
+        assertEquals(List.of(seaViewAccessible),
+                inventory.searchAvailableRooms(RoomType.DOUBLE, wanted, null, MAY_3, MAY_3.plusDays(4)));
+    }
+
+    @Test
+    @DisplayName("Index should follow changes to a room and its removal")
+    void testChangesAndRemoval() {
+        seaView.setAttributes(EnumSet.of(RoomAttribute.SEA_VIEW, RoomAttribute.ACCESSIBLE));
+        single.setRoomType(RoomType.DOUBLE);
+        EnumSet<RoomAttribute> wanted = EnumSet.of(RoomAttribute.ACCESSIBLE);
+
+        assertEquals(List.of(single, seaViewAccessible, seaView, accessibleUpstairs),
+                inventory.searchAvailableRooms(RoomType.DOUBLE, wanted, null, MAY_3, MAY_3.plusDays(1)));
+
+        inventory.removeRoom(202);
+        assertEquals(List.of(single, seaViewAccessible, accessibleUpstairs),
+                inventory.searchAvailableRooms(RoomType.DOUBLE, wanted, null, MAY_3, MAY_3.plusDays(1)));
+        assertSame(accessibleUpstairs, inventory.getRoom(305));
+        assertNull(inventory.getRoom(202));
+    }
+
+    @Test
+    @DisplayName("Removed slots should be reused")
+    void testSlotReuse() {
+        RoomAttributeIndex index = new RoomAttributeIndex();
+        Room first = new Room(1, RoomType.SUITE, true, 1);
+        Room second = new Room(2, RoomType.SUITE, true, 1);
+        assertTrue(index.add(first));
+        assertFalse(index.add(first));
+        assertTrue(index.remove(first));
+        assertFalse(index.remove(first));
+        assertTrue(index.add(second));
+
+        assertEquals(List.of(second), index.find(RoomType.SUITE, EnumSet.noneOf(RoomAttribute.class), null));
+        assertEquals(1, index.size());
+        assertThrows(IllegalArgumentException.class, () -> index.add(null));
+    }
+}
@@ -1,20 +1,26 @@
 package com.hotel;
 
 import com.hotel.Model.Booking;
+import com.hotel.Model.BookingStatus;
 import com.hotel.Model.Guest;
 import com.hotel.Model.Room;
 import com.hotel.Model.RoomType;
 import com.hotel.Service.BookingRegister;
+import com.hotel.Service.InventorySnapshot;
+import com.hotel.Service.Page;
 import com.hotel.Service.RoomInventoryImpl;
+import com.hotel.Service.TapeChart;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -289,4 +295,211 @@ class RoomInventoryImplTest {
         assertTrue(output.contains("Wendy Torrance"));
         //assertTrue(output.contains())
     }
-}
\ No newline at end of file
+
+    @Test
+    void confirmBookingIndexesBookingForGuest() {
+        RoomInventoryImpl roomInventory = new RoomInventoryImpl();
+        Room room1 = new Room(101, RoomType.SINGLE, true, 199);
+        Room room2 = new Room(102, RoomType.DOUBLE, true, 249);
+        roomInventory.addRoom(room1);
+        roomInventory.addRoom(room2);
+        Guest guest1 = new Guest("1", "Jack Torrance", "jack@axemail.com", "12345", "guest1");
+        Guest guest2 = new Guest("2", "Danny Torrance", "danny@redrum.com", "12345", "guest2");
+
+        Booking first = new Booking(LocalDate.of(2025, 11, 23), LocalDate.of(2025, 11, 30), guest1);
+        roomInventory.checkRoomAvailability(first, RoomType.SINGLE);
+        roomInventory.confirmBooking(first);
+        Booking second = new Booking(LocalDate.of(2025, 12, 23), LocalDate.of(2025, 12, 30), guest1);
+        roomInventory.checkRoomAvailability(second, RoomType.DOUBLE);
+        roomInventory.confirmBooking(second);
+
+        assertEquals(BookingStatus.CONFIRMED, first.getBookingStatus());
+        assertEquals(List.of(first, second), roomInventory.getBookingsForGuest("1"));
+        assertTrue(roomInventory.getBookingsForGuest("2").isEmpty());
+        assertTrue(guest1.hasBooking(first.getBookingID()));
+        assertTrue(guest1.isReturningGuest());
+        assertFalse(guest2.isReturningGuest());
+        assertTrue(room1.getBookingRegister().checkForBookingOverlap(first, room1));
+        assertThrows(IllegalArgumentException.class,
+                () -> roomInventory.confirmBooking(new Booking(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2), guest2)));
+    }
+
+    @Test
+    void buildTapeChartMarksBookedNights() {
+        RoomInventoryImpl roomInventory = new RoomInventoryImpl();
+        Room room1 = new Room(102, RoomType.SINGLE, true, 199);
+        Room room2 = new Room(101, RoomType.SINGLE, true, 199);
+        Room room3 = new Room(201, RoomType.DOUBLE, true, 249);
+        roomInventory.addRoom(room1);
+        roomInventory.addRoom(room2);
+        roomInventory.addRoom(room3);
+        Guest guest1 = new Guest("1", "Jack Torrance", "jack@axemail.com", "12345", "guest1");
+        Booking booking = new Booking(LocalDate.of(2025, 11, 23), LocalDate.of(2025, 11, 26), guest1, room1);
+        room1.getBookingRegister().addDatesToRegister(booking);
+
+        TapeChart chart = roomInventory.buildTapeChart(LocalDate.of(2025, 11, 22), 14, RoomType.SINGLE);
+
+        assertEquals(List.of(room2, room1), chart.getRooms());
+        assertFalse(chart.isBooked(1, 0));
+        assertTrue(chart.isBooked(1, 1));
+        assertTrue(chart.isBooked(1, 3));
+        assertFalse(chart.isBooked(1, 4));
+        assertFalse(chart.isBooked(0, 1));
+        assertEquals(1, chart.getFreeRooms(1));
+        assertEquals(2, chart.getFreeRooms(4));
+        String rendered = chart.render();
+        assertTrue(rendered.contains(" 22 23 24"));
+        assertTrue(rendered.contains("102   Single         .  #  #  #  ."));
+        assertFalse(rendered.contains("201"));
+        assertEquals(3, roomInventory.buildTapeChart(LocalDate.of(2025, 11, 22), 30, null).getRooms().size());
+        assertThrows(IllegalArgumentException.class, () -> roomInventory.buildTapeChart(null, 14, null));
+    }
+
+    @Test
+    void probeAvailabilityHasNoSideEffects() {
+        RoomInventoryImpl roomInventory = new RoomInventoryImpl();
+        Room room1 = new Room(101, RoomType.SINGLE, true, 199);
+        Room room2 = new Room(102, RoomType.SINGLE, true, 199);
+        roomInventory.addRoom(room1);
+        roomInventory.addRoom(room2);
+        Guest guest1 = new Guest("1", "Jack Torrance", "jack@axemail.com", "12345", "guest1");
+        room1.getBookingRegister().addDatesToRegister(
+                new Booking(LocalDate.of(2025, 11, 23), LocalDate.of(2025, 11, 26), guest1, room1));
+        int idBefore = new Booking(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2), guest1).getBookingID();
+        int countBefore = room2.getRoomBookingCount();
+
+        assertSame(room2, roomInventory.probeAvailability(RoomType.SINGLE, LocalDate.of(2025, 11, 24), LocalDate.of(2025, 11, 28)));
+        assertSame(room1, roomInventory.probeAvailability(RoomType.SINGLE, LocalDate.of(2025, 11, 26), LocalDate.of(2025, 11, 28)));
+        assertEquals(1, roomInventory.countAvailableRooms(RoomType.SINGLE, LocalDate.of(2025, 11, 25), LocalDate.of(2025, 11, 27)));
+        assertEquals(2, roomInventory.countAvailableRooms(RoomType.SINGLE, LocalDate.of(2025, 11, 26), LocalDate.of(2025, 11, 27)));
+        assertNull(roomInventory.probeAvailability(RoomType.DOUBLE, LocalDate.of(2025, 11, 24), LocalDate.of(2025, 11, 28)));
+
+        room2.getBookingRegister().addDatesToRegister(
+                new Booking(LocalDate.of(2025, 11, 20), LocalDate.of(2025, 11, 25), guest1, room2));
+        assertNull(roomInventory.probeAvailability(RoomType.SINGLE, LocalDate.of(2025, 11, 24), LocalDate.of(2025, 11, 25)));
+        assertEquals(0, roomInventory.countAvailableRooms(RoomType.SINGLE, LocalDate.of(2025, 11, 24), LocalDate.of(2025, 11, 25)));
+
+        roomInventory.getStayRestrictions().setMinStay(RoomType.SINGLE, LocalDate.now(), LocalDate.now().plusDays(1), 3);
+        assertNull(roomInventory.probeAvailability(RoomType.SINGLE, LocalDate.now(), LocalDate.now().plusDays(1)));
+        assertNotNull(roomInventory.probeAvailability(RoomType.SINGLE, LocalDate.now(), LocalDate.now().plusDays(3)));
+
+        assertEquals(countBefore, room2.getRoomBookingCount());
+        assertEquals(idBefore + 2, new Booking(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 2), guest1).getBookingID());
+    }
+
+    @Test
+    void roomPagesFollowRoomNumbersAndSkipClosedRooms() {
+        RoomInventoryImpl roomInventory = new RoomInventoryImpl();
+        roomInventory.addRoom(new Room(305, RoomType.DOUBLE, true, 180));
+        roomInventory.addRoom(new Room(101, RoomType.SINGLE, true, 120));
+        Room closed = new Room(204, RoomType.DOUBLE, false, 180);
+        roomInventory.addRoom(closed);
+        Room renumbered = new Room(102, RoomType.SINGLE, true, 120);
+        roomInventory.addRoom(renumbered);
+        roomInventory.addRoom(new Room(101, RoomType.SINGLE, true, 120));  // a second room numbered 101
+
+        Page<Room> first = roomInventory.getRoomsPage(null, 3);
+        assertEquals(List.of(101, 101, 102), roomNumbers(first));
+        renumbered.setRoomNumber(401);
+        Page<Room> second = roomInventory.getRoomsPage(first.getNextCursor(), 3);
+        assertEquals(List.of(204, 305, 401), roomNumbers(second));
+        assertFalse(second.hasNext());
+
+        Page<Room> open = roomInventory.getAvailableRoomsPage(null, 3);
+        assertEquals(List.of(101, 101, 305), roomNumbers(open));
+        assertEquals(List.of(401), roomNumbers(roomInventory.getAvailableRoomsPage(open.getNextCursor(), 3)));
+        assertThrows(IllegalArgumentException.class, () -> roomInventory.getAvailableRoomsPage(first.getNextCursor(), 3));
+    }
+
+    private static List<Integer> roomNumbers(Page<Room> page) {
+        List<Integer> numbers = new ArrayList<>();
+        page.getItems().forEach(room -> numbers.add(room.getRoomNumber()));
+        return numbers;
+    }
+
+    @Test
+    void snapshotIsUnaffectedByLaterBookings() {
+        RoomInventoryImpl roomInventory = new RoomInventoryImpl();
+        Room room1 = new Room(101, RoomType.SINGLE, true, 199);
+        Room room2 = new Room(102, RoomType.SINGLE, true, 199);
+        roomInventory.addRoom(room1);
+        roomInventory.addRoom(room2);
+        Guest guest1 = new Guest("1", "Jack Torrance", "jack@axemail.com", "12345", "guest1");
+        Booking booking1 = new Booking(LocalDate.of(2025, 11, 23), LocalDate.of(2025, 11, 26), guest1, room1);
+        roomInventory.confirmBooking(booking1);
+
+        InventorySnapshot snapshot = roomInventory.snapshot();
+        Booking booking2 = new Booking(LocalDate.of(2025, 11, 23), LocalDate.of(2025, 11, 25), guest1, room2);
+        roomInventory.confirmBooking(booking2);
+        roomInventory.cancelBooking(booking1.getBookingID());
+        room1.setAvailable(false);
+        roomInventory.addRoom(new Room(103, RoomType.SINGLE, true, 199));
+
+        assertEquals(2, snapshot.getTotalRooms());
+        assertEquals(0, snapshot.getBookedRooms());
+        InventorySnapshot.RoomView view1 = snapshot.getRooms().get(0);
+        InventorySnapshot.RoomView view2 = snapshot.getRooms().get(1);
+        assertEquals(101, view1.getRoomNumber());
+        assertEquals(List.of(booking1), new ArrayList<>(view1.getRegister().getBookings()));
+        assertEquals(3, view1.getRegister().getBookedNightCount());
+        assertTrue(view1.getRegister().isBooked(LocalDate.of(2025, 11, 25), LocalDate.of(2025, 11, 26)));
+        assertTrue(view2.getRegister().getBookings().isEmpty());
+        assertFalse(view2.getRegister().isBooked(LocalDate.of(2025, 11, 23), LocalDate.of(2025, 11, 25)));
+
+        InventorySnapshot later = roomInventory.snapshot();
+        assertEquals(3, later.getTotalRooms());
+        assertEquals(1, later.getBookedRooms());
+        assertTrue(later.getVersion() > snapshot.getVersion());
+        assertTrue(later.getRooms().get(0).getRegister().getBookings().isEmpty());
+        assertEquals(List.of(booking2), new ArrayList<>(later.getRooms().get(1).getRegister().getBookings()));
+    }
+
+    @Test
+    void snapshotsStayConsistentWhileTwoThreadsWrite() throws InterruptedException {
+        RoomInventoryImpl roomInventory = new RoomInventoryImpl();
+        Room roomA = new Room(101, RoomType.SINGLE, true, 199);
+        Room roomB = new Room(102, RoomType.SINGLE, true, 199);
+        roomInventory.addRoom(roomA);
+        roomInventory.addRoom(roomB);
+        long startVersion = roomInventory.snapshot().getVersion();
+        int rounds = 2000;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writerA = writer(roomInventory, roomA, new Guest("A", "Jack Torrance", "jack@axemail.com", "1", "pw"), rounds, failure);
+        Thread writerB = writer(roomInventory, roomB, new Guest("B", "Wendy Torrance", "wendy@axemail.com", "2", "pw"), rounds, failure);
+        writerA.start();
+        writerB.start();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            while (writerA.isAlive() || writerB.isAlive()) {
+                InventorySnapshot snapshot = roomInventory.snapshot();
+                for (InventorySnapshot.RoomView view : snapshot.getRooms()) {
+                    int nights = view.getRegister().getBookedNightCount();
+                    assertTrue(nights == 0 || nights == 3, "torn booking in room " + view.getRoomNumber());
+                    assertEquals(nights / 3, view.getRegister().getBookings().size());
+                }
+            }
+        });
+        writerA.join();
+        writerB.join();
+        assertNull(failure.get());
+
+        InventorySnapshot last = roomInventory.snapshot();
+        assertEquals(startVersion + 2L * 2 * rounds, last.getVersion());  // no change lost its version bump
+        assertEquals(0, last.getBookedRooms());
+    }
+
+    private static Thread writer(RoomInventoryImpl inventory, Room room, Guest guest, int rounds,
+                                 AtomicReference<Throwable> failure) {
+        return new Thread(() -> {
+            try {
+                for (int i = 0; i < rounds; i++) {
+                    Booking booking = new Booking(LocalDate.of(2025, 11, 23), LocalDate.of(2025, 11, 26), guest, room);
+                    inventory.confirmBooking(booking);
+                    inventory.cancelBooking(booking.getBookingID());
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        });
+    }
+}
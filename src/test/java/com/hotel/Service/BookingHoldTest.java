@@ -0,0 +1,242 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Booking;
+import com.hotel.Model.BookingStatus;
+import com.hotel.Model.Guest;
+import com.hotel.Model.Room;
+import com.hotel.Model.RoomType;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingHoldTest {
+
+    private static final LocalDate ARRIVE = LocalDate.of(2025, 12, 10);
+    private static final LocalDate DEPART = LocalDate.of(2025, 12, 13);
+
+    private final PrintStream originalOut = System.out;
+    private MutableClock clock;
+    private RoomInventoryImpl inventory;
+    private Room room;
+    private Guest guest;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        clock = new MutableClock();
+        inventory = new RoomInventoryImpl(new StayRestrictions(LocalDate.of(2025, 12, 1)), clock);
+        room = new Room(101, RoomType.DOUBLE, true, 150);
+        inventory.addRoom(room);
+        guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "secret");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    private Booking findRoom() {
+        Booking booking = new Booking(ARRIVE, DEPART, guest);
+        inventory.checkRoomAvailability(booking, RoomType.DOUBLE);
+        return booking;
+    }
+
+    @Test
+    void testHoldReservesRoomUntilItLapses() {
+        Booking booking = findRoom();
+        inventory.holdBooking(booking, Duration.ofMinutes(5));
+
+        assertEquals(BookingStatus.HELD, booking.getBookingStatus());
+        assertNull(inventory.probeAvailability(RoomType.DOUBLE, ARRIVE, DEPART));
+        Booking rival = findRoom();
+        assertEquals(BookingStatus.UNCONFIRMED, rival.getBookingStatus());
+
+        clock.advance(Duration.ofMinutes(4));
+        assertEquals(0, inventory.expireHolds());
+        clock.advance(Duration.ofMinutes(2));
+        assertSame(room, inventory.probeAvailability(RoomType.DOUBLE, ARRIVE, DEPART));
+        assertEquals(1, inventory.countAvailableRooms(RoomType.DOUBLE, ARRIVE, DEPART));
+        assertEquals(BookingStatus.HELD, booking.getBookingStatus());      // probes leave expiry to the write paths
+        assertEquals(1, inventory.getHeldCount());
+
+        assertEquals(1, inventory.expireHolds());
+        assertEquals(BookingStatus.EXPIRED, booking.getBookingStatus());
+        assertEquals(0, inventory.getHeldCount());
+        assertNull(room.getBookingRegister().getBooking(booking.getBookingID()));
+        assertThrows(IllegalStateException.class, () -> inventory.confirmBooking(booking));
+        assertFalse(guest.hasBooking(booking.getBookingID()));
+    }
+
+    @Test
+    void testConfirmKeepsHeldNights() {
+        Booking booking = findRoom();
+        inventory.holdBooking(booking);
+        clock.advance(Duration.ofMinutes(1));
+        inventory.confirmBooking(booking);
+
+        assertEquals(BookingStatus.CONFIRMED, booking.getBookingStatus());
+        assertEquals(0, inventory.getHeldCount());
+        clock.advance(Duration.ofHours(1));
+        assertEquals(0, inventory.expireHolds());
+        assertTrue(room.getBookingRegister().isBooked(ARRIVE, DEPART));
+        assertSame(booking, inventory.getBooking(booking.getBookingID()));
+        assertTrue(guest.hasBooking(booking.getBookingID()));
+    }
+
+    @Test
+    void testReleaseHoldFreesRoom() {
+        Booking booking = findRoom();
+        inventory.holdBooking(booking);
+
+        assertSame(booking, inventory.releaseHold(booking.getBookingID()));
+        assertEquals(BookingStatus.CANCELLED, booking.getBookingStatus());
+        assertFalse(room.getBookingRegister().isBooked(ARRIVE, DEPART));
+        assertNull(inventory.releaseHold(booking.getBookingID()));
+        assertEquals(1, inventory.countAvailableRooms(RoomType.DOUBLE, ARRIVE, DEPART));
+    }
+
+    @Test
+    void testHoldRejectsTakenRoomAndBadInput() {
+        Booking first = findRoom();
+        Booking second = findRoom();
+        inventory.holdBooking(first);
+
+        assertThrows(IllegalStateException.class, () -> inventory.holdBooking(second));
+        assertThrows(IllegalArgumentException.class, () -> inventory.holdBooking(first));
+        assertThrows(IllegalArgumentException.class, () -> inventory.holdBooking(new Booking(ARRIVE, DEPART, guest)));
+        Booking third = new Booking(DEPART, DEPART.plusDays(1), guest);
+        inventory.checkRoomAvailability(third, RoomType.DOUBLE);
+        assertThrows(IllegalArgumentException.class, () -> inventory.holdBooking(third, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new RoomInventoryImpl(new StayRestrictions(), null));
+    }
+
+    @Test
+    void testCancellationOffersRoomToWaitlist() {
+        Booking booking = findRoom();
+        inventory.confirmBooking(booking);
+        Guest waiting = new Guest("G2", "Dougal McGuire", "dougal@craggy.ie", "087", "secret");
+        Guest returning = new Guest("G3", "Jack Hackett", "jack@craggy.ie", "087", "secret");
+        returning.setReturningGuest(true);
+        Waitlist.Entry tooLong = inventory.addToWaitlist(waiting, RoomType.DOUBLE, ARRIVE, DEPART.plusDays(1));
+        inventory.addToWaitlist(waiting, RoomType.DOUBLE, ARRIVE, DEPART);
+        inventory.addToWaitlist(returning, RoomType.DOUBLE, ARRIVE.plusDays(1), DEPART);
+        room.getBookingRegister().addDatesToRegister(new Booking(DEPART, DEPART.plusDays(2), guest, room));
+
+        inventory.cancelBooking(booking.getBookingID());
+
+        List<Booking> offers = inventory.getHeldBookings();
+        assertEquals(1, offers.size());
+        Booking offer = offers.get(0);
+        assertSame(returning, offer.getBookingGuest());
+        assertSame(room, offer.getBookingRoom());
+        assertEquals(BookingStatus.HELD, offer.getBookingStatus());
+        assertEquals(2, inventory.getWaitlist().size());
+        assertNotNull(inventory.getWaitlist().get(tooLong.getId()));
+
+        clock.advance(RoomInventoryImpl.WAITLIST_OFFER_TTL.plusMinutes(1));
+        assertEquals(1, inventory.expireHolds());
+        assertEquals(BookingStatus.EXPIRED, offer.getBookingStatus());
+        Booking next = inventory.getHeldBookings().get(0);
+        assertSame(waiting, next.getBookingGuest());
+        assertEquals(ARRIVE, next.getArriveDate());
+        inventory.confirmBooking(next);
+        assertEquals(BookingStatus.CONFIRMED, next.getBookingStatus());
+        assertEquals(1, inventory.getWaitlist().size());
+    }
+
+    @Test
+    void testWaitlistRejectsRestrictedStay() {
+        inventory.getStayRestrictions().setMinStay(RoomType.DOUBLE, ARRIVE, ARRIVE.plusDays(1), 5);
+
+        assertThrows(IllegalArgumentException.class, () -> inventory.addToWaitlist(guest, RoomType.DOUBLE, ARRIVE, DEPART));
+        assertThrows(IllegalArgumentException.class, () -> inventory.addToWaitlist(guest, null, ARRIVE, DEPART));
+        assertEquals(0, inventory.getWaitlist().size());
+    }
+
+    @Test
+    void testProbeMakesNoWaitlistOffer() {
+        Booking booking = findRoom();
+        inventory.holdBooking(booking, Duration.ofMinutes(5));
+        inventory.addToWaitlist(new Guest("G2", "Dougal McGuire", "dougal@craggy.ie", "087", "secret"),
+                RoomType.DOUBLE, ARRIVE, DEPART);
+        room.getBookingRegister().addDatesToRegister(new Booking(DEPART, DEPART.plusDays(1), guest, room));
+        clock.advance(Duration.ofMinutes(6));
+
+        assertSame(room, inventory.probeAvailability(RoomType.DOUBLE, ARRIVE, DEPART));
+        assertNull(inventory.probeAvailability(RoomType.DOUBLE, ARRIVE, DEPART.plusDays(1)));  // not a held night
+        assertEquals(1, inventory.getWaitlist().size());
+        assertEquals(List.of(booking), inventory.getHeldBookings());
+
+        inventory.expireHolds();
+        assertEquals(0, inventory.getWaitlist().size());                     // the write path makes the offer
+        assertNotSame(booking, inventory.getHeldBookings().get(0));
+    }
+
+    @Test
+    void testStaleSearchCannotTakeHeldOrBookedNights() {
+        Booking first = findRoom();
+        Booking second = findRoom();   // both found the room free
+        Booking third = findRoom();
+        inventory.holdBooking(first);
+
+        assertThrows(IllegalStateException.class, () -> inventory.holdBooking(second));
+        assertThrows(IllegalStateException.class, () -> inventory.confirmBooking(third));
+        assertEquals(BookingStatus.POSSIBLE, third.getBookingStatus());
+        assertNull(inventory.getBooking(third.getBookingID()));
+
+        inventory.confirmBooking(first);
+        assertThrows(IllegalStateException.class, () -> inventory.confirmBooking(second));
+        assertEquals(0, inventory.getHeldCount());
+        assertNull(inventory.releaseHold(first.getBookingID()));
+    }
+
+    @Test
+    void testHeatmapFollowsTheInventoryClock() {
+        AvailabilityHeatmap heatmap = inventory.getAvailabilityHeatmap();
+        assertEquals(LocalDate.of(2025, 12, 1), heatmap.getStart());
+        inventory.holdBooking(findRoom(), Duration.ofHours(2));
+        assertEquals(0, heatmap.getMinFreeRooms(RoomType.DOUBLE, ARRIVE, DEPART));
+        assertSame(heatmap, inventory.getAvailabilityHeatmap());
+
+        clock.advance(Duration.ofDays(1));
+        AvailabilityHeatmap rebuilt = inventory.getAvailabilityHeatmap();
+        assertEquals(LocalDate.of(2025, 12, 2), rebuilt.getStart());
+        assertEquals(1, rebuilt.getFreeRooms(RoomType.DOUBLE, ARRIVE));   // the hold lapsed with the day
+    }
+
+    /**
+     * Clock that only moves when told to.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-12-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotel.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimerWheelTest {
+
+    @Test
+    void testTimeoutsFireAtDeadlineInTickOrder() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        wheel.schedule("late", 1_250);     // wraps the 8 x 100 ms wheel
+        wheel.schedule("early", 250);
+        wheel.schedule("same bucket", 450);  // tick 5, as is "late" (tick 13)
+        List<String> fired = new ArrayList<>();
+
+        assertEquals(0, wheel.advance(249, fired::add));
+        assertEquals(1, wheel.advance(300, fired::add));
+        assertEquals(1, wheel.advance(600, fired::add));
+        assertEquals(List.of("early", "same bucket"), fired);
+        assertEquals(1, wheel.size());
+        assertEquals(1, wheel.advance(1_300, fired::add));
+        assertEquals("late", fired.get(2));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testCancelledTimeoutNeverFires() {
+        HashedTimerWheel<String> wheel = new HashedTimerWheel<>(100, 8, 0);
+        HashedTimerWheel.Timeout<String> first = wheel.schedule("first", 200);
+        HashedTimerWheel.Timeout<String> second = wheel.schedule("second", 200);
+        List<String> fired = new ArrayList<>();
+
+        assertTrue(wheel.cancel(second));
+        assertFalse(wheel.cancel(second));
+        assertFalse(second.isActive());
+        wheel.advance(500, fired::add);
+
+        assertEquals(List.of("first"), fired);
+        assertFalse(first.isActive());
+        assertFalse(wheel.cancel(first));
+    }
+
+    @Test
+    void testLongPauseFiresEverythingDue() {
+        HashedTimerWheel<Integer> wheel = new HashedTimerWheel<>(10, 4, 1_000);
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(i, 1_000 + i * 10L);
+        }
+        wheel.schedule(-1, 1_000);  // already due
+        List<Integer> fired = new ArrayList<>();
+
+        assertEquals(51, wheel.advance(1_495, fired::add));
+        assertTrue(fired.contains(-1));
+        assertTrue(fired.contains(49));
+        assertFalse(fired.contains(50));
+        assertEquals(50, wheel.size());
+        assertEquals(50, wheel.advance(100_000, fired::add));
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimerWheel<>(0, 4, 0));
+    }
+}
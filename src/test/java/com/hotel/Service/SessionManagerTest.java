@@ -0,0 +1,173 @@
+package com.hotel.Service;
+
+import com.hotel.Model.Guest;
+import com.hotel.Model.PasswordHash;
+import com.hotel.Model.User;
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionManagerTest {
+
+    private MutableClock clock;
+    private SessionManager sessions;
+    private UserManager manager;
+    private Guest guest;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        sessions = new SessionManager(Duration.ofMinutes(30), clock);
+        manager = new UserManager(sessions);
+        guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "secret");
+        manager.addUser(guest);
+    }
+
+    @Test
+    void testLoginCreatesSession() {
+        String token = manager.login("ted@craggy.ie", "secret");
+
+        assertNotNull(token);
+        assertEquals(guest, manager.getSessionUser(token));
+        assertNull(manager.login("ted@craggy.ie", "wrong"));
+        assertNull(manager.getSessionUser("not-a-token"));
+        assertNull(manager.getSessionUser(null));
+    }
+
+    @Test
+    void testSessionExpiresWhenIdle() {
+        String token = manager.login("ted@craggy.ie", "secret");
+
+        clock.advance(Duration.ofMinutes(20));
+        assertNotNull(manager.getSessionUser(token)); // use extends the session
+        clock.advance(Duration.ofMinutes(20));
+        assertNotNull(manager.getSessionUser(token));
+        clock.advance(Duration.ofMinutes(31));
+        assertNull(manager.getSessionUser(token));
+        assertEquals(0, sessions.getSessionCount());
+    }
+
+    @Test
+    void testLogoutAndDeleteEndSessions() {
+        String first = manager.login("ted@craggy.ie", "secret");
+        String second = manager.login("ted@craggy.ie", "secret");
+        assertNotEquals(first, second);
+
+        assertTrue(manager.logout(first));
+        assertNull(manager.getSessionUser(first));
+        assertFalse(manager.logout(first));
+
+        manager.deleteUser("G1");
+        assertNull(manager.getSessionUser(second));
+        assertEquals(0, sessions.getSessionCount());
+    }
+
+    @Test
+    void testPurgeExpired() {
+        for (int i = 0; i < 10; i++) {
+            sessions.createSession(guest);
+        }
+        clock.advance(Duration.ofHours(1));
+        String fresh = sessions.createSession(guest);
+
+        assertEquals(10, sessions.purgeExpired());
+        assertEquals("G1", sessions.validate(fresh));
+    }
+
+    @Test
+    void testPasswordIsHashedWithSalt() {
+        Guest other = new Guest("G2", "Father Dougal", "dougal@craggy.ie", "087", "secret");
+
+        assertTrue(other.validatePassword("secret"));
+        assertFalse(other.validatePassword("Secret"));
+        assertFalse(other.validatePassword(null));
+        assertFalse(other.toString().contains("secret"));
+
+        other.setPassword("changed");
+        assertTrue(other.validatePassword("changed"));
+        assertFalse(other.validatePassword("secret"));
+    }
+
+    @Test
+    void testPasswordChangeEndsSessions() {
+        String previousCost = System.getProperty("hotel.password.iterations");
+        String token;
+        String upgraded;
+        try {
+            System.setProperty("hotel.password.iterations", "1000");
+            guest.setPassword("secret");
+            token = manager.login("ted@craggy.ie", "secret");
+            System.setProperty("hotel.password.iterations", "2000");  // raise the cost, so login upgrades the hash
+            upgraded = manager.login("ted@craggy.ie", "secret");
+            assertFalse(guest.passwordNeedsRehash());
+            assertEquals(guest, manager.getSessionUser(token)); // same password, sessions carry on
+            assertEquals(guest, manager.getSessionUser(upgraded));
+        } finally {
+            if (previousCost == null) {
+                System.clearProperty("hotel.password.iterations");
+            } else {
+                System.setProperty("hotel.password.iterations", previousCost);
+            }
+        }
+
+        guest.setPassword("changed");
+        assertNull(manager.getSessionUser(token));
+        assertNull(manager.getSessionUser(upgraded));
+        assertEquals(0, sessions.getSessionCount());
+        String fresh = manager.login("ted@craggy.ie", "changed");
+        assertEquals(guest, manager.getSessionUser(fresh));
+    }
+
+    @Test
+    void testUsersFromStoredHashSkipHashing() {
+        PasswordHash hash = PasswordHash.of("stored");
+        Guest stored = new Guest("G3", "Father Jack", "jack@craggy.ie", "087", PasswordHash.parse(hash.getEncoded()));
+
+        assertTrue(stored.validatePassword("stored"));
+        assertTrue(PasswordHash.isEncoded(hash.getEncoded()));
+        assertFalse(PasswordHash.isEncoded("stored"));
+        assertFalse(PasswordHash.isEncoded("pbkdf2-sha256$x$AAAA$AAAA"));
+        assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse("stored"));
+        assertThrows(IllegalArgumentException.class, () -> new Guest("G4", "Tom", "tom@craggy.ie", "087", (PasswordHash) null));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new SessionManager(Duration.ZERO, clock));
+        assertThrows(IllegalArgumentException.class, () -> new SessionManager(Duration.ofMinutes(1), null));
+        assertThrows(IllegalArgumentException.class, () -> sessions.createSession(null));
+        assertThrows(IllegalArgumentException.class, () -> new UserManager(null));
+    }
+
+    /**
+     * Clock that only moves when told to.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-12-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -6,7 +6,15 @@ import com.hotel.Model.User;
 import com.hotel.Model.UserRole;
 import org.junit.jupiter.api.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,6 +51,56 @@ class UserManagerTest {
         assertTrue(manager.emailExists("admin@hotel.com"));
     }
 
+    @Test
+    void testUsersPagesVisitEveryUserOnceInIdOrder() {
+        for (int i = 0; i < 25; i++) {
+            manager.addUser(new Guest(String.format("G%03d", i), "Guest " + i, "guest" + i + "@hotel.com", "087", "pw"));
+        }
+
+        Page<User> first = manager.getUsersPage(null, 10);
+        assertEquals(10, first.getItems().size());
+        assertEquals("G000", first.getItems().get(0).getUserId());
+        assertTrue(first.hasNext());
+
+        manager.deleteUser("G010");                                  // the start of the next page
+        manager.addUser(new Guest("G005a", "Late", "late@hotel.com", "087", "pw"));  // behind the cursor
+        List<String> rest = new ArrayList<>();
+        for (Page<User> page = manager.getUsersPage(first.getNextCursor(), 10); ;
+             page = manager.getUsersPage(page.getNextCursor(), 10)) {
+            page.getItems().forEach(u -> rest.add(u.getUserId()));
+            if (!page.hasNext()) {
+                break;
+            }
+        }
+        assertEquals(14, rest.size());
+        assertEquals("G011", rest.get(0));
+        assertEquals("G024", rest.get(13));
+        assertFalse(rest.contains("G005a"));
+
+        assertEquals(25, manager.getUsersPage(null, 5000).getItems().size());   // sizes over Page.MAX_SIZE are capped
+        assertThrows(IllegalArgumentException.class, () -> manager.getUsersPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> manager.getUsersPage("not a cursor!", 10));
+    }
+
+    @Test
+    void testUsersPageInNumericIdOrder() {
+        for (String id : new String[] {"G1000", "G999", "G10", "G9", "G1001", "A2"}) {
+            manager.addUser(new Guest(id, "Guest " + id, id + "@hotel.com", "087", "pw"));
+        }
+
+        Page<User> first = manager.getUsersPage(null, 3);
+        Page<User> second = manager.getUsersPage(first.getNextCursor(), 3);
+        List<String> ids = new ArrayList<>();
+        first.getItems().forEach(u -> ids.add(u.getUserId()));
+        second.getItems().forEach(u -> ids.add(u.getUserId()));
+        assertEquals(List.of("A2", "G9", "G10", "G999", "G1000", "G1001"), ids);
+
+        assertTrue(Page.ID_ORDER.compare("PAY-1001", "PAY-10000") < 0);
+        assertTrue(Page.ID_ORDER.compare("G7", "G007") < 0);          // same value, unpadded first
+        assertTrue(Page.ID_ORDER.compare("G7", "G7a") < 0);
+        assertEquals(0, Page.ID_ORDER.compare("PAY-42", "PAY-42"));
+    }
+
     @Test
     void testAddUserNullThrows() {
         assertThrows(IllegalArgumentException.class, () -> manager.addUser(null));
@@ -158,4 +216,192 @@ class UserManagerTest {
         assertTrue(manager.emailExists("eddie@h.com"));
         assertEquals(1, manager.getTotalUserCount());
     }
+
+    @Test
+    void testSearchUsersByNameEmailAndPhone() {
+        manager.addUser(new Guest("S1", "Ted Crilly", "ted@craggy.ie", "087-1111", "pw"));
+        manager.addUser(new Guest("S2", "Dougal McGuire", "dougal@craggy.ie", "087-2222", "pw"));
+        manager.addUser(new Guest("S3", "Jack Hackett", "jack@drink.ie", "086-3333", "pw"));
+
+        assertEquals(1, manager.searchUsersByName("CRIL").size());
+        assertEquals(1, manager.searchUsersByName("ck").size()); // short term, Jack Hackett only once
+        assertEquals(2, manager.searchUsersByName("a").size());
+        assertTrue(manager.searchUsersByName("craggy").isEmpty()); // email is not a name
+        assertEquals(2, manager.searchUsers("craggy").size());
+        assertEquals("S2", manager.searchUsers("2222").get(0).getUserId());
+        assertTrue(manager.searchUsers("zzz").isEmpty());
+    }
+
+    @Test
+    void testSearchIndexFollowsUpdateAndDelete() {
+        manager.addUser(new Guest("S10", "Mrs Doyle", "doyle@craggy.ie", "087", "pw"));
+        manager.updateUser(new Guest("S10", "Mrs Joan Doyle", "joan@craggy.ie", "087", "pw"));
+
+        assertEquals(1, manager.searchUsersByName("joan").size());
+        assertTrue(manager.searchUsers("doyle@").isEmpty());
+
+        manager.deleteUser("S10");
+        assertTrue(manager.searchUsersByName("doyle").isEmpty());
+        assertTrue(manager.autocompleteUsers("jo", 5).isEmpty());
+    }
+
+    @Test
+    void testAutocompleteTopK() {
+        for (int i = 0; i < 20; i++) {
+            manager.addUser(new Guest("P" + i, "Pat Mustard " + i, "pat" + i + "@h.com", "087", "pw"));
+        }
+        manager.addUser(new Guest("P99", "Paddy", "paddy@h.com", "087", "pw"));
+
+        List<User> top = manager.autocompleteUsers("Pad", 5);
+        assertEquals(1, top.size());
+        assertEquals("P99", top.get(0).getUserId());
+        assertEquals(5, manager.autocompleteUsers("mus", 5).size());
+        assertEquals(21, manager.autocompleteUsers("pa", 50).size());
+        assertThrows(IllegalArgumentException.class, () -> manager.autocompleteUsers("pa", 0));
+    }
+
+    @Test
+    void testSearchAfterManyDeletes() {
+        for (int i = 0; i < 3000; i++) {
+            manager.addUser(new Guest("C" + i, "Churn " + i, "churn" + i + "@h.com", "087", "pw"));
+        }
+        for (int i = 0; i < 2990; i++) {
+            manager.deleteUser("C" + i);
+        }
+        assertEquals(10, manager.searchUsersByName("churn").size());
+        assertEquals(1, manager.searchUsers("churn2995@").size());
+    }
+
+    @Test
+    void testRolePartitionFollowsAddUpdateDelete() {
+        manager.addUser(new Admin("A1", "Admin One", "a1@h.com", "087", "pw"));
+        manager.addUser(new Admin("A2", "Admin Two", "a2@h.com", "087", "pw"));
+        for (int i = 0; i < 50; i++) {
+            manager.addUser(new Guest("G" + i, "Guest " + i, "g" + i + "@h.com", "087", "pw"));
+        }
+
+        assertEquals(2, manager.countUsersByRole(UserRole.ADMIN));
+        assertEquals(50, manager.countUsersByRole(UserRole.GUEST));
+        assertEquals(0, manager.countUsersByRole(UserRole.CLEANER));
+
+        manager.updateUser(new Admin("A2", "Admin Renamed", "a2@h.com", "087", "pw"));
+        assertEquals(2, manager.countUsersByRole(UserRole.ADMIN));
+        assertTrue(manager.getUsersByRole(UserRole.ADMIN).stream().anyMatch(u -> u.getName().equals("Admin Renamed")));
+
+        manager.deleteUser("A1");
+        manager.deleteUser("G7");
+        assertEquals(1, manager.countUsersByRole(UserRole.ADMIN));
+        assertEquals(49, manager.getUsersByRole(UserRole.GUEST).size());
+        assertThrows(IllegalArgumentException.class, () -> manager.countUsersByRole(null));
+    }
+
+    @Test
+    void testConcurrentRegistrationSameEmailOnlyOneWins() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String id = "C" + t;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        manager.addUser(new Guest(id, "Racer", "same@h.com", "087", "pw"));
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    winners++;
+                }
+            }
+            assertEquals(1, winners);
+            assertEquals(1, manager.getTotalUserCount());
+            assertEquals(1, manager.countUsersByRole(UserRole.GUEST));
+            assertNotNull(manager.getUserByEmail("same@h.com"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentAddAndDeleteLeaveNoGhost() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 500; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> add = pool.submit(() -> {
+                    start.await();
+                    manager.addUser(new Guest("R1", "Racing Ghost", "ghost@h.com", "087", "pw"));
+                    return null;
+                });
+                Future<?> delete = pool.submit(() -> {
+                    start.await();
+                    return manager.deleteUser("R1");
+                });
+                start.countDown();
+                add.get(10, TimeUnit.SECONDS);
+                delete.get(10, TimeUnit.SECONDS);
+
+                boolean present = manager.getUser("R1") != null;
+                int expected = present ? 1 : 0;
+                assertEquals(expected, manager.countUsersByRole(UserRole.GUEST));
+                assertEquals(expected, manager.getTotalUserCount());
+                assertEquals(expected, manager.searchUsersByName("ghost").size());
+                assertEquals(present, manager.emailExists("ghost@h.com"));
+                manager.deleteUser("R1");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testConcurrentIdGenerationAndRegistration() throws Exception {
+        int threads = 4;
+        int perThread = 500;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    List<String> ids = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        String id = manager.generateUserId("G");
+                        manager.addUser(new Guest(id, "Guest " + id, id + "@h.com", "087", "pw"));
+                        ids.add(id);
+                    }
+                    return ids;
+                }));
+            }
+            Set<String> ids = new HashSet<>();
+            for (Future<List<String>> result : results) {
+                ids.addAll(result.get(30, TimeUnit.SECONDS));
+            }
+            assertEquals(threads * perThread, ids.size());
+            assertEquals(threads * perThread, manager.getTotalUserCount());
+            assertEquals(threads * perThread, manager.searchUsersByName("guest").size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedEmailChangeKeepsOldEmail() {
+        manager.addUser(new Admin("U5", "Five", "five@h.com", "087", "pw"));
+        manager.addUser(new Admin("U6", "Six", "six@h.com", "087", "pw"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> manager.updateUser(new Admin("U5", "Five", "six@h.com", "087", "pw")));
+
+        assertEquals("U5", manager.getUserByEmail("five@h.com").getUserId());
+        assertEquals("U6", manager.getUserByEmail("six@h.com").getUserId());
+    }
 }
@@ -0,0 +1,103 @@
+package com.hotel;
+
+import com.hotel.Model.*;
+import com.hotel.Service.RoomInventoryImpl;
+import com.hotel.Service.StayRestrictions;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for StayRestrictions and their enforcement in the availability search.
+ */
+class StayRestrictionsTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 6, 1);
+    private static final LocalDate JULY_1 = LocalDate.of(2025, 7, 1);
+
+    private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+    private StayRestrictions restrictions;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outputStream));
+        restrictions = new StayRestrictions(BASE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    @DisplayName("Minimum stay should apply to arrivals on the restricted dates only")
+    void testMinStay() {
+        restrictions.setMinStay(RoomType.DOUBLE, JULY_1, JULY_1.plusDays(7), 3);
+
+        assertNotNull(restrictions.getViolation(RoomType.DOUBLE, JULY_1, JULY_1.plusDays(2)));
+        assertNull(restrictions.getViolation(RoomType.DOUBLE, JULY_1, JULY_1.plusDays(3)));
+        assertNull(restrictions.getViolation(RoomType.DOUBLE, JULY_1.minusDays(1), JULY_1.plusDays(1)));
+        assertNull(restrictions.getViolation(RoomType.SINGLE, JULY_1, JULY_1.plusDays(1)));
+        assertEquals(3, restrictions.getMinStay(RoomType.DOUBLE, JULY_1.plusDays(6)));
+        assertEquals(0, restrictions.getMinStay(RoomType.DOUBLE, JULY_1.plusDays(7)));
+
+        restrictions.setMinStay(RoomType.DOUBLE, JULY_1, JULY_1.plusDays(7), 0);
+        assertNull(restrictions.getViolation(RoomType.DOUBLE, JULY_1, JULY_1.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Closed to arrival and departure should check the stay's end dates only")
+    void testClosedToArrivalAndDeparture() {
+        restrictions.setClosedToArrival(RoomType.SUITE, JULY_1, JULY_1.plusDays(1), true);
+        restrictions.setClosedToDeparture(RoomType.SUITE, JULY_1.plusDays(5), JULY_1.plusDays(6), true);
+
+        assertTrue(restrictions.getViolation(RoomType.SUITE, JULY_1, JULY_1.plusDays(2)).contains("arrival"));
+        assertTrue(restrictions.getViolation(RoomType.SUITE, JULY_1.plusDays(2), JULY_1.plusDays(5)).contains("departure"));
+        assertNull(restrictions.getViolation(RoomType.SUITE, JULY_1.minusDays(1), JULY_1.plusDays(7)));
+
+        restrictions.setClosedToArrival(RoomType.SUITE, JULY_1, JULY_1.plusDays(1), false);
+        assertNull(restrictions.getViolation(RoomType.SUITE, JULY_1, JULY_1.plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("Invalid rules should be rejected")
+    void testInvalidRules() {
+        assertThrows(IllegalArgumentException.class,
+                () -> restrictions.setMinStay(RoomType.SINGLE, BASE.minusDays(1), BASE.plusDays(1), 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> restrictions.setMinStay(RoomType.SINGLE, JULY_1, JULY_1, 2));
+        assertThrows(IllegalArgumentException.class,
+                () -> restrictions.setMinStay(RoomType.SINGLE, JULY_1, JULY_1.plusDays(1), StayRestrictions.MAX_MIN_STAY + 1));
+        assertThrows(IllegalArgumentException.class, () -> new RoomInventoryImpl(null));
+        assertThrows(IllegalArgumentException.class, () -> restrictions.getViolation(null, JULY_1, JULY_1.plusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> restrictions.getViolation(RoomType.SINGLE, null, JULY_1));
+    }
+
+    @Test
+    @DisplayName("Availability search should turn away stays that break a rule")
+    void testEnforcedInSearch() {
+        RoomInventoryImpl inventory = new RoomInventoryImpl(restrictions);
+        inventory.addRoom(new Room(101, RoomType.SINGLE, true, 100));
+        restrictions.setMinStay(RoomType.SINGLE, JULY_1, JULY_1.plusDays(1), 2);
+        Guest guest = new Guest("G1", "Father Ted", "ted@craggy.ie", "087", "pw");
+
+        Booking shortStay = new Booking(JULY_1, JULY_1.plusDays(1), guest);
+        inventory.checkRoomAvailability(shortStay, RoomType.SINGLE);
+        assertEquals(BookingStatus.UNCONFIRMED, shortStay.getBookingStatus());
+        assertNull(shortStay.getBookingRoom());
+        assertTrue(outputStream.toString().contains("Booking Unavailable: Minimum stay of 2 nights"));
+
+        Booking longStay = new Booking(JULY_1, JULY_1.plusDays(2), guest);
+        inventory.checkRoomAvailability(longStay, RoomType.SINGLE);
+        assertEquals(BookingStatus.POSSIBLE, longStay.getBookingStatus());
+
+        Booking noType = new Booking(JULY_1, JULY_1.plusDays(2), guest);
+        inventory.checkRoomAvailability(noType, null);             // returns quietly, as it always has
+        assertEquals(BookingStatus.UNCONFIRMED, noType.getBookingStatus());
+    }
+}
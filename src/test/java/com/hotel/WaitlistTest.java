@@ -0,0 +1,101 @@
+package com.hotel;
+
+import com.hotel.Model.Guest;
+import com.hotel.Model.RoomType;
+import com.hotel.Service.Waitlist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistTest {
+
+    private static final LocalDate JULY_1 = LocalDate.of(2026, 7, 1);
+
+    private Waitlist waitlist;
+    private Guest newGuest;
+    private Guest returningGuest;
+
+    @BeforeEach
+    void setUp() {
+        waitlist = new Waitlist();
+        newGuest = new Guest("G1", "Jack Torrance", "jack@axemail.com", "12345", "guest1");
+        returningGuest = new Guest("G2", "Danny Torrance", "danny@redrum.com", "12345", "guest2");
+        returningGuest.setReturningGuest(true);
+    }
+
+    @Test
+    @DisplayName("Returning guests come first, then earlier requests")
+    void testPriorityOrder() {
+        Waitlist.Entry first = waitlist.add(newGuest, RoomType.DOUBLE, JULY_1, JULY_1.plusDays(2));
+        Waitlist.Entry second = waitlist.add(newGuest, RoomType.DOUBLE, JULY_1, JULY_1.plusDays(2));
+        Waitlist.Entry returning = waitlist.add(returningGuest, RoomType.DOUBLE, JULY_1, JULY_1.plusDays(2));
+
+        assertEquals(List.of(returning, first, second), waitlist.getEntries(RoomType.DOUBLE));
+        assertSame(returning, waitlist.findFirstFit(RoomType.DOUBLE, JULY_1, JULY_1.plusDays(2)));
+        waitlist.remove(returning.getId());
+        assertSame(first, waitlist.findFirstFit(RoomType.DOUBLE, null, null));
+        assertNull(waitlist.findFirstFit(RoomType.SINGLE, null, null));
+    }
+
+    @Test
+    @DisplayName("Only a stay wholly inside the free run fits")
+    void testFindFirstFitRespectsFreeRun() {
+        Waitlist.Entry longStay = waitlist.add(newGuest, RoomType.SUITE, JULY_1, JULY_1.plusDays(7));
+        Waitlist.Entry early = waitlist.add(newGuest, RoomType.SUITE, JULY_1.minusDays(3), JULY_1.plusDays(1));
+        Waitlist.Entry shortStay = waitlist.add(newGuest, RoomType.SUITE, JULY_1.plusDays(1), JULY_1.plusDays(3));
+
+        assertSame(shortStay, waitlist.findFirstFit(RoomType.SUITE, JULY_1, JULY_1.plusDays(4)));
+        assertSame(longStay, waitlist.findFirstFit(RoomType.SUITE, JULY_1, null));
+        assertSame(early, waitlist.findFirstFit(RoomType.SUITE, null, JULY_1.plusDays(4)));
+        assertNull(waitlist.findFirstFit(RoomType.SUITE, JULY_1.plusDays(2), JULY_1.plusDays(4)));
+    }
+
+    @Test
+    @DisplayName("Removed requests are skipped and their slots reused")
+    void testRemoveAndRefill() {
+        for (int i = 0; i < 100; i++) {
+            waitlist.add(newGuest, RoomType.SINGLE, JULY_1.plusDays(i), JULY_1.plusDays(i + 1));
+        }
+        for (Waitlist.Entry entry : waitlist.getEntries(RoomType.SINGLE)) {
+            if (entry.getArriveDate().isBefore(JULY_1.plusDays(90))) {
+                waitlist.remove(entry.getId());
+            }
+        }
+        Waitlist.Entry late = waitlist.add(newGuest, RoomType.SINGLE, JULY_1, JULY_1.plusDays(1));
+
+        assertEquals(11, waitlist.size());
+        assertNull(waitlist.findFirstFit(RoomType.SINGLE, JULY_1.plusDays(50), JULY_1.plusDays(60)));
+        assertSame(late, waitlist.findFirstFit(RoomType.SINGLE, JULY_1, JULY_1.plusDays(1)));
+        assertEquals(JULY_1.plusDays(95), waitlist.findFirstFit(RoomType.SINGLE, JULY_1.plusDays(95), null).getArriveDate());
+        assertNull(waitlist.remove(-1));
+        assertThrows(IllegalArgumentException.class, () -> waitlist.add(newGuest, RoomType.SINGLE, JULY_1, JULY_1));
+    }
+
+    @Test
+    @DisplayName("Requests straddling the free run on alternate sides never fit")
+    void testAlternatingNearMissesAroundFreeRun() {
+        LocalDate from = JULY_1.plusDays(10);
+        LocalDate to = JULY_1.plusDays(20);
+        for (int i = 0; i < 1000; i++) {
+            if (i % 2 == 0) {
+                waitlist.add(newGuest, RoomType.DOUBLE, JULY_1, JULY_1.plusDays(5));       // early/early: too early
+            } else {
+                waitlist.add(newGuest, RoomType.DOUBLE, JULY_1.plusDays(25), JULY_1.plusDays(30)); // late/late: too late
+            }
+        }
+        // every subtree holds an arrival after from and a departure before to, yet nothing fits
+        assertNull(waitlist.findFirstFit(RoomType.DOUBLE, from, to));
+
+        Waitlist.Entry fits = waitlist.add(newGuest, RoomType.DOUBLE, from.plusDays(2), to.minusDays(2));
+        Waitlist.Entry later = waitlist.add(newGuest, RoomType.DOUBLE, from, to);
+        assertSame(fits, waitlist.findFirstFit(RoomType.DOUBLE, from, to));
+        waitlist.remove(fits.getId());
+        assertSame(later, waitlist.findFirstFit(RoomType.DOUBLE, from, to));
+        assertNull(waitlist.findFirstFit(RoomType.DOUBLE, from.plusDays(1), to));
+    }
+}